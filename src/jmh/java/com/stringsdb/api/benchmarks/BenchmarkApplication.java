@@ -0,0 +1,44 @@
+package com.stringsdb.api.benchmarks;
+
+import com.stringsdb.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application for the benchmarks, without the web server, against an in-memory H2 database.
+ * <p>
+ * The in-memory indexes that are not under test are disabled, so they neither slow the seeding down nor read or write
+ * snapshots in the working directory.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application.
+     *
+     * @param database The name of the in-memory database, distinct per benchmark class.
+     * @param properties Additional properties, as {@code --name=value} arguments.
+     * @return The started application.
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--stringsdb.suggest.enabled=false",
+            "--stringsdb.full-text.enabled=false"
+        ));
+        args.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .run(args.toArray(new String[0]));
+    }
+}
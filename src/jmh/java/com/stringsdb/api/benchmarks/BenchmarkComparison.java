@@ -0,0 +1,153 @@
+package com.stringsdb.api.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares two JMH result files in JSON format, such as the ones written by the {@code jmh} profile before and after
+ * a change, and prints the score and the bytes allocated per operation of every benchmark side by side.
+ * <p>
+ * Benchmarks are keyed by class, method and parameters, so the rows line up whatever the order in which they ran. A
+ * benchmark missing from one of the files is printed with empty columns on that side.
+ */
+public final class BenchmarkComparison {
+
+    /**
+     * The suffix of the name of the GC profiler metric with the bytes allocated per operation.
+     */
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    /**
+     * Prints the comparison.
+     *
+     * @param args The baseline result file and the compared result file.
+     * @throws IOException If a result file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <compared.json>");
+            System.exit(2);
+        }
+
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> compared = read(new File(args[1]));
+        TreeSet<String> keys = new TreeSet<>(baseline.keySet());
+        keys.addAll(compared.keySet());
+
+        String format = "%-72s %14s %14s %8s %12s %12s %8s%n";
+        System.out.printf(format, "Benchmark", "Base score", "Score", "Change", "Base B/op", "B/op", "Change");
+        for (String key : keys) {
+            Result before = baseline.getOrDefault(key, Result.MISSING);
+            Result after = compared.getOrDefault(key, Result.MISSING);
+            System.out.printf(
+                format,
+                key + " (" + (after == Result.MISSING ? before : after).unit + ")",
+                number(before.score, "%.3f"),
+                number(after.score, "%.3f"),
+                change(before.score, after.score),
+                number(before.allocation, "%.1f"),
+                number(after.allocation, "%.1f"),
+                change(before.allocation, after.allocation)
+            );
+        }
+    }
+
+    /**
+     * Reads a result file.
+     *
+     * @param file The result file.
+     * @return The results, by benchmark class, method and parameters.
+     * @throws IOException If the file cannot be read.
+     */
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(file)) {
+            StringJoiner params = new StringJoiner(",", ":", "").setEmptyValue("");
+            benchmark.path("params").fields().forEachRemaining(param ->
+                params.add(param.getKey() + "=" + param.getValue().asText())
+            );
+
+            double allocation = Double.NaN;
+            Iterator<Map.Entry<String, JsonNode>> metrics = benchmark.path("secondaryMetrics").fields();
+            while (metrics.hasNext()) {
+                Map.Entry<String, JsonNode> metric = metrics.next();
+                if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                    allocation = metric.getValue().path("score").asDouble();
+                }
+            }
+
+            // Keeps the class and method of the benchmark, without the package
+            String name = benchmark.path("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+
+            JsonNode primary = benchmark.path("primaryMetric");
+            results.put(name + params, new Result(
+                primary.path("score").asDouble(),
+                primary.path("scoreUnit").asText(),
+                allocation
+            ));
+        }
+
+        return results;
+    }
+
+    /**
+     * Formats a value.
+     *
+     * @param value The value.
+     * @param format The format of the value.
+     * @return The formatted value, or an empty string if it is missing.
+     */
+    private static String number(double value, String format) {
+        return Double.isNaN(value) ? "" : String.format(format, value);
+    }
+
+    /**
+     * Formats the relative change between two values.
+     *
+     * @param before The baseline value.
+     * @param after The compared value.
+     * @return The change in percent, or an empty string if either value is missing or the baseline is zero.
+     */
+    private static String change(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return "";
+        }
+
+        return String.format("%+.1f%%", (after - before) / before * 100);
+    }
+
+    /**
+     * The result of a benchmark.
+     */
+    private static final class Result {
+
+        /**
+         * The result of a benchmark missing from a file.
+         */
+        private static final Result MISSING = new Result(Double.NaN, "", Double.NaN);
+
+        private final double score;
+
+        private final String unit;
+
+        private final double allocation;
+
+        private Result(double score, String unit, double allocation) {
+            this.score = score;
+            this.unit = unit;
+            this.allocation = allocation;
+        }
+    }
+}
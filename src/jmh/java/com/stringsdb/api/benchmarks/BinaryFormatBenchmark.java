@@ -0,0 +1,188 @@
+package com.stringsdb.api.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stringsdb.api.binary.StringEntryBinaryDecoder;
+import com.stringsdb.api.binary.StringEntryBinaryEncoder;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.json.StringEntryJsonWriter;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary format of the pages of entries with their JSON, on both sides of the API: writing them as the
+ * server does, and reading them into DTOs as a client does, with Jackson for JSON. The sizes of both payloads are
+ * printed when the benchmark starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    /**
+     * Size of the pages.
+     */
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    /**
+     * A mapper configured as the one of Spring Boot.
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    /**
+     * The writer of the JSON pages.
+     */
+    private final StringEntryJsonWriter jsonWriter = new StringEntryJsonWriter(this.objectMapper);
+
+    /**
+     * The reused output.
+     */
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+    /**
+     * The page.
+     */
+    private Page<StringEntryDto> page;
+
+    /**
+     * The page in JSON.
+     */
+    private byte[] json;
+
+    /**
+     * The page in the binary format.
+     */
+    private byte[] binary;
+
+    /**
+     * Generates the page and its payloads.
+     *
+     * @throws IOException Never, the output being in memory.
+     */
+    @Setup(Level.Trial)
+    public void generatePage() throws IOException {
+        this.page = new PageImpl<>(
+            StringEntryGenerator.generateManyStringEntryDtos(this.pageSize),
+            PageRequest.of(3, this.pageSize),
+            100L * this.pageSize
+        );
+        this.json = this.objectMapper.writeValueAsBytes(this.page);
+        ByteArrayOutputStream binaryOut = new ByteArrayOutputStream();
+        StringEntryBinaryEncoder.writeSlice(this.page, binaryOut);
+        this.binary = binaryOut.toByteArray();
+
+        System.out.printf(
+            "%nPage of %d entries: %d bytes in JSON, %d bytes in the binary format (%.0f%%)%n",
+            this.pageSize,
+            this.json.length,
+            this.binary.length,
+            100.0 * this.binary.length / this.json.length
+        );
+    }
+
+    /**
+     * Writes the page in JSON.
+     *
+     * @return The size of the output.
+     * @throws IOException Never, the output being in memory.
+     */
+    @Benchmark
+    public int encodeJson() throws IOException {
+        this.out.reset();
+        this.jsonWriter.write(this.page, this.out);
+        return this.out.size();
+    }
+
+    /**
+     * Writes the page in the binary format.
+     *
+     * @return The size of the output.
+     * @throws IOException Never, the output being in memory.
+     */
+    @Benchmark
+    public int encodeBinary() throws IOException {
+        this.out.reset();
+        StringEntryBinaryEncoder.writeSlice(this.page, this.out);
+        return this.out.size();
+    }
+
+    /**
+     * Reads the page from JSON.
+     *
+     * @return The entries.
+     * @throws IOException Never, the input being valid.
+     */
+    @Benchmark
+    public List<StringEntryDto> decodeJson() throws IOException {
+        return this.objectMapper.readValue(this.json, JsonPage.class).content;
+    }
+
+    /**
+     * Reads the page from the binary format.
+     *
+     * @return The entries.
+     */
+    @Benchmark
+    public List<StringEntryDto> decodeBinary() {
+        return new StringEntryBinaryDecoder(this.binary).readPage().getContent();
+    }
+
+    /**
+     * The fields of a JSON page a client reads.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class JsonPage {
+
+        /**
+         * The entries.
+         */
+        public List<StringEntryDto> content;
+
+        /**
+         * The amount of entries of all the pages.
+         */
+        public long totalElements;
+
+        /**
+         * The number of the page.
+         */
+        public int number;
+
+        /**
+         * The requested size of the page.
+         */
+        public int size;
+
+        /**
+         * Informs if it is the last page.
+         */
+        public boolean last;
+    }
+}
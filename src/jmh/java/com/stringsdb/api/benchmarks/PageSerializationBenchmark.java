@@ -0,0 +1,106 @@
+package com.stringsdb.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.json.StringEntryJsonWriter;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the serialization of a page of entries by Jackson, as the default JSON converter does it, with the
+ * {@link StringEntryJsonWriter}. Both write to a reused in-memory stream, standing for the response buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    /**
+     * Size of the serialized pages.
+     */
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    /**
+     * A mapper configured as the one of Spring Boot.
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    /**
+     * Writer under test.
+     */
+    private final StringEntryJsonWriter writer = new StringEntryJsonWriter(this.objectMapper);
+
+    /**
+     * The reused output.
+     */
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+    /**
+     * The serialized page.
+     */
+    private Page<StringEntryDto> page;
+
+    /**
+     * Generates the serialized page.
+     */
+    @Setup(Level.Trial)
+    public void generatePage() {
+        this.page = new PageImpl<>(
+            StringEntryGenerator.generateManyStringEntryDtos(this.pageSize),
+            PageRequest.of(3, this.pageSize),
+            100L * this.pageSize
+        );
+    }
+
+    /**
+     * Serializes the page with Jackson.
+     *
+     * @return The size of the output.
+     * @throws IOException Never, the output being in memory.
+     */
+    @Benchmark
+    public int jackson() throws IOException {
+        this.out.reset();
+        this.objectMapper.writeValue(this.out, this.page);
+        return this.out.size();
+    }
+
+    /**
+     * Serializes the page with the writer.
+     *
+     * @return The size of the output.
+     * @throws IOException Never, the output being in memory.
+     */
+    @Benchmark
+    public int writer() throws IOException {
+        this.out.reset();
+        this.writer.write(this.page, this.out);
+        return this.out.size();
+    }
+}
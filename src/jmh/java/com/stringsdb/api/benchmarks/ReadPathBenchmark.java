@@ -0,0 +1,201 @@
+package com.stringsdb.api.benchmarks;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.mappers.StringEntryMapper;
+import com.stringsdb.api.repositories.StringEntryRepository;
+import com.stringsdb.api.storage.JpaStringEntryStore;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity-based read path, which hydrates managed entities and maps them, with the JPA store, whose
+ * projections read the rows straight into DTOs. Run with the GC profiler (the default arguments of the {@code jmh}
+ * profile) to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    /**
+     * Amount of entries stored before the benchmarks run.
+     */
+    private static final int SEEDED_ENTRIES = 10000;
+
+    /**
+     * Amount of entries saved per transaction while seeding.
+     */
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    /**
+     * Filter used by the search benchmarks, matching a fraction of the generated sentences.
+     */
+    private static final String FILTER = "lor";
+
+    /**
+     * Size of the requested pages.
+     */
+    @Param({"20", "100"})
+    public int pageSize;
+
+    /**
+     * The application, running against an in-memory database.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Repository read by the entity-based benchmarks.
+     */
+    private StringEntryRepository repository;
+
+    /**
+     * Store read by the projection benchmarks.
+     */
+    private JpaStringEntryStore store;
+
+    /**
+     * Runs the entity-based reads in a read-only transaction, as the service used to.
+     */
+    private TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Starts the application and stores the entries read by the benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        this.context = BenchmarkApplication.start("read-path", "--stringsdb.trigram-index.enabled=false");
+        this.repository = this.context.getBean(StringEntryRepository.class);
+        this.store = this.context.getBean(JpaStringEntryStore.class);
+        PlatformTransactionManager transactionManager = this.context.getBean(PlatformTransactionManager.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        TransactionTemplate writeTransaction = new TransactionTemplate(transactionManager);
+        for (int seeded = 0; seeded < SEEDED_ENTRIES; seeded += SEED_BATCH_SIZE) {
+            List<StringEntry> entries = StringEntryGenerator.generateManyStringEntries(SEED_BATCH_SIZE, false, false);
+            writeTransaction.executeWithoutResult((status) -> this.repository.saveAll(entries));
+        }
+    }
+
+    /**
+     * Closes the application.
+     */
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        this.context.close();
+    }
+
+    /**
+     * Picks the ID of an entry to read, so that invocations do not always hit the same row.
+     *
+     * @return The ID of a stored entry.
+     */
+    private long nextId() {
+        return ThreadLocalRandom.current().nextLong(1, SEEDED_ENTRIES + 1);
+    }
+
+    /**
+     * Picks one of the first pages of entries to read.
+     *
+     * @return The page request.
+     */
+    private Pageable nextPage() {
+        int pages = SEEDED_ENTRIES / this.pageSize / 10;
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(pages), this.pageSize, Sort.by("id"));
+    }
+
+    /**
+     * Reads an entry as an entity and maps it.
+     *
+     * @return The entry.
+     */
+    @Benchmark
+    public Optional<StringEntryDto> findByIdWithEntity() {
+        return this.readOnlyTransaction.execute((status) ->
+            this.repository.findById(this.nextId()).map(StringEntryMapper.INSTANCE::stringEntryToDto)
+        );
+    }
+
+    /**
+     * Reads an entry straight into a DTO.
+     *
+     * @return The entry.
+     */
+    @Benchmark
+    public Optional<StringEntryDto> findByIdWithProjection() {
+        return this.store.findById(this.nextId());
+    }
+
+    /**
+     * Reads a page of entries as entities and maps them.
+     *
+     * @return The page.
+     */
+    @Benchmark
+    public Page<StringEntryDto> findAllWithEntities() {
+        return this.readOnlyTransaction.execute((status) ->
+            this.repository.findAll(this.nextPage()).map(StringEntryMapper.INSTANCE::stringEntryToDto)
+        );
+    }
+
+    /**
+     * Reads a page of entries straight into DTOs.
+     *
+     * @return The page.
+     */
+    @Benchmark
+    public Page<StringEntryDto> findAllWithProjection() {
+        return this.store.findMany(null, this.nextPage());
+    }
+
+    /**
+     * Searches a page of entries as entities and maps them.
+     *
+     * @return The page.
+     */
+    @Benchmark
+    public Page<StringEntryDto> findFilteredWithEntities() {
+        return this.readOnlyTransaction.execute((status) ->
+            this.repository.findByValueContaining(FILTER, this.nextPage())
+                .map(StringEntryMapper.INSTANCE::stringEntryToDto)
+        );
+    }
+
+    /**
+     * Searches a page of entries straight into DTOs.
+     *
+     * @return The page.
+     */
+    @Benchmark
+    public Page<StringEntryDto> findFilteredWithProjection() {
+        return this.store.findMany(FILTER, this.nextPage());
+    }
+}
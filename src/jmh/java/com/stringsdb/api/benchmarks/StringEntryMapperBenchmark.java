@@ -0,0 +1,77 @@
+package com.stringsdb.api.benchmarks;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.mappers.StringEntryMapper;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversions of {@link StringEntryMapper}, on the entities read by the entity-based read path and on
+ * the DTOs received by {@code POST /strings}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringEntryMapperBenchmark {
+
+    /**
+     * Mapper under test.
+     */
+    private final StringEntryMapper mapper = StringEntryMapper.INSTANCE;
+
+    /**
+     * A stored entity.
+     */
+    private StringEntry entity;
+
+    /**
+     * A received DTO.
+     */
+    private StringEntrySaveDto saveDto;
+
+    /**
+     * Generates the converted objects.
+     */
+    @Setup(Level.Trial)
+    public void generateObjects() {
+        this.entity = StringEntryGenerator.generateStringEntry(true, true);
+        this.saveDto = StringEntryGenerator.generateStringEntrySaveDto();
+    }
+
+    /**
+     * Converts an entity into a DTO.
+     *
+     * @return The DTO.
+     */
+    @Benchmark
+    public StringEntryDto entityToDto() {
+        return this.mapper.stringEntryToDto(this.entity);
+    }
+
+    /**
+     * Converts a received DTO into an entity.
+     *
+     * @return The entity.
+     */
+    @Benchmark
+    public StringEntry saveDtoToEntity() {
+        return this.mapper.savingStringEntryDtoToEntity(this.saveDto);
+    }
+}
@@ -0,0 +1,233 @@
+package com.stringsdb.api.benchmarks;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.services.StringEntryService;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the throughput of the service operations behind {@code GET /strings}, {@code GET /strings/{id}} and
+ * {@code POST /strings}, with the database storage and the trigram index.
+ * <p>
+ * The entry and search caches are disabled, so every invocation reaches the store: a cache hit would only measure a
+ * map lookup. The save benchmark grows the table while it runs, which is why each benchmark runs in its own fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringEntryServiceBenchmark {
+
+    /**
+     * Amount of entries stored before the benchmarks run.
+     */
+    private static final int SEEDED_ENTRIES = 10000;
+
+    /**
+     * Amount of entries saved per call while seeding.
+     */
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    /**
+     * Size of the requested pages.
+     */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Amount of distinct values saved by {@link #save()}, generated ahead so their generation is not measured.
+     */
+    private static final int SAVED_VALUES = 1000;
+
+    /**
+     * The application, running against an in-memory database.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Service under test.
+     */
+    private StringEntryService service;
+
+    /**
+     * The values saved by {@link #save()}, in turn.
+     */
+    private List<StringEntrySaveDto> savedValues;
+
+    /**
+     * The position of the next value saved by {@link #save()}.
+     */
+    private int nextSavedValue;
+
+    /**
+     * Starts the application and stores the entries read by the benchmarks through the service, so they are indexed.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        this.context = BenchmarkApplication.start(
+            "service",
+            "--stringsdb.entry-cache.enabled=false",
+            "--stringsdb.search-cache.enabled=false",
+            "--stringsdb.trigram-index.search-enabled=true"
+        );
+        this.service = this.context.getBean(StringEntryService.class);
+
+        for (int seeded = 0; seeded < SEEDED_ENTRIES; seeded += SEED_BATCH_SIZE) {
+            this.service.saveAll(generateValues(SEED_BATCH_SIZE));
+        }
+        this.savedValues = generateValues(SAVED_VALUES);
+    }
+
+    /**
+     * Closes the application.
+     */
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        this.context.close();
+    }
+
+    /**
+     * Lists a page of entries, with its total.
+     *
+     * @param listing The parameters of the listing.
+     * @return The page.
+     */
+    @Benchmark
+    public Page<StringEntryDto> getMany(Listing listing) {
+        return this.service.getMany(listing.filter(), listing.nextPage());
+    }
+
+    /**
+     * Reads an entry by ID.
+     *
+     * @return The entry.
+     */
+    @Benchmark
+    public Optional<StringEntryDto> getOne() {
+        return this.service.getOne(ThreadLocalRandom.current().nextLong(1, SEEDED_ENTRIES + 1));
+    }
+
+    /**
+     * Saves a new entry.
+     *
+     * @return The saved entry.
+     */
+    @Benchmark
+    public StringEntryDto save() {
+        StringEntrySaveDto value = this.savedValues.get(this.nextSavedValue);
+        this.nextSavedValue = (this.nextSavedValue + 1) % SAVED_VALUES;
+
+        return this.service.save(value);
+    }
+
+    /**
+     * Generates values to save.
+     *
+     * @param quantity The amount of values.
+     * @return The values.
+     */
+    private static List<StringEntrySaveDto> generateValues(int quantity) {
+        return Stream.generate(StringEntryGenerator::generateStringEntrySaveDto)
+            .limit(quantity)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The parameters of the listings, which only apply to {@link #getMany(Listing)}.
+     */
+    @State(Scope.Benchmark)
+    public static class Listing {
+
+        /**
+         * The filter, empty for no filter. The default one matches a fraction of the generated sentences.
+         */
+        @Param({"", "lor"})
+        public String filter;
+
+        /**
+         * The position of the requested pages.
+         */
+        @Param({"SHALLOW", "DEEP"})
+        public PageDepth depth;
+
+        /**
+         * The amount of pages of matching entries.
+         */
+        private int pages;
+
+        /**
+         * Counts the pages of matching entries.
+         *
+         * @param benchmark The benchmark, whose entries are seeded first.
+         */
+        @Setup(Level.Trial)
+        public void countPages(StringEntryServiceBenchmark benchmark) {
+            long matching = benchmark.service.getMany(this.filter(), PageRequest.of(0, 1)).getTotalElements();
+            this.pages = (int) Math.max((matching + PAGE_SIZE - 1) / PAGE_SIZE, 1);
+        }
+
+        /**
+         * Returns the filter.
+         *
+         * @return The filter, or null for no filter.
+         */
+        private String filter() {
+            return this.filter.isEmpty() ? null : this.filter;
+        }
+
+        /**
+         * Picks a page of entries at the benchmarked depth, so that invocations do not always read the same rows.
+         *
+         * @return The page request.
+         */
+        private Pageable nextPage() {
+            int band = Math.max(this.pages / 10, 1);
+            int offset = ThreadLocalRandom.current().nextInt(band);
+            int page = this.depth == PageDepth.SHALLOW ? offset : this.pages - 1 - offset;
+
+            return PageRequest.of(page, PAGE_SIZE, Sort.by("id"));
+        }
+    }
+
+    /**
+     * The position of the requested pages.
+     */
+    public enum PageDepth {
+
+        /**
+         * The first pages, within the first tenth of the matching entries.
+         */
+        SHALLOW,
+
+        /**
+         * The last pages, within the last tenth of the matching entries.
+         */
+        DEEP
+    }
+}
@@ -0,0 +1,139 @@
+package com.stringsdb.api.benchmarks;
+
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Pattern;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Bean Validation of {@link StringEntrySaveDto}, whose {@link Pattern} constraint runs on every
+ * {@code POST /strings}, against matching the same regular expression directly, which is the cost of the pattern
+ * alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringEntryValidationBenchmark {
+
+    /**
+     * The validated value: a short sentence, the longest valid value, or a value with a control character.
+     */
+    @Param({"SHORT", "LONGEST", "INVALID"})
+    public ValueKind kind;
+
+    /**
+     * The factory of the validator.
+     */
+    private ValidatorFactory validatorFactory;
+
+    /**
+     * Validator under test.
+     */
+    private Validator validator;
+
+    /**
+     * The regular expression of the constraint, compiled once.
+     */
+    private java.util.regex.Pattern pattern;
+
+    /**
+     * The validated DTO.
+     */
+    private StringEntrySaveDto dto;
+
+    /**
+     * Builds the validator and the validated DTO.
+     *
+     * @throws NoSuchFieldException If the DTO has no value field.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchFieldException {
+        this.validatorFactory = Validation.buildDefaultValidatorFactory();
+        this.validator = this.validatorFactory.getValidator();
+        this.pattern = java.util.regex.Pattern.compile(
+            StringEntrySaveDto.class.getDeclaredField("value").getAnnotation(Pattern.class).regexp()
+        );
+
+        this.dto = new StringEntrySaveDto();
+        this.dto.setValue(this.kind.value);
+    }
+
+    /**
+     * Closes the factory of the validator.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.validatorFactory.close();
+    }
+
+    /**
+     * Validates the DTO with all its constraints.
+     *
+     * @return The violations.
+     */
+    @Benchmark
+    public Set<ConstraintViolation<StringEntrySaveDto>> validate() {
+        return this.validator.validate(this.dto);
+    }
+
+    /**
+     * Matches the value against the regular expression of the constraint.
+     *
+     * @return True if the value matches.
+     */
+    @Benchmark
+    public boolean matchPattern() {
+        return this.pattern.matcher(this.dto.getValue()).matches();
+    }
+
+    /**
+     * The kinds of validated values.
+     */
+    public enum ValueKind {
+
+        /**
+         * A short sentence.
+         */
+        SHORT("Lorem ipsum dolor sit amet."),
+
+        /**
+         * A value of the maximum length.
+         */
+        LONGEST("Lorem ipsum dolor sit amet. ".repeat(10).substring(0, 255)),
+
+        /**
+         * A value whose last character is not allowed, so the whole value is read before it is rejected.
+         */
+        INVALID("Lorem ipsum dolor sit amet.\u0000");
+
+        /**
+         * The value.
+         */
+        private final String value;
+
+        ValueKind(String value) {
+            this.value = value;
+        }
+    }
+}
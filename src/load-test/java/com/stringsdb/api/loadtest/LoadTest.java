@@ -0,0 +1,122 @@
+package com.stringsdb.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load tests the HTTP API end to end, as its clients see it.
+ * <p>
+ * Unless a {@code --target} is given, the application is started on a random port against an in-memory H2 database.
+ * Generated entries are stored first, then the configured mix of requests is sent at a fixed rate by an
+ * {@link OpenLoadGenerator}, for a warmup and then for the measurement. The report is printed, written to the output
+ * directory and, when budgets are given, checked against them: the process exits with status 1 if a budget is
+ * exceeded, so a build can fail on a latency regression.
+ */
+public final class LoadTest {
+
+    /**
+     * The threads completing the requests and recording their latencies.
+     */
+    private static final int CLIENT_THREADS = 4;
+
+    private LoadTest() {
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args The options of the test, see {@link LoadTestOptions}.
+     * @throws Exception If the test cannot run.
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = options.getTarget() == null ? start(options) : null;
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "load-test-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<String> exceeded;
+        try {
+            URI base = context == null
+                ? options.getTarget()
+                : URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getTimeout())
+                .executor(executor)
+                .build();
+
+            System.out.println("Seeding " + options.getSeed() + " entries into " + base);
+            Workload workload = Workload.seed(client, base, options);
+            LoadTestReport report = new OpenLoadGenerator(client, workload, options).run();
+
+            report.print(System.out, options.getBaseline() == null ? null : readBaseline(options));
+            report.write(options.getOutput());
+            exceeded = options.getBudgets() == null ? List.of() : report.checkBudgets(readBudgets(options));
+        } finally {
+            executor.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        exceeded.forEach(budget -> System.out.println("Budget exceeded: " + budget));
+        System.exit(exceeded.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Starts the application on a random port, against an in-memory database.
+     *
+     * @param options The options of the test, whose application properties override the default ones.
+     * @return The started application.
+     */
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("stringsdb.full-text.snapshot-file", options.getOutput().resolve("full-text.index").toString());
+        properties.put("stringsdb.storage.log.directory", options.getOutput().resolve("data").toString());
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(options.getApplicationProperties());
+        // The devtools on the test classpath would restart the application in another class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        return new SpringApplicationBuilder(Application.class).run(
+            properties.entrySet().stream().map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new)
+        );
+    }
+
+    private static JsonNode readBaseline(LoadTestOptions options) throws IOException {
+        return new ObjectMapper().readTree(options.getBaseline().toFile());
+    }
+
+    private static Properties readBudgets(LoadTestOptions options) throws IOException {
+        Properties budgets = new Properties();
+        try (Reader reader = Files.newBufferedReader(options.getBudgets())) {
+            budgets.load(reader);
+        }
+        return budgets;
+    }
+}
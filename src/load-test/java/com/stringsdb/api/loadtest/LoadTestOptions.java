@@ -0,0 +1,217 @@
+package com.stringsdb.api.loadtest;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The options of a load test, read from {@code --name=value} arguments.
+ * <p>
+ * Arguments whose name contains a dot, such as {@code --stringsdb.storage.type=log}, are not options of the load test
+ * but properties of the application it starts, which override the ones it starts with by default.
+ */
+@Getter
+public class LoadTestOptions {
+
+    /**
+     * The rate at which requests are started, in requests per second, whatever the latency of the responses.
+     */
+    private double rate = 100;
+
+    /**
+     * How the start times of the requests are spread.
+     */
+    private Arrivals arrivals = Arrivals.UNIFORM;
+
+    /**
+     * The duration of the warmup, whose requests are sent but not recorded.
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * The duration of the measurement.
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * The weights of the operations, as {@code operation:weight} pairs separated by commas.
+     */
+    private Map<Operation, Integer> mix = parseMix("list:50,get:40,create:10");
+
+    /**
+     * The amount of entries stored before the warmup.
+     */
+    private int seed = 10000;
+
+    /**
+     * The size of the listed pages.
+     */
+    private int pageSize = 20;
+
+    /**
+     * The amount of pages the listed pages are picked from.
+     */
+    private int pages = 50;
+
+    /**
+     * The time after which a request fails.
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /**
+     * The URI of an application already running, which is loaded instead of starting one.
+     */
+    private URI target;
+
+    /**
+     * The directory of the report.
+     */
+    private Path output = Path.of("target", "load-test");
+
+    /**
+     * The latency and error budgets, as a properties file, checked after the run.
+     */
+    private Path budgets;
+
+    /**
+     * The report of a previous run, compared with this one.
+     */
+    private Path baseline;
+
+    /**
+     * The properties of the started application, by name.
+     */
+    private final Map<String, String> applicationProperties = new LinkedHashMap<>();
+
+    /**
+     * Reads the options.
+     *
+     * @param args The arguments.
+     * @return The options.
+     * @throws IllegalArgumentException If an argument is not a {@code --name=value} pair, or an option is unknown or
+     *     invalid.
+     */
+    public static LoadTestOptions parse(String[] args) throws IllegalArgumentException {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            if (name.contains(".")) {
+                options.applicationProperties.put(name, value);
+            } else {
+                options.set(name, value);
+            }
+        }
+
+        if (options.rate <= 0 || options.seed < 1 || options.pageSize < 1 || options.pages < 1) {
+            throw new IllegalArgumentException("The rate, seed, page size and pages must be positive");
+        }
+
+        return options;
+    }
+
+    /**
+     * Sets an option.
+     *
+     * @param name The name of the option.
+     * @param value The value of the option.
+     * @throws IllegalArgumentException If the option is unknown or its value is invalid.
+     */
+    private void set(String name, String value) throws IllegalArgumentException {
+        switch (name) {
+            case "rate":
+                this.rate = Double.parseDouble(value);
+                break;
+            case "arrivals":
+                this.arrivals = Arrivals.valueOf(value.toUpperCase());
+                break;
+            case "warmup":
+                this.warmup = DurationStyle.detectAndParse(value);
+                break;
+            case "duration":
+                this.duration = DurationStyle.detectAndParse(value);
+                break;
+            case "mix":
+                this.mix = parseMix(value);
+                break;
+            case "seed":
+                this.seed = Integer.parseInt(value);
+                break;
+            case "page-size":
+                this.pageSize = Integer.parseInt(value);
+                break;
+            case "pages":
+                this.pages = Integer.parseInt(value);
+                break;
+            case "timeout":
+                this.timeout = DurationStyle.detectAndParse(value);
+                break;
+            case "target":
+                this.target = URI.create(value);
+                break;
+            case "output":
+                this.output = Path.of(value);
+                break;
+            case "budgets":
+                this.budgets = Path.of(value);
+                break;
+            case "baseline":
+                this.baseline = Path.of(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + name);
+        }
+    }
+
+    /**
+     * Reads the weights of the operations.
+     *
+     * @param mix The {@code operation:weight} pairs separated by commas.
+     * @return The positive weights, by operation.
+     * @throws IllegalArgumentException If a pair is invalid, or no weight is positive.
+     */
+    private static Map<Operation, Integer> parseMix(String mix) throws IllegalArgumentException {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String pair : mix.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight: " + pair);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation");
+        }
+
+        return weights;
+    }
+
+    /**
+     * How the start times of the requests are spread.
+     */
+    public enum Arrivals {
+
+        /**
+         * At a constant interval.
+         */
+        UNIFORM,
+
+        /**
+         * At exponentially distributed intervals, as independent clients would arrive.
+         */
+        POISSON
+    }
+}
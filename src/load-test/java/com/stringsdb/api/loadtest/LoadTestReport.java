@@ -0,0 +1,233 @@
+package com.stringsdb.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The results of a load test: the throughput, errors and latency percentiles of each operation and of all of them.
+ * <p>
+ * The report is written as JSON ({@code report.json}), whose metrics have stable names, so that runs can be compared
+ * with each other and checked against budgets, and as one HdrHistogram percentile distribution per operation
+ * ({@code <operation>.hgrm}), which the HdrHistogram plotter draws. Latencies are in milliseconds.
+ */
+public class LoadTestReport {
+
+    /**
+     * The key of the results of all the operations together.
+     */
+    public static final String ALL = "all";
+
+    /**
+     * The latency percentiles of the report, by metric name.
+     */
+    private static final Map<String, Double> PERCENTILES = Map.of("p50", 50.0, "p90", 90.0, "p99", 99.0, "p999", 99.9);
+
+    /**
+     * The metrics of an operation, in the order they are printed.
+     */
+    private static final List<String> METRICS = List.of(
+        "count", "errors", "throughput", "p50", "p90", "p99", "p999", "max"
+    );
+
+    /**
+     * The options of the test.
+     */
+    private final LoadTestOptions options;
+
+    /**
+     * The metrics of each operation and of all of them, by key.
+     */
+    private final Map<String, Map<String, Number>> metrics = new LinkedHashMap<>();
+
+    /**
+     * The latency histograms of each operation and of all of them, in microseconds, by key.
+     */
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+
+    /**
+     * The greatest delay of the generator behind its schedule during the measurement, in milliseconds.
+     */
+    private final double maxLatenessMillis;
+
+    /**
+     * The amount of requests still without a response when the test ended.
+     */
+    private final int unfinished;
+
+    /**
+     * Creates the report.
+     *
+     * @param options The options of the test.
+     * @param results The results of the operations.
+     * @param maxLatenessNanos The greatest delay of the generator behind its schedule, in nanoseconds.
+     * @param unfinished The amount of requests still without a response when the test ended.
+     */
+    public LoadTestReport(
+        LoadTestOptions options,
+        Map<Operation, OperationResult> results,
+        long maxLatenessNanos,
+        int unfinished
+    ) {
+        this.options = options;
+        this.maxLatenessMillis = maxLatenessNanos / 1e6;
+        this.unfinished = unfinished;
+
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        for (Map.Entry<Operation, OperationResult> result : results.entrySet()) {
+            Histogram latencies = result.getValue().getLatencies().copy();
+            this.add(result.getKey().key(), latencies, result.getValue().getErrors());
+            all.add(latencies);
+            allErrors += result.getValue().getErrors();
+        }
+        this.add(ALL, all, allErrors);
+    }
+
+    private void add(String key, Histogram latencies, long errors) {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("count", latencies.getTotalCount());
+        values.put("errors", errors);
+        values.put("throughput", latencies.getTotalCount() / (this.options.getDuration().toNanos() / 1e9));
+        PERCENTILES.entrySet().stream()
+            .sorted(Map.Entry.comparingByValue())
+            .forEach(percentile -> values.put(
+                percentile.getKey(),
+                toMillis(latencies.getValueAtPercentile(percentile.getValue()))
+            ));
+        values.put("max", toMillis(latencies.getMaxValue()));
+
+        this.metrics.put(key, values);
+        this.histograms.put(key, latencies);
+    }
+
+    /**
+     * Prints the report as a table, with the changes from a previous report if any.
+     *
+     * @param out The stream to print to.
+     * @param baseline The previous report, or null.
+     */
+    public void print(PrintStream out, JsonNode baseline) {
+        out.printf(
+            "%.0f requests/s (%s arrivals) for %ss, after a %ss warmup%n",
+            this.options.getRate(),
+            this.options.getArrivals().name().toLowerCase(),
+            this.options.getDuration().toSeconds(),
+            this.options.getWarmup().toSeconds()
+        );
+        if (baseline != null && (baseline.path("rate").asDouble() != this.options.getRate()
+            || !baseline.path("mix").equals(new ObjectMapper().valueToTree(this.mixByKey())))) {
+            out.println("The baseline ran at another rate or mix, so its latencies are not comparable");
+        }
+        out.printf("%-10s%10s%10s%12s%10s%10s%10s%10s%10s%n", "", "count", "errors", "req/s", "p50 ms", "p90 ms",
+            "p99 ms", "p999 ms", "max ms");
+        this.metrics.forEach((key, values) -> {
+            out.printf("%-10s%10d%10d%12.1f", key, values.get("count"), values.get("errors"), values.get("throughput"));
+            for (String metric : METRICS.subList(3, METRICS.size())) {
+                out.printf("%10.2f", values.get(metric).doubleValue());
+            }
+            out.println();
+
+            JsonNode previous = baseline == null ? null : baseline.path("operations").get(key);
+            if (previous != null) {
+                out.printf("%-10s%10s%10s%12s", "  change", "", "", change(previous, values, "throughput"));
+                for (String metric : METRICS.subList(3, METRICS.size())) {
+                    out.printf("%10s", change(previous, values, metric));
+                }
+                out.println();
+            }
+        });
+        out.printf(
+            "Generator lateness: %.2f ms at most. Requests without response at the end: %d.%n",
+            this.maxLatenessMillis,
+            this.unfinished
+        );
+    }
+
+    /**
+     * Writes the JSON report and the percentile distributions.
+     *
+     * @param directory The directory of the report, created if needed.
+     * @throws IOException If the report cannot be written.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", this.options.getRate());
+        report.put("arrivals", this.options.getArrivals().name().toLowerCase());
+        report.put("warmupSeconds", this.options.getWarmup().toSeconds());
+        report.put("durationSeconds", this.options.getDuration().toSeconds());
+        report.put("mix", this.mixByKey());
+        report.put("maxLatenessMillis", this.maxLatenessMillis);
+        report.put("unfinished", this.unfinished);
+        report.put("operations", this.metrics);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(directory.resolve("report.json").toFile(), report);
+
+        for (Map.Entry<String, Histogram> histogram : this.histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(directory.resolve(histogram.getKey() + ".hgrm").toFile())) {
+                // Scaled from microseconds to milliseconds
+                histogram.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    /**
+     * Checks the metrics against budgets, given as {@code <operation>.<metric>=<maximum>} properties, such as
+     * {@code get.p99=25} or {@code all.errors=0}. Latencies are in milliseconds.
+     *
+     * @param budgets The budgets.
+     * @return The exceeded budgets, described.
+     * @throws IllegalArgumentException If a budget names an unknown metric.
+     */
+    public List<String> checkBudgets(Properties budgets) throws IllegalArgumentException {
+        List<String> exceeded = new ArrayList<>();
+        for (String name : budgets.stringPropertyNames()) {
+            int separator = name.lastIndexOf('.');
+            String metric = name.substring(separator + 1);
+            if (separator < 0 || !METRICS.contains(metric) || metric.equals("count") || metric.equals("throughput")) {
+                throw new IllegalArgumentException("Unknown budget: " + name);
+            }
+
+            Map<String, Number> values = this.metrics.get(name.substring(0, separator));
+            double budget = Double.parseDouble(budgets.getProperty(name));
+            if (values != null && values.get(metric).doubleValue() > budget) {
+                exceeded.add(String.format("%s is %s, over its budget of %s", name, values.get(metric), budget));
+            }
+        }
+
+        return exceeded;
+    }
+
+    private Map<String, Integer> mixByKey() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        this.options.getMix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        return mix;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+
+    private static String change(JsonNode previous, Map<String, Number> values, String metric) {
+        double before = previous.path(metric).asDouble();
+        if (before == 0) {
+            return "";
+        }
+
+        return String.format("%+.1f%%", (values.get(metric).doubleValue() - before) / before * 100);
+    }
+}
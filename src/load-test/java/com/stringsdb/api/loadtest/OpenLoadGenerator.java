@@ -0,0 +1,139 @@
+package com.stringsdb.api.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate, whatever the latency of the responses (an open model, as independent
+ * clients behave).
+ * <p>
+ * Every request has an intended start time on a schedule computed from the rate alone. A request is sent at its
+ * intended time, or right away if the generator is late, and its latency is measured from its intended time. A slow
+ * response therefore never delays the following requests, and when the generator itself falls behind, the wait counts
+ * in the latency: the latencies are not subject to coordinated omission. The lateness of the generator is reported,
+ * so a saturated generator can be told from a slow application.
+ */
+public class OpenLoadGenerator {
+
+    /**
+     * The HTTP client sending the requests asynchronously.
+     */
+    private final HttpClient client;
+
+    /**
+     * The workload the requests are built from.
+     */
+    private final Workload workload;
+
+    /**
+     * The options of the test.
+     */
+    private final LoadTestOptions options;
+
+    /**
+     * The operations, each repeated as many times as its weight, so picking one is a single random index.
+     */
+    private final Operation[] weightedOperations;
+
+    /**
+     * Creates the generator.
+     *
+     * @param client The HTTP client sending the requests asynchronously.
+     * @param workload The workload the requests are built from.
+     * @param options The options of the test.
+     */
+    public OpenLoadGenerator(HttpClient client, Workload workload, LoadTestOptions options) {
+        this.client = client;
+        this.workload = workload;
+        this.options = options;
+        this.weightedOperations = options.getMix().entrySet().stream()
+            .flatMap(weight -> Collections.nCopies(weight.getValue(), weight.getKey()).stream())
+            .toArray(Operation[]::new);
+    }
+
+    /**
+     * Runs the warmup and then the measurement, and waits for the last responses.
+     *
+     * @return The results of the measurement.
+     * @throws InterruptedException If interrupted while running.
+     */
+    public LoadTestReport run() throws InterruptedException {
+        Map<Operation, OperationResult> results = new EnumMap<>(Operation.class);
+        this.options.getMix().keySet().forEach(operation -> results.put(operation, new OperationResult()));
+        AtomicInteger outstanding = new AtomicInteger();
+        Random random = new Random();
+        SplittableRandom arrivals = new SplittableRandom();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / this.options.getRate();
+
+        long start = System.nanoTime();
+        long measureFrom = start + this.options.getWarmup().toNanos();
+        long end = measureFrom + this.options.getDuration().toNanos();
+        long maxLateness = 0;
+        double offset = 0;
+        for (long intended = start; intended < end; intended = start + (long) offset) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (intended >= measureFrom) {
+                maxLateness = Math.max(maxLateness, -wait);
+            }
+
+            this.send(this.pickOperation(random), random, intended, intended >= measureFrom, results, outstanding);
+
+            offset += this.options.getArrivals() == LoadTestOptions.Arrivals.POISSON
+                ? -Math.log(1 - arrivals.nextDouble()) * meanIntervalNanos
+                : meanIntervalNanos;
+        }
+
+        // The requests still running are waited for, so the slowest ones are recorded too
+        long deadline = System.nanoTime() + this.options.getTimeout().toNanos() * 2;
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        return new LoadTestReport(this.options, results, maxLateness, outstanding.get());
+    }
+
+    private Operation pickOperation(Random random) {
+        return this.weightedOperations[random.nextInt(this.weightedOperations.length)];
+    }
+
+    /**
+     * Sends a request without waiting for its response.
+     *
+     * @param operation The operation of the request.
+     * @param random The source of the random choices.
+     * @param intended The intended start time of the request, in {@link System#nanoTime()} units.
+     * @param recorded Informs if the request is measured, as opposed to warming up.
+     * @param results The results of the operations.
+     * @param outstanding The amount of requests without a response yet.
+     */
+    private void send(
+        Operation operation,
+        Random random,
+        long intended,
+        boolean recorded,
+        Map<Operation, OperationResult> results,
+        AtomicInteger outstanding
+    ) {
+        HttpRequest request = operation.request(this.workload, random).timeout(this.options.getTimeout()).build();
+        outstanding.incrementAndGet();
+        this.client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - intended;
+            if (recorded) {
+                results.get(operation).record(latency, error == null && response.statusCode() / 100 == 2);
+            }
+            outstanding.decrementAndGet();
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package com.stringsdb.api.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The requests a load test sends.
+ */
+public enum Operation {
+
+    /**
+     * {@code GET /strings}, a page of all the entries.
+     */
+    LIST {
+        @Override
+        HttpRequest.Builder request(Workload workload, Random random) {
+            return get(workload.uri("/strings?page=" + workload.page(random) + "&size=" + workload.pageSize()));
+        }
+    },
+
+    /**
+     * {@code GET /strings?filter=...}, a page of the entries containing a word of the stored values.
+     */
+    SEARCH {
+        @Override
+        HttpRequest.Builder request(Workload workload, Random random) {
+            String filter = URLEncoder.encode(workload.word(random), StandardCharsets.UTF_8);
+            return get(workload.uri("/strings?filter=" + filter + "&size=" + workload.pageSize()));
+        }
+    },
+
+    /**
+     * {@code GET /strings/{id}}, a stored entry.
+     */
+    GET {
+        @Override
+        HttpRequest.Builder request(Workload workload, Random random) {
+            return get(workload.uri("/strings/" + workload.id(random)));
+        }
+    },
+
+    /**
+     * {@code POST /strings}, a new entry.
+     */
+    CREATE {
+        @Override
+        HttpRequest.Builder request(Workload workload, Random random) {
+            return HttpRequest.newBuilder(workload.uri("/strings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(workload.newEntry(random)));
+        }
+    };
+
+    /**
+     * Returns the key of the operation, as written in the mix, the reports and the budgets.
+     *
+     * @return The key.
+     */
+    public String key() {
+        return this.name().toLowerCase();
+    }
+
+    /**
+     * Finds an operation by key.
+     *
+     * @param key The key.
+     * @return The operation.
+     * @throws IllegalArgumentException If no operation has the key.
+     */
+    public static Operation fromKey(String key) throws IllegalArgumentException {
+        return Arrays.stream(values())
+            .filter(operation -> operation.key().equals(key))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key));
+    }
+
+    /**
+     * Builds a request of the operation.
+     *
+     * @param workload The workload of the test.
+     * @param random The source of the random choices.
+     * @return The request, without its timeout.
+     */
+    abstract HttpRequest.Builder request(Workload workload, Random random);
+
+    private static HttpRequest.Builder get(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Accept", "application/json").GET();
+    }
+}
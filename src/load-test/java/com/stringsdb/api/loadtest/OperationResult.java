@@ -0,0 +1,62 @@
+package com.stringsdb.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latencies and errors recorded for an operation, from the threads completing its requests.
+ * <p>
+ * The latencies are recorded in microseconds with three significant digits, failed requests included, since their
+ * clients wait for them too.
+ */
+public class OperationResult {
+
+    /**
+     * The greatest recorded latency, in microseconds. Greater latencies are recorded as this one.
+     */
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    /**
+     * The latencies, in microseconds.
+     */
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+
+    /**
+     * The amount of failed requests: responses other than 2xx, timeouts and connection errors.
+     */
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Records a request.
+     *
+     * @param latencyNanos The latency of the request, from its intended start time, in nanoseconds.
+     * @param succeeded Informs if the request succeeded.
+     */
+    public void record(long latencyNanos, boolean succeeded) {
+        this.latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY_MICROS));
+        if (!succeeded) {
+            this.errors.increment();
+        }
+    }
+
+    /**
+     * Returns the recorded latencies.
+     *
+     * @return The latencies, in microseconds.
+     */
+    public Histogram getLatencies() {
+        return this.latencies;
+    }
+
+    /**
+     * Returns the amount of failed requests.
+     *
+     * @return The amount.
+     */
+    public long getErrors() {
+        return this.errors.sum();
+    }
+}
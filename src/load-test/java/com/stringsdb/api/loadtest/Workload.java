@@ -0,0 +1,190 @@
+package com.stringsdb.api.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.generators.StringEntryGenerator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The data the requests of a load test are built from: the IDs and words of the entries stored before the test, and
+ * the new entries it saves. Everything is prepared ahead, so building a request costs little next to sending it.
+ */
+public class Workload {
+
+    /**
+     * The amount of entries stored per batch while seeding.
+     */
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    /**
+     * The amount of distinct new entries, saved in turn.
+     */
+    private static final int NEW_ENTRIES = 1000;
+
+    /**
+     * The shortest words used as filters, so that the searches can use the trigram index.
+     */
+    private static final int MIN_WORD_LENGTH = 3;
+
+    /**
+     * The URI of the application.
+     */
+    private final URI base;
+
+    /**
+     * The options of the test.
+     */
+    private final LoadTestOptions options;
+
+    /**
+     * The IDs of the stored entries.
+     */
+    private final long[] ids;
+
+    /**
+     * The distinct words of the stored values, used as filters.
+     */
+    private final String[] words;
+
+    /**
+     * The new entries, as JSON.
+     */
+    private final byte[][] newEntries;
+
+    private Workload(URI base, LoadTestOptions options, long[] ids, String[] words, byte[][] newEntries) {
+        this.base = base;
+        this.options = options;
+        this.ids = ids;
+        this.words = words;
+        this.newEntries = newEntries;
+    }
+
+    /**
+     * Stores the generated entries read by the test, through {@code POST /strings/batch}, and prepares the new ones.
+     *
+     * @param client The HTTP client.
+     * @param base The URI of the application.
+     * @param options The options of the test.
+     * @return The workload.
+     * @throws IOException If the entries cannot be stored.
+     * @throws InterruptedException If interrupted while storing the entries.
+     */
+    public static Workload seed(HttpClient client, URI base, LoadTestOptions options)
+        throws IOException, InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<Long> ids = new ArrayList<>(options.getSeed());
+        Set<String> words = new LinkedHashSet<>();
+
+        for (int seeded = 0; seeded < options.getSeed(); seeded += SEED_BATCH_SIZE) {
+            List<StringEntrySaveDto> batch = generate(Math.min(SEED_BATCH_SIZE, options.getSeed() - seeded));
+            HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(base.resolve("/strings/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(batch)))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("Seeding failed with HTTP status " + response.statusCode());
+            }
+
+            ids.addAll(mapper.readValue(response.body(), new TypeReference<List<Long>>() { }));
+            batch.forEach(entry -> Arrays.stream(entry.getValue().split("\\W+"))
+                .filter(word -> word.length() >= MIN_WORD_LENGTH)
+                .forEach(words::add));
+        }
+
+        byte[][] newEntries = new byte[NEW_ENTRIES][];
+        List<StringEntrySaveDto> generated = generate(NEW_ENTRIES);
+        for (int i = 0; i < NEW_ENTRIES; i++) {
+            newEntries[i] = mapper.writeValueAsBytes(generated.get(i));
+        }
+
+        return new Workload(
+            base,
+            options,
+            ids.stream().mapToLong(Long::longValue).toArray(),
+            words.toArray(new String[0]),
+            newEntries
+        );
+    }
+
+    /**
+     * Resolves a path of the application.
+     *
+     * @param path The path, with its query.
+     * @return The URI.
+     */
+    URI uri(String path) {
+        return this.base.resolve(path);
+    }
+
+    /**
+     * Returns the size of the listed pages.
+     *
+     * @return The size.
+     */
+    int pageSize() {
+        return this.options.getPageSize();
+    }
+
+    /**
+     * Picks a page to list.
+     *
+     * @param random The source of the random choices.
+     * @return The page number.
+     */
+    int page(Random random) {
+        return random.nextInt(this.options.getPages());
+    }
+
+    /**
+     * Picks the ID of a stored entry.
+     *
+     * @param random The source of the random choices.
+     * @return The ID.
+     */
+    long id(Random random) {
+        return this.ids[random.nextInt(this.ids.length)];
+    }
+
+    /**
+     * Picks a word of the stored values.
+     *
+     * @param random The source of the random choices.
+     * @return The word.
+     */
+    String word(Random random) {
+        return this.words[random.nextInt(this.words.length)];
+    }
+
+    /**
+     * Picks a new entry to save.
+     *
+     * @param random The source of the random choices.
+     * @return The entry, as JSON.
+     */
+    byte[] newEntry(Random random) {
+        return this.newEntries[random.nextInt(this.newEntries.length)];
+    }
+
+    private static List<StringEntrySaveDto> generate(int quantity) {
+        return Stream.generate(StringEntryGenerator::generateStringEntrySaveDto)
+            .limit(quantity)
+            .collect(Collectors.toList());
+    }
+}
@@ -2,11 +2,13 @@ package com.stringsdb;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main application.
  */
 @SpringBootApplication()
+@ConfigurationPropertiesScan
 public class Application {
 
     /**
@@ -0,0 +1,233 @@
+package com.stringsdb.api.binary;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.stringsdb.api.binary.StringEntryBinaryFormat.*;
+
+/**
+ * Reads the documents of the {@link StringEntryBinaryFormat binary format}, for the clients of the API. A decoder
+ * reads a single document, held in memory, and is not thread-safe.
+ * <pre>
+ * HttpResponse&lt;byte[]&gt; response = client.send(
+ *     HttpRequest.newBuilder(uri).header("Accept", StringEntryBinaryFormat.MEDIA_TYPE_VALUE).build(),
+ *     HttpResponse.BodyHandlers.ofByteArray()
+ * );
+ * StringEntryBinaryDecoder.EntryPage page = new StringEntryBinaryDecoder(response.body()).readPage();
+ * </pre>
+ */
+public class StringEntryBinaryDecoder {
+
+    /**
+     * The document.
+     */
+    private final byte[] bytes;
+
+    /**
+     * The position of the next byte to read.
+     */
+    private int position;
+
+    /**
+     * The ID of the previous entry with one, the IDs being written as differences.
+     */
+    private long previousId;
+
+    /**
+     * Creates a decoder.
+     *
+     * @param bytes The document.
+     */
+    public StringEntryBinaryDecoder(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Creates a decoder reading a whole stream.
+     *
+     * @param in The stream holding the document. It is not closed.
+     * @throws IOException If the stream cannot be read.
+     */
+    public StringEntryBinaryDecoder(InputStream in) throws IOException {
+        this(in.readAllBytes());
+    }
+
+    /**
+     * Reads a document holding a single entry.
+     *
+     * @return The entry.
+     * @throws IllegalArgumentException If the document is malformed or does not hold a single entry.
+     */
+    public StringEntryDto readEntry() {
+        this.readHeader(ENTRY);
+        StringEntryDto entry = this.readEntryBody();
+        this.checkEnd();
+
+        return entry;
+    }
+
+    /**
+     * Reads a document holding a page or a slice.
+     *
+     * @return The page, whose total is -1 if it was a slice.
+     * @throws IllegalArgumentException If the document is malformed or does not hold a page or a slice.
+     */
+    public EntryPage readPage() {
+        int kind = this.readHeader(PAGE, SLICE);
+        int number = this.readInt();
+        int size = this.readInt();
+        long totalElements;
+        boolean hasNext;
+        if (kind == PAGE) {
+            totalElements = this.readVarint();
+            hasNext = size > 0 && (number + 1L) * size < totalElements;
+        } else {
+            totalElements = -1;
+            hasNext = this.readByte() != 0;
+        }
+
+        int count = this.readInt();
+        // Every entry takes a byte at least, which bounds the allocation of malformed documents
+        List<StringEntryDto> content = new ArrayList<>(Math.min(count, this.bytes.length - this.position));
+        for (int i = 0; i < count; i++) {
+            content.add(this.readEntryBody());
+        }
+        this.checkEnd();
+
+        return new EntryPage(content, number, size, totalElements, !hasNext);
+    }
+
+    private int readHeader(int... kinds) {
+        int version = this.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported version of the binary format: " + version);
+        }
+
+        int kind = this.readByte();
+        for (int expected : kinds) {
+            if (kind == expected) {
+                return kind;
+            }
+        }
+
+        throw new IllegalArgumentException("Unexpected kind of document: " + kind);
+    }
+
+    private StringEntryDto readEntryBody() {
+        int flags = this.readByte();
+        StringEntryDto entry = new StringEntryDto();
+        if ((flags & HAS_ID) != 0) {
+            this.previousId += this.readSignedVarint();
+            entry.setId(this.previousId);
+        }
+        if ((flags & HAS_VALUE) != 0) {
+            int length = this.readInt();
+            if (length > this.bytes.length - this.position) {
+                throw truncated();
+            }
+            entry.setValue(new String(this.bytes, this.position, length, StandardCharsets.UTF_8));
+            this.position += length;
+        }
+        if ((flags & HAS_CREATED_AT) != 0) {
+            long millis = this.readSignedVarint();
+            long nanos = this.readVarint();
+            if (nanos >= 1_000_000) {
+                throw new IllegalArgumentException("Malformed creation date");
+            }
+            entry.setCreatedAt(LocalDateTime.ofEpochSecond(
+                Math.floorDiv(millis, 1000),
+                (int) (Math.floorMod(millis, 1000) * 1_000_000 + nanos),
+                ZoneOffset.UTC
+            ));
+        }
+
+        return entry;
+    }
+
+    private int readInt() {
+        long value = this.readVarint();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Malformed document: " + value + " out of range");
+        }
+
+        return (int) value;
+    }
+
+    private long readSignedVarint() {
+        long value = this.readVarint();
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = this.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private int readByte() {
+        if (this.position == this.bytes.length) {
+            throw truncated();
+        }
+
+        return this.bytes[this.position++] & 0xFF;
+    }
+
+    private void checkEnd() {
+        if (this.position != this.bytes.length) {
+            throw new IllegalArgumentException(
+                "Malformed document: " + (this.bytes.length - this.position) + " bytes after its end"
+            );
+        }
+    }
+
+    private static IllegalArgumentException truncated() {
+        return new IllegalArgumentException("Truncated document");
+    }
+
+    /**
+     * A page or a slice of entries.
+     */
+    @Value
+    public static class EntryPage {
+
+        /**
+         * The entries.
+         */
+        List<StringEntryDto> content;
+
+        /**
+         * The number of the page, from 0.
+         */
+        int number;
+
+        /**
+         * The requested size of the page.
+         */
+        int size;
+
+        /**
+         * The amount of entries of all the pages, or -1 for a slice.
+         */
+        long totalElements;
+
+        /**
+         * Informs if it is the last page.
+         */
+        boolean last;
+    }
+}
@@ -0,0 +1,276 @@
+package com.stringsdb.api.binary;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.stringsdb.api.binary.StringEntryBinaryFormat.*;
+
+/**
+ * Writes string entries in the {@link StringEntryBinaryFormat binary format}. The values are encoded to UTF-8 straight
+ * into the output buffer, which is streamed to the underlying stream as it fills, so nothing is allocated per entry.
+ * Like {@link String#getBytes(java.nio.charset.Charset)}, unpaired surrogates are encoded as {@code ?}.
+ */
+public final class StringEntryBinaryEncoder {
+
+    /**
+     * The size of the output buffers.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The longest encoding of a varint.
+     */
+    private static final int MAX_VARINT_BYTES = 10;
+
+    /**
+     * The longest encoding of a character: a supplementary code point, encoded from two characters.
+     */
+    private static final int MAX_CHAR_BYTES = 4;
+
+    /**
+     * Prevents the instantiation of the class.
+     */
+    private StringEntryBinaryEncoder() {
+    }
+
+    /**
+     * Writes a single entry.
+     *
+     * @param entry The entry.
+     * @param out The stream to write to. It is neither flushed nor closed.
+     * @throws IOException If the stream cannot be written.
+     * @throws IllegalArgumentException If the creation date of the entry is too far from the epoch to be written.
+     */
+    public static void writeEntry(StringEntryDto entry, OutputStream out) throws IOException {
+        Output output = new Output(out);
+        output.writeByte(VERSION);
+        output.writeByte(ENTRY);
+        output.writeEntry(entry);
+        output.flush();
+    }
+
+    /**
+     * Writes a page, with its total, or a slice.
+     *
+     * @param slice The page or slice.
+     * @param out The stream to write to. It is neither flushed nor closed.
+     * @throws IOException If the stream cannot be written.
+     * @throws IllegalArgumentException If the creation date of an entry is too far from the epoch to be written.
+     */
+    public static void writeSlice(Slice<? extends StringEntryDto> slice, OutputStream out) throws IOException {
+        Output output = new Output(out);
+        output.writeByte(VERSION);
+        output.writeByte(slice instanceof Page ? PAGE : SLICE);
+        output.writeVarint(slice.getNumber());
+        output.writeVarint(slice.getSize());
+        if (slice instanceof Page) {
+            output.writeVarint(((Page<?>) slice).getTotalElements());
+        } else {
+            output.writeByte(slice.hasNext() ? 1 : 0);
+        }
+
+        List<? extends StringEntryDto> content = slice.getContent();
+        output.writeVarint(content.size());
+        for (StringEntryDto entry : content) {
+            output.writeEntry(entry);
+        }
+        output.flush();
+    }
+
+    /**
+     * Returns the length of the UTF-8 encoding of a string, unpaired surrogates counting for one byte.
+     *
+     * @param value The string.
+     * @return The length.
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // Four bytes for the two characters
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * The buffered output of a document.
+     */
+    private static final class Output {
+
+        /**
+         * The stream the document is written to.
+         */
+        private final OutputStream out;
+
+        /**
+         * The output buffer.
+         */
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        /**
+         * The position of the next byte in the buffer.
+         */
+        private int position;
+
+        /**
+         * The ID of the previous entry with one, the IDs being written as differences.
+         */
+        private long previousId;
+
+        /**
+         * Creates an output.
+         *
+         * @param out The stream the entries are written to.
+         */
+        private Output(OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Writes an entry: the flags of its present fields, then the ID as a difference with the previous one, the
+         * value, and the creation date as epoch milliseconds followed by the remaining nanoseconds.
+         *
+         * @param entry The entry.
+         * @throws IOException If the stream cannot be written.
+         * @throws IllegalArgumentException If the creation date is too far from the epoch to be written.
+         */
+        private void writeEntry(StringEntryDto entry) throws IOException {
+            Long id = entry.getId();
+            String value = entry.getValue();
+            LocalDateTime createdAt = entry.getCreatedAt();
+            this.writeByte(
+                (id == null ? 0 : HAS_ID) | (value == null ? 0 : HAS_VALUE) | (createdAt == null ? 0 : HAS_CREATED_AT)
+            );
+
+            if (id != null) {
+                this.writeSignedVarint(id - this.previousId);
+                this.previousId = id;
+            }
+            if (value != null) {
+                this.writeString(value);
+            }
+            if (createdAt != null) {
+                long millis;
+                try {
+                    millis = Math.addExact(
+                        Math.multiplyExact(createdAt.toEpochSecond(ZoneOffset.UTC), 1000L),
+                        createdAt.getNano() / 1_000_000
+                    );
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("The creation date " + createdAt + " cannot be written", e);
+                }
+                this.writeSignedVarint(millis);
+                this.writeVarint(createdAt.getNano() % 1_000_000);
+            }
+        }
+
+        /**
+         * Writes a string as the length of its UTF-8 encoding followed by the encoding.
+         *
+         * @param value The string.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeString(String value) throws IOException {
+            this.writeVarint(utf8Length(value));
+            byte[] bytes = this.buffer;
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                if (this.position > BUFFER_SIZE - MAX_CHAR_BYTES) {
+                    this.flush();
+                }
+
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes[this.position++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[this.position++] = (byte) (0xC0 | c >> 6);
+                    bytes[this.position++] = (byte) (0x80 | c & 0x3F);
+                } else if (!Character.isSurrogate(c)) {
+                    bytes[this.position++] = (byte) (0xE0 | c >> 12);
+                    bytes[this.position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    bytes[this.position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[this.position++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[this.position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[this.position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[this.position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    bytes[this.position++] = '?';
+                }
+            }
+        }
+
+        /**
+         * Writes a signed number as a zigzag varint, so that small negative numbers stay short.
+         *
+         * @param value The number.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeSignedVarint(long value) throws IOException {
+            this.writeVarint(value << 1 ^ value >> 63);
+        }
+
+        /**
+         * Writes a number as a varint: seven bits per byte, lowest first, the high bit marking the bytes followed by
+         * another.
+         *
+         * @param value The number, read as unsigned.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeVarint(long value) throws IOException {
+            if (this.position > BUFFER_SIZE - MAX_VARINT_BYTES) {
+                this.flush();
+            }
+
+            while ((value & ~0x7FL) != 0) {
+                this.buffer[this.position++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            this.buffer[this.position++] = (byte) value;
+        }
+
+        /**
+         * Writes a byte.
+         *
+         * @param value The byte, in the lowest bits.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeByte(int value) throws IOException {
+            if (this.position == BUFFER_SIZE) {
+                this.flush();
+            }
+            this.buffer[this.position++] = (byte) value;
+        }
+
+        /**
+         * Sends the content of the buffer to the stream, and empties the buffer.
+         *
+         * @throws IOException If the stream cannot be written.
+         */
+        private void flush() throws IOException {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.stringsdb.api.binary;
+
+/**
+ * The compact binary format of the string entries, served instead of JSON to the clients accepting
+ * {@value #MEDIA_TYPE_VALUE}.
+ * <p>
+ * A document starts with the version of the format and the kind of its body, one byte each. The integers are varints:
+ * 7 bits per byte, least significant group first, the high bit set on every byte but the last. The signed ones are
+ * zigzag encoded first, so the small negative numbers stay short.
+ * <pre>
+ * document   = version:u8 kind:u8 (entry | page | slice)
+ * entry      = flags:u8 [id] [value] [createdAt]
+ * page       = number:varint size:varint totalElements:varint count:varint entry*
+ * slice      = number:varint size:varint hasNext:u8 count:varint entry*
+ * id         = zigzag varint, the difference with the ID of the previous entry of the document, or with 0
+ * value      = length:varint UTF-8 bytes
+ * createdAt  = millis:zigzag varint nanos:varint, the milliseconds since the epoch of the timestamp read as UTC and
+ *              the nanoseconds of the millisecond
+ * </pre>
+ * The flags of an entry tell which of its fields are present; a missing one was null. The size of an unpaged page is
+ * the amount of its entries.
+ * <p>
+ * This class and the {@link StringEntryBinaryDecoder decoder} need nothing but the JDK and {@code StringEntryDto}, so
+ * clients can copy them.
+ */
+public final class StringEntryBinaryFormat {
+
+    /**
+     * The media type of the format.
+     */
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.stringsdb.entries";
+
+    /**
+     * The version of the format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The kind of the documents holding a single entry.
+     */
+    static final int ENTRY = 1;
+
+    /**
+     * The kind of the documents holding a page, with the total of the entries.
+     */
+    static final int PAGE = 2;
+
+    /**
+     * The kind of the documents holding a slice, which only tells if there is a next one.
+     */
+    static final int SLICE = 3;
+
+    /**
+     * The flag of the entries with an ID.
+     */
+    static final int HAS_ID = 1;
+
+    /**
+     * The flag of the entries with a value.
+     */
+    static final int HAS_VALUE = 1 << 1;
+
+    /**
+     * The flag of the entries with a creation date.
+     */
+    static final int HAS_CREATED_AT = 1 << 2;
+
+    private StringEntryBinaryFormat() {
+    }
+}
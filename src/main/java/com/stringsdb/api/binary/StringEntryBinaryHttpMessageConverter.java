@@ -0,0 +1,98 @@
+package com.stringsdb.api.binary;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Writes the string entries, and the pages and slices of them, in the {@link StringEntryBinaryFormat binary format},
+ * for the requests accepting it. The controllers list the format in the media types their endpoints produce, after
+ * JSON, which stays the default.
+ */
+@Component
+public class StringEntryBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    /**
+     * The media type of the format.
+     */
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf(StringEntryBinaryFormat.MEDIA_TYPE_VALUE);
+
+    /**
+     * Creates the converter.
+     */
+    public StringEntryBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StringEntryDto.class.isAssignableFrom(clazz) || Slice.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!this.canWrite(mediaType)) {
+            return false;
+        }
+        if (StringEntryDto.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+
+        // The content of a slice is only known from its declared type
+        Class<?> element = type == null ? null : ResolvableType.forType(type).as(Slice.class).resolveGeneric(0);
+        return Slice.class.isAssignableFrom(clazz) && element != null && StringEntryDto.class.isAssignableFrom(element);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return this.canWrite(null, clazz, mediaType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+        throws IOException, HttpMessageNotWritableException {
+        try {
+            if (object instanceof StringEntryDto) {
+                StringEntryBinaryEncoder.writeEntry((StringEntryDto) object, outputMessage.getBody());
+            } else {
+                StringEntryBinaryEncoder.writeSlice((Slice<? extends StringEntryDto>) object, outputMessage.getBody());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotWritableException("Could not write the binary document: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+        throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("String entries are not read in the binary format", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+        throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("String entries are not read in the binary format", inputMessage);
+    }
+}
@@ -0,0 +1,39 @@
+package com.stringsdb.api.commands;
+
+import com.stringsdb.api.services.StringEntryBackfillService;
+import com.stringsdb.api.storage.ConditionalOnJpaStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the missing folded values on startup when the application runs with the {@code --backfill-folded-values}
+ * option.
+ */
+@Slf4j
+@Component
+@ConditionalOnJpaStorage
+@RequiredArgsConstructor
+public class BackfillFoldedValuesCommand implements ApplicationRunner {
+
+    /**
+     * The application option that triggers the command.
+     */
+    public static final String OPTION = "backfill-folded-values";
+
+    /**
+     * The string entry backfill service.
+     */
+    private final StringEntryBackfillService stringEntryBackfillService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            log.info("Backfilling the folded values");
+            long updated = this.stringEntryBackfillService.backfillFoldedValues();
+            log.info("Folded values backfilled: {} entries updated", updated);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.stringsdb.api.commands;
+
+import com.stringsdb.api.services.StringEntryBackfillService;
+import com.stringsdb.api.storage.ConditionalOnJpaStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the missing content hashes on startup when the application runs with the {@code --backfill-value-hashes}
+ * option.
+ */
+@Slf4j
+@Component
+@ConditionalOnJpaStorage
+@RequiredArgsConstructor
+public class BackfillValueHashesCommand implements ApplicationRunner {
+
+    /**
+     * The application option that triggers the command.
+     */
+    public static final String OPTION = "backfill-value-hashes";
+
+    /**
+     * The string entry backfill service.
+     */
+    private final StringEntryBackfillService stringEntryBackfillService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            log.info("Backfilling the value hashes");
+            long updated = this.stringEntryBackfillService.backfillValueHashes();
+            log.info("Value hashes backfilled: {} entries updated", updated);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.stringsdb.api.commands;
+
+import com.stringsdb.api.services.TrigramIndexService;
+import com.stringsdb.api.storage.ConditionalOnJpaStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the trigram index on startup when the application runs with the {@code --rebuild-trigram-index} option.
+ */
+@Slf4j
+@Component
+@ConditionalOnJpaStorage
+@RequiredArgsConstructor
+public class RebuildTrigramIndexCommand implements ApplicationRunner {
+
+    /**
+     * The application option that triggers the command.
+     */
+    public static final String OPTION = "rebuild-trigram-index";
+
+    /**
+     * The trigram index service.
+     */
+    private final TrigramIndexService trigramIndexService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            log.info("Rebuilding the trigram index");
+            long indexed = this.trigramIndexService.rebuild();
+            log.info("Trigram index rebuilt: {} entries indexed", indexed);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the backfills of the columns added after entries were stored.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.backfill")
+public class BackfillProperties {
+
+    /**
+     * The amount of entries updated per transaction while backfilling.
+     */
+    private int chunkSize = 1000;
+}
@@ -0,0 +1,24 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the count estimates used by pages with approximate totals.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.count-estimates")
+public class CountEstimatesProperties {
+
+    /**
+     * How long a count taken from the database is used before being counted again.
+     */
+    private Duration staleness = Duration.ofSeconds(30);
+
+    /**
+     * The maximum amount of filters whose counts are cached.
+     */
+    private long maxFilters = 10_000;
+}
@@ -0,0 +1,17 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the deduplication of saved string values.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.deduplication")
+public class DeduplicationProperties {
+
+    /**
+     * Informs if saving a value that is already stored returns the stored entry instead of storing the value again.
+     */
+    private boolean enabled = false;
+}
@@ -0,0 +1,30 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process cache of string entries looked up by ID.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.entry-cache")
+public class EntryCacheProperties {
+
+    /**
+     * Informs if entries looked up by ID are cached.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum amount of cached IDs, found or not.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long an ID that was not found is remembered as missing. Entries are created with IDs reserved in advance
+     * and possibly by other instances, so a missing ID may exist a moment later.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(5);
+}
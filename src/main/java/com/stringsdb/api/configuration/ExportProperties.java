@@ -0,0 +1,20 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the exports of the string entries.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.export")
+public class ExportProperties {
+
+    /**
+     * The time an export may take before it is cut off. Exports of the whole table run for as long as the client
+     * keeps reading, so they get their own timeout instead of the one of the other asynchronous requests.
+     */
+    private Duration timeout = Duration.ofHours(1);
+}
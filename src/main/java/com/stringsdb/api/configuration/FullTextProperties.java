@@ -0,0 +1,52 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the full-text index ranking the entries by relevance.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.full-text")
+public class FullTextProperties {
+
+    /**
+     * Informs if the index is loaded and serves full-text searches.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The file the index is saved to, and loaded from on startup.
+     */
+    private Path snapshotFile = Path.of("data", "full-text.index");
+
+    /**
+     * The delay between two saves of the index. The index is only saved when entries were indexed since the last
+     * save, and it is saved on shutdown too.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    /**
+     * How long before the creation date of the last catch-up with the store the next catch-up starts. It covers the
+     * clock differences between the instances and the transactions still running during the catch-up.
+     */
+    private Duration catchUpMargin = Duration.ofMinutes(10);
+
+    /**
+     * The term frequency saturation parameter of BM25: how much repeating a term adds to the score.
+     */
+    private double k1 = 1.2;
+
+    /**
+     * The length normalization parameter of BM25, between 0 (long values are not penalized) and 1.
+     */
+    private double b = 0.75;
+
+    /**
+     * The maximum amount of entries returned by a search.
+     */
+    private int maxLimit = 100;
+}
@@ -0,0 +1,18 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the string entry IDs allocation.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.ids")
+public class IdAllocationProperties {
+
+    /**
+     * The amount of IDs this node reserves at once. Larger blocks hit the shared ID table less often, at the cost of
+     * larger gaps in the IDs after a restart.
+     */
+    private int blockSize = 50;
+}
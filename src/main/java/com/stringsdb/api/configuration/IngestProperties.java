@@ -0,0 +1,44 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the asynchronous ingestion of string entries.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.ingest")
+public class IngestProperties {
+
+    /**
+     * Informs if the asynchronous ingestion endpoints are available.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The maximum amount of entries waiting to be saved. Entries submitted while the queue is full are rejected.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * The maximum amount of entries saved in a single transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the writer waits for more entries to fill a batch after taking its first entry.
+     */
+    private Duration linger = Duration.ofMillis(10);
+
+    /**
+     * How long a submission waits for room in a full queue before being rejected.
+     */
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    /**
+     * The maximum amount of tickets whose status is kept. The oldest tickets are forgotten first.
+     */
+    private int maxTickets = 100_000;
+}
@@ -1,5 +1,9 @@
 package com.stringsdb.api.configuration;
 
+import com.stringsdb.api.ids.StringEntryIdGenerator;
+import com.stringsdb.api.storage.ConditionalOnJpaStorage;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
@@ -7,6 +11,21 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
  * JPA configuration.
  */
 @Configuration
+@ConditionalOnJpaStorage
 @EnableJpaAuditing
 public class JpaConfiguration {
+
+    /**
+     * Passes the ID allocation configuration to the Hibernate ID generators.
+     *
+     * @param properties The ID allocation configuration.
+     * @return The Hibernate properties customizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationHibernatePropertiesCustomizer(IdAllocationProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(
+            StringEntryIdGenerator.BLOCK_SIZE_SETTING,
+            properties.getBlockSize()
+        );
+    }
 }
@@ -0,0 +1,30 @@
+package com.stringsdb.api.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.api.json.StringEntryPageHttpMessageConverter;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON configuration.
+ */
+@Configuration
+public class JsonConfiguration {
+
+    /**
+     * Writes the pages of string entries without Jackson. Spring Boot puts the additional converters before its own
+     * ones, so this converter is asked first.
+     *
+     * @param objectMapper The mapper configured by Spring Boot, the output of the converter is checked against.
+     * @param metrics The metrics recording the serializations.
+     * @return The converter.
+     */
+    @Bean
+    public StringEntryPageHttpMessageConverter stringEntryPageHttpMessageConverter(
+        ObjectMapper objectMapper,
+        StringEntryMetrics metrics
+    ) {
+        return new StringEntryPageHttpMessageConverter(objectMapper, metrics);
+    }
+}
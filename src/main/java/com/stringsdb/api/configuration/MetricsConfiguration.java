@@ -0,0 +1,43 @@
+package com.stringsdb.api.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.api.metrics.SlowRequestFilter;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.metrics.TimedJsonHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Metrics configuration.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Replaces the JSON converter of Spring Boot by one timing the serialization of the responses.
+     *
+     * @param objectMapper The mapper configured by Spring Boot.
+     * @param metrics The metrics recording the serializations.
+     * @return The JSON converter.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter timedJsonHttpMessageConverter(
+        ObjectMapper objectMapper,
+        StringEntryMetrics metrics
+    ) {
+        return new TimedJsonHttpMessageConverter(objectMapper, metrics);
+    }
+
+    /**
+     * Logs the slow requests with their timings. The filter is declared here rather than scanned, so the web slices
+     * of the tests, which do not load the configuration properties, leave it out.
+     *
+     * @param properties The metrics configuration.
+     * @return The filter.
+     */
+    @Bean
+    public SlowRequestFilter slowRequestFilter(MetricsProperties properties) {
+        return new SlowRequestFilter(properties);
+    }
+}
@@ -0,0 +1,24 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the metrics of the hot paths and of the slow request log.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.metrics")
+public class MetricsProperties {
+
+    /**
+     * Informs if the requests taking longer than the threshold are logged, with their timings.
+     */
+    private boolean slowRequestLogEnabled = true;
+
+    /**
+     * The duration from which a request is logged as slow.
+     */
+    private Duration slowRequestThreshold = Duration.ofMillis(500);
+}
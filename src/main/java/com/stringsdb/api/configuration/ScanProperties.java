@@ -0,0 +1,36 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the parallel scans evaluating regular expressions and predicates over the stored values.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.scan")
+public class ScanProperties {
+
+    /**
+     * The amount of threads scanning segments, or 0 to use one per available processor. With the JPA storage, each
+     * thread holds a database connection while it reads a segment.
+     */
+    private int parallelism = 0;
+
+    /**
+     * The amount of IDs in a segment, the unit of work of a scan. Smaller segments stop sooner once a page is full,
+     * larger ones cost fewer reads.
+     */
+    private int segmentSize = 10_000;
+
+    /**
+     * The maximum amount of segments read ahead of the one being consumed, per scanning thread.
+     */
+    private int readAhead = 2;
+
+    /**
+     * The maximum time a scan may take before it is cancelled.
+     */
+    private Duration timeBudget = Duration.ofSeconds(10);
+}
@@ -0,0 +1,31 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the cache of search results.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.search-cache")
+public class SearchCacheProperties {
+
+    /**
+     * Informs if search results are cached.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The approximate maximum memory used by the cached results.
+     */
+    private DataSize maximumMemory = DataSize.ofMegabytes(32);
+
+    /**
+     * How long a result is cached. Saves served by this instance invalidate the results right away, so this only
+     * bounds how long the saves of other instances go unnoticed.
+     */
+    private Duration timeToLive = Duration.ofSeconds(60);
+}
@@ -0,0 +1,87 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration of the storage of string entries.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.storage")
+public class StorageProperties {
+
+    /**
+     * The storage backends.
+     */
+    public enum Type {
+
+        /**
+         * The relational database, through JPA.
+         */
+        JPA,
+
+        /**
+         * The embedded segment log on local disk.
+         */
+        LOG
+    }
+
+    /**
+     * The storage backend.
+     */
+    private Type type = Type.JPA;
+
+    /**
+     * The configuration of the embedded segment log.
+     */
+    private Log log = new Log();
+
+    /**
+     * The configuration of the in-memory serving mode.
+     */
+    private InMemory inMemory = new InMemory();
+
+    /**
+     * Configuration of the embedded segment log.
+     */
+    @Data
+    public static class Log {
+
+        /**
+         * The directory of the segment files.
+         */
+        private Path directory = Path.of("data");
+
+        /**
+         * The size of a segment file. A new segment is started when the current one is full.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Informs if every save is forced to the disk before it returns. Without it, saves survive a crash of the
+         * application but not of the operating system.
+         */
+        private boolean fsync = true;
+    }
+
+    /**
+     * Configuration of the in-memory serving mode, where the reads are served from a copy of all the entries kept in
+     * memory, in front of the storage backend.
+     */
+    @Data
+    public static class InMemory {
+
+        /**
+         * Informs if the reads are served from memory.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The size of the off-heap chunks holding the values.
+         */
+        private DataSize chunkSize = DataSize.ofMegabytes(16);
+    }
+}
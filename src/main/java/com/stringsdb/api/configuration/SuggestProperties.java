@@ -0,0 +1,65 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the in-memory index serving prefix suggestions and fuzzy searches.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.suggest")
+public class SuggestProperties {
+
+    /**
+     * How suggestions are ranked.
+     */
+    public enum Ranking {
+        /**
+         * The values saved most recently first.
+         */
+        RECENCY,
+
+        /**
+         * The values saved most often first.
+         */
+        FREQUENCY
+    }
+
+    /**
+     * Informs if the index is loaded and serves suggestions.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How suggestions are ranked.
+     */
+    private Ranking ranking = Ranking.RECENCY;
+
+    /**
+     * The maximum amount of suggestions returned by a request.
+     */
+    private int maxLimit = 20;
+
+    /**
+     * The length of the prefixes, in characters, whose best suggestions are kept ranked in advance. Longer prefixes
+     * rank the values they match on each request.
+     */
+    private int rankedPrefixLength = 2;
+
+    /**
+     * The maximum amount of values ranked by a request for a longer prefix. Requests matching more values only rank
+     * the first ones in alphabetical order.
+     */
+    private int maxScan = 10_000;
+
+    /**
+     * The maximum edit distance of a fuzzy search. Larger distances match more values and prune less of the index.
+     */
+    private int maxEdits = 3;
+
+    /**
+     * The approximate maximum memory used by the indexed values. Once it is reached, new values are not indexed.
+     */
+    private DataSize memoryBudget = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,34 @@
+package com.stringsdb.api.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the trigram index.
+ */
+@Data
+@ConfigurationProperties(prefix = "stringsdb.trigram-index")
+public class TrigramIndexProperties {
+
+    /**
+     * Informs if the index is maintained when saving new entries.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Informs if filtered searches use the index. It is disabled by default, since the entries stored before the
+     * index existed are not indexed and would be missing from the results: enable it once the index is rebuilt.
+     */
+    private boolean searchEnabled = false;
+
+    /**
+     * The maximum amount of trigrams of a filter used to look up candidates. The candidates are always verified
+     * against the full filter, so using fewer trigrams only widens the candidates set.
+     */
+    private int maxSearchTrigrams = 16;
+
+    /**
+     * The amount of entries indexed per transaction while rebuilding the index.
+     */
+    private int rebuildChunkSize = 1000;
+}
@@ -1,18 +1,40 @@
 package com.stringsdb.api.controllers;
 
+import com.stringsdb.api.binary.StringEntryBinaryFormat;
+import com.stringsdb.api.dtos.StringEntryBatchSaveDto;
+import com.stringsdb.api.dtos.StringEntryCursorPageDto;
 import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntryFuzzyMatchDto;
+import com.stringsdb.api.dtos.StringEntryMatchDto;
 import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.dtos.StringEntrySearchHitDto;
+import com.stringsdb.api.dtos.StringEntrySuggestionDto;
+import com.stringsdb.api.fulltext.MatchOperator;
+import com.stringsdb.api.pagination.CountMode;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.scan.AhoCorasick;
+import com.stringsdb.api.scan.ScanPredicate;
+import com.stringsdb.api.scan.ScanPredicates;
+import com.stringsdb.api.scan.ScanTimeoutException;
+import com.stringsdb.api.scan.TermMatchMode;
 import com.stringsdb.api.services.StringEntryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.validation.Valid;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 /**
  * String entries REST controller.
@@ -30,31 +52,287 @@ public class StringEntryController {
     /**
      * Returns many items.
      *
+     * @param filter The filter for the strings.
+     * @param insensitive Informs if the filter matches ignoring case and accents, whatever the database collation.
      * @param pageable Pageable object build by Spring to control page, size and sort attributes.
-     * @return A list of items.
+     * @return A list of items, in JSON or in the binary format.
      */
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(
+        params = {"!count", "!after", "!regex", "!predicate", "!match"},
+        produces = {MediaType.APPLICATION_JSON_VALUE, StringEntryBinaryFormat.MEDIA_TYPE_VALUE}
+    )
     public Page<StringEntryDto> getMany(
         @RequestParam(name = "filter", required = false) String filter,
+        @RequestParam(name = "insensitive", defaultValue = "false") boolean insensitive,
         Pageable pageable
     ) {
+        if (insensitive && filter != null) {
+            return this.stringEntryService.getManyFolded(filter, pageable);
+        }
+
         return this.stringEntryService.getMany(filter, pageable);
     }
 
+    /**
+     * Returns many items, choosing how their total is computed. It is selected by the presence of the {@code count}
+     * parameter: {@code none} returns a slice that only tells if there is a next page, {@code approximate} returns a
+     * page with an estimated total and {@code exact} behaves as the default listing.
+     *
+     * @param filter The filter for the strings.
+     * @param count How the total of items is computed.
+     * @param insensitive Must be false: insensitive filters are only served by the default listing.
+     * @param pageable Pageable object build by Spring to control page, size and sort attributes.
+     * @return A slice or a page of items, in JSON or in the binary format.
+     * @throws ResponseStatusException If the count mode is invalid, or if the filter is insensitive.
+     */
+    @GetMapping(
+        params = {"count", "!after", "!regex", "!predicate", "!match"},
+        produces = {MediaType.APPLICATION_JSON_VALUE, StringEntryBinaryFormat.MEDIA_TYPE_VALUE}
+    )
+    public Slice<StringEntryDto> getManyWithCountMode(
+        @RequestParam(name = "filter", required = false) String filter,
+        @RequestParam(name = "count") String count,
+        @RequestParam(name = "insensitive", defaultValue = "false") boolean insensitive,
+        Pageable pageable
+    ) throws ResponseStatusException {
+        rejectInsensitive(insensitive);
+        CountMode countMode;
+        try {
+            countMode = CountMode.fromParameter(count);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid count mode: " + count, e);
+        }
+
+        switch (countMode) {
+            case NONE:
+                return this.stringEntryService.getSlice(filter, pageable);
+            case APPROXIMATE:
+                return this.stringEntryService.getManyWithApproximateCount(filter, pageable);
+            default:
+                return this.stringEntryService.getMany(filter, pageable);
+        }
+    }
+
+    /**
+     * Returns many items using keyset (cursor-based) pagination. It is selected by the presence of the {@code after}
+     * parameter, which is empty to start a walk and holds the {@code nextCursor} of the previous page otherwise.
+     *
+     * @param filter The filter for the strings.
+     * @param after The cursor returned with the previous page, or an empty string to request the first page.
+     * @param insensitive Must be false: insensitive filters are only served by the default listing.
+     * @param pageable Pageable object build by Spring. Only its size is used, and its sort starts a new walk.
+     * @return A page of items with the cursor for the next page.
+     * @throws ResponseStatusException If the cursor or the sort is invalid, or if the filter is insensitive.
+     */
+    @GetMapping(params = {"after", "!regex", "!predicate", "!match"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public StringEntryCursorPageDto getManyAfter(
+        @RequestParam(name = "filter", required = false) String filter,
+        @RequestParam(name = "after") String after,
+        @RequestParam(name = "insensitive", defaultValue = "false") boolean insensitive,
+        Pageable pageable
+    ) throws ResponseStatusException {
+        rejectInsensitive(insensitive);
+        KeysetCursor cursor;
+        try {
+            cursor = after.isEmpty() ? KeysetCursor.first(pageable.getSort()) : KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        return this.stringEntryService.getManyAfter(filter, cursor, pageable.getPageSize());
+    }
+
+    /**
+     * Returns many items matching a regular expression, found by a parallel scan. It is selected by the presence of
+     * the {@code regex} parameter. The items contain a match of the expression, and the informed filter if any.
+     *
+     * @param filter The filter for the strings.
+     * @param regex The regular expression, in {@link java.util.regex.Pattern} syntax.
+     * @param predicate Must be absent: an expression and a predicate cannot be combined.
+     * @param pageable Pageable object build by Spring. It must be sorted by ID, or unsorted.
+     * @return A slice of items.
+     * @throws ResponseStatusException If the expression or the sort is invalid, or if the scan ran out of time.
+     */
+    @GetMapping(params = "regex", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Slice<StringEntryDto> getManyMatchingRegex(
+        @RequestParam(name = "filter", required = false) String filter,
+        @RequestParam(name = "regex") String regex,
+        @RequestParam(name = "predicate", required = false) String predicate,
+        Pageable pageable
+    ) throws ResponseStatusException {
+        if (predicate != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Use either a regex or a predicate");
+        }
+
+        ScanPredicate compiled;
+        try {
+            compiled = ScanPredicates.regex(regex);
+        } catch (PatternSyntaxException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid regex: " + e.getDescription(), e);
+        }
+
+        return scan(() -> this.stringEntryService.getSliceMatching(filter, compiled, pageable));
+    }
+
+    /**
+     * Returns many items matching a predicate expression, found by a parallel scan. It is selected by the presence of
+     * the {@code predicate} parameter. The expression is a list of clauses that must all match, each a list of words
+     * or quoted phrases separated by {@code |} of which the value contains one, or none if the clause starts with
+     * {@code -} (see {@link ScanPredicates#parse(String)}).
+     *
+     * @param filter The filter for the strings.
+     * @param predicate The predicate expression.
+     * @param pageable Pageable object build by Spring. It must be sorted by ID, or unsorted.
+     * @return A slice of items.
+     * @throws ResponseStatusException If the predicate or the sort is invalid, or if the scan ran out of time.
+     */
+    @GetMapping(params = {"predicate", "!regex"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Slice<StringEntryDto> getManyMatchingPredicate(
+        @RequestParam(name = "filter", required = false) String filter,
+        @RequestParam(name = "predicate") String predicate,
+        Pageable pageable
+    ) throws ResponseStatusException {
+        ScanPredicate compiled;
+        try {
+            compiled = ScanPredicates.parse(predicate);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid predicate: " + e.getMessage(), e);
+        }
+
+        return scan(() -> this.stringEntryService.getSliceMatching(filter, compiled, pageable));
+    }
+
+    /**
+     * Returns many items containing any or all of many terms, with the occurrences of the terms in their values, so
+     * clients can highlight them without searching the values again. It is selected by the presence of the
+     * {@code match} parameter. Each term is a {@code filter} parameter, repeated for every term; a term may contain
+     * commas.
+     *
+     * @param request The request, holding the {@code filter} parameters.
+     * @param match How the terms are combined: {@code any} returns the items containing at least one term, {@code all}
+     *     the items containing every term.
+     * @param pageable Pageable object build by Spring. It must be sorted by ID, or unsorted.
+     * @return A slice of items with the occurrences of the terms.
+     * @throws ResponseStatusException If the terms, the mode or the sort are invalid, or if the scan ran out of time.
+     */
+    @GetMapping(params = {"match", "!regex", "!predicate"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Slice<StringEntryMatchDto> getManyMatchingTerms(
+        WebRequest request,
+        @RequestParam(name = "match") String match,
+        Pageable pageable
+    ) throws ResponseStatusException {
+        TermMatchMode mode;
+        AhoCorasick automaton;
+        try {
+            mode = TermMatchMode.fromParameter(match);
+            // Binding the parameter to a list would split a single term on its commas
+            String[] terms = request.getParameterValues("filter");
+            automaton = AhoCorasick.compile(terms == null ? List.of() : Arrays.asList(terms));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        return scan(() -> this.stringEntryService.getSliceMatchingTerms(automaton, mode, pageable));
+    }
+
     /**
      * Returns a single item.
      *
      * @param id The ID of the item to return.
-     * @return The requested item.
+     * @return The requested item, in JSON or in the binary format.
      * @throws ResponseStatusException If the informed item was not found.
      */
-    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(
+        value = "/{id}",
+        produces = {MediaType.APPLICATION_JSON_VALUE, StringEntryBinaryFormat.MEDIA_TYPE_VALUE}
+    )
     public StringEntryDto getOne(@PathVariable("id") Long id) throws ResponseStatusException {
         return this.stringEntryService.getOne(id).orElseThrow(
             () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "The item was not found")
         );
     }
 
+    /**
+     * Returns the oldest item with exactly the informed value.
+     *
+     * @param value The value of the item to return.
+     * @return The requested item.
+     * @throws ResponseStatusException If no item has the informed value.
+     */
+    @GetMapping(value = "/by-value", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StringEntryDto getByValue(@RequestParam(name = "value") String value) throws ResponseStatusException {
+        return this.stringEntryService.getByValue(value).orElseThrow(
+            () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "The item was not found")
+        );
+    }
+
+    /**
+     * Returns the best values starting with a prefix, ignoring case and accents. Meant for typeahead: the values are
+     * served from memory, never from the database.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum amount of values to return.
+     * @return The suggested values, from the best to the worst.
+     */
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<StringEntrySuggestionDto> suggest(
+        @RequestParam(name = "prefix") String prefix,
+        @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return this.stringEntryService.suggest(prefix, limit);
+    }
+
+    /**
+     * Returns the values within an edit distance of a query, ignoring case and accents. Meant for misspelled searches:
+     * the values are served from memory, never from the database.
+     *
+     * @param query The query.
+     * @param maxEdits The maximum amount of inserted, deleted or substituted characters. It is capped by the configured
+     *     maximum.
+     * @param limit The maximum amount of values to return.
+     * @return The matching values, from the closest to the farthest.
+     * @throws ResponseStatusException If the maximum edit distance is negative.
+     */
+    @GetMapping(value = "/fuzzy", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<StringEntryFuzzyMatchDto> fuzzy(
+        @RequestParam(name = "q") String query,
+        @RequestParam(name = "maxEdits", defaultValue = "2") int maxEdits,
+        @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) throws ResponseStatusException {
+        if (maxEdits < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The maximum edit distance must not be negative");
+        }
+
+        return this.stringEntryService.fuzzy(query, maxEdits, limit);
+    }
+
+    /**
+     * Returns the items matching a full-text query, from the most to the least relevant. The query is split into
+     * terms, which match whole words of the values ignoring case and accents, and the matches are ranked with BM25.
+     *
+     * @param query The query.
+     * @param operator How the terms are combined: {@code and} returns the items containing every term, {@code or} the
+     *     items containing any of them.
+     * @param limit The maximum amount of items to return.
+     * @return The matching items, with their relevance scores.
+     * @throws ResponseStatusException If the operator is invalid.
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<StringEntrySearchHitDto> search(
+        @RequestParam(name = "q") String query,
+        @RequestParam(name = "operator", defaultValue = "and") String operator,
+        @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) throws ResponseStatusException {
+        MatchOperator matchOperator;
+        try {
+            matchOperator = MatchOperator.fromParameter(operator);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid operator: " + operator, e);
+        }
+
+        return this.stringEntryService.search(query, matchOperator, limit);
+    }
+
     /**
      * Saves an item.
      *
@@ -67,4 +345,52 @@ public class StringEntryController {
     public StringEntryDto save(@RequestBody @Valid StringEntrySaveDto entry) throws ResponseStatusException {
         return this.stringEntryService.save(entry);
     }
+
+    /**
+     * Saves many items at once. All the items are validated before any of them is saved, and they are saved in a
+     * single transaction.
+     *
+     * @param entries The entries to save, as a JSON array.
+     * @return The IDs of the saved items, in the same order as the entries.
+     */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    @ResponseBody
+    public List<Long> saveAll(@RequestBody @Valid StringEntryBatchSaveDto entries) {
+        return this.stringEntryService.saveAll(entries.getEntries()).stream()
+            .map(StringEntryDto::getId)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Rejects the insensitive filters in the listing modes that do not serve them.
+     *
+     * @param insensitive Informs if the filter is insensitive.
+     * @throws ResponseStatusException If the filter is insensitive.
+     */
+    private static void rejectInsensitive(boolean insensitive) throws ResponseStatusException {
+        if (insensitive) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Insensitive filters are only supported by the default listing"
+            );
+        }
+    }
+
+    /**
+     * Runs a scan, translating its failures into HTTP statuses.
+     *
+     * @param scan The scan.
+     * @param <T> The type of the items.
+     * @return The slice of items found by the scan.
+     * @throws ResponseStatusException If the sort is invalid, or if the scan ran out of time.
+     */
+    private static <T> Slice<T> scan(Supplier<Slice<T>> scan) throws ResponseStatusException {
+        try {
+            return scan.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (ScanTimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
 }
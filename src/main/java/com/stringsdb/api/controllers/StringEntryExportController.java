@@ -0,0 +1,70 @@
+package com.stringsdb.api.controllers;
+
+import com.stringsdb.api.configuration.ExportProperties;
+import com.stringsdb.api.services.StringEntryExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * String entries export REST controller.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/strings/export")
+public class StringEntryExportController {
+
+    /**
+     * The string entries export service.
+     */
+    private final StringEntryExportService exportService;
+
+    /**
+     * The export configuration.
+     */
+    private final ExportProperties properties;
+
+    /**
+     * Exports all the items, in ID order. The items are streamed from the database as the response is written, so
+     * the export uses the same memory whatever the amount of items. The export is written asynchronously, under the
+     * export timeout rather than the default timeout of the asynchronous requests.
+     *
+     * @param format The format of the export: {@code ndjson} (default) or {@code csv}.
+     * @param response The response the export is written to, as an attachment.
+     * @return The task writing the export.
+     * @throws ResponseStatusException If the format is not valid.
+     */
+    @GetMapping
+    public WebAsyncTask<Void> export(
+        @RequestParam(name = "format", defaultValue = "ndjson") String format,
+        HttpServletResponse response
+    ) throws ResponseStatusException {
+        StringEntryExportService.Format exportFormat;
+        try {
+            exportFormat = StringEntryExportService.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid export format", e);
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_TYPE, exportFormat.getMediaType());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("strings." + exportFormat.getExtension()).build().toString()
+        );
+
+        return new WebAsyncTask<>(this.properties.getTimeout().toMillis(), () -> {
+            this.exportService.export(exportFormat, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.stringsdb.api.controllers;
+
+import com.stringsdb.api.dtos.ImportSummaryDto;
+import com.stringsdb.api.services.StringEntryImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * String entries import REST controller.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/strings/import")
+public class StringEntryImportController {
+
+    /**
+     * The media type of NDJSON uploads.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * The string entries import service.
+     */
+    private final StringEntryImportService importService;
+
+    /**
+     * Imports the items of an NDJSON upload, one item per line. The upload is saved while it is read, so it may be
+     * of any size. Invalid lines are skipped and reported.
+     *
+     * @param body The upload.
+     * @return The summary of the import.
+     * @throws IOException If the upload could not be read.
+     */
+    @PostMapping(consumes = APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ImportSummaryDto importNdjson(InputStream body) throws IOException {
+        return this.importService.importEntries(StringEntryImportService.Format.NDJSON, body);
+    }
+
+    /**
+     * Imports the values of a text upload, one value per line. The upload is saved while it is read, so it may be of
+     * any size. Invalid lines are skipped and reported.
+     *
+     * @param body The upload.
+     * @return The summary of the import.
+     * @throws IOException If the upload could not be read.
+     */
+    @PostMapping(consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ImportSummaryDto importText(InputStream body) throws IOException {
+        return this.importService.importEntries(StringEntryImportService.Format.TEXT, body);
+    }
+}
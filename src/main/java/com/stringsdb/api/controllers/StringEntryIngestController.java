@@ -0,0 +1,101 @@
+package com.stringsdb.api.controllers;
+
+import com.stringsdb.api.dtos.IngestTicketDto;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.services.StringEntryIngestBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * String entries asynchronous ingestion REST controller.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/strings/ingest")
+@ConditionalOnProperty(prefix = "stringsdb.ingest", name = "enabled", havingValue = "true")
+public class StringEntryIngestController {
+
+    /**
+     * The string entries ingestion buffer.
+     */
+    private final StringEntryIngestBuffer ingestBuffer;
+
+    /**
+     * Submits an item to be saved asynchronously.
+     *
+     * @param entry The entry to save.
+     * @return The ticket to follow the status of the item, with HTTP status 202 ACCEPTED.
+     * @throws ResponseStatusException If the ingestion queue is full.
+     */
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IngestTicketDto> submit(@RequestBody @Valid StringEntrySaveDto entry)
+        throws ResponseStatusException {
+        IngestTicketDto result = new IngestTicketDto();
+        result.setTicket(this.submitToBuffer(() -> this.ingestBuffer.submit(entry)));
+        result.setStatus(IngestTicketDto.Status.PENDING);
+
+        return ResponseEntity
+            .accepted()
+            .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{ticket}")
+                .buildAndExpand(result.getTicket())
+                .toUri())
+            .body(result);
+    }
+
+    /**
+     * Submits an item to be saved asynchronously and responds once the batch containing it is committed.
+     *
+     * @param entry The entry to save.
+     * @return The saved item.
+     * @throws ResponseStatusException If the ingestion queue is full.
+     */
+    @PostMapping(params = "wait=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<StringEntryDto> submitAndWait(@RequestBody @Valid StringEntrySaveDto entry)
+        throws ResponseStatusException {
+        return this.submitToBuffer(() -> this.ingestBuffer.submitAndWait(entry));
+    }
+
+    /**
+     * Returns the status of a submitted item.
+     *
+     * @param ticket The ticket of the item.
+     * @return The status of the item.
+     * @throws ResponseStatusException If the ticket is unknown or was forgotten.
+     */
+    @GetMapping(value = "/{ticket}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public IngestTicketDto getTicket(@PathVariable("ticket") String ticket) throws ResponseStatusException {
+        return this.ingestBuffer.getTicket(ticket).orElseThrow(
+            () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "The ticket was not found")
+        );
+    }
+
+    /**
+     * Submits an item to the buffer, translating a rejection into an HTTP error.
+     *
+     * @param submission The submission.
+     * @param <T> The type returned by the submission.
+     * @return The value returned by the submission.
+     * @throws ResponseStatusException If the ingestion queue is full.
+     */
+    private <T> T submitToBuffer(Supplier<T> submission) throws ResponseStatusException {
+        try {
+            return submission.get();
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+}
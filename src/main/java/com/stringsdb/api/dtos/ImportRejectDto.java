@@ -0,0 +1,11 @@
+package com.stringsdb.api.dtos;
+
+import lombok.Data;
+
+/**
+ * DTO for a line of an import that was not saved, with the reason.
+ */
+public @Data class ImportRejectDto {
+    private long line;
+    private String message;
+}
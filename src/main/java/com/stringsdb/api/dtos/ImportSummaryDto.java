@@ -0,0 +1,18 @@
+package com.stringsdb.api.dtos;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the outcome of an import: the amount of lines read, newly stored, already stored and rejected, and the
+ * first rejected lines.
+ */
+public @Data class ImportSummaryDto {
+    private long lines;
+    private long imported;
+    private long duplicates;
+    private long rejected;
+    private List<ImportRejectDto> rejects = new ArrayList<>();
+}
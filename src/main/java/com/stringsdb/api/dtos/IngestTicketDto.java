@@ -0,0 +1,23 @@
+package com.stringsdb.api.dtos;
+
+import lombok.Data;
+
+/**
+ * DTO for the status of a string entry submitted for asynchronous ingestion.
+ */
+public @Data class IngestTicketDto {
+
+    /**
+     * The status of a submitted entry.
+     */
+    public enum Status {
+        PENDING,
+        COMMITTED,
+        FAILED
+    }
+
+    private String ticket;
+    private Status status;
+    private StringEntryDto entry;
+    private String error;
+}
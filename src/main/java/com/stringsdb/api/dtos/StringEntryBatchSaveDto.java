@@ -0,0 +1,36 @@
+package com.stringsdb.api.dtos;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO for saving many string entries at once. It is represented in JSON as an array of entries.
+ */
+public @Data class StringEntryBatchSaveDto {
+
+    /**
+     * The maximum amount of entries in a batch.
+     */
+    public static final int MAX_SIZE = 10_000;
+
+    @JsonValue
+    @NotEmpty(message = "The batch must contain at least one entry")
+    @Size(max = MAX_SIZE, message = "The batch must contain at most " + MAX_SIZE + " entries")
+    private final List<@Valid StringEntrySaveDto> entries;
+
+    /**
+     * Creates the DTO from the entries in the batch.
+     *
+     * @param entries The entries to save.
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public StringEntryBatchSaveDto(List<StringEntrySaveDto> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,14 @@
+package com.stringsdb.api.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for a page of string entries returned by a keyset (cursor-based) walk.
+ */
+public @Data class StringEntryCursorPageDto {
+    private List<StringEntryDto> content;
+    private int size;
+    private String nextCursor;
+}
@@ -1,12 +1,16 @@
 package com.stringsdb.api.dtos;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 /**
  * DTO for a string entry.
  */
+@NoArgsConstructor
+@AllArgsConstructor
 public @Data class StringEntryDto {
     private Long id;
     private String value;
@@ -0,0 +1,14 @@
+package com.stringsdb.api.dtos;
+
+import lombok.Data;
+
+/**
+ * DTO for a value matching a fuzzy search: the most recent spelling of the value, the ID of its most recent entry, the
+ * amount of entries with the value (ignoring case and accents) and its edit distance to the query.
+ */
+public @Data class StringEntryFuzzyMatchDto {
+    private Long id;
+    private String value;
+    private long occurrences;
+    private int distance;
+}
@@ -0,0 +1,16 @@
+package com.stringsdb.api.dtos;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a string entry matching a multi-term filter, with the occurrences of the terms in its value.
+ */
+public @Data class StringEntryMatchDto {
+    private Long id;
+    private String value;
+    private LocalDateTime createdAt;
+    private List<TermOccurrenceDto> matches;
+}
@@ -0,0 +1,15 @@
+package com.stringsdb.api.dtos;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a string entry matching a full-text search, with its relevance score.
+ */
+public @Data class StringEntrySearchHitDto {
+    private Long id;
+    private String value;
+    private LocalDateTime createdAt;
+    private double score;
+}
@@ -0,0 +1,13 @@
+package com.stringsdb.api.dtos;
+
+import lombok.Data;
+
+/**
+ * DTO for a value suggested for a prefix: the most recent spelling of the value, the ID of its most recent entry and
+ * the amount of entries with the value (ignoring case and accents).
+ */
+public @Data class StringEntrySuggestionDto {
+    private Long id;
+    private String value;
+    private long occurrences;
+}
@@ -0,0 +1,17 @@
+package com.stringsdb.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for an occurrence of a search term in a value. Offsets are in UTF-16 code units, as JavaScript strings index
+ * them.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public @Data class TermOccurrenceDto {
+    private String term;
+    private int start;
+    private int end;
+}
@@ -1,7 +1,12 @@
 package com.stringsdb.api.entities;
 
+import com.stringsdb.api.utils.ContentHash;
+import com.stringsdb.api.utils.TextFolding;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -13,16 +18,39 @@ import java.time.LocalDateTime;
  */
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "strings")
+@Table(
+    name = "strings",
+    indexes = {
+        // Support the keyset pagination seeks, which use the ID as a tie-breaker
+        @Index(name = "strings_created_at_id_idx", columnList = "created_at, id"),
+        @Index(name = "strings_value_id_idx", columnList = "value, id"),
+        // Exact value lookups probe the content hash instead of comparing whole values
+        @Index(name = "strings_value_hash_idx", columnList = "value_hash"),
+        // Insensitive prefix matches and sorts use the folded value, instead of a function of the value
+        @Index(name = "strings_folded_value_id_idx", columnList = "folded_value, id")
+    }
+)
 @Getter
 @Setter
 public class StringEntry {
 
     /**
      * The (auto-generated) ID of the entity.
+     * <p>
+     * IDs are handed out from blocks reserved in the {@code hibernate_sequence} table (see
+     * {@link com.stringsdb.api.ids.StringEntryIdGenerator}), so inserts neither wait on the shared table nor need a
+     * round trip per ID, and they can be sent in JDBC batches.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "strings_id")
+    @GenericGenerator(
+        name = "strings_id",
+        strategy = "com.stringsdb.api.ids.StringEntryIdGenerator",
+        parameters = {
+            @Parameter(name = "sequence_name", value = "hibernate_sequence"),
+            @Parameter(name = "increment_size", value = "50")
+        }
+    )
     private Long id;
 
     /**
@@ -31,10 +59,50 @@ public class StringEntry {
     @Column(name = "value", nullable = false)
     private String value;
 
+    /**
+     * The content hash of the value (see {@link ContentHash}). It is computed when the entry is stored, and it is null
+     * for entries stored before the hash existed until they are backfilled.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "value_hash")
+    private Long valueHash;
+
+    /**
+     * The folded value (see {@link TextFolding}), the key of the case- and accent-insensitive searches. It is computed
+     * when the entry is stored, and it is null for entries stored before the key existed until they are backfilled.
+     * Values are printable ASCII, which folds to as many characters, so the key fits the same column length.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "folded_value")
+    private String foldedValue;
+
     /**
      * The string entry creation date.
      */
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    /**
+     * Computes the keys derived from the value before the entry is stored.
+     */
+    @PrePersist
+    public void updateDerivedKeys() {
+        this.updateValueHash();
+        this.updateFoldedValue();
+    }
+
+    /**
+     * Computes the content hash of the value.
+     */
+    public void updateValueHash() {
+        this.valueHash = ContentHash.of(this.value);
+    }
+
+    /**
+     * Computes the folded value.
+     */
+    public void updateFoldedValue() {
+        this.foldedValue = TextFolding.fold(this.value);
+    }
 }
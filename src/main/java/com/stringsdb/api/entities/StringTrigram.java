@@ -0,0 +1,71 @@
+package com.stringsdb.api.entities;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+
+/**
+ * Describes an entry of the trigram index: the posting of a trigram for a string entry.
+ */
+@Entity
+@IdClass(StringTrigramId.class)
+@Table(name = "string_trigrams")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StringTrigram implements Persistable<StringTrigramId> {
+
+    /**
+     * The packed trigram (see {@link com.stringsdb.api.utils.Trigrams}).
+     */
+    @Id
+    @Column(name = "trigram", nullable = false)
+    private Long trigram;
+
+    /**
+     * The ID of the string entry containing the trigram.
+     */
+    @Id
+    @Column(name = "string_id", nullable = false)
+    private Long stringId;
+
+    /**
+     * Informs if the posting was not stored yet. Postings are never updated, so marking them as new avoids the select
+     * Spring Data would otherwise issue before every insert of an entity with an assigned ID.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Creates a new trigram posting.
+     *
+     * @param trigram The packed trigram.
+     * @param stringId The ID of the string entry containing the trigram.
+     */
+    public StringTrigram(Long trigram, Long stringId) {
+        this.trigram = trigram;
+        this.stringId = stringId;
+    }
+
+    @Override
+    public StringTrigramId getId() {
+        return new StringTrigramId(this.trigram, this.stringId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return this.isNew;
+    }
+
+    /**
+     * Marks the posting as stored.
+     */
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
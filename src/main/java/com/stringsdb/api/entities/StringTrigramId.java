@@ -0,0 +1,18 @@
+package com.stringsdb.api.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite identifier of a {@link StringTrigram}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StringTrigramId implements Serializable {
+    private Long trigram;
+    private Long stringId;
+}
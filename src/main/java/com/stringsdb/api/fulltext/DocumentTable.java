@@ -0,0 +1,178 @@
+package com.stringsdb.api.fulltext;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The indexed entries: their IDs, in ascending order, and their lengths in terms, used to normalize the scores.
+ * <p>
+ * A table is not thread-safe.
+ */
+final class DocumentTable {
+
+    /**
+     * The initial capacity of the table.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The IDs of the entries, in ascending order.
+     */
+    private long[] ids;
+
+    /**
+     * The lengths of the entries, in terms, at the same positions as their IDs.
+     */
+    private int[] lengths;
+
+    /**
+     * The amount of entries.
+     */
+    private int size;
+
+    /**
+     * The sum of the lengths of the entries.
+     */
+    private long totalLength;
+
+    /**
+     * Creates an empty table.
+     */
+    DocumentTable() {
+        this(new long[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], 0, 0);
+    }
+
+    private DocumentTable(long[] ids, int[] lengths, int size, long totalLength) {
+        this.ids = ids;
+        this.lengths = lengths;
+        this.size = size;
+        this.totalLength = totalLength;
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param id The ID of the entry.
+     * @param length The length of the entry, in terms.
+     * @return True if the entry was added, false if it was already in the table.
+     */
+    boolean add(long id, int length) {
+        int position = this.size > 0 && id > this.ids[this.size - 1] ? this.size : this.find(id);
+        if (position >= 0 && position < this.size) {
+            return false;
+        }
+        if (position < 0) {
+            position = -position - 1;
+        }
+
+        if (this.size == this.ids.length) {
+            int capacity = Math.max(this.size * 2, INITIAL_CAPACITY);
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.lengths = Arrays.copyOf(this.lengths, capacity);
+        }
+        System.arraycopy(this.ids, position, this.ids, position + 1, this.size - position);
+        System.arraycopy(this.lengths, position, this.lengths, position + 1, this.size - position);
+        this.ids[position] = id;
+        this.lengths[position] = length;
+        this.size++;
+        this.totalLength += length;
+
+        return true;
+    }
+
+    /**
+     * Returns the length of an entry.
+     *
+     * @param id The ID of the entry.
+     * @return The length of the entry, in terms, or -1 if it is not in the table.
+     */
+    int length(long id) {
+        int position = this.find(id);
+        return position >= 0 ? this.lengths[position] : -1;
+    }
+
+    /**
+     * Returns the amount of entries.
+     *
+     * @return The amount of entries.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the average length of the entries.
+     *
+     * @return The average length, in terms, or 0 if the table is empty.
+     */
+    double averageLength() {
+        return this.size == 0 ? 0 : (double) this.totalLength / this.size;
+    }
+
+    /**
+     * Returns the highest ID in the table.
+     *
+     * @return The highest ID, or 0 if the table is empty.
+     */
+    long lastId() {
+        return this.size == 0 ? 0 : this.ids[this.size - 1];
+    }
+
+    /**
+     * Returns a copy of the table.
+     *
+     * @return The copy.
+     */
+    DocumentTable copy() {
+        return new DocumentTable(
+            Arrays.copyOf(this.ids, this.size), Arrays.copyOf(this.lengths, this.size), this.size, this.totalLength
+        );
+    }
+
+    /**
+     * Writes the table.
+     *
+     * @param output The output to write to.
+     * @throws IOException If the table could not be written.
+     */
+    void writeTo(DataOutput output) throws IOException {
+        output.writeInt(this.size);
+        for (int i = 0; i < this.size; i++) {
+            output.writeLong(this.ids[i]);
+            output.writeInt(this.lengths[i]);
+        }
+    }
+
+    /**
+     * Reads a table written by {@link #writeTo(DataOutput)}.
+     *
+     * @param input The input to read from.
+     * @param maxSize The maximum valid amount of entries.
+     * @return The table.
+     * @throws IOException If the table could not be read.
+     */
+    static DocumentTable readFrom(DataInput input, long maxSize) throws IOException {
+        int size = input.readInt();
+        if (size < 0 || size > maxSize) {
+            throw new IOException("Invalid document table");
+        }
+
+        int capacity = Math.max(size, INITIAL_CAPACITY);
+        long[] ids = new long[capacity];
+        int[] lengths = new int[capacity];
+        long totalLength = 0;
+        for (int i = 0; i < size; i++) {
+            ids[i] = input.readLong();
+            lengths[i] = input.readInt();
+            totalLength += lengths[i];
+        }
+
+        return new DocumentTable(ids, lengths, size, totalLength);
+    }
+
+    private int find(long id) {
+        return Arrays.binarySearch(this.ids, 0, this.size, id);
+    }
+}
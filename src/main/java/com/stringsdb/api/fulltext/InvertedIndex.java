@@ -0,0 +1,475 @@
+package com.stringsdb.api.fulltext;
+
+import com.stringsdb.api.utils.Tokens;
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * An in-memory inverted index of the entries, ranking the entries matching a query with BM25.
+ * <p>
+ * Each term (see {@link Tokens}) has a {@link PostingList} of the entries containing it, and the {@link DocumentTable}
+ * keeps the length of every entry. Queries walk the posting lists of their terms in ID order, document at a time:
+ * {@link MatchOperator#AND} leapfrogs from the rarest term, {@link MatchOperator#OR} merges all of them. Only the best
+ * entries are kept while walking, in a heap of the requested size.
+ * <p>
+ * The index is thread-safe: queries share a read lock and additions take the write lock. It is written to and read
+ * from a snapshot file, whose writing only holds the read lock while the current posting lists are listed.
+ */
+public class InvertedIndex {
+
+    /**
+     * Identifies the snapshot files.
+     */
+    private static final int SNAPSHOT_MAGIC = 0x53444654;
+
+    /**
+     * The version of the snapshot format.
+     */
+    private static final int SNAPSHOT_VERSION = 2;
+
+    /**
+     * Orders the matches from the least to the most relevant. Ties are broken in favor of the most recent entry.
+     */
+    private static final Comparator<ScoredEntry> RELEVANCE = Comparator.comparingDouble(ScoredEntry::getScore)
+        .thenComparingLong(ScoredEntry::getId);
+
+    /**
+     * The term frequency saturation parameter of BM25.
+     */
+    private final double k1;
+
+    /**
+     * The length normalization parameter of BM25, between 0 (none) and 1 (full).
+     */
+    private final double b;
+
+    /**
+     * Guards the postings and the documents.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The posting lists, by term.
+     */
+    private final Map<String, PostingList> postings;
+
+    /**
+     * The indexed entries.
+     */
+    private final DocumentTable documents;
+
+    /**
+     * The creation date up to which the owner of the index caught it up with the stored entries, saved with the
+     * snapshots, or null if it never did.
+     */
+    @Nullable
+    private volatile LocalDateTime syncedAt;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param k1 The term frequency saturation parameter of BM25.
+     * @param b The length normalization parameter of BM25.
+     */
+    public InvertedIndex(double k1, double b) {
+        this(k1, b, new HashMap<>(), new DocumentTable());
+    }
+
+    private InvertedIndex(double k1, double b, Map<String, PostingList> postings, DocumentTable documents) {
+        this.k1 = k1;
+        this.b = b;
+        this.postings = postings;
+        this.documents = documents;
+    }
+
+    /**
+     * Indexes an entry. Entries without any term are not indexed.
+     *
+     * @param id The ID of the entry.
+     * @param value The value of the entry.
+     * @return True if the entry was indexed, false if it had no terms or it was already indexed.
+     */
+    public boolean add(long id, String value) {
+        List<String> terms = Tokens.of(value);
+        if (terms.isEmpty()) {
+            return false;
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            if (!this.documents.add(id, terms.size())) {
+                return false;
+            }
+            frequencies.forEach((term, frequency) ->
+                this.postings.computeIfAbsent(term, (key) -> new PostingList()).add(id, frequency)
+            );
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the entries matching a query, from the most to the least relevant.
+     *
+     * @param query The query. Its terms are extracted like the terms of the values.
+     * @param operator How the terms of the query are combined.
+     * @param limit The maximum amount of entries to return.
+     * @return The best matching entries.
+     */
+    public List<ScoredEntry> search(String query, MatchOperator operator, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokens.of(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        PriorityQueue<ScoredEntry> best = new PriorityQueue<>(limit + 1, RELEVANCE);
+        this.lock.readLock().lock();
+        try {
+            List<TermCursor> cursors = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList postingList = this.postings.get(term);
+                if (postingList != null) {
+                    cursors.add(new TermCursor(postingList.cursor(), this.idf(postingList.size())));
+                } else if (operator == MatchOperator.AND) {
+                    return List.of();
+                }
+            }
+
+            if (operator == MatchOperator.AND) {
+                this.matchAll(cursors, best, limit);
+            } else {
+                this.matchAny(cursors, best, limit);
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        List<ScoredEntry> result = new ArrayList<>(best);
+        result.sort(RELEVANCE.reversed());
+        return result;
+    }
+
+    /**
+     * Returns the amount of indexed entries.
+     *
+     * @return The amount of entries.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.documents.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the amount of distinct terms.
+     *
+     * @return The amount of terms.
+     */
+    public int getTermCount() {
+        this.lock.readLock().lock();
+        try {
+            return this.postings.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest indexed ID.
+     *
+     * @return The highest ID, or 0 if the index is empty.
+     */
+    public long getLastId() {
+        this.lock.readLock().lock();
+        try {
+            return this.documents.lastId();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the creation date up to which the index was caught up with the stored entries.
+     *
+     * @return The creation date, or null if the index was never caught up.
+     */
+    @Nullable
+    public LocalDateTime getSyncedAt() {
+        return this.syncedAt;
+    }
+
+    /**
+     * Records the creation date up to which the index was caught up with the stored entries.
+     *
+     * @param syncedAt The creation date.
+     */
+    public void setSyncedAt(LocalDateTime syncedAt) {
+        this.syncedAt = syncedAt;
+    }
+
+    /**
+     * Writes a snapshot of the index. The snapshot is written to a temporary file, forced to the disk and then moved
+     * over the previous one, so a crash never leaves a partial snapshot behind.
+     *
+     * @param file The snapshot file.
+     * @throws IOException If the snapshot could not be written.
+     */
+    public void writeTo(Path file) throws IOException {
+        LocalDateTime syncedAtView = this.syncedAt;
+        DocumentTable documentsView;
+        Map<String, PostingList> postingsView;
+        this.lock.readLock().lock();
+        try {
+            documentsView = this.documents.copy();
+            postingsView = new HashMap<>(this.postings.size() * 4 / 3 + 1);
+            this.postings.forEach((term, postingList) -> postingsView.put(term, postingList.view()));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        Path absoluteFile = file.toAbsolutePath();
+        Files.createDirectories(absoluteFile.getParent());
+        Path temporaryFile = absoluteFile.resolveSibling(absoluteFile.getFileName() + ".tmp");
+        try (FileOutputStream fileOutput = new FileOutputStream(temporaryFile.toFile())) {
+            CheckedOutputStream checkedOutput = new CheckedOutputStream(new BufferedOutputStream(fileOutput), new CRC32());
+            DataOutputStream output = new DataOutputStream(checkedOutput);
+
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeInt(SNAPSHOT_VERSION);
+            output.writeBoolean(syncedAtView != null);
+            if (syncedAtView != null) {
+                output.writeLong(syncedAtView.toEpochSecond(ZoneOffset.UTC));
+                output.writeInt(syncedAtView.getNano());
+            }
+            documentsView.writeTo(output);
+            output.writeInt(postingsView.size());
+            for (Map.Entry<String, PostingList> entry : postingsView.entrySet()) {
+                byte[] term = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(term.length);
+                output.write(term);
+                entry.getValue().writeTo(output);
+            }
+            output.writeLong(checkedOutput.getChecksum().getValue());
+
+            output.flush();
+            fileOutput.getFD().sync();
+        }
+        Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(Path)}.
+     *
+     * @param file The snapshot file.
+     * @param k1 The term frequency saturation parameter of BM25.
+     * @param b The length normalization parameter of BM25.
+     * @return The index.
+     * @throws IOException If the snapshot could not be read, or it is not a valid snapshot.
+     */
+    public static InvertedIndex readFrom(Path file, double k1, double b) throws IOException {
+        // Sizes read from a corrupted snapshot are bounded by the file size, so they never allocate too much memory
+        long fileSize = Files.size(file);
+        try (InputStream fileInput = Files.newInputStream(file)) {
+            CheckedInputStream checkedInput = new CheckedInputStream(new BufferedInputStream(fileInput), new CRC32());
+            DataInputStream input = new DataInputStream(checkedInput);
+
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a full-text index snapshot of a supported version: " + file);
+            }
+
+            LocalDateTime syncedAt = null;
+            if (input.readBoolean()) {
+                long seconds = input.readLong();
+                int nanos = input.readInt();
+                try {
+                    syncedAt = LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+                } catch (DateTimeException e) {
+                    throw new IOException("Invalid synchronization date in " + file, e);
+                }
+            }
+
+            DocumentTable documents = DocumentTable.readFrom(input, fileSize);
+            int termCount = input.readInt();
+            if (termCount < 0 || termCount > fileSize) {
+                throw new IOException("Invalid term count in " + file);
+            }
+            Map<String, PostingList> postings = new HashMap<>(termCount * 4 / 3 + 1);
+            for (int i = 0; i < termCount; i++) {
+                int termLength = input.readInt();
+                if (termLength < 0 || termLength > fileSize) {
+                    throw new IOException("Invalid term in " + file);
+                }
+                byte[] term = new byte[termLength];
+                input.readFully(term);
+                postings.put(new String(term, StandardCharsets.UTF_8), PostingList.readFrom(input, fileSize));
+            }
+
+            long checksum = checkedInput.getChecksum().getValue();
+            if (input.readLong() != checksum) {
+                throw new IOException("Corrupted full-text index snapshot: " + file);
+            }
+
+            InvertedIndex index = new InvertedIndex(k1, b, postings, documents);
+            index.syncedAt = syncedAt;
+            return index;
+        }
+    }
+
+    /**
+     * Collects the entries containing every term.
+     *
+     * @param cursors The cursors of the terms.
+     * @param best The best entries found so far.
+     * @param limit The maximum amount of entries to keep.
+     */
+    private void matchAll(List<TermCursor> cursors, PriorityQueue<ScoredEntry> best, int limit) {
+        // The rarest term leads, and the other cursors skip to its entries
+        cursors.sort(Comparator.comparingDouble((TermCursor cursor) -> cursor.idf).reversed());
+        TermCursor lead = cursors.get(0);
+        if (!lead.postings.next()) {
+            return;
+        }
+
+        long id = lead.postings.id();
+        while (true) {
+            long nextId = id;
+            for (int i = 1; i < cursors.size() && nextId == id; i++) {
+                if (!cursors.get(i).postings.advance(id)) {
+                    return;
+                }
+                nextId = cursors.get(i).postings.id();
+            }
+
+            if (nextId == id) {
+                this.collect(id, cursors, best, limit);
+                if (!lead.postings.next()) {
+                    return;
+                }
+            } else if (!lead.postings.advance(nextId)) {
+                return;
+            }
+            id = lead.postings.id();
+        }
+    }
+
+    /**
+     * Collects the entries containing any of the terms.
+     *
+     * @param cursors The cursors of the terms.
+     * @param best The best entries found so far.
+     * @param limit The maximum amount of entries to keep.
+     */
+    private void matchAny(List<TermCursor> cursors, PriorityQueue<ScoredEntry> best, int limit) {
+        for (TermCursor cursor : cursors) {
+            cursor.postings.next();
+        }
+
+        while (true) {
+            // Queries have a few terms, so the lowest ID is found by scanning the cursors
+            long id = Long.MAX_VALUE;
+            for (TermCursor cursor : cursors) {
+                id = Math.min(id, cursor.postings.id());
+            }
+            if (id == Long.MAX_VALUE) {
+                return;
+            }
+
+            this.collect(id, cursors, best, limit);
+            for (TermCursor cursor : cursors) {
+                if (cursor.postings.id() == id) {
+                    cursor.postings.next();
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores an entry and keeps it if it is among the best ones.
+     *
+     * @param id The ID of the entry.
+     * @param cursors The cursors of the terms. The cursors positioned on the entry contribute to its score.
+     * @param best The best entries found so far.
+     * @param limit The maximum amount of entries to keep.
+     */
+    private void collect(long id, List<TermCursor> cursors, PriorityQueue<ScoredEntry> best, int limit) {
+        double lengthNormalization = 1 - this.b
+            + this.b * this.documents.length(id) / this.documents.averageLength();
+
+        double score = 0;
+        for (TermCursor cursor : cursors) {
+            if (cursor.postings.id() == id) {
+                int frequency = cursor.postings.frequency();
+                score += cursor.idf * frequency * (this.k1 + 1) / (frequency + this.k1 * lengthNormalization);
+            }
+        }
+
+        ScoredEntry entry = new ScoredEntry(id, score);
+        if (best.size() < limit) {
+            best.add(entry);
+        } else if (RELEVANCE.compare(entry, best.peek()) > 0) {
+            best.poll();
+            best.add(entry);
+        }
+    }
+
+    /**
+     * Returns the inverse document frequency of a term, in its BM25 form, which is never negative.
+     *
+     * @param documentFrequency The amount of entries containing the term.
+     * @return The inverse document frequency.
+     */
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (this.documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * The cursor over the postings of a query term.
+     */
+    private static final class TermCursor {
+
+        private final PostingList.Cursor postings;
+
+        private final double idf;
+
+        TermCursor(PostingList.Cursor postings, double idf) {
+            this.postings = postings;
+            this.idf = idf;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.stringsdb.api.fulltext;
+
+import java.util.Locale;
+
+/**
+ * How the terms of a full-text query are combined.
+ */
+public enum MatchOperator {
+
+    /**
+     * Entries must contain every term of the query.
+     */
+    AND,
+
+    /**
+     * Entries must contain at least one term of the query.
+     */
+    OR;
+
+    /**
+     * Returns the operator named by a request parameter, ignoring its case.
+     *
+     * @param parameter The request parameter value.
+     * @return The operator.
+     * @throws IllegalArgumentException If the parameter does not name an operator.
+     */
+    public static MatchOperator fromParameter(String parameter) throws IllegalArgumentException {
+        return MatchOperator.valueOf(parameter.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,291 @@
+package com.stringsdb.api.fulltext;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The postings of a term: the IDs of the entries containing it, in ascending order, with the amount of times the term
+ * appears in each entry.
+ * <p>
+ * Postings are compressed as variable-length deltas: each posting is the difference between its ID and the previous
+ * one, followed by the term frequency, both written 7 bits per byte. IDs mostly grow, so most postings take 2 or 3
+ * bytes. A posting is only appended: an ID lower than the last one rewrites the list, which only happens when
+ * transactions commit out of order.
+ * <p>
+ * A list is not thread-safe. Bytes below {@link #length} are never modified once written, so a {@link #view()} stays
+ * valid while the list keeps growing.
+ */
+final class PostingList {
+
+    /**
+     * The initial capacity of the postings bytes.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * The maximum size of a posting: two variable-length longs.
+     */
+    private static final int MAX_POSTING_SIZE = 2 * 10;
+
+    /**
+     * The compressed postings.
+     */
+    private byte[] bytes;
+
+    /**
+     * The amount of bytes used.
+     */
+    private int length;
+
+    /**
+     * The amount of postings, which is the document frequency of the term.
+     */
+    private int size;
+
+    /**
+     * The ID of the last posting.
+     */
+    private long lastId;
+
+    /**
+     * Creates an empty list.
+     */
+    PostingList() {
+        this(new byte[INITIAL_CAPACITY], 0, 0, 0);
+    }
+
+    private PostingList(byte[] bytes, int length, int size, long lastId) {
+        this.bytes = bytes;
+        this.length = length;
+        this.size = size;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Adds a posting.
+     *
+     * @param id The ID of the entry. IDs must be positive.
+     * @param frequency The amount of times the term appears in the entry.
+     */
+    void add(long id, int frequency) {
+        if (this.size > 0 && id <= this.lastId) {
+            this.insert(id, frequency);
+            return;
+        }
+
+        this.ensureCapacity(MAX_POSTING_SIZE);
+        this.writeVarLong(id - this.lastId);
+        this.writeVarLong(frequency);
+        this.lastId = id;
+        this.size++;
+    }
+
+    /**
+     * Returns the document frequency of the term.
+     *
+     * @return The amount of postings.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the size of the compressed postings.
+     *
+     * @return The amount of bytes used.
+     */
+    int byteSize() {
+        return this.length;
+    }
+
+    /**
+     * Returns a read-only copy of the current postings, sharing their bytes.
+     *
+     * @return The copy.
+     */
+    PostingList view() {
+        return new PostingList(this.bytes, this.length, this.size, this.lastId);
+    }
+
+    /**
+     * Returns a cursor over the postings.
+     *
+     * @return A cursor positioned before the first posting.
+     */
+    Cursor cursor() {
+        return new Cursor(this.bytes, this.length);
+    }
+
+    /**
+     * Writes the list.
+     *
+     * @param output The output to write to.
+     * @throws IOException If the list could not be written.
+     */
+    void writeTo(DataOutput output) throws IOException {
+        output.writeInt(this.size);
+        output.writeLong(this.lastId);
+        output.writeInt(this.length);
+        output.write(this.bytes, 0, this.length);
+    }
+
+    /**
+     * Reads a list written by {@link #writeTo(DataOutput)}.
+     *
+     * @param input The input to read from.
+     * @param maxLength The maximum valid length of the postings, in bytes.
+     * @return The list.
+     * @throws IOException If the list could not be read.
+     */
+    static PostingList readFrom(DataInput input, long maxLength) throws IOException {
+        int size = input.readInt();
+        long lastId = input.readLong();
+        int length = input.readInt();
+        if (size < 0 || length < 0 || length > maxLength) {
+            throw new IOException("Invalid posting list");
+        }
+
+        byte[] bytes = new byte[Math.max(length, INITIAL_CAPACITY)];
+        input.readFully(bytes, 0, length);
+        return new PostingList(bytes, length, size, lastId);
+    }
+
+    /**
+     * Inserts a posting before the last one, rewriting the list. A posting for an ID already in the list is ignored.
+     *
+     * @param id The ID of the entry.
+     * @param frequency The amount of times the term appears in the entry.
+     */
+    private void insert(long id, int frequency) {
+        long[] ids = new long[this.size + 1];
+        int[] frequencies = new int[this.size + 1];
+        int count = 0;
+        boolean inserted = false;
+
+        Cursor cursor = this.cursor();
+        while (cursor.next()) {
+            if (!inserted && cursor.id() >= id) {
+                if (cursor.id() == id) {
+                    return;
+                }
+                ids[count] = id;
+                frequencies[count++] = frequency;
+                inserted = true;
+            }
+            ids[count] = cursor.id();
+            frequencies[count++] = cursor.frequency();
+        }
+
+        // The bytes are replaced instead of overwritten, so views of the list stay valid
+        this.bytes = new byte[Math.max(this.bytes.length, INITIAL_CAPACITY)];
+        this.length = 0;
+        this.size = 0;
+        this.lastId = 0;
+        for (int i = 0; i < count; i++) {
+            this.add(ids[i], frequencies[i]);
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (this.length + extra > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.length + extra));
+        }
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            this.bytes[this.length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.bytes[this.length++] = (byte) value;
+    }
+
+    /**
+     * A forward-only cursor over the postings of a list.
+     */
+    static final class Cursor {
+
+        private final byte[] bytes;
+
+        private final int length;
+
+        private int position;
+
+        private long id;
+
+        private int frequency;
+
+        private boolean positioned;
+
+        private Cursor(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        /**
+         * Moves to the next posting.
+         *
+         * @return True if there was a next posting, false if the cursor is exhausted.
+         */
+        boolean next() {
+            if (this.position >= this.length) {
+                this.id = Long.MAX_VALUE;
+                this.positioned = false;
+                return false;
+            }
+
+            this.id += this.readVarLong();
+            this.frequency = (int) this.readVarLong();
+            this.positioned = true;
+            return true;
+        }
+
+        /**
+         * Moves to the first posting with an ID greater than or equal to a target. The postings in between are
+         * decoded, since the list has no skip pointers.
+         *
+         * @param target The target ID.
+         * @return True if such a posting exists, false if the cursor is exhausted.
+         */
+        boolean advance(long target) {
+            while (!this.positioned || this.id < target) {
+                if (!this.next()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the ID of the current posting.
+         *
+         * @return The ID, or {@link Long#MAX_VALUE} once the cursor is exhausted.
+         */
+        long id() {
+            return this.id;
+        }
+
+        /**
+         * Returns the term frequency of the current posting.
+         *
+         * @return The amount of times the term appears in the entry.
+         */
+        int frequency() {
+            return this.frequency;
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = this.bytes[this.position++];
+                result |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.stringsdb.api.fulltext;
+
+import lombok.Value;
+
+/**
+ * An entry matching a full-text query, with its relevance.
+ */
+@Value
+public class ScoredEntry {
+
+    /**
+     * The ID of the entry.
+     */
+    long id;
+
+    /**
+     * The BM25 score of the entry for the query. Higher is more relevant.
+     */
+    double score;
+}
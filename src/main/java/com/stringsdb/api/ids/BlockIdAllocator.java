@@ -0,0 +1,93 @@
+package com.stringsdb.api.ids;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out IDs from blocks reserved in a shared source (usually a database sequence or table).
+ * <p>
+ * IDs are taken from the current block without locking; the source is only hit, under a lock, once per block. Since
+ * every block reserved by an allocator starts after the previous one, the IDs handed out by an allocator always
+ * increase.
+ */
+public class BlockIdAllocator {
+
+    /**
+     * The amount of IDs in a block.
+     */
+    private final int blockSize;
+
+    /**
+     * The block IDs are taken from, or null if no block was reserved yet.
+     */
+    private volatile Block current;
+
+    /**
+     * Creates an allocator.
+     *
+     * @param blockSize The amount of IDs in a block. It must match the increment applied by the source.
+     */
+    public BlockIdAllocator(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the amount of IDs in a block.
+     *
+     * @return The block size.
+     */
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+
+    /**
+     * Returns the next ID.
+     *
+     * @param reserveBlock Reserves a new block in the source and returns its first ID. It is only invoked when the
+     *     current block is exhausted.
+     * @return The ID.
+     */
+    public long next(LongSupplier reserveBlock) {
+        while (true) {
+            Block block = this.current;
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.end) {
+                    return id;
+                }
+            }
+
+            synchronized (this) {
+                // Only the first thread finding the block exhausted reserves the next one
+                if (this.current == block) {
+                    long start = reserveBlock.getAsLong();
+                    this.current = new Block(start, start + this.blockSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * A reserved block of IDs.
+     */
+    private static class Block {
+
+        /**
+         * The next ID to hand out.
+         */
+        private final AtomicLong next;
+
+        /**
+         * The first ID after the block.
+         */
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.stringsdb.api.ids;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Generates string entry IDs from blocks reserved in a table, handed out by a {@link BlockIdAllocator}.
+ * <p>
+ * The block size can be set per node through the {@link #BLOCK_SIZE_SETTING} Hibernate setting. The backing table is
+ * always used (even on databases supporting sequences), since every reservation adds the reserving node's block size
+ * to it, so nodes with different block sizes never hand out the same ID.
+ */
+public class StringEntryIdGenerator extends SequenceStyleGenerator {
+
+    /**
+     * The Hibernate setting holding the block size of this node.
+     */
+    public static final String BLOCK_SIZE_SETTING = "stringsdb.ids.block-size";
+
+    /**
+     * The allocator handing out the IDs.
+     */
+    private BlockIdAllocator allocator;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int blockSize = ConfigurationHelper.getInt(
+            BLOCK_SIZE_SETTING,
+            serviceRegistry.getService(ConfigurationService.class).getSettings(),
+            ConfigurationHelper.getInt(INCREMENT_PARAM, params, DEFAULT_INCREMENT_SIZE)
+        );
+
+        Properties generatorParams = new Properties();
+        generatorParams.putAll(params);
+        generatorParams.setProperty(INCREMENT_PARAM, Integer.toString(blockSize));
+        generatorParams.setProperty(FORCE_TBL_PARAM, "true");
+        // The stored value is the first ID of the next block
+        generatorParams.setProperty(OPT_PARAM, "pooled-lo");
+
+        super.configure(type, generatorParams, serviceRegistry);
+        this.allocator = new BlockIdAllocator(blockSize);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return this.allocator.next(
+            () -> this.getDatabaseStructure().buildCallback(session).getNextValue().makeValue().longValue()
+        );
+    }
+}
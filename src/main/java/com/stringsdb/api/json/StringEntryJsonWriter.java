@@ -0,0 +1,676 @@
+package com.stringsdb.api.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.api.dtos.StringEntryDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes pages and slices of string entries as JSON, byte for byte as a Jackson mapper with the configuration of
+ * Spring Boot writes them, without reflection and with little allocation.
+ * <p>
+ * Jackson orders the properties of the pages as the JVM lists their getters, which may change from a run to another,
+ * so the writer learns the order of the properties from the mapper when it is created. The field names are then
+ * encoded once, the numbers and the timestamps are written digit by digit, and the values are encoded to UTF-8 and
+ * escaped in a single pass over their characters, like the UTF-8 generator of Jackson: quotes, backslashes and
+ * control characters are escaped, surrogates are written as {@code \\uXXXX} escapes, and the other characters as they
+ * are. The output is buffered and streamed to the underlying stream as the buffer fills.
+ * <p>
+ * Only the structures produced by the application are written: {@link PageImpl} and {@link SliceImpl} of
+ * {@link StringEntryDto}, paged with a {@link PageRequest} or unpaged, and sorted with a plain {@link Sort}. Callers
+ * check them with {@link #supports(Slice)} and serialize the others through Jackson.
+ */
+public class StringEntryJsonWriter {
+
+    /**
+     * The size of the output buffers.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The longest encoding of a character: a {@code \\uXXXX} escape.
+     */
+    private static final int MAX_CHAR_BYTES = 6;
+
+    /**
+     * The longest encoding of a number or of a timestamp handled by the fast path.
+     */
+    private static final int MAX_NUMBER_BYTES = 32;
+
+    /**
+     * The hexadecimal digits of the escapes, in upper case as Jackson writes them.
+     */
+    private static final byte[] HEX_DIGITS = ascii("0123456789ABCDEF");
+
+    /**
+     * The short escapes of the control characters, or zero for the ones escaped as {@code \\u00XX}.
+     */
+    private static final byte[] SHORT_ESCAPES = new byte[32];
+
+    static {
+        SHORT_ESCAPES['\b'] = 'b';
+        SHORT_ESCAPES['\t'] = 't';
+        SHORT_ESCAPES['\n'] = 'n';
+        SHORT_ESCAPES['\f'] = 'f';
+        SHORT_ESCAPES['\r'] = 'r';
+    }
+
+    /**
+     * The encoded {@code true} literal.
+     */
+    private static final byte[] TRUE = ascii("true");
+
+    /**
+     * The encoded {@code false} literal.
+     */
+    private static final byte[] FALSE = ascii("false");
+
+    /**
+     * The encoded {@code null} literal.
+     */
+    private static final byte[] NULL = ascii("null");
+
+    /**
+     * The properties of the pages, in the order of the mapper.
+     */
+    private final Property[] pageProperties;
+
+    /**
+     * The properties of the slices, in the order of the mapper.
+     */
+    private final Property[] sliceProperties;
+
+    /**
+     * The properties of the page requests, in the order of the mapper.
+     */
+    private final Property[] pageableProperties;
+
+    /**
+     * The properties of the entries, in the order of the mapper.
+     */
+    private final Property[] entryProperties;
+
+    /**
+     * The JSON of the unpaged requests.
+     */
+    private final byte[] unpaged;
+
+    /**
+     * The JSON of the sorts with orders.
+     */
+    private final byte[] sorted;
+
+    /**
+     * The JSON of the sorts without order.
+     */
+    private final byte[] unsorted;
+
+    /**
+     * Creates a writer for the output of a mapper.
+     *
+     * @param objectMapper The mapper.
+     * @throws IllegalArgumentException If the mapper writes other properties than the ones of the writer.
+     */
+    public StringEntryJsonWriter(ObjectMapper objectMapper) {
+        StringEntryDto entry = new StringEntryDto(1L, "value", LocalDateTime.now());
+        this.pageProperties = properties(objectMapper, new PageImpl<>(List.of(entry), PageRequest.of(0, 1), 1));
+        this.sliceProperties = properties(objectMapper, new SliceImpl<>(List.of(entry), PageRequest.of(0, 1), false));
+        this.pageableProperties = properties(objectMapper, PageRequest.of(0, 1));
+        this.entryProperties = properties(objectMapper, entry);
+        try {
+            // These only hold constants
+            this.unpaged = objectMapper.writeValueAsBytes(Pageable.unpaged());
+            this.sorted = objectMapper.writeValueAsBytes(Sort.by("value"));
+            this.unsorted = objectMapper.writeValueAsBytes(Sort.unsorted());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("The mapper cannot write the pages", e);
+        }
+    }
+
+    /**
+     * Informs if a slice has the structure this writer produces the same output as Jackson for.
+     *
+     * @param slice The page or slice.
+     * @return True if it can be written by this writer.
+     */
+    public static boolean supports(Slice<?> slice) {
+        Class<?> type = slice.getClass();
+        if (type != PageImpl.class && type != SliceImpl.class) {
+            return false;
+        }
+
+        Pageable pageable = slice.getPageable();
+        if (pageable != Pageable.unpaged() && pageable.getClass() != PageRequest.class
+            || slice.getSort().getClass() != Sort.class) {
+            return false;
+        }
+
+        for (Object entry : slice.getContent()) {
+            if (entry == null || entry.getClass() != StringEntryDto.class) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes a page or a slice, with the metadata Jackson writes for it.
+     *
+     * @param slice The page or slice, which must be {@link #supports(Slice) supported}.
+     * @param out The stream to write to. It is neither flushed nor closed.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void write(Slice<StringEntryDto> slice, OutputStream out) throws IOException {
+        Output output = new Output(out);
+        this.writeSlice(output, slice);
+        output.flush();
+    }
+
+    /**
+     * Writes a page or a slice, with the properties in the order Jackson writes them.
+     *
+     * @param output The output.
+     * @param slice The page or slice.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeSlice(Output output, Slice<StringEntryDto> slice) throws IOException {
+        Page<StringEntryDto> page = slice instanceof Page ? (Page<StringEntryDto>) slice : null;
+        Property[] properties = page == null ? this.sliceProperties : this.pageProperties;
+        output.writeByte('{');
+        for (int i = 0; i < properties.length; i++) {
+            output.writeBytes(properties[i].fieldName(i));
+            switch (properties[i]) {
+                case CONTENT:
+                    this.writeContent(output, slice.getContent());
+                    break;
+                case PAGEABLE:
+                    this.writePageable(output, slice.getPageable());
+                    break;
+                case TOTAL_PAGES:
+                    output.writeLong(page.getTotalPages());
+                    break;
+                case TOTAL_ELEMENTS:
+                    output.writeLong(page.getTotalElements());
+                    break;
+                case NUMBER:
+                    output.writeLong(slice.getNumber());
+                    break;
+                case SORT:
+                    output.writeBytes(slice.getSort().isSorted() ? this.sorted : this.unsorted);
+                    break;
+                case FIRST:
+                    output.writeBoolean(slice.isFirst());
+                    break;
+                case LAST:
+                    output.writeBoolean(slice.isLast());
+                    break;
+                case NUMBER_OF_ELEMENTS:
+                    output.writeLong(slice.getNumberOfElements());
+                    break;
+                case SIZE:
+                    output.writeLong(slice.getSize());
+                    break;
+                case EMPTY:
+                    output.writeBoolean(slice.isEmpty());
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected page property " + properties[i]);
+            }
+        }
+        output.writeByte('}');
+    }
+
+    /**
+     * Writes the content of a page or slice, as an array of entries.
+     *
+     * @param output The output.
+     * @param content The entries.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeContent(Output output, List<StringEntryDto> content) throws IOException {
+        output.writeByte('[');
+        for (int i = 0; i < content.size(); i++) {
+            if (i > 0) {
+                output.writeByte(',');
+            }
+            this.writeEntry(output, content.get(i));
+        }
+        output.writeByte(']');
+    }
+
+    /**
+     * Writes an entry, with the properties in the order Jackson writes them and null for the missing values.
+     *
+     * @param output The output.
+     * @param entry The entry.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeEntry(Output output, StringEntryDto entry) throws IOException {
+        Property[] properties = this.entryProperties;
+        output.writeByte('{');
+        for (int i = 0; i < properties.length; i++) {
+            output.writeBytes(properties[i].fieldName(i));
+            switch (properties[i]) {
+                case ID:
+                    if (entry.getId() == null) {
+                        output.writeBytes(NULL);
+                    } else {
+                        output.writeLong(entry.getId());
+                    }
+                    break;
+                case VALUE:
+                    if (entry.getValue() == null) {
+                        output.writeBytes(NULL);
+                    } else {
+                        output.writeString(entry.getValue());
+                    }
+                    break;
+                case CREATED_AT:
+                    if (entry.getCreatedAt() == null) {
+                        output.writeBytes(NULL);
+                    } else {
+                        output.writeTimestamp(entry.getCreatedAt());
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected entry property " + properties[i]);
+            }
+        }
+        output.writeByte('}');
+    }
+
+    /**
+     * Writes the pagination of a page or slice: the {@code "INSTANCE"} string Jackson writes when unpaged, or an
+     * object.
+     *
+     * @param output The output.
+     * @param pageable The pagination.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writePageable(Output output, Pageable pageable) throws IOException {
+        if (pageable.isUnpaged()) {
+            output.writeBytes(this.unpaged);
+            return;
+        }
+
+        Property[] properties = this.pageableProperties;
+        output.writeByte('{');
+        for (int i = 0; i < properties.length; i++) {
+            output.writeBytes(properties[i].fieldName(i));
+            switch (properties[i]) {
+                case SORT:
+                    output.writeBytes(pageable.getSort().isSorted() ? this.sorted : this.unsorted);
+                    break;
+                case PAGE_NUMBER:
+                    output.writeLong(pageable.getPageNumber());
+                    break;
+                case PAGE_SIZE:
+                    output.writeLong(pageable.getPageSize());
+                    break;
+                case OFFSET:
+                    output.writeLong(pageable.getOffset());
+                    break;
+                case PAGED:
+                    output.writeBoolean(true);
+                    break;
+                case UNPAGED:
+                    output.writeBoolean(false);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected pageable property " + properties[i]);
+            }
+        }
+        output.writeByte('}');
+    }
+
+    /**
+     * Reads the properties a mapper writes for an object, in their order.
+     *
+     * @param objectMapper The mapper.
+     * @param sample The object.
+     * @return The properties.
+     * @throws IllegalArgumentException If the mapper writes a property unknown to the writer.
+     */
+    private static Property[] properties(ObjectMapper objectMapper, Object sample) {
+        JsonNode node = objectMapper.valueToTree(sample);
+        List<Property> properties = new ArrayList<>();
+        for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            Property property = Property.BY_NAME.get(name);
+            if (property == null) {
+                throw new IllegalArgumentException(
+                    "The mapper writes the unknown property " + name + " of " + sample.getClass().getSimpleName()
+                );
+            }
+            properties.add(property);
+        }
+
+        return properties.toArray(new Property[0]);
+    }
+
+    /**
+     * Encodes an ASCII string.
+     *
+     * @param value The string.
+     * @return The bytes of the string.
+     */
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The properties written by the writer, with their JSON names.
+     */
+    private enum Property {
+        CONTENT("content"),
+        PAGEABLE("pageable"),
+        TOTAL_PAGES("totalPages"),
+        TOTAL_ELEMENTS("totalElements"),
+        NUMBER("number"),
+        SORT("sort"),
+        FIRST("first"),
+        LAST("last"),
+        NUMBER_OF_ELEMENTS("numberOfElements"),
+        SIZE("size"),
+        EMPTY("empty"),
+        PAGE_NUMBER("pageNumber"),
+        PAGE_SIZE("pageSize"),
+        OFFSET("offset"),
+        PAGED("paged"),
+        UNPAGED("unpaged"),
+        ID("id"),
+        VALUE("value"),
+        CREATED_AT("createdAt");
+
+        /**
+         * The properties by JSON name.
+         */
+        private static final Map<String, Property> BY_NAME = Stream.of(values())
+            .collect(Collectors.toMap(property -> property.jsonName, Function.identity()));
+
+        /**
+         * The JSON name.
+         */
+        private final String jsonName;
+
+        /**
+         * The encoded name of the first field of an object: {@code "name":}.
+         */
+        private final byte[] firstField;
+
+        /**
+         * The encoded name of the other fields of an object: {@code ,"name":}.
+         */
+        private final byte[] nextField;
+
+        /**
+         * Creates a property.
+         *
+         * @param jsonName The JSON name.
+         */
+        Property(String jsonName) {
+            this.jsonName = jsonName;
+            this.firstField = ascii("\"" + jsonName + "\":");
+            this.nextField = ascii(",\"" + jsonName + "\":");
+        }
+
+        /**
+         * Returns the encoded name of the property as a field of an object, preceded by a comma unless it is the
+         * first field.
+         *
+         * @param index The index of the field in the object.
+         * @return The encoded name.
+         */
+        private byte[] fieldName(int index) {
+            return index == 0 ? this.firstField : this.nextField;
+        }
+    }
+
+    /**
+     * The buffered output of a document.
+     */
+    private static final class Output {
+
+        /**
+         * The stream the document is written to.
+         */
+        private final OutputStream out;
+
+        /**
+         * The output buffer.
+         */
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        /**
+         * The position of the next byte in the buffer.
+         */
+        private int position;
+
+        /**
+         * Creates an output.
+         *
+         * @param out The stream the document is written to.
+         */
+        private Output(OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Writes a boolean.
+         *
+         * @param value The boolean.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeBoolean(boolean value) throws IOException {
+            this.writeBytes(value ? TRUE : FALSE);
+        }
+
+        /**
+         * Writes a string, quoted and escaped.
+         *
+         * @param value The string.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeString(String value) throws IOException {
+            this.writeByte('"');
+            byte[] bytes = this.buffer;
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                if (this.position > BUFFER_SIZE - MAX_CHAR_BYTES) {
+                    this.flush();
+                }
+
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        bytes[this.position++] = (byte) c;
+                    } else if (c >= 0x20 || SHORT_ESCAPES[c] != 0) {
+                        bytes[this.position++] = '\\';
+                        bytes[this.position++] = c >= 0x20 ? (byte) c : SHORT_ESCAPES[c];
+                    } else {
+                        this.writeEscape(c);
+                    }
+                } else if (c < 0x800) {
+                    bytes[this.position++] = (byte) (0xC0 | c >> 6);
+                    bytes[this.position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    this.writeEscape(c);
+                } else {
+                    bytes[this.position++] = (byte) (0xE0 | c >> 12);
+                    bytes[this.position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    bytes[this.position++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            this.writeByte('"');
+        }
+
+        /**
+         * Writes a character as a {@code \\uXXXX} escape. The buffer must have room.
+         *
+         * @param c The character.
+         */
+        private void writeEscape(char c) {
+            byte[] bytes = this.buffer;
+            bytes[this.position++] = '\\';
+            bytes[this.position++] = 'u';
+            bytes[this.position++] = HEX_DIGITS[c >> 12];
+            bytes[this.position++] = HEX_DIGITS[c >> 8 & 0xF];
+            bytes[this.position++] = HEX_DIGITS[c >> 4 & 0xF];
+            bytes[this.position++] = HEX_DIGITS[c & 0xF];
+        }
+
+        /**
+         * Writes a timestamp as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, as Jackson does: the seconds are
+         * always written, and the fraction of second with as many digits as needed.
+         *
+         * @param timestamp The timestamp.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeTimestamp(LocalDateTime timestamp) throws IOException {
+            int year = timestamp.getYear();
+            if (year < 0 || year > 9999) {
+                // The years out of four digits are signed, and rare enough to be formatted the slow way
+                this.writeByte('"');
+                this.writeBytes(ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp)));
+                this.writeByte('"');
+                return;
+            }
+
+            this.ensure(MAX_NUMBER_BYTES);
+            byte[] bytes = this.buffer;
+            bytes[this.position++] = '"';
+            this.writeDigits(year, 4);
+            bytes[this.position++] = '-';
+            this.writeDigits(timestamp.getMonthValue(), 2);
+            bytes[this.position++] = '-';
+            this.writeDigits(timestamp.getDayOfMonth(), 2);
+            bytes[this.position++] = 'T';
+            this.writeDigits(timestamp.getHour(), 2);
+            bytes[this.position++] = ':';
+            this.writeDigits(timestamp.getMinute(), 2);
+            bytes[this.position++] = ':';
+            this.writeDigits(timestamp.getSecond(), 2);
+
+            int nano = timestamp.getNano();
+            if (nano > 0) {
+                int digits = 9;
+                while (nano % 10 == 0) {
+                    nano /= 10;
+                    digits--;
+                }
+                bytes[this.position++] = '.';
+                this.writeDigits(nano, digits);
+            }
+            bytes[this.position++] = '"';
+        }
+
+        /**
+         * Writes a non-negative number with a fixed amount of digits, padded with zeros. The buffer must have room.
+         *
+         * @param value The number.
+         * @param digits The amount of digits.
+         */
+        private void writeDigits(int value, int digits) {
+            for (int i = this.position + digits - 1; i >= this.position; i--) {
+                this.buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            this.position += digits;
+        }
+
+        /**
+         * Writes a number.
+         *
+         * @param value The number.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeLong(long value) throws IOException {
+            if (value == Long.MIN_VALUE) {
+                this.writeBytes(ascii(Long.toString(value)));
+                return;
+            }
+
+            this.ensure(MAX_NUMBER_BYTES);
+            if (value < 0) {
+                this.buffer[this.position++] = '-';
+                value = -value;
+            }
+
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            for (int i = this.position + digits - 1; i >= this.position; i--) {
+                this.buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            this.position += digits;
+        }
+
+        /**
+         * Writes an ASCII character.
+         *
+         * @param c The character.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeByte(char c) throws IOException {
+            this.ensure(1);
+            this.buffer[this.position++] = (byte) c;
+        }
+
+        /**
+         * Writes encoded bytes.
+         *
+         * @param bytes The bytes, at most the size of the buffer.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeBytes(byte[] bytes) throws IOException {
+            this.ensure(bytes.length);
+            System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+            this.position += bytes.length;
+        }
+
+        /**
+         * Makes room in the buffer, by sending its content to the stream if needed.
+         *
+         * @param length The amount of bytes to write next, at most the size of the buffer.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void ensure(int length) throws IOException {
+            if (this.position + length > BUFFER_SIZE) {
+                this.flush();
+            }
+        }
+
+        /**
+         * Sends the content of the buffer to the stream, and empties the buffer.
+         *
+         * @throws IOException If the stream cannot be written.
+         */
+        private void flush() throws IOException {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+}
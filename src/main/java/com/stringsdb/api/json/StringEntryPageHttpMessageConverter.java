@@ -0,0 +1,175 @@
+package com.stringsdb.api.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the pages and slices of string entries returned by the controllers as JSON with a
+ * {@link StringEntryJsonWriter}, instead of the Jackson converter, and times their serialization like it.
+ * <p>
+ * The converter only claims the bodies declared as a page or slice of {@link StringEntryDto}, and serializes the ones
+ * the writer does not support through Jackson, so the responses are the same whichever writes them. On creation, it
+ * compares its output with the one of the mapper on sample pages, and steps aside if the mapper is configured to write
+ * them differently.
+ */
+@Slf4j
+public class StringEntryPageHttpMessageConverter extends AbstractGenericHttpMessageConverter<Slice<?>> {
+
+    /**
+     * The mapper serializing the bodies the writer does not support.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The metrics recording the serializations.
+     */
+    private final StringEntryMetrics metrics;
+
+    /**
+     * The writer of the pages, or null if it does not produce the same output as the mapper.
+     */
+    @Nullable
+    private final StringEntryJsonWriter writer;
+
+    /**
+     * Creates the converter.
+     *
+     * @param objectMapper The mapper serializing the other bodies, whose output is checked against the writer.
+     * @param metrics The metrics recording the serializations.
+     */
+    public StringEntryPageHttpMessageConverter(ObjectMapper objectMapper, StringEntryMetrics metrics) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.writer = createWriter(objectMapper);
+    }
+
+    /**
+     * Informs if the writer is used, its output matching the one of the mapper.
+     *
+     * @return True if the writer is used.
+     */
+    public boolean isEnabled() {
+        return this.writer != null;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == PageImpl.class || clazz == SliceImpl.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return this.writer != null
+            && this.supports(clazz)
+            && type != null
+            && ResolvableType.forType(type).as(Slice.class).resolveGeneric(0) == StringEntryDto.class
+            && this.canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        // Without its declared type, the content of a body is unknown
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Slice<?> slice, @Nullable Type type, HttpOutputMessage outputMessage)
+        throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            if (StringEntryJsonWriter.supports(slice)) {
+                this.writer.write((Slice<StringEntryDto>) slice, outputMessage.getBody());
+            } else {
+                this.objectMapper.writeValue(outputMessage.getBody(), slice);
+            }
+        } finally {
+            this.metrics.recordSerialization(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Slice<?> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+        throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Pages of string entries are not read", inputMessage);
+    }
+
+    @Override
+    protected Slice<?> readInternal(Class<? extends Slice<?>> clazz, HttpInputMessage inputMessage)
+        throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Pages of string entries are not read", inputMessage);
+    }
+
+    /**
+     * Creates a writer for the output of a mapper, and compares their outputs on sample pages and slices covering the
+     * structures and the values the writer encodes itself.
+     *
+     * @param objectMapper The mapper.
+     * @return The writer, or null if its output differs from the one of the mapper.
+     */
+    @Nullable
+    static StringEntryJsonWriter createWriter(ObjectMapper objectMapper) {
+        List<StringEntryDto> content = Arrays.asList(
+            new StringEntryDto(1L, "plain", LocalDateTime.of(2020, 1, 2, 3, 4, 5, 120_000_000)),
+            new StringEntryDto(-42L, "\"\\/\b\t\n\f\r\u0000\u001f\u007f é€ 😀 \uDC00", null),
+            new StringEntryDto(null, null, LocalDateTime.of(1, 12, 31, 23, 59))
+        );
+        List<Slice<StringEntryDto>> samples = List.of(
+            new PageImpl<>(content, PageRequest.of(3, 2, Sort.by("value")), 101),
+            new PageImpl<>(List.of(), Pageable.unpaged(), 0),
+            new SliceImpl<>(content, PageRequest.of(0, 5), true),
+            new SliceImpl<>(content)
+        );
+
+        try {
+            StringEntryJsonWriter writer = new StringEntryJsonWriter(objectMapper);
+            for (Slice<StringEntryDto> sample : samples) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                writer.write(sample, out);
+                if (!Arrays.equals(out.toByteArray(), objectMapper.writeValueAsBytes(sample))) {
+                    log.warn("The JSON mapper writes {} differently from the page writer, which is disabled", sample);
+                    return null;
+                }
+            }
+
+            return writer;
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("The JSON mapper writes the pages differently from the page writer, which is disabled", e);
+            return null;
+        }
+    }
+}
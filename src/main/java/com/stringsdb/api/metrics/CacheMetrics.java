@@ -0,0 +1,68 @@
+package com.stringsdb.api.metrics;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.stringsdb.api.services.SearchResultCache;
+import com.stringsdb.api.services.StringEntryCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Exposes the statistics of the caches of entries and of search results, with the names Micrometer gives to the
+ * statistics of other caches: {@code cache.gets} by result and {@code cache.evictions}, plus the hit ratio since the
+ * start. The statistics are read when the meters are published, so the caches pay nothing more than recording them.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetrics implements MeterBinder {
+
+    /**
+     * The cache of entries by ID.
+     */
+    private final StringEntryCache entryCache;
+
+    /**
+     * The cache of search results.
+     */
+    private final SearchResultCache searchCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "entries", this.entryCache, StringEntryCache::getStats);
+        bind(registry, "search-results", this.searchCache, SearchResultCache::getStats);
+    }
+
+    /**
+     * Registers the meters of a cache. The meters only hold a weak reference to the cache they read, which the
+     * application context keeps alive.
+     *
+     * @param registry The registry of the meters.
+     * @param name The name of the cache.
+     * @param cache The cache.
+     * @param stats The function reading the statistics of the cache.
+     * @param <C> The type of the cache.
+     */
+    private static <C> void bind(MeterRegistry registry, String name, C cache, Function<C, CacheStats> stats) {
+        FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).hitCount())
+            .description("The amount of times cache lookup methods have returned a cached value")
+            .tags("cache", name, "result", "hit")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).missCount())
+            .description("The amount of times cache lookup methods have returned an uncached value")
+            .tags("cache", name, "result", "miss")
+            .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, c -> stats.apply(c).evictionCount())
+            .description("The amount of entries evicted from the cache")
+            .tag("cache", name)
+            .register(registry);
+        Gauge.builder("cache.hit.ratio", cache, c -> stats.apply(c).hitRate())
+            .description("The ratio of the lookups returning a cached value, since the start")
+            .tag("cache", name)
+            .register(registry);
+    }
+}
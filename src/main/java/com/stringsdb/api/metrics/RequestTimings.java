@@ -0,0 +1,92 @@
+package com.stringsdb.api.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time spent in each stage of the request being handled by the current thread, such as its queries or its
+ * serialization, so that a slow request can be told where its time went.
+ * <p>
+ * The timings are only collected between {@link #start()} and {@link #stop()}, on the thread of the request: the
+ * stages running on other threads, such as the segments of a parallel scan, are only seen through the stage that
+ * waits for them. Outside of a request, recording a stage costs a thread-local lookup.
+ */
+public final class RequestTimings {
+
+    /**
+     * The timings of the request handled by each thread.
+     */
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The total time and the amount of executions of each stage, by name, in the order they first ran.
+     */
+    private final Map<String, long[]> stages = new LinkedHashMap<>();
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Starts collecting the timings of the request handled by the current thread.
+     *
+     * @return The timings.
+     */
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Stops collecting the timings of the request handled by the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds the time spent in a stage to the request handled by the current thread, if its timings are collected.
+     *
+     * @param stage The name of the stage.
+     * @param nanos The time spent, in nanoseconds.
+     */
+    public static void record(String stage, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            long[] total = timings.stages.computeIfAbsent(stage, name -> new long[2]);
+            total[0] += nanos;
+            total[1]++;
+        }
+    }
+
+    /**
+     * Returns the total time spent in a stage.
+     *
+     * @param stage The name of the stage.
+     * @return The time, in nanoseconds, or zero if the stage did not run.
+     */
+    public long getNanos(String stage) {
+        long[] total = this.stages.get(stage);
+        return total == null ? 0 : total[0];
+    }
+
+    /**
+     * Describes the timings, such as {@code data query 12.3 ms, count query 4.5 ms (x2)}.
+     *
+     * @return The description, empty if no stage ran.
+     */
+    @Override
+    public String toString() {
+        StringJoiner description = new StringJoiner(", ");
+        this.stages.forEach((stage, total) -> description.add(String.format(
+            total[1] > 1 ? "%s %.1f ms (x%d)" : "%s %.1f ms",
+            stage,
+            total[0] / (double) TimeUnit.MILLISECONDS.toNanos(1),
+            total[1]
+        )));
+
+        return description.toString();
+    }
+}
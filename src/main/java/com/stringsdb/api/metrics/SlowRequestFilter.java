@@ -0,0 +1,88 @@
+package com.stringsdb.api.metrics;
+
+import com.stringsdb.api.configuration.MetricsProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the requests taking longer than the configured threshold, with the parameters selecting their entries and the
+ * {@link RequestTimings time spent in each stage}, so that a slow listing can be told to be slow in its data query,
+ * its count query or its serialization.
+ * <p>
+ * Requests continuing asynchronously, such as the streamed exports, are not logged: their duration is the one of the
+ * transfer, which the client paces.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SlowRequestFilter extends OncePerRequestFilter {
+
+    /**
+     * The parameters logged with the slow requests.
+     */
+    private static final List<String> LOGGED_PARAMETERS = List.of(
+        "filter", "insensitive", "count", "after", "page", "size", "sort"
+    );
+
+    /**
+     * The metrics configuration.
+     */
+    private final MetricsProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !this.properties.isSlowRequestLogEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.stop();
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= this.properties.getSlowRequestThreshold().toNanos() && !request.isAsyncStarted()) {
+                log.warn(
+                    "Slow request {} {} {} took {} ms with status {}: {}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    describeParameters(request),
+                    String.format("%.1f", elapsed / (double) TimeUnit.MILLISECONDS.toNanos(1)),
+                    response.getStatus(),
+                    timings
+                );
+            }
+        }
+    }
+
+    /**
+     * Describes the logged parameters of a request, such as {@code {filter=lor, page=2}}.
+     *
+     * @param request The request.
+     * @return The description.
+     */
+    private static String describeParameters(HttpServletRequest request) {
+        StringJoiner description = new StringJoiner(", ", "{", "}");
+        for (String name : LOGGED_PARAMETERS) {
+            String value = request.getParameter(name);
+            if (value != null) {
+                // Control characters would let a client forge log lines
+                description.add(name + "=" + value.replaceAll("\\p{Cntrl}", "?"));
+            }
+        }
+
+        return description.toString();
+    }
+}
@@ -0,0 +1,263 @@
+package com.stringsdb.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Records the timings and the row counts of the hot paths of the string entries: the service calls by filter length,
+ * the data and count queries of the database, the rows scanned, matched and returned by the stores, and the JSON
+ * serialization of the responses. The latency of each endpoint is recorded by Spring Boot as
+ * {@code http.server.requests}.
+ * <p>
+ * The meters are created on their first use and then looked up without allocating, so recording costs a few atomic
+ * updates. Every timing is also added to the {@link RequestTimings} of the current request, for the slow request log.
+ */
+@Component
+public class StringEntryMetrics {
+
+    /**
+     * The kind of the queries returning the entries of a page.
+     */
+    public static final String DATA_QUERY = "data";
+
+    /**
+     * The kind of the queries counting the entries matching a filter.
+     */
+    public static final String COUNT_QUERY = "count";
+
+    /**
+     * The stage of the requests serializing their response.
+     */
+    public static final String SERIALIZATION_STAGE = "serialization";
+
+    /**
+     * The upper bounds of the filter length buckets, the last one being unbounded. Filters of up to two characters
+     * have no trigram, so they cannot use the trigram index.
+     */
+    private static final int[] FILTER_LENGTH_BOUNDS = {0, 2, 5, 10};
+
+    /**
+     * The names of the filter length buckets.
+     */
+    private static final String[] FILTER_LENGTH_BUCKETS = {"none", "1-2", "3-5", "6-10", "11+"};
+
+    /**
+     * The registry of the meters.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * The timer of the data queries.
+     */
+    private final Timer dataQueries;
+
+    /**
+     * The timer of the count queries.
+     */
+    private final Timer countQueries;
+
+    /**
+     * The timer of the serialization of the responses.
+     */
+    private final Timer serialization;
+
+    /**
+     * The timers of the service operations by filter length bucket, by operation.
+     */
+    private final Map<String, OperationTimers> operations = new ConcurrentHashMap<>();
+
+    /**
+     * The summaries of the rows scanned, matched and returned, by store.
+     */
+    private final Map<String, DistributionSummary[]> rows = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the metrics.
+     *
+     * @param registry The registry of the meters.
+     */
+    public StringEntryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.dataQueries = queryTimer(registry, DATA_QUERY);
+        this.countQueries = queryTimer(registry, COUNT_QUERY);
+        this.serialization = Timer.builder("stringsdb.http.serialization")
+            .description("The serialization of the JSON responses")
+            .register(registry);
+    }
+
+    /**
+     * Times a call of the service.
+     *
+     * @param operation The name of the operation.
+     * @param filter The filter of the call, or null.
+     * @param call The call.
+     * @param <T> The type of the result.
+     * @return The result of the call.
+     */
+    public <T> T timeOperation(String operation, @Nullable String filter, Supplier<T> call) {
+        OperationTimers timers = this.operations.get(operation);
+        if (timers == null) {
+            timers = this.operations.computeIfAbsent(operation, OperationTimers::new);
+        }
+
+        return time(timers.get(this.registry, filterLengthBucket(filter)), timers.stage, call);
+    }
+
+    /**
+     * Times a query of the database.
+     *
+     * @param kind The kind of the query: {@link #DATA_QUERY} or {@link #COUNT_QUERY}.
+     * @param query The query.
+     * @param <T> The type of the result.
+     * @return The result of the query.
+     */
+    public <T> T timeQuery(String kind, Supplier<T> query) {
+        return COUNT_QUERY.equals(kind)
+            ? time(this.countQueries, "count query", query)
+            : time(this.dataQueries, "data query", query);
+    }
+
+    /**
+     * Records the serialization of a response.
+     *
+     * @param nanos The time spent, in nanoseconds.
+     */
+    public void recordSerialization(long nanos) {
+        this.serialization.record(nanos, TimeUnit.NANOSECONDS);
+        RequestTimings.record(SERIALIZATION_STAGE, nanos);
+    }
+
+    /**
+     * Records the rows visited by a read of a store.
+     *
+     * @param store The name of the store.
+     * @param scanned The amount of entries the read evaluated itself, or -1 if it does not know, as when the database
+     *     evaluates them.
+     * @param matched The amount of entries matching the read, or -1 if they were not counted.
+     * @param returned The amount of entries returned.
+     */
+    public void recordRows(String store, long scanned, long matched, long returned) {
+        DistributionSummary[] summaries = this.rows.get(store);
+        if (summaries == null) {
+            summaries = this.rows.computeIfAbsent(store, name -> new DistributionSummary[] {
+                rowSummary(this.registry, name, "scanned"),
+                rowSummary(this.registry, name, "matched"),
+                rowSummary(this.registry, name, "returned")
+            });
+        }
+
+        if (scanned >= 0) {
+            summaries[0].record(scanned);
+        }
+        if (matched >= 0) {
+            summaries[1].record(matched);
+        }
+        summaries[2].record(returned);
+    }
+
+    /**
+     * Returns the bucket of the length of a filter.
+     *
+     * @param filter The filter, or null.
+     * @return The index of the bucket in {@link #FILTER_LENGTH_BUCKETS}.
+     */
+    static int filterLengthBucket(@Nullable String filter) {
+        int length = filter == null ? 0 : filter.length();
+        int bucket = 0;
+        while (bucket < FILTER_LENGTH_BOUNDS.length && length > FILTER_LENGTH_BOUNDS[bucket]) {
+            bucket++;
+        }
+
+        return bucket;
+    }
+
+    /**
+     * Returns the name of the bucket of the length of a filter, as tagged on the timers of the service.
+     *
+     * @param filter The filter, or null.
+     * @return The name of the bucket, such as {@code 3-5}.
+     */
+    public static String filterLengthBucketName(@Nullable String filter) {
+        return FILTER_LENGTH_BUCKETS[filterLengthBucket(filter)];
+    }
+
+    private static <T> T time(Timer timer, String stage, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTimings.record(stage, elapsed);
+        }
+    }
+
+    private static Timer queryTimer(MeterRegistry registry, String kind) {
+        return Timer.builder("stringsdb.store.queries")
+            .description("The queries of the database")
+            .tag("query", kind)
+            .register(registry);
+    }
+
+    private static DistributionSummary rowSummary(MeterRegistry registry, String store, String stage) {
+        return DistributionSummary.builder("stringsdb.store.rows")
+            .description("The rows visited by the reads of the stores")
+            .baseUnit("rows")
+            .tag("store", store)
+            .tag("stage", stage)
+            .register(registry);
+    }
+
+    /**
+     * The timers of a service operation, registered on their first use, so the operations without a filter do not
+     * publish empty series for every filter length.
+     */
+    private static final class OperationTimers {
+
+        /**
+         * The name of the operation.
+         */
+        private final String operation;
+
+        /**
+         * The stage of the requests running the operation.
+         */
+        private final String stage;
+
+        /**
+         * The timers by filter length bucket, null until used. Concurrent first uses get the same timer from the
+         * registry.
+         */
+        private final AtomicReferenceArray<Timer> byFilterLength = new AtomicReferenceArray<>(
+            FILTER_LENGTH_BUCKETS.length
+        );
+
+        private OperationTimers(String operation) {
+            this.operation = operation;
+            this.stage = "service " + operation;
+        }
+
+        private Timer get(MeterRegistry registry, int bucket) {
+            Timer timer = this.byFilterLength.get(bucket);
+            if (timer == null) {
+                timer = Timer.builder("stringsdb.service.calls")
+                    .description("The calls of the string entry service")
+                    .tag("operation", this.operation)
+                    .tag("filter.length", FILTER_LENGTH_BUCKETS[bucket])
+                    .register(registry);
+                this.byFilterLength.set(bucket, timer);
+            }
+
+            return timer;
+        }
+    }
+}
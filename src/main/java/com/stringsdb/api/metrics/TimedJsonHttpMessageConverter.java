@@ -0,0 +1,44 @@
+package com.stringsdb.api.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Converts the JSON bodies like the default converter, and times the serialization of the responses. The timing
+ * includes writing to the response buffer, and to the connection once the buffer is full.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * The metrics recording the serializations.
+     */
+    private final StringEntryMetrics metrics;
+
+    /**
+     * Creates the converter.
+     *
+     * @param objectMapper The mapper serializing the bodies.
+     * @param metrics The metrics recording the serializations.
+     */
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, StringEntryMetrics metrics) {
+        super(objectMapper);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+        throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            this.metrics.recordSerialization(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.stringsdb.api.pagination;
+
+import java.util.Locale;
+
+/**
+ * How the total of items is computed for a page.
+ */
+public enum CountMode {
+
+    /**
+     * The total is counted exactly for every page.
+     */
+    EXACT,
+
+    /**
+     * The total is estimated from cached counts.
+     */
+    APPROXIMATE,
+
+    /**
+     * The total is not computed: the page only tells if there is a next page.
+     */
+    NONE;
+
+    /**
+     * Returns the count mode named by a request parameter, ignoring its case.
+     *
+     * @param parameter The request parameter value.
+     * @return The count mode.
+     * @throws IllegalArgumentException If the parameter does not name a count mode.
+     */
+    public static CountMode fromParameter(String parameter) throws IllegalArgumentException {
+        return CountMode.valueOf(parameter.trim().toUpperCase(Locale.ROOT));
+    }
+}
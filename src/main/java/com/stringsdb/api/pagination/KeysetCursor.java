@@ -0,0 +1,197 @@
+package com.stringsdb.api.pagination;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Position of a keyset (cursor-based) walk over the string entries.
+ * <p>
+ * A cursor holds the sort of the walk and the sort key and ID of the last entry returned, so the next page can be
+ * sought with an indexed predicate instead of skipping the previous rows. Clients receive it as an opaque token.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+
+    /**
+     * The properties a walk can be sorted by. The ID is always used as a tie-breaker.
+     */
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "createdAt", "value");
+
+    /**
+     * The version of the token format.
+     */
+    private static final byte TOKEN_VERSION = 1;
+
+    /**
+     * The property the walk is sorted by.
+     */
+    private final String property;
+
+    /**
+     * The direction of the walk.
+     */
+    private final Sort.Direction direction;
+
+    /**
+     * The ID of the last entry returned, or null at the start of the walk.
+     */
+    @Nullable
+    private final Long lastId;
+
+    /**
+     * The sort key of the last entry returned, or null at the start of the walk.
+     */
+    @Nullable
+    private final Comparable<?> lastKey;
+
+    /**
+     * Creates the cursor for the start of a walk.
+     *
+     * @param sort The sort of the walk. An unsorted walk is sorted by ascending ID.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the walk is not sorted by a single sortable property.
+     */
+    public static KeysetCursor first(Sort sort) throws IllegalArgumentException {
+        if (sort.isUnsorted()) {
+            return new KeysetCursor("id", Sort.Direction.ASC, null, null);
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1 || !SORTABLE_PROPERTIES.contains(orders.get(0).getProperty())) {
+            throw new IllegalArgumentException(
+                "Cursor pagination supports sorting by a single property among " + SORTABLE_PROPERTIES
+            );
+        }
+
+        return new KeysetCursor(orders.get(0).getProperty(), orders.get(0).getDirection(), null, null);
+    }
+
+    /**
+     * Informs if the cursor is at the start of the walk.
+     *
+     * @return True if no entry was returned yet, false otherwise.
+     */
+    public boolean isFirst() {
+        return this.lastId == null;
+    }
+
+    /**
+     * Creates the cursor positioned after an entry.
+     *
+     * @param last The last entry returned.
+     * @return The cursor.
+     */
+    public KeysetCursor next(StringEntryDto last) {
+        Comparable<?> key;
+        switch (this.property) {
+            case "createdAt":
+                key = last.getCreatedAt();
+                break;
+            case "value":
+                key = last.getValue();
+                break;
+            default:
+                key = last.getId();
+        }
+
+        return new KeysetCursor(this.property, this.direction, last.getId(), key);
+    }
+
+    /**
+     * Returns the sort of the walk, including the ID tie-breaker.
+     *
+     * @return The sort.
+     */
+    public Sort toSort() {
+        return this.property.equals("id")
+            ? Sort.by(this.direction, "id")
+            : Sort.by(this.direction, this.property, "id");
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe token.
+     *
+     * @return The token.
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(TOKEN_VERSION);
+            output.writeUTF(this.property);
+            output.writeBoolean(this.direction.isAscending());
+            output.writeBoolean(this.lastId != null);
+            if (this.lastId != null) {
+                output.writeLong(this.lastId);
+                if (this.lastKey instanceof LocalDateTime) {
+                    LocalDateTime createdAt = (LocalDateTime) this.lastKey;
+                    output.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+                    output.writeInt(createdAt.getNano());
+                } else if (this.lastKey instanceof String) {
+                    output.writeUTF((String) this.lastKey);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param token The token.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the token is not a valid cursor.
+     */
+    public static KeysetCursor decode(String token) throws IllegalArgumentException {
+        try (DataInputStream input = new DataInputStream(
+            new ByteArrayInputStream(Base64.getUrlDecoder().decode(token))
+        )) {
+            if (input.readByte() != TOKEN_VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+
+            String property = input.readUTF();
+            if (!SORTABLE_PROPERTIES.contains(property)) {
+                throw new IllegalArgumentException("Invalid cursor sort property");
+            }
+
+            Sort.Direction direction = input.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+            if (!input.readBoolean()) {
+                return new KeysetCursor(property, direction, null, null);
+            }
+
+            long lastId = input.readLong();
+            Comparable<?> lastKey;
+            switch (property) {
+                case "createdAt":
+                    lastKey = LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC);
+                    break;
+                case "value":
+                    lastKey = input.readUTF();
+                    break;
+                default:
+                    lastKey = lastId;
+            }
+
+            return new KeysetCursor(property, direction, lastId, lastKey);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.stringsdb.api.repositories;
 
+import com.stringsdb.api.dtos.StringEntryDto;
 import com.stringsdb.api.entities.StringEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for string entries.
+ * <p>
+ * The methods returning {@link StringEntryDto} project the rows straight into DTOs with constructor expressions, so
+ * the read paths skip the hydration of managed entities, their snapshots for dirty checking and the mapping to DTOs.
  */
 @Repository
-public interface StringEntryRepository extends JpaRepository<StringEntry, Long> {
+public interface StringEntryRepository
+    extends JpaRepository<StringEntry, Long>, JpaSpecificationExecutor<StringEntry>, StringEntryRepositoryCustom {
 
     /**
      * Returns the values containing an informed string.
@@ -20,4 +33,88 @@ public interface StringEntryRepository extends JpaRepository<StringEntry, Long>
      * @return A list of values matching the informed string.
      */
     Page<StringEntry> findByValueContaining(String str, Pageable pageable);
+
+    /**
+     * Returns the entries with an ID greater than the informed one, without counting the total of entries.
+     *
+     * @param id The ID to start after.
+     * @param pageable Object containing pagination information.
+     * @return A list of entries.
+     */
+    List<StringEntry> findByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Returns the entries whose value has a content hash, ordered by ID. Different values may share a hash.
+     *
+     * @param valueHash The content hash.
+     * @return A list of entries.
+     */
+    List<StringEntry> findByValueHashOrderById(Long valueHash);
+
+    /**
+     * Returns the entries whose value has one of many content hashes, ordered by ID. Different values may share a hash.
+     *
+     * @param valueHashes The content hashes.
+     * @return A list of entries.
+     */
+    List<StringEntry> findByValueHashInOrderById(Collection<Long> valueHashes);
+
+    /**
+     * Returns the entries without a content hash with an ID greater than the informed one.
+     *
+     * @param id The ID to start after.
+     * @param pageable Object containing pagination information.
+     * @return A list of entries.
+     */
+    List<StringEntry> findByValueHashIsNullAndIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Returns the entries without a folded value with an ID greater than the informed one.
+     *
+     * @param id The ID to start after.
+     * @param pageable Object containing pagination information.
+     * @return A list of entries.
+     */
+    List<StringEntry> findByFoldedValueIsNullAndIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Returns the entry with the greatest ID.
+     *
+     * @return The entry, or an empty optional object if there are no entries.
+     */
+    Optional<StringEntry> findTopByOrderByIdDesc();
+
+    /**
+     * Returns an entry, as a DTO.
+     *
+     * @param id The ID of the entry.
+     * @return The entry, or an empty optional object if it was not found.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.stringsdb.api.dtos.StringEntryDto(e.id, e.value, e.createdAt) from StringEntry e"
+        + " where e.id = :id")
+    Optional<StringEntryDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Returns many entries, as DTOs.
+     *
+     * @param ids The IDs of the entries.
+     * @return The found entries, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.stringsdb.api.dtos.StringEntryDto(e.id, e.value, e.createdAt) from StringEntry e"
+        + " where e.id in :ids")
+    List<StringEntryDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns the entries in a range of IDs, as DTOs ordered by ID.
+     *
+     * @param fromId The lowest ID of the range, inclusive.
+     * @param toId The highest ID of the range, exclusive.
+     * @return A list of entries.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.stringsdb.api.dtos.StringEntryDto(e.id, e.value, e.createdAt) from StringEntry e"
+        + " where e.id >= :fromId and e.id < :toId order by e.id")
+    List<StringEntryDto> findDtosByIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
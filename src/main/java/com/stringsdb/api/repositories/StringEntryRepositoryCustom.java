@@ -0,0 +1,56 @@
+package com.stringsdb.api.repositories;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.entities.StringEntry;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Custom queries for string entries.
+ */
+public interface StringEntryRepositoryCustom {
+
+    /**
+     * Returns a range of the entries matching a specification, as DTOs, without counting the total of matching
+     * entries.
+     *
+     * @param spec The specification to match, or null to match all the entries.
+     * @param sort The sort of the entries.
+     * @param offset The amount of matching entries to skip.
+     * @param limit The maximum amount of entries to return.
+     * @return A list of entries.
+     */
+    @Transactional(readOnly = true)
+    List<StringEntryDto> findDtoRange(@Nullable Specification<StringEntry> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Visits all the entries in ID order through a forward-only database cursor. Every entry is detached once
+     * visited, so the memory used does not depend on the amount of entries. It must run in a transaction, and the
+     * action must not query the database: with MySQL, the rows are streamed over the connection of the transaction.
+     *
+     * @param fetchSize The amount of rows the database driver fetches per round trip. MySQL streams the rows one by
+     *     one instead.
+     * @param action The action applied to every entry.
+     */
+    void scrollAll(int fetchSize, Consumer<StringEntry> action);
+
+    /**
+     * Returns the collation of the column of the values, which rules how the values are compared by the database.
+     *
+     * @return The name of the collation, or null if the database is not MySQL: the other databases do not report it.
+     */
+    @Nullable
+    @Transactional(readOnly = true)
+    String findValueCollation();
+
+    /**
+     * Flushes the pending changes and detaches all the managed entities, bounding the memory used by long
+     * transactions.
+     */
+    void flushAndClear();
+}
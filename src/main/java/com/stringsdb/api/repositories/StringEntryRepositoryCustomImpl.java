@@ -0,0 +1,121 @@
+package com.stringsdb.api.repositories;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.entities.StringEntry;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.lang.Nullable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the custom queries for string entries.
+ */
+public class StringEntryRepositoryCustomImpl implements StringEntryRepositoryCustom {
+
+    /**
+     * The database product name reported by MySQL.
+     */
+    private static final String MYSQL_PRODUCT_NAME = "MySQL";
+
+    /**
+     * The entity manager.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StringEntryDto> findDtoRange(
+        @Nullable Specification<StringEntry> spec,
+        Sort sort,
+        long offset,
+        int limit
+    ) {
+        return this.createDtoQuery(spec, sort)
+            .setFirstResult(Math.toIntExact(offset))
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public void scrollAll(int fetchSize, Consumer<StringEntry> action) {
+        // Connector/J buffers the whole result set for a positive fetch size, unless cursor fetching is enabled for
+        // every statement of the connection: this fetch size streams the rows of this query alone
+        try (
+            Stream<StringEntry> entries = this.entityManager
+                .createQuery("select e from StringEntry e order by e.id", StringEntry.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, this.isMysql() ? Integer.MIN_VALUE : fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+        ) {
+            entries.forEach(entry -> {
+                action.accept(entry);
+                this.entityManager.detach(entry);
+            });
+        }
+    }
+
+    @Override
+    public void flushAndClear() {
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    @Override
+    @Nullable
+    public String findValueCollation() {
+        if (!this.isMysql()) {
+            return null;
+        }
+
+        List<?> collations = this.entityManager.createNativeQuery(
+            "select collation_name from information_schema.columns"
+                + " where table_schema = database() and table_name = 'strings' and column_name = 'value'"
+        ).getResultList();
+        return collations.isEmpty() ? null : (String) collations.get(0);
+    }
+
+    /**
+     * Informs if the database is MySQL.
+     *
+     * @return True if the database is MySQL, false otherwise.
+     */
+    private boolean isMysql() {
+        return this.entityManager.unwrap(Session.class).doReturningWork(
+            connection -> MYSQL_PRODUCT_NAME.equals(connection.getMetaData().getDatabaseProductName())
+        );
+    }
+
+    /**
+     * Creates the query projecting the entries matching a specification into DTOs.
+     *
+     * @param spec The specification to match, or null to match all the entries.
+     * @param sort The sort of the entries.
+     * @return The query.
+     */
+    private TypedQuery<StringEntryDto> createDtoQuery(@Nullable Specification<StringEntry> spec, Sort sort) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<StringEntryDto> query = builder.createQuery(StringEntryDto.class);
+        Root<StringEntry> root = query.from(StringEntry.class);
+
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, builder));
+        }
+        query
+            .select(builder.construct(StringEntryDto.class, root.get("id"), root.get("value"), root.get("createdAt")))
+            .orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return this.entityManager.createQuery(query);
+    }
+}
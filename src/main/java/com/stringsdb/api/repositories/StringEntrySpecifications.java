@@ -0,0 +1,113 @@
+package com.stringsdb.api.repositories;
+
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.entities.StringTrigram;
+import com.stringsdb.api.pagination.KeysetCursor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.util.Collection;
+
+/**
+ * Query specifications for string entries.
+ */
+public final class StringEntrySpecifications {
+
+    private StringEntrySpecifications() {
+    }
+
+    /**
+     * Matches the entries whose value contains a string. It produces the same predicate as the derived
+     * {@link StringEntryRepository#findByValueContaining} query.
+     *
+     * @param str The string to search.
+     * @return The specification.
+     */
+    public static Specification<StringEntry> valueContaining(String str) {
+        return (root, query, builder) -> builder.like(
+            root.get("value"),
+            "%" + EscapeCharacter.DEFAULT.escape(str) + "%",
+            EscapeCharacter.DEFAULT.getEscapeCharacter()
+        );
+    }
+
+    /**
+     * Matches the entries whose folded value contains a folded string. Both sides are folded beforehand, so the
+     * comparison does not depend on the collation of the database.
+     *
+     * @param folded The folded string to search (see {@link com.stringsdb.api.utils.TextFolding}).
+     * @return The specification.
+     */
+    public static Specification<StringEntry> foldedValueContaining(String folded) {
+        return (root, query, builder) -> builder.like(
+            root.get("foldedValue"),
+            "%" + EscapeCharacter.DEFAULT.escape(folded) + "%",
+            EscapeCharacter.DEFAULT.getEscapeCharacter()
+        );
+    }
+
+    /**
+     * Matches the entries indexed with all the informed trigrams, intersecting their posting lists.
+     *
+     * @param trigrams The distinct packed trigrams.
+     * @return The specification.
+     */
+    public static Specification<StringEntry> hasAllTrigrams(Collection<Long> trigrams) {
+        return (root, query, builder) -> {
+            Subquery<Long> candidates = query.subquery(Long.class);
+            Root<StringTrigram> posting = candidates.from(StringTrigram.class);
+            candidates.select(posting.get("stringId"))
+                .where(posting.get("trigram").in(trigrams))
+                .groupBy(posting.get("stringId"))
+                .having(builder.equal(builder.count(posting.get("trigram")), (long) trigrams.size()));
+
+            return root.get("id").in(candidates);
+        };
+    }
+
+    /**
+     * Matches the entries after the position of a keyset cursor, following its sort and using the ID as a
+     * tie-breaker.
+     *
+     * @param cursor The cursor.
+     * @return The specification. It matches all the entries for a cursor at the start of the walk.
+     */
+    public static Specification<StringEntry> after(KeysetCursor cursor) {
+        return (root, query, builder) -> {
+            if (cursor.isFirst()) {
+                return null;
+            }
+
+            boolean ascending = cursor.getDirection().isAscending();
+            Predicate afterId = beyond(builder, root.get("id"), cursor.getLastId(), ascending);
+            if (cursor.getProperty().equals("id")) {
+                return afterId;
+            }
+
+            Expression<? extends Comparable<?>> key = root.get(cursor.getProperty());
+            return builder.or(
+                beyond(builder, key, cursor.getLastKey(), ascending),
+                builder.and(builder.equal(key, cursor.getLastKey()), afterId)
+            );
+        };
+    }
+
+    /**
+     * Builds a strict comparison in the direction of a walk.
+     *
+     * @param builder The criteria builder.
+     * @param expression The compared expression.
+     * @param value The value to compare to.
+     * @param ascending Informs if the walk is ascending.
+     * @return The predicate.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate beyond(CriteriaBuilder builder, Expression expression, Comparable value, boolean ascending) {
+        return ascending ? builder.greaterThan(expression, value) : builder.lessThan(expression, value);
+    }
+}
@@ -0,0 +1,27 @@
+package com.stringsdb.api.repositories;
+
+import com.stringsdb.api.entities.StringTrigram;
+import com.stringsdb.api.entities.StringTrigramId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository for the trigram index postings.
+ */
+@Repository
+public interface StringTrigramRepository extends JpaRepository<StringTrigram, StringTrigramId> {
+
+    /**
+     * Removes the postings of the informed string entries.
+     *
+     * @param stringIds The IDs of the string entries.
+     */
+    @Modifying
+    @Query("delete from StringTrigram t where t.stringId in :stringIds")
+    void deleteByStringIdIn(@Param("stringIds") Collection<Long> stringIds);
+}
@@ -0,0 +1,258 @@
+package com.stringsdb.api.scan;
+
+import lombok.Value;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An Aho-Corasick automaton finding many terms in a value in a single pass over its characters, whatever the amount of
+ * terms.
+ * <p>
+ * The terms are compiled into a deterministic automaton: the failure links are folded into the transitions, so each
+ * character costs one table lookup. The transitions are indexed by character class, where each distinct character of
+ * the terms has its own class and every other character shares the class leading back to the start, so the table
+ * stays small. Each state knows the set of terms ending at it, suffixes included, as a bit mask, which is why there
+ * are at most {@link #MAX_TERMS} terms. Terms match case-sensitively, as the {@code filter} parameter does.
+ * <p>
+ * An automaton is immutable and thread-safe.
+ */
+public final class AhoCorasick {
+
+    /**
+     * The maximum amount of distinct terms.
+     */
+    public static final int MAX_TERMS = Long.SIZE;
+
+    /**
+     * The amount of ASCII characters, whose classes are kept in an array.
+     */
+    private static final int ASCII_SIZE = 128;
+
+    /**
+     * The distinct terms, in the order they were first given.
+     */
+    private final List<String> terms;
+
+    /**
+     * The classes of the ASCII characters. Class 0 is for the characters of no term.
+     */
+    private final int[] asciiClasses;
+
+    /**
+     * The classes of the other characters of the terms.
+     */
+    private final Map<Character, Integer> otherClasses;
+
+    /**
+     * The amount of character classes.
+     */
+    private final int classCount;
+
+    /**
+     * The transitions: the next state of a state and a character class is at {@code state * classCount + class}.
+     */
+    private final int[] transitions;
+
+    /**
+     * The terms ending at each state, as bit masks of their positions in {@link #terms}.
+     */
+    private final long[] outputs;
+
+    /**
+     * The mask of all the terms.
+     */
+    private final long allTerms;
+
+    private AhoCorasick(List<String> terms) {
+        this.terms = terms;
+        this.asciiClasses = new int[ASCII_SIZE];
+        this.otherClasses = new HashMap<>();
+        int classes = 1;
+        int maxStates = 1;
+        for (String term : terms) {
+            maxStates += term.length();
+            for (int i = 0; i < term.length(); i++) {
+                char current = term.charAt(i);
+                if (current < ASCII_SIZE) {
+                    if (this.asciiClasses[current] == 0) {
+                        this.asciiClasses[current] = classes++;
+                    }
+                } else if (!this.otherClasses.containsKey(current)) {
+                    this.otherClasses.put(current, classes++);
+                }
+            }
+        }
+        this.classCount = classes;
+
+        // Builds the trie of the terms, where -1 is a missing transition
+        int[] trie = new int[maxStates * this.classCount];
+        Arrays.fill(trie, -1);
+        long[] ends = new long[maxStates];
+        int stateCount = 1;
+        for (int index = 0; index < terms.size(); index++) {
+            String term = terms.get(index);
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                int transition = state * this.classCount + this.classOf(term.charAt(i));
+                if (trie[transition] < 0) {
+                    trie[transition] = stateCount++;
+                }
+                state = trie[transition];
+            }
+            ends[state] |= 1L << index;
+        }
+
+        // Folds the failure links into the transitions, breadth first so the failure state of a state is complete
+        int[] failures = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int characterClass = 0; characterClass < this.classCount; characterClass++) {
+            int next = trie[characterClass];
+            if (next < 0) {
+                trie[characterClass] = 0;
+            } else if (next > 0) {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            ends[state] |= ends[failures[state]];
+            for (int characterClass = 0; characterClass < this.classCount; characterClass++) {
+                int transition = state * this.classCount + characterClass;
+                int fallback = trie[failures[state] * this.classCount + characterClass];
+                if (trie[transition] < 0) {
+                    trie[transition] = fallback;
+                } else {
+                    failures[trie[transition]] = fallback;
+                    queue.add(trie[transition]);
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(trie, stateCount * this.classCount);
+        this.outputs = Arrays.copyOf(ends, stateCount);
+        this.allTerms = terms.size() == MAX_TERMS ? -1L : (1L << terms.size()) - 1;
+    }
+
+    /**
+     * Compiles terms into an automaton. Repeated terms are only kept once.
+     *
+     * @param terms The terms.
+     * @return The automaton.
+     * @throws IllegalArgumentException If there are no terms, more than {@link #MAX_TERMS} distinct ones, or an
+     *     empty one.
+     */
+    public static AhoCorasick compile(List<String> terms) throws IllegalArgumentException {
+        List<String> distinctTerms = new ArrayList<>(new LinkedHashSet<>(terms));
+        if (distinctTerms.isEmpty()) {
+            throw new IllegalArgumentException("No terms to match");
+        }
+        if (distinctTerms.size() > MAX_TERMS) {
+            throw new IllegalArgumentException("At most " + MAX_TERMS + " distinct terms can be matched at once");
+        }
+        if (distinctTerms.stream().anyMatch(String::isEmpty)) {
+            throw new IllegalArgumentException("Terms must not be empty");
+        }
+
+        return new AhoCorasick(List.copyOf(distinctTerms));
+    }
+
+    /**
+     * Returns the distinct terms.
+     *
+     * @return The terms, in the order they were first given.
+     */
+    public List<String> getTerms() {
+        return this.terms;
+    }
+
+    /**
+     * Informs if a value contains any of the terms. The scan stops at the first match.
+     *
+     * @param value The value.
+     * @return True if the value contains a term, false otherwise.
+     */
+    public boolean matchesAny(String value) {
+        int state = 0;
+        for (int i = 0; i < value.length(); i++) {
+            state = this.transitions[state * this.classCount + this.classOf(value.charAt(i))];
+            if (this.outputs[state] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Informs if a value contains all the terms. The scan stops once every term was found.
+     *
+     * @param value The value.
+     * @return True if the value contains every term, false otherwise.
+     */
+    public boolean matchesAll(String value) {
+        long found = 0;
+        int state = 0;
+        for (int i = 0; i < value.length(); i++) {
+            state = this.transitions[state * this.classCount + this.classOf(value.charAt(i))];
+            found |= this.outputs[state];
+            if (found == this.allTerms) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns every occurrence of the terms in a value, including overlapping ones.
+     *
+     * @param value The value.
+     * @return The occurrences, ordered by start and then by end offset.
+     */
+    public List<Occurrence> findAll(String value) {
+        List<Occurrence> result = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < value.length(); i++) {
+            state = this.transitions[state * this.classCount + this.classOf(value.charAt(i))];
+            for (long ending = this.outputs[state]; ending != 0; ending &= ending - 1) {
+                int index = Long.numberOfTrailingZeros(ending);
+                result.add(new Occurrence(index, i + 1 - this.terms.get(index).length(), i + 1));
+            }
+        }
+        result.sort(Comparator.comparingInt(Occurrence::getStart).thenComparingInt(Occurrence::getEnd));
+
+        return result;
+    }
+
+    private int classOf(char character) {
+        return character < ASCII_SIZE ? this.asciiClasses[character] : this.otherClasses.getOrDefault(character, 0);
+    }
+
+    /**
+     * An occurrence of a term in a value.
+     */
+    @Value
+    public static class Occurrence {
+
+        /**
+         * The position of the term in {@link #getTerms()}.
+         */
+        int term;
+
+        /**
+         * The offset of the first character of the occurrence, in UTF-16 code units.
+         */
+        int start;
+
+        /**
+         * The offset after the last character of the occurrence, in UTF-16 code units.
+         */
+        int end;
+    }
+}
@@ -0,0 +1,125 @@
+package com.stringsdb.api.scan;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * The time budget and cancellation state of a scan, shared by the tasks evaluating its segments.
+ * <p>
+ * Fork-join tasks are not interrupted when cancelled, so the tasks check the budget between entries instead. A single
+ * regular expression may backtrack for much longer than a segment takes to scan, so the values are also handed to the
+ * predicates through {@link #guard(String)}, which checks the budget while their characters are read.
+ */
+public final class ScanBudget {
+
+    /**
+     * The amount of characters read from a guarded value between two checks of the budget, minus one.
+     */
+    private static final int CHECK_MASK = 0xFFF;
+
+    /**
+     * The time at which the budget runs out, in {@link System#nanoTime()} units.
+     */
+    private final long deadline;
+
+    /**
+     * Informs if the scan was cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a budget starting now.
+     *
+     * @param duration The time budget.
+     */
+    public ScanBudget(Duration duration) {
+        this.deadline = System.nanoTime() + duration.toNanos();
+    }
+
+    /**
+     * Returns the remaining time.
+     *
+     * @return The remaining time in nanoseconds, zero or negative once the budget ran out.
+     */
+    public long remainingNanos() {
+        return this.deadline - System.nanoTime();
+    }
+
+    /**
+     * Informs if the budget ran out.
+     *
+     * @return True once the deadline passed, false before.
+     */
+    public boolean isExpired() {
+        return this.remainingNanos() <= 0;
+    }
+
+    /**
+     * Cancels the scan. The tasks stop at their next check.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Checks that the scan may go on.
+     *
+     * @throws CancellationException If the scan was cancelled.
+     * @throws ScanTimeoutException If the budget ran out.
+     */
+    public void check() throws CancellationException, ScanTimeoutException {
+        if (this.cancelled) {
+            throw new CancellationException("The scan was cancelled");
+        }
+        if (this.isExpired()) {
+            throw new ScanTimeoutException("The scan ran out of time");
+        }
+    }
+
+    /**
+     * Returns a value whose characters check this budget while they are read.
+     *
+     * @param value The value.
+     * @return The guarded value. Its string representation is the value itself, which is not guarded.
+     */
+    public CharSequence guard(String value) {
+        return new GuardedValue(value);
+    }
+
+    /**
+     * A value checking the budget every few thousand characters read.
+     */
+    private final class GuardedValue implements CharSequence {
+
+        private final String value;
+
+        private int reads;
+
+        private GuardedValue(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int length() {
+            return this.value.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if ((++this.reads & CHECK_MASK) == 0) {
+                ScanBudget.this.check();
+            }
+            return this.value.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return this.value.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+    }
+}
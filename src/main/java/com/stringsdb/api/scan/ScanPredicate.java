@@ -0,0 +1,28 @@
+package com.stringsdb.api.scan;
+
+/**
+ * A compiled condition on the values of the entries, evaluated by a scan (see {@link ScanPredicates}).
+ * <p>
+ * Predicates are evaluated concurrently, so they must be thread-safe.
+ */
+@FunctionalInterface
+public interface ScanPredicate {
+
+    /**
+     * Informs if a value matches.
+     *
+     * @param value The value. Reading its characters may abort the scan once it is cancelled or out of time.
+     * @return True if the value matches, false otherwise.
+     */
+    boolean test(CharSequence value);
+
+    /**
+     * Returns a predicate matching the values matched by this predicate and another one.
+     *
+     * @param other The other predicate, evaluated only when this one matches.
+     * @return The combined predicate.
+     */
+    default ScanPredicate and(ScanPredicate other) {
+        return value -> this.test(value) && other.test(value);
+    }
+}
@@ -0,0 +1,168 @@
+package com.stringsdb.api.scan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles the conditions of the scans into {@link ScanPredicate} objects.
+ * <p>
+ * A predicate expression is a list of clauses separated by whitespace, which must all match. A clause is a list of
+ * alternatives separated by {@code |}, without spaces, and matches when any of them is contained in the value; a
+ * clause starting with {@code -} matches when none of them is. An alternative is a word, or a phrase between double
+ * quotes in which {@code \"} and {@code \\} stand for a quote and a backslash. Words and phrases match
+ * case-sensitively, as the {@code filter} parameter does. For instance, {@code error|warn -"disk full"} matches the
+ * values containing {@code error} or {@code warn} but not {@code disk full}.
+ */
+public final class ScanPredicates {
+
+    private ScanPredicates() {
+    }
+
+    /**
+     * Returns a predicate matching the values containing a string.
+     *
+     * @param str The string.
+     * @return The predicate.
+     */
+    public static ScanPredicate contains(String str) {
+        return value -> value.toString().contains(str);
+    }
+
+    /**
+     * Compiles a regular expression into a predicate matching the values containing a match of it. Anchors match the
+     * start and the end of the values.
+     *
+     * @param regex The regular expression, in {@link Pattern} syntax.
+     * @return The predicate.
+     * @throws PatternSyntaxException If the regular expression is invalid.
+     */
+    public static ScanPredicate regex(String regex) throws PatternSyntaxException {
+        Pattern pattern = Pattern.compile(regex);
+        return value -> pattern.matcher(value).find();
+    }
+
+    /**
+     * Returns a predicate matching the values containing any or all the terms of an automaton, read in a single pass.
+     *
+     * @param automaton The automaton of the terms.
+     * @param mode How the terms are combined.
+     * @return The predicate.
+     */
+    public static ScanPredicate terms(AhoCorasick automaton, TermMatchMode mode) {
+        // The automaton reads each character once, so the value needs no budget checks
+        return mode == TermMatchMode.ALL
+            ? value -> automaton.matchesAll(value.toString())
+            : value -> automaton.matchesAny(value.toString());
+    }
+
+    /**
+     * Compiles a predicate expression.
+     *
+     * @param expression The expression.
+     * @return The predicate.
+     * @throws IllegalArgumentException If the expression is empty or invalid.
+     */
+    public static ScanPredicate parse(String expression) throws IllegalArgumentException {
+        List<ScanPredicate> clauses = new ArrayList<>();
+        int position = skipWhitespace(expression, 0);
+        while (position < expression.length()) {
+            boolean negated = expression.charAt(position) == '-';
+            if (negated) {
+                position++;
+            }
+
+            List<String> alternatives = new ArrayList<>();
+            StringBuilder alternative = new StringBuilder();
+            position = readAlternative(expression, position, alternative);
+            alternatives.add(alternative.toString());
+            while (position < expression.length() && expression.charAt(position) == '|') {
+                alternative.setLength(0);
+                position = readAlternative(expression, position + 1, alternative);
+                alternatives.add(alternative.toString());
+            }
+            if (position < expression.length() && !Character.isWhitespace(expression.charAt(position))) {
+                throw new IllegalArgumentException("Unexpected character at position " + position);
+            }
+
+            ScanPredicate clause = anyOf(alternatives);
+            clauses.add(negated ? value -> !clause.test(value) : clause);
+            position = skipWhitespace(expression, position);
+        }
+
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException("The predicate is empty");
+        }
+
+        return clauses.stream().reduce(ScanPredicate::and).get();
+    }
+
+    /**
+     * Reads a word or a quoted phrase.
+     *
+     * @param expression The expression.
+     * @param position The position of the alternative.
+     * @param result The builder receiving the alternative.
+     * @return The position after the alternative.
+     * @throws IllegalArgumentException If the alternative is empty or its quote is not closed.
+     */
+    private static int readAlternative(String expression, int position, StringBuilder result)
+        throws IllegalArgumentException {
+        int start = position;
+        if (position < expression.length() && expression.charAt(position) == '"') {
+            for (position++; position < expression.length(); position++) {
+                char current = expression.charAt(position);
+                if (current == '"') {
+                    if (result.length() == 0) {
+                        throw new IllegalArgumentException("Empty phrase at position " + start);
+                    }
+                    return position + 1;
+                }
+                if (current == '\\' && position + 1 < expression.length()) {
+                    current = expression.charAt(++position);
+                }
+                result.append(current);
+            }
+            throw new IllegalArgumentException("Unclosed quote at position " + start);
+        }
+
+        while (position < expression.length()) {
+            char current = expression.charAt(position);
+            if (Character.isWhitespace(current) || current == '|' || current == '"') {
+                break;
+            }
+            result.append(current);
+            position++;
+        }
+        if (result.length() == 0) {
+            throw new IllegalArgumentException("Missing word at position " + start);
+        }
+
+        return position;
+    }
+
+    private static int skipWhitespace(String expression, int position) {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static ScanPredicate anyOf(List<String> alternatives) {
+        if (alternatives.size() == 1) {
+            return contains(alternatives.get(0));
+        }
+
+        String[] needles = alternatives.toArray(new String[0]);
+        return value -> {
+            String str = value.toString();
+            for (String needle : needles) {
+                if (str.contains(needle)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+}
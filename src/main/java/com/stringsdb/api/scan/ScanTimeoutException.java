@@ -0,0 +1,16 @@
+package com.stringsdb.api.scan;
+
+/**
+ * Thrown when a scan runs out of its time budget before filling its page.
+ */
+public class ScanTimeoutException extends RuntimeException {
+
+    /**
+     * Creates the exception.
+     *
+     * @param message The detail message.
+     */
+    public ScanTimeoutException(String message) {
+        super(message);
+    }
+}
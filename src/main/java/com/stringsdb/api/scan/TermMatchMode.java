@@ -0,0 +1,30 @@
+package com.stringsdb.api.scan;
+
+import java.util.Locale;
+
+/**
+ * How the terms of a multi-term filter are combined.
+ */
+public enum TermMatchMode {
+
+    /**
+     * Values must contain at least one of the terms.
+     */
+    ANY,
+
+    /**
+     * Values must contain every term.
+     */
+    ALL;
+
+    /**
+     * Returns the mode named by a request parameter, ignoring its case.
+     *
+     * @param parameter The request parameter value.
+     * @return The mode.
+     * @throws IllegalArgumentException If the parameter does not name a mode.
+     */
+    public static TermMatchMode fromParameter(String parameter) throws IllegalArgumentException {
+        return TermMatchMode.valueOf(parameter.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,294 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.FullTextProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.fulltext.InvertedIndex;
+import com.stringsdb.api.fulltext.MatchOperator;
+import com.stringsdb.api.fulltext.ScoredEntry;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.storage.StringEntryStore;
+import com.stringsdb.api.utils.Transactions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The full-text index of the stored values, ranking the entries matching a query by relevance (see
+ * {@link InvertedIndex}).
+ * <p>
+ * The index is kept in memory and saved to a snapshot file periodically and on shutdown. Once the application is
+ * ready, the snapshot is loaded in the background and caught up with the entries created since the previous load;
+ * without a valid snapshot, the index is rebuilt from the store. Searches return nothing until the index is loaded.
+ * The entries saved by this instance are indexed as they are saved; entries saved by other instances are indexed on
+ * the next start. The IDs handed out in blocks are not ordered across instances, so the catch-up goes by creation
+ * date, starting a margin before the previous load.
+ */
+@Slf4j
+@Service
+public class FullTextIndex {
+
+    /**
+     * The amount of entries read at once while indexing the entries created since the snapshot.
+     */
+    static final int CATCH_UP_PAGE_SIZE = 1000;
+
+    /**
+     * The full-text index configuration.
+     */
+    private final FullTextProperties properties;
+
+    /**
+     * The string entries store.
+     */
+    private final StringEntryStore store;
+
+    /**
+     * The index serving the searches. It is empty until the load completes.
+     */
+    private volatile InvertedIndex index;
+
+    /**
+     * The entries saved while the index is loaded, indexed once it is. Null once the index is loaded. Guarded by this
+     * index.
+     */
+    private List<StringEntryDto> pending = new ArrayList<>();
+
+    /**
+     * Informs if entries were indexed since the last snapshot.
+     */
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    /**
+     * Saves the snapshots periodically, once the index is loaded.
+     */
+    private ScheduledExecutorService snapshotWriter;
+
+    /**
+     * Creates the index.
+     *
+     * @param properties The full-text index configuration.
+     * @param store The string entries store.
+     */
+    public FullTextIndex(FullTextProperties properties, StringEntryStore store) {
+        this.properties = properties;
+        this.store = store;
+        this.index = new InvertedIndex(properties.getK1(), properties.getB());
+    }
+
+    /**
+     * Returns the entries matching a query, from the most to the least relevant.
+     *
+     * @param query The query. Its terms match ignoring case and accents.
+     * @param operator How the terms of the query are combined.
+     * @param limit The maximum amount of entries to return. It is capped by the configured maximum.
+     * @return The best matching entries.
+     */
+    public List<ScoredEntry> search(String query, MatchOperator operator, int limit) {
+        if (!this.properties.isEnabled()) {
+            return List.of();
+        }
+
+        return this.index.search(query, operator, Math.min(limit, this.properties.getMaxLimit()));
+    }
+
+    /**
+     * Indexes a saved entry once the current transaction commits, or right away if there is no transaction.
+     *
+     * @param id The ID of the entry.
+     * @param value The value of the entry.
+     */
+    public void add(Long id, String value) {
+        if (this.properties.isEnabled()) {
+            Transactions.afterCommit(() -> this.index(id, value));
+        }
+    }
+
+    /**
+     * Loads the index in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (this.properties.isEnabled()) {
+            Thread loader = new Thread(this::load, "strings-full-text-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    /**
+     * Loads the snapshot and indexes the entries created since it was caught up, or rebuilds the index from the store,
+     * then starts saving snapshots.
+     *
+     * @return The amount of entries indexed from the store.
+     */
+    long load() {
+        // The load reads every entry created before it started, but the ones committed later or by an instance whose
+        // clock is behind, which the margin of the next catch-up covers
+        LocalDateTime loadStart = LocalDateTime.now();
+        InvertedIndex loaded = this.readSnapshot();
+        long indexed;
+        if (loaded == null) {
+            InvertedIndex rebuilt = new InvertedIndex(this.properties.getK1(), this.properties.getB());
+            long[] count = {0L};
+            this.store.forEach(entry -> {
+                if (rebuilt.add(entry.getId(), entry.getValue())) {
+                    count[0]++;
+                }
+            });
+            loaded = rebuilt;
+            indexed = count[0];
+        } else {
+            indexed = this.catchUp(loaded);
+        }
+        loaded.setSyncedAt(loadStart);
+
+        synchronized (this) {
+            // Entries saved during the load may have been read from the store too: they are only indexed once
+            for (StringEntryDto entry : this.pending) {
+                if (loaded.add(entry.getId(), entry.getValue())) {
+                    this.changed.set(true);
+                }
+            }
+            this.pending = null;
+            this.index = loaded;
+        }
+        // Saved even without new entries, to record the new synchronization date
+        this.changed.set(true);
+        log.info(
+            "Full-text index loaded: {} entries, {} terms, {} indexed from the store",
+            loaded.size(), loaded.getTermCount(), indexed
+        );
+
+        this.writeSnapshot();
+        this.startSnapshotWriter();
+        return indexed;
+    }
+
+    /**
+     * Saves a snapshot of the index, if entries were indexed since the last one.
+     */
+    void writeSnapshot() {
+        if (!this.changed.getAndSet(false)) {
+            return;
+        }
+
+        try {
+            this.index.writeTo(this.properties.getSnapshotFile());
+        } catch (IOException e) {
+            this.changed.set(true);
+            log.warn("Could not save the full-text index to {}", this.properties.getSnapshotFile(), e);
+        }
+    }
+
+    /**
+     * Stops saving snapshots and saves the last one.
+     */
+    @PreDestroy
+    public void close() {
+        ScheduledExecutorService writer;
+        synchronized (this) {
+            writer = this.snapshotWriter;
+            this.snapshotWriter = null;
+        }
+
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.writeSnapshot();
+        }
+    }
+
+    /**
+     * Indexes an entry, or keeps it for later if the index is being loaded.
+     *
+     * @param id The ID of the entry.
+     * @param value The value of the entry.
+     */
+    private synchronized void index(Long id, String value) {
+        if (this.pending != null) {
+            this.pending.add(new StringEntryDto(id, value, null));
+        } else if (this.index.add(id, value)) {
+            this.changed.set(true);
+        }
+    }
+
+    /**
+     * Reads the snapshot.
+     *
+     * @return The index, or null if there is no valid snapshot.
+     */
+    private InvertedIndex readSnapshot() {
+        if (!Files.exists(this.properties.getSnapshotFile())) {
+            return null;
+        }
+
+        Path file = this.properties.getSnapshotFile();
+        try {
+            return InvertedIndex.readFrom(file, this.properties.getK1(), this.properties.getB());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load the full-text index from {}, rebuilding it", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Indexes the entries created since an index was caught up, minus the margin. The entries it already holds are
+     * skipped.
+     *
+     * @param loaded The index.
+     * @return The amount of indexed entries.
+     */
+    private long catchUp(InvertedIndex loaded) {
+        KeysetCursor cursor = KeysetCursor.first(Sort.by("createdAt"));
+        if (loaded.getSyncedAt() != null) {
+            cursor = cursor.next(new StringEntryDto(
+                0L, null, loaded.getSyncedAt().minus(this.properties.getCatchUpMargin())
+            ));
+        }
+        long indexed = 0;
+
+        while (true) {
+            List<StringEntryDto> entries = this.store.findAfter(null, cursor, CATCH_UP_PAGE_SIZE);
+            for (StringEntryDto entry : entries) {
+                if (loaded.add(entry.getId(), entry.getValue())) {
+                    indexed++;
+                }
+            }
+            if (entries.size() < CATCH_UP_PAGE_SIZE) {
+                return indexed;
+            }
+            cursor = cursor.next(entries.get(entries.size() - 1));
+        }
+    }
+
+    /**
+     * Starts saving snapshots periodically.
+     */
+    private synchronized void startSnapshotWriter() {
+        long interval = this.properties.getSnapshotInterval().toMillis();
+        this.snapshotWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread writer = new Thread(runnable, "strings-full-text-snapshots");
+            writer.setDaemon(true);
+            return writer;
+        });
+        this.snapshotWriter.scheduleWithFixedDelay(this::writeSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+}
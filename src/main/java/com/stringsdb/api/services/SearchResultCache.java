@@ -0,0 +1,141 @@
+package com.stringsdb.api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.stringsdb.api.configuration.SearchCacheProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.utils.Transactions;
+import lombok.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A cache of search results, keyed by filter and page.
+ * <p>
+ * Only the IDs of the entries in a page and the total are cached. Every cached result belongs to a write version,
+ * which is bumped whenever entries are saved: results of older versions are never read again and are evicted as the
+ * cache fills up, so invalidating all the results costs a single increment.
+ */
+@Service
+public class SearchResultCache {
+
+    /**
+     * The approximate size of a cached result and its key, without the IDs and the filter, in bytes.
+     */
+    private static final int BASE_WEIGHT = 128;
+
+    /**
+     * The current write version.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * The cached results, or null if the cache is disabled.
+     */
+    private final Cache<Key, CachedPage> results;
+
+    /**
+     * Creates the cache.
+     *
+     * @param properties The cache configuration.
+     */
+    public SearchResultCache(SearchCacheProperties properties) {
+        this.results = properties.isEnabled()
+            ? Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumMemory().toBytes())
+                .weigher((Key key, CachedPage page) -> BASE_WEIGHT
+                    + (key.filter == null ? 0 : key.filter.length() * Character.BYTES)
+                    + page.ids.length * Long.BYTES)
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build()
+            : null;
+    }
+
+    /**
+     * Returns a page of search results. On a miss, the search runs once for all the concurrent identical requests.
+     *
+     * @param filter The filter for the strings.
+     * @param pageable Object containing pagination information.
+     * @param search Runs the search in the database.
+     * @param resolve Returns the entries with the given IDs, in the same order, for results found in the cache.
+     * @return The page of results.
+     */
+    public Page<StringEntryDto> get(
+        String filter,
+        Pageable pageable,
+        Supplier<Page<StringEntryDto>> search,
+        Function<List<Long>, List<StringEntryDto>> resolve
+    ) {
+        if (this.results == null || pageable.isUnpaged()) {
+            return search.get();
+        }
+
+        // The caller that ran the search uses its entries directly instead of resolving the cached IDs
+        AtomicReference<Page<StringEntryDto>> searched = new AtomicReference<>();
+        CachedPage cachedPage = this.results.get(new Key(this.version.get(), filter, pageable), key -> {
+            Page<StringEntryDto> page = search.get();
+            searched.set(page);
+            return new CachedPage(
+                page.getContent().stream().mapToLong(StringEntryDto::getId).toArray(),
+                page.getTotalElements()
+            );
+        });
+
+        if (searched.get() != null) {
+            return searched.get();
+        }
+
+        List<StringEntryDto> entries = resolve.apply(
+            Arrays.stream(cachedPage.ids).boxed().collect(Collectors.toList())
+        );
+        return new PageImpl<>(entries, pageable, cachedPage.total);
+    }
+
+    /**
+     * Records that entries were saved, invalidating all the cached results once the current transaction commits.
+     */
+    public void recordWrite() {
+        // Bumping the version before the commit would let a search cache the old results under the new version
+        Transactions.afterCommit(this.version::incrementAndGet);
+    }
+
+    /**
+     * Returns the hit, miss and eviction statistics of the cache.
+     *
+     * @return The statistics, all zero if the cache is disabled.
+     */
+    public CacheStats getStats() {
+        return this.results == null ? CacheStats.empty() : this.results.stats();
+    }
+
+    /**
+     * The key of a cached result.
+     */
+    @Value
+    private static class Key {
+        long version;
+        String filter;
+        Pageable pageable;
+    }
+
+    /**
+     * A cached result.
+     */
+    @Value
+    private static class CachedPage {
+        long[] ids;
+        long total;
+    }
+}
@@ -0,0 +1,116 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.BackfillProperties;
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.repositories.StringEntryRepository;
+import com.stringsdb.api.storage.ConditionalOnJpaStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Updates the stored entries in chunks, one transaction per chunk, walking them by ID. It computes the columns added
+ * after entries were stored, and rebuilds the data derived from the entries.
+ */
+@Slf4j
+@Service
+@ConditionalOnJpaStorage
+@RequiredArgsConstructor
+public class StringEntryBackfillService {
+
+    /**
+     * The backfill configuration.
+     */
+    private final BackfillProperties properties;
+
+    /**
+     * The string entries repository.
+     */
+    private final StringEntryRepository stringEntryRepository;
+
+    /**
+     * The transaction manager, used to update the entries in chunks.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Computes the content hashes of the entries stored before the hashes existed.
+     *
+     * @return The amount of updated entries.
+     */
+    public long backfillValueHashes() {
+        return this.backfill(
+            "Value hash backfill",
+            this.properties.getChunkSize(),
+            this.stringEntryRepository::findByValueHashIsNullAndIdGreaterThan,
+            entries -> entries.forEach(StringEntry::updateValueHash)
+        );
+    }
+
+    /**
+     * Computes the folded values of the entries stored before the folded values existed.
+     *
+     * @return The amount of updated entries.
+     */
+    public long backfillFoldedValues() {
+        return this.backfill(
+            "Folded value backfill",
+            this.properties.getChunkSize(),
+            this.stringEntryRepository::findByFoldedValueIsNullAndIdGreaterThan,
+            entries -> entries.forEach(StringEntry::updateFoldedValue)
+        );
+    }
+
+    /**
+     * Updates the entries returned by a query, one chunk of entries per transaction, until the query returns no more
+     * entries. The query is called with the ID of the last updated entry, so each chunk starts where the previous one
+     * ended.
+     *
+     * @param name The name of the update, for the logs.
+     * @param chunkSize The amount of entries updated per transaction.
+     * @param query The query of a chunk of the entries to update, with an ID greater than the informed one, in the
+     *     order of the informed page.
+     * @param update The update of a chunk of managed entries, in the transaction of the chunk.
+     * @return The amount of updated entries.
+     */
+    public long backfill(
+        String name,
+        int chunkSize,
+        BiFunction<Long, Pageable, List<StringEntry>> query,
+        Consumer<List<StringEntry>> update
+    ) {
+        TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+        PageRequest chunk = PageRequest.of(0, chunkSize, Sort.by("id"));
+        long lastId = 0L;
+        long updated = 0L;
+
+        while (true) {
+            long startAfter = lastId;
+            List<StringEntry> entries = transaction.execute(status -> {
+                List<StringEntry> chunkEntries = query.apply(startAfter, chunk);
+                // The managed entries are updated when the transaction commits
+                if (!chunkEntries.isEmpty()) {
+                    update.accept(chunkEntries);
+                }
+                return chunkEntries;
+            });
+
+            if (entries == null || entries.isEmpty()) {
+                return updated;
+            }
+
+            updated += entries.size();
+            lastId = entries.get(entries.size() - 1).getId();
+            log.info("{}: {} entries updated (last ID {})", name, updated, lastId);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.stringsdb.api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.stringsdb.api.configuration.EntryCacheProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.utils.Transactions;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of string entries by ID.
+ * <p>
+ * String entries are never updated after they are created, so found entries are kept until they are evicted. IDs that
+ * were not found are remembered for a short time only. The cached DTOs are shared and must not be modified.
+ */
+@Service
+public class StringEntryCache {
+
+    /**
+     * The cache configuration.
+     */
+    private final EntryCacheProperties properties;
+
+    /**
+     * The cached entries, or null if the cache is disabled. Missing entries are cached as empty optional objects.
+     */
+    private final Cache<Long, Optional<StringEntryDto>> entries;
+
+    /**
+     * Creates the cache.
+     *
+     * @param properties The cache configuration.
+     */
+    public StringEntryCache(EntryCacheProperties properties) {
+        this.properties = properties;
+        this.entries = properties.isEnabled()
+            ? Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new MissingEntryExpiry())
+                .recordStats()
+                .build()
+            : null;
+    }
+
+    /**
+     * Returns an entry, loading it on a miss. Concurrent misses of the same ID wait for a single load.
+     *
+     * @param id The ID of the entry.
+     * @param loader Loads the entry from the database.
+     * @return The entry, or an empty optional object if the entry was not found.
+     */
+    public Optional<StringEntryDto> get(Long id, Function<Long, Optional<StringEntryDto>> loader) {
+        return this.entries == null ? loader.apply(id) : this.entries.get(id, loader);
+    }
+
+    /**
+     * Returns many entries, loading the missing ones at once. Entries the loader does not find are not cached.
+     *
+     * @param ids The IDs of the entries.
+     * @param loader Loads the entries not in the cache from the database, by ID.
+     * @return The found entries, by ID.
+     */
+    public Map<Long, StringEntryDto> getAll(
+        Collection<Long> ids, Function<Collection<Long>, Map<Long, StringEntryDto>> loader
+    ) {
+        if (this.entries == null) {
+            return loader.apply(ids);
+        }
+
+        Map<Long, Optional<StringEntryDto>> cachedEntries = this.entries.getAll(ids, missingIds -> {
+            Map<Long, Optional<StringEntryDto>> loadedEntries = new HashMap<>();
+            List<Long> idsToLoad = new ArrayList<>();
+            missingIds.forEach(idsToLoad::add);
+            loader.apply(idsToLoad).forEach((id, entry) -> loadedEntries.put(id, Optional.of(entry)));
+            return loadedEntries;
+        });
+
+        Map<Long, StringEntryDto> result = new HashMap<>();
+        cachedEntries.forEach((id, entry) -> entry.ifPresent(value -> result.put(id, value)));
+        return result;
+    }
+
+    /**
+     * Caches a saved entry once the current transaction commits, or right away if there is no transaction.
+     *
+     * @param entry The saved entry.
+     */
+    public void put(StringEntryDto entry) {
+        if (this.entries != null) {
+            Transactions.afterCommit(() -> this.entries.put(entry.getId(), Optional.of(entry)));
+        }
+    }
+
+    /**
+     * Forgets entries once the current transaction commits, or right away if there is no transaction. Used for saved
+     * entries that are not worth caching, so their IDs are not remembered as missing.
+     *
+     * @param ids The IDs of the entries.
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        if (this.entries != null) {
+            Transactions.afterCommit(() -> this.entries.invalidateAll(ids));
+        }
+    }
+
+    /**
+     * Returns the hit, miss and eviction statistics of the cache.
+     *
+     * @return The statistics, all zero if the cache is disabled.
+     */
+    public CacheStats getStats() {
+        return this.entries == null ? CacheStats.empty() : this.entries.stats();
+    }
+
+    /**
+     * Keeps found entries until they are evicted and missing entries for the configured time.
+     */
+    private class MissingEntryExpiry implements Expiry<Long, Optional<StringEntryDto>> {
+
+        @Override
+        public long expireAfterCreate(Long id, Optional<StringEntryDto> entry, long currentTime) {
+            return entry.isPresent() ? Long.MAX_VALUE : StringEntryCache.this.properties.getNegativeTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(
+            Long id, Optional<StringEntryDto> entry, long currentTime, long currentDuration
+        ) {
+            return this.expireAfterCreate(id, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+            Long id, Optional<StringEntryDto> entry, long currentTime, long currentDuration
+        ) {
+            return currentDuration;
+        }
+    }
+}
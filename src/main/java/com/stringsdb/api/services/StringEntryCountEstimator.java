@@ -0,0 +1,127 @@
+package com.stringsdb.api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stringsdb.api.configuration.CountEstimatesProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Estimates the amount of string entries, overall and per filter, from counts cached for a bounded time.
+ * <p>
+ * The overall count is also incremented on every saved entry, so it stays accurate for writes served by this
+ * instance between two counts.
+ */
+@Service
+public class StringEntryCountEstimator {
+
+    /**
+     * The count estimates configuration.
+     */
+    private final CountEstimatesProperties properties;
+
+    /**
+     * The cached counts per filter.
+     */
+    private final Cache<String, Long> filterCounts;
+
+    /**
+     * The last overall count, or null if the entries were not counted yet.
+     */
+    private volatile TotalCount total;
+
+    /**
+     * Creates the estimator.
+     *
+     * @param properties The count estimates configuration.
+     */
+    public StringEntryCountEstimator(CountEstimatesProperties properties) {
+        this.properties = properties;
+        this.filterCounts = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxFilters())
+            .expireAfterWrite(properties.getStaleness())
+            .build();
+    }
+
+    /**
+     * Estimates the amount of entries matching a filter.
+     *
+     * @param filter The filter for the strings, or null for all the strings.
+     * @param exactCount Counts the matching entries in the database when there is no fresh cached count.
+     * @return The estimated amount of entries.
+     */
+    public long estimate(String filter, LongSupplier exactCount) {
+        if (filter == null) {
+            return this.estimateTotal(exactCount);
+        }
+
+        // Concurrent estimates of the same filter wait for a single count
+        return this.filterCounts.get(filter, key -> exactCount.getAsLong());
+    }
+
+    /**
+     * Records that an entry was saved.
+     */
+    public void recordSaved() {
+        this.recordSaved(1);
+    }
+
+    /**
+     * Records that many entries were saved.
+     *
+     * @param amount The amount of saved entries.
+     */
+    public void recordSaved(long amount) {
+        TotalCount current = this.total;
+        if (current != null) {
+            current.count.addAndGet(amount);
+        }
+    }
+
+    /**
+     * Estimates the amount of entries.
+     *
+     * @param exactCount Counts all the entries in the database.
+     * @return The estimated amount of entries.
+     */
+    private long estimateTotal(LongSupplier exactCount) {
+        TotalCount current = this.total;
+        if (current == null || current.isStale()) {
+            synchronized (this) {
+                current = this.total;
+                if (current == null || current.isStale()) {
+                    current = new TotalCount(exactCount.getAsLong());
+                    this.total = current;
+                }
+            }
+        }
+
+        return current.count.get();
+    }
+
+    /**
+     * An overall count, incremented by the entries saved after it was taken.
+     */
+    private class TotalCount {
+
+        /**
+         * The amount of entries.
+         */
+        private final AtomicLong count;
+
+        /**
+         * When the entries were counted, in {@link System#nanoTime()} units.
+         */
+        private final long countedAt = System.nanoTime();
+
+        TotalCount(long count) {
+            this.count = new AtomicLong(count);
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - this.countedAt > StringEntryCountEstimator.this.properties.getStaleness().toNanos();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.stringsdb.api.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.storage.StringEntryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Exports all the string entries, streaming them from the store to an output stream.
+ */
+@Service
+@RequiredArgsConstructor
+public class StringEntryExportService {
+
+    /**
+     * The amount of entries written between two flushes of the output, so the client receives the export as it is
+     * produced. It matches the amount of rows fetched from the database per round trip.
+     */
+    static final int FLUSH_SIZE = 1000;
+
+    /**
+     * The formats of an export.
+     */
+    public enum Format {
+
+        /**
+         * One JSON object per line, with the same attributes as the REST API.
+         */
+        NDJSON("application/x-ndjson", "ndjson"),
+
+        /**
+         * Comma-separated values with a header line (RFC 4180).
+         */
+        CSV("text/csv", "csv");
+
+        /**
+         * The media type of the format.
+         */
+        private final String mediaType;
+
+        /**
+         * The file extension of the format.
+         */
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        /**
+         * Returns the media type of the format.
+         *
+         * @return The media type.
+         */
+        public String getMediaType() {
+            return this.mediaType;
+        }
+
+        /**
+         * Returns the file extension of the format.
+         *
+         * @return The file extension.
+         */
+        public String getExtension() {
+            return this.extension;
+        }
+
+        /**
+         * Returns the format named by a request parameter, ignoring its case.
+         *
+         * @param parameter The request parameter value.
+         * @return The format.
+         * @throws IllegalArgumentException If the parameter does not name a format.
+         */
+        public static Format fromParameter(String parameter) throws IllegalArgumentException {
+            return Format.valueOf(parameter.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * The string entries store.
+     */
+    private final StringEntryStore store;
+
+    /**
+     * The JSON object mapper, so the exported entries match the REST API.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes all the entries, in ID order, to an output stream. The stream is not closed.
+     *
+     * @param format The format of the export.
+     * @param output The output stream.
+     * @throws IOException If the export could not be written.
+     */
+    public void export(Format format, OutputStream output) throws IOException {
+        try {
+            if (format == Format.NDJSON) {
+                this.exportNdjson(output);
+            } else {
+                this.exportCsv(output);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes all the entries as NDJSON.
+     *
+     * @param output The output stream.
+     * @throws IOException If the export could not be written.
+     */
+    private void exportNdjson(OutputStream output) throws IOException {
+        ObjectWriter entryWriter = this.objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Each entry ends its own line instead of being separated from the next one
+            generator.setRootValueSeparator(null);
+            this.scroll(generator, entry -> {
+                try {
+                    entryWriter.writeValue(generator, entry);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes all the entries as CSV.
+     *
+     * @param output The output stream.
+     * @throws IOException If the export could not be written.
+     */
+    private void exportCsv(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("id,value,createdAt\r\n");
+        this.scroll(writer, entry -> {
+            try {
+                writer.write(String.valueOf(entry.getId()));
+                writer.write(',');
+                writer.write(quoteCsv(entry.getValue()));
+                writer.write(',');
+                writer.write(entry.getCreatedAt() == null ? "" : entry.getCreatedAt().toString());
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * Visits all the entries, flushing the output regularly.
+     *
+     * @param output The output to flush.
+     * @param action The action applied to every entry.
+     */
+    private void scroll(Flushable output, Consumer<StringEntryDto> action) {
+        long[] visited = {0};
+        this.store.forEach(entry -> {
+            action.accept(entry);
+            if (++visited[0] % FLUSH_SIZE == 0) {
+                try {
+                    output.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Quotes a CSV field, doubling its quotes.
+     *
+     * @param value The value of the field.
+     * @return The quoted field.
+     */
+    private static String quoteCsv(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,213 @@
+package com.stringsdb.api.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.api.dtos.ImportRejectDto;
+import com.stringsdb.api.dtos.ImportSummaryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports string entries from a stream of lines.
+ * <p>
+ * The lines are read, validated and saved in chunks as they arrive, one transaction per chunk, so the memory used
+ * does not depend on the size of the upload and a slow database slows down the upload instead of filling the memory.
+ * Chunks saved before an error stay saved.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StringEntryImportService {
+
+    /**
+     * The amount of entries saved per transaction.
+     */
+    static final int CHUNK_SIZE = StringEntryService.BATCH_FLUSH_SIZE;
+
+    /**
+     * The maximum amount of rejected lines reported in the summary. Further rejects are only counted.
+     */
+    static final int MAX_REPORTED_REJECTS = 100;
+
+    /**
+     * The maximum length of a line. Longer lines are rejected without being kept in memory.
+     */
+    static final int MAX_LINE_LENGTH = 8 * 1024;
+
+    /**
+     * The formats of an import.
+     */
+    public enum Format {
+
+        /**
+         * One JSON object per line, with the same attributes as the item saved by the REST API.
+         */
+        NDJSON,
+
+        /**
+         * One value per line.
+         */
+        TEXT
+    }
+
+    /**
+     * The string entry service.
+     */
+    private final StringEntryService stringEntryService;
+
+    /**
+     * The JSON object mapper, so the imported items are read like the REST API reads them.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The bean validator, so the imported items follow the same rules as the items saved by the REST API.
+     */
+    private final Validator validator;
+
+    /**
+     * Imports the entries read from an input stream. Blank lines are ignored.
+     *
+     * @param format The format of the import.
+     * @param input The input stream, in UTF-8. It is not closed.
+     * @return The summary of the import.
+     * @throws IOException If the input could not be read.
+     */
+    public ImportSummaryDto importEntries(Format format, InputStream input) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportSummaryDto summary = new ImportSummaryDto();
+        List<StringEntrySaveDto> chunk = new ArrayList<>(CHUNK_SIZE);
+        StringBuilder line = new StringBuilder();
+
+        while (readLine(reader, line)) {
+            summary.setLines(summary.getLines() + 1);
+            if (line.length() > MAX_LINE_LENGTH) {
+                this.reject(summary, "The line is longer than " + MAX_LINE_LENGTH + " characters");
+                continue;
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+
+            StringEntrySaveDto item;
+            try {
+                item = this.parse(format, line.toString());
+            } catch (JsonProcessingException e) {
+                this.reject(summary, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<StringEntrySaveDto>> violations = this.validator.validate(item);
+            if (!violations.isEmpty()) {
+                this.reject(summary, violations.iterator().next().getMessage());
+                continue;
+            }
+
+            chunk.add(item);
+            if (chunk.size() == CHUNK_SIZE) {
+                this.save(summary, chunk);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            this.save(summary, chunk);
+        }
+        log.info(
+            "Import finished: {} lines read, {} entries imported, {} duplicates, {} lines rejected",
+            summary.getLines(), summary.getImported(), summary.getDuplicates(), summary.getRejected()
+        );
+
+        return summary;
+    }
+
+    /**
+     * Parses an item from a line.
+     *
+     * @param format The format of the import.
+     * @param line The line, not blank.
+     * @return The item.
+     * @throws JsonProcessingException If the line is not a valid JSON item.
+     */
+    private StringEntrySaveDto parse(Format format, String line) throws JsonProcessingException {
+        if (format == Format.NDJSON) {
+            return this.objectMapper.readValue(line, StringEntrySaveDto.class);
+        }
+
+        StringEntrySaveDto item = new StringEntrySaveDto();
+        item.setValue(line);
+        return item;
+    }
+
+    /**
+     * Saves a chunk of items in a single transaction and empties it. Only the newly stored entries are counted as
+     * imported: the items whose value was already stored, or repeated in the chunk, are counted as duplicates.
+     *
+     * @param summary The summary of the import.
+     * @param chunk The items to save.
+     */
+    private void save(ImportSummaryDto summary, List<StringEntrySaveDto> chunk) {
+        AtomicLong stored = new AtomicLong();
+        this.stringEntryService.saveAll(chunk, entry -> stored.incrementAndGet());
+        summary.setImported(summary.getImported() + stored.get());
+        summary.setDuplicates(summary.getDuplicates() + chunk.size() - stored.get());
+        chunk.clear();
+        log.info("Import in progress: {} lines read, {} entries imported", summary.getLines(), summary.getImported());
+    }
+
+    /**
+     * Records the rejection of the last line read.
+     *
+     * @param summary The summary of the import.
+     * @param message Why the line was rejected.
+     */
+    private void reject(ImportSummaryDto summary, String message) {
+        summary.setRejected(summary.getRejected() + 1);
+        if (summary.getRejects().size() < MAX_REPORTED_REJECTS) {
+            ImportRejectDto reject = new ImportRejectDto();
+            reject.setLine(summary.getLines());
+            reject.setMessage(message);
+            summary.getRejects().add(reject);
+        }
+    }
+
+    /**
+     * Reads the next line, without its terminator ({@code \n} or {@code \r\n}). Only the first characters of a line
+     * longer than {@link #MAX_LINE_LENGTH} are kept, which is enough to tell it is too long.
+     *
+     * @param reader The reader.
+     * @param line Receives the line.
+     * @return False if the end of the input was reached before any character.
+     * @throws IOException If the input could not be read.
+     */
+    private static boolean readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int character = reader.read();
+        if (character < 0) {
+            return false;
+        }
+
+        while (character >= 0 && character != '\n') {
+            if (line.length() <= MAX_LINE_LENGTH) {
+                line.append((char) character);
+            }
+            character = reader.read();
+        }
+
+        int length = line.length();
+        if (length > 0 && length <= MAX_LINE_LENGTH && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,288 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.IngestProperties;
+import com.stringsdb.api.dtos.IngestTicketDto;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for string entries.
+ * <p>
+ * Submitted entries wait in a bounded queue. A single writer thread drains the queue in batches, saving each batch in a
+ * single transaction (group commit), and completes the future of every entry once its batch is committed. A batch that
+ * cannot be saved is saved again one entry at a time, so a single failing entry does not fail the others. The queue
+ * is flushed when the application stops.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "stringsdb.ingest", name = "enabled", havingValue = "true")
+public class StringEntryIngestBuffer implements SmartLifecycle {
+
+    /**
+     * The lifecycle phase: the buffer starts before and stops after the web server, so no entry is accepted after the
+     * last flush.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2048;
+
+    /**
+     * The ingestion configuration.
+     */
+    private final IngestProperties properties;
+
+    /**
+     * The string entry service.
+     */
+    private final StringEntryService stringEntryService;
+
+    /**
+     * The entries waiting to be saved.
+     */
+    private final BlockingQueue<PendingEntry> queue;
+
+    /**
+     * The futures of the most recent tickets.
+     */
+    private final Map<String, CompletableFuture<StringEntryDto>> tickets;
+
+    /**
+     * The thread saving the queued entries, or null if the buffer is not running.
+     */
+    private volatile Thread writer;
+
+    /**
+     * Informs if the buffer accepts new entries.
+     */
+    private volatile boolean running;
+
+    /**
+     * Creates the buffer.
+     *
+     * @param properties The ingestion configuration.
+     * @param stringEntryService The string entry service.
+     */
+    public StringEntryIngestBuffer(IngestProperties properties, StringEntryService stringEntryService) {
+        this.properties = properties;
+        this.stringEntryService = stringEntryService;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.tickets = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<StringEntryDto>> eldest) {
+                return this.size() > properties.getMaxTickets();
+            }
+        });
+    }
+
+    /**
+     * Submits an entry to be saved.
+     *
+     * @param item The entry to save.
+     * @return The ticket of the submitted entry.
+     * @throws RejectedExecutionException If the buffer is not running or its queue stays full.
+     */
+    public String submit(StringEntrySaveDto item) throws RejectedExecutionException {
+        return this.enqueue(item).ticket;
+    }
+
+    /**
+     * Submits an entry to be saved and returns a future completed when the entry is committed.
+     *
+     * @param item The entry to save.
+     * @return The future of the saved entry.
+     * @throws RejectedExecutionException If the buffer is not running or its queue stays full.
+     */
+    public CompletableFuture<StringEntryDto> submitAndWait(StringEntrySaveDto item) throws RejectedExecutionException {
+        return this.enqueue(item).future;
+    }
+
+    /**
+     * Returns the status of a submitted entry.
+     *
+     * @param ticket The ticket of the entry.
+     * @return The status, or an empty optional object if the ticket is unknown or was forgotten.
+     */
+    public Optional<IngestTicketDto> getTicket(String ticket) {
+        CompletableFuture<StringEntryDto> future = this.tickets.get(ticket);
+        if (future == null) {
+            return Optional.empty();
+        }
+
+        IngestTicketDto result = new IngestTicketDto();
+        result.setTicket(ticket);
+        if (!future.isDone()) {
+            result.setStatus(IngestTicketDto.Status.PENDING);
+        } else if (future.isCompletedExceptionally()) {
+            result.setStatus(IngestTicketDto.Status.FAILED);
+            future.exceptionally(error -> {
+                result.setError(error.getMessage());
+                return null;
+            });
+        } else {
+            result.setStatus(IngestTicketDto.Status.COMMITTED);
+            result.setEntry(future.join());
+        }
+
+        return Optional.of(result);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!this.running) {
+            this.running = true;
+            this.writer = new Thread(this::drain, "strings-ingest-writer");
+            this.writer.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        Thread currentWriter;
+        synchronized (this) {
+            this.running = false;
+            currentWriter = this.writer;
+            this.writer = null;
+        }
+
+        if (currentWriter != null) {
+            try {
+                // The writer leaves only after saving every queued entry
+                currentWriter.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Queues an entry, waiting for room in the queue for a bounded time.
+     *
+     * @param item The entry to save.
+     * @return The queued entry.
+     * @throws RejectedExecutionException If the buffer is not running or its queue stays full.
+     */
+    private PendingEntry enqueue(StringEntrySaveDto item) throws RejectedExecutionException {
+        if (!this.running) {
+            throw new RejectedExecutionException("The ingestion buffer is not running");
+        }
+
+        PendingEntry pending = new PendingEntry(UUID.randomUUID().toString(), item);
+        try {
+            if (!this.queue.offer(pending, this.properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new RejectedExecutionException("The ingestion queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for room in the ingestion queue", e);
+        }
+        // The buffer may have stopped while waiting for room, and the writer may have left after its last flush: the
+        // entry is taken back, unless the writer already took it
+        if (!this.running && this.queue.remove(pending)) {
+            throw new RejectedExecutionException("The ingestion buffer is not running");
+        }
+        this.tickets.put(pending.ticket, pending.future);
+
+        return pending;
+    }
+
+    /**
+     * Saves the queued entries in batches until the buffer stops and the queue is empty.
+     */
+    private void drain() {
+        List<PendingEntry> batch = new ArrayList<>(this.properties.getBatchSize());
+
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                PendingEntry first = this.queue.poll(this.properties.getLinger().toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + this.properties.getLinger().toNanos();
+                while (batch.size() < this.properties.getBatchSize()) {
+                    PendingEntry next = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Stopping is signalled through the running flag, so interruptions are not expected
+                log.warn("The ingestion writer was interrupted", e);
+            }
+
+            if (!batch.isEmpty()) {
+                this.commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Saves a batch of entries in a single transaction and completes their futures. If the batch cannot be saved, its
+     * entries are saved one by one, and only the entries that still cannot be saved fail.
+     *
+     * @param batch The entries to save.
+     */
+    private void commit(List<PendingEntry> batch) {
+        try {
+            List<StringEntryDto> savedEntries = this.stringEntryService.saveAll(
+                batch.stream().map(pending -> pending.item).collect(Collectors.toList())
+            );
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(savedEntries.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                log.warn("Failed to save a batch of {} ingested entries, saving them one by one", batch.size(), e);
+                batch.forEach(pending -> this.commit(List.of(pending)));
+            } else {
+                log.error("Failed to save an ingested entry", e);
+                batch.get(0).future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * An entry waiting to be saved.
+     */
+    private static class PendingEntry {
+
+        /**
+         * The ticket of the entry.
+         */
+        private final String ticket;
+
+        /**
+         * The entry to save.
+         */
+        private final StringEntrySaveDto item;
+
+        /**
+         * The future completed when the entry is committed.
+         */
+        private final CompletableFuture<StringEntryDto> future = new CompletableFuture<>();
+
+        PendingEntry(String ticket, StringEntrySaveDto item) {
+            this.ticket = ticket;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.ScanProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.scan.ScanBudget;
+import com.stringsdb.api.scan.ScanPredicate;
+import com.stringsdb.api.scan.ScanTimeoutException;
+import com.stringsdb.api.storage.StringEntryStore;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scans the stored entries with a compiled predicate, for the conditions no index can answer, such as regular
+ * expressions.
+ * <p>
+ * The ID space is split into segments of consecutive IDs, which are read and tested in parallel on a dedicated
+ * fork-join pool, a bounded amount of segments ahead of the one being consumed. The matches are consumed in segment
+ * order, so the entries are returned in ID order, and the scan stops as soon as the requested range is complete: the
+ * segments still in flight are cancelled and the following ones are never read. Each scan has a time budget; once it
+ * runs out, the scan is cancelled and fails.
+ */
+@Service
+public class StringEntryScanner {
+
+    /**
+     * The name of the scans in the metrics of the stores.
+     */
+    private static final String STORE_NAME = "scan";
+
+    /**
+     * The scan configuration.
+     */
+    private final ScanProperties properties;
+
+    /**
+     * The string entries store.
+     */
+    private final StringEntryStore store;
+
+    /**
+     * The pool evaluating the segments.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The metrics of the scans.
+     */
+    private final StringEntryMetrics metrics;
+
+    /**
+     * Creates the scanner.
+     *
+     * @param properties The scan configuration.
+     * @param store The string entries store.
+     * @param metrics The metrics of the scans.
+     */
+    public StringEntryScanner(ScanProperties properties, StringEntryStore store, StringEntryMetrics metrics) {
+        this.properties = properties;
+        this.store = store;
+        this.metrics = metrics;
+
+        int parallelism = properties.getParallelism() > 0
+            ? properties.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName("strings-scan-" + worker.getPoolIndex());
+            return worker;
+        }, null, false);
+    }
+
+    /**
+     * Returns a range of the entries matching a predicate.
+     *
+     * @param predicate The predicate.
+     * @param sort The sort of the entries, which must be by ID only, or unsorted for the ascending ID order.
+     * @param offset The amount of matching entries to skip.
+     * @param limit The maximum amount of entries to return.
+     * @return The matching entries in the range, in the order of the sort.
+     * @throws IllegalArgumentException If the sort is not by ID.
+     * @throws ScanTimeoutException If the scan ran out of its time budget.
+     */
+    public List<StringEntryDto> scan(ScanPredicate predicate, Sort sort, long offset, int limit)
+        throws IllegalArgumentException, ScanTimeoutException {
+        boolean descending = isDescending(sort);
+        ScanBudget budget = new ScanBudget(this.properties.getTimeBudget());
+        long lastId = this.store.findLastId().orElse(0L);
+        long segmentSize = this.properties.getSegmentSize();
+        long segmentCount = (lastId + segmentSize - 1) / segmentSize;
+        // A segment never has to find more matches than the whole range
+        int maxMatches = (int) Math.min(offset + limit, Integer.MAX_VALUE);
+        int window = this.pool.getParallelism() * this.properties.getReadAhead();
+
+        List<StringEntryDto> result = new ArrayList<>(Math.min(limit, 1000));
+        if (limit <= 0) {
+            return result;
+        }
+
+        Deque<ForkJoinTask<List<StringEntryDto>>> inFlight = new ArrayDeque<>();
+        LongAdder scanned = new LongAdder();
+        long nextSegment = 0;
+        long skipped = 0;
+        try {
+            while (nextSegment < segmentCount && inFlight.size() < window) {
+                inFlight.add(this.submit(predicate, budget, lastId, nextSegment++, descending, maxMatches, scanned));
+            }
+
+            while (!inFlight.isEmpty()) {
+                for (StringEntryDto entry : await(inFlight.poll(), budget)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        result.add(entry);
+                        if (result.size() == limit) {
+                            return result;
+                        }
+                    }
+                }
+                if (nextSegment < segmentCount) {
+                    inFlight.add(
+                        this.submit(predicate, budget, lastId, nextSegment++, descending, maxMatches, scanned)
+                    );
+                }
+            }
+
+            return result;
+        } finally {
+            budget.cancel();
+            inFlight.forEach(task -> task.cancel(false));
+            // The segments read ahead count as scanned, as far as they went before being cancelled
+            this.metrics.recordRows(STORE_NAME, scanned.sum(), -1, result.size());
+        }
+    }
+
+    /**
+     * Stops the pool. The running scans fail.
+     */
+    @PreDestroy
+    public void close() {
+        this.pool.shutdownNow();
+    }
+
+    /**
+     * Starts evaluating a segment.
+     *
+     * @param predicate The predicate.
+     * @param budget The budget of the scan.
+     * @param lastId The greatest ID when the scan started.
+     * @param segment The number of the segment, from the first one in the order of the scan.
+     * @param descending Informs if the scan goes from the greatest to the lowest IDs.
+     * @param maxMatches The amount of matches after which the evaluation stops.
+     * @param scanned The amount of entries evaluated by the scan, incremented by the segment.
+     * @return The task returning the matching entries of the segment, in the order of the scan.
+     */
+    private ForkJoinTask<List<StringEntryDto>> submit(
+        ScanPredicate predicate,
+        ScanBudget budget,
+        long lastId,
+        long segment,
+        boolean descending,
+        int maxMatches,
+        LongAdder scanned
+    ) {
+        long segmentSize = this.properties.getSegmentSize();
+        long fromId;
+        long toId;
+        if (descending) {
+            toId = lastId + 1 - segment * segmentSize;
+            fromId = Math.max(toId - segmentSize, 1);
+        } else {
+            fromId = 1 + segment * segmentSize;
+            toId = Math.min(fromId + segmentSize, lastId + 1);
+        }
+
+        return this.pool.submit(() -> {
+            budget.check();
+            List<StringEntryDto> entries = this.store.findIdRange(fromId, toId);
+            List<StringEntryDto> matches = new ArrayList<>();
+            int i = 0;
+            try {
+                for (; i < entries.size() && matches.size() < maxMatches; i++) {
+                    StringEntryDto entry = entries.get(descending ? entries.size() - 1 - i : i);
+                    budget.check();
+                    if (predicate.test(budget.guard(entry.getValue()))) {
+                        matches.add(entry);
+                    }
+                }
+            } finally {
+                scanned.add(i);
+            }
+
+            return matches;
+        });
+    }
+
+    /**
+     * Waits for the matches of a segment, within the budget of the scan.
+     *
+     * @param task The task evaluating the segment.
+     * @param budget The budget of the scan.
+     * @return The matching entries of the segment.
+     * @throws ScanTimeoutException If the budget ran out.
+     */
+    private static List<StringEntryDto> await(ForkJoinTask<List<StringEntryDto>> task, ScanBudget budget)
+        throws ScanTimeoutException {
+        try {
+            return task.get(Math.max(budget.remainingNanos(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ScanTimeoutException("The scan ran out of time");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The scan was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Informs if a sort is by descending ID.
+     *
+     * @param sort The sort.
+     * @return True if the sort is by descending ID, false if it is by ascending ID or unsorted.
+     * @throws IllegalArgumentException If the sort is not by ID.
+     */
+    private static boolean isDescending(Sort sort) throws IllegalArgumentException {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return false;
+        }
+        if (orders.size() > 1 || !orders.get(0).getProperty().equals("id")) {
+            throw new IllegalArgumentException("Scans can only be sorted by ID");
+        }
+
+        return orders.get(0).isDescending();
+    }
+}
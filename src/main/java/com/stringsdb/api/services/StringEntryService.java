@@ -1,18 +1,41 @@
 package com.stringsdb.api.services;
 
+import com.stringsdb.api.configuration.DeduplicationProperties;
+import com.stringsdb.api.dtos.StringEntryCursorPageDto;
 import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntryFuzzyMatchDto;
+import com.stringsdb.api.dtos.StringEntryMatchDto;
 import com.stringsdb.api.dtos.StringEntrySaveDto;
-import com.stringsdb.api.entities.StringEntry;
-import com.stringsdb.api.mappers.StringEntryMapper;
-import com.stringsdb.api.repositories.StringEntryRepository;
+import com.stringsdb.api.dtos.StringEntrySearchHitDto;
+import com.stringsdb.api.dtos.StringEntrySuggestionDto;
+import com.stringsdb.api.dtos.TermOccurrenceDto;
+import com.stringsdb.api.fulltext.MatchOperator;
+import com.stringsdb.api.fulltext.ScoredEntry;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.scan.AhoCorasick;
+import com.stringsdb.api.scan.ScanPredicate;
+import com.stringsdb.api.scan.ScanPredicates;
+import com.stringsdb.api.scan.ScanTimeoutException;
+import com.stringsdb.api.scan.TermMatchMode;
+import com.stringsdb.api.storage.StringEntryStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -23,59 +46,454 @@ import java.util.stream.Collectors;
 public class StringEntryService {
 
     /**
-     * The string entries repository.
+     * The amount of entries handed to the store at once while saving a batch. It is a multiple of the JDBC batch size,
+     * and it bounds the amount of managed entities kept in memory while saving a large batch in the database.
      */
-    private final StringEntryRepository repository;
+    static final int BATCH_FLUSH_SIZE = 1000;
 
     /**
-     * Returns all the items in the database.
+     * The string entries store.
+     */
+    private final StringEntryStore store;
+
+    /**
+     * The estimator of the amount of entries.
+     */
+    private final StringEntryCountEstimator countEstimator;
+
+    /**
+     * The cache of entries by ID.
+     */
+    private final StringEntryCache cache;
+
+    /**
+     * The cache of search results.
+     */
+    private final SearchResultCache searchCache;
+
+    /**
+     * The deduplication configuration.
+     */
+    private final DeduplicationProperties deduplication;
+
+    /**
+     * The index of prefix suggestions.
+     */
+    private final SuggestIndex suggestIndex;
+
+    /**
+     * The full-text index.
+     */
+    private final FullTextIndex fullTextIndex;
+
+    /**
+     * The scanner evaluating predicates over the entries.
+     */
+    private final StringEntryScanner scanner;
+
+    /**
+     * The metrics of the hot paths.
+     */
+    private final StringEntryMetrics metrics;
+
+    /**
+     * Returns all the items in the store. Results are served from the cache of search results when possible.
      *
      * @param filter The filter for the strings.
      * @param pageable Object containing pagination information.
      * @return A list of items.
      */
     public Page<StringEntryDto> getMany(String filter, Pageable pageable) {
-        Page<StringEntry> dbResult;
-        if (filter == null) {
-            dbResult = this.repository.findAll(pageable);
+        return this.metrics.timeOperation("getMany", filter, () -> this.searchCache.get(
+            filter, pageable, () -> this.store.findMany(filter, pageable), this::getAllById
+        ));
+    }
+
+    /**
+     * Returns the items whose value contains a filter ignoring case and accents. The values are matched through the
+     * folded keys stored with them, so the results do not depend on the collation of the database.
+     *
+     * @param filter The filter for the strings.
+     * @param pageable Object containing pagination information.
+     * @return A list of items.
+     */
+    public Page<StringEntryDto> getManyFolded(String filter, Pageable pageable) {
+        return this.metrics.timeOperation("getManyFolded", filter, () -> this.store.findManyFolded(filter, pageable));
+    }
+
+    /**
+     * Returns a slice of the items in the store, without counting them. One extra item is fetched to tell if
+     * there is a next slice.
+     *
+     * @param filter The filter for the strings.
+     * @param pageable Object containing pagination information.
+     * @return A slice of items.
+     */
+    public Slice<StringEntryDto> getSlice(String filter, Pageable pageable) {
+        return this.metrics.timeOperation("getSlice", filter, () -> {
+            List<StringEntryDto> result = this.findPageWithNext(filter, pageable);
+            boolean hasNext = result.size() > pageable.getPageSize();
+
+            return new SliceImpl<>(limit(result, pageable.getPageSize()), pageable, hasNext);
+        });
+    }
+
+    /**
+     * Returns a page of the items in the store, with an estimated total instead of an exact count. The estimate is
+     * corrected when the page tells more than it: it is never smaller than the items up to the page, and it is exact
+     * on the last page.
+     *
+     * @param filter The filter for the strings.
+     * @param pageable Object containing pagination information.
+     * @return A page of items.
+     */
+    public Page<StringEntryDto> getManyWithApproximateCount(String filter, Pageable pageable) {
+        return this.metrics.timeOperation(
+            "getManyWithApproximateCount",
+            filter,
+            () -> this.findPageWithApproximateCount(filter, pageable)
+        );
+    }
+
+    /**
+     * Returns a page of the items in the store, with an estimated total instead of an exact count.
+     *
+     * @param filter The filter for the strings.
+     * @param pageable Object containing pagination information.
+     * @return A page of items.
+     */
+    private Page<StringEntryDto> findPageWithApproximateCount(String filter, Pageable pageable) {
+        List<StringEntryDto> result = this.findPageWithNext(filter, pageable);
+        List<StringEntryDto> dtos = limit(result, pageable.getPageSize());
+        long seen = pageable.getOffset() + dtos.size();
+
+        long total;
+        if (result.size() > pageable.getPageSize()) {
+            total = Math.max(
+                seen + 1,
+                this.countEstimator.estimate(filter, () -> this.store.count(filter))
+            );
         } else {
-            dbResult = this.repository.findByValueContaining(filter, pageable);
+            total = seen;
         }
 
-        List<StringEntryDto> dtos = dbResult.getContent().stream()
-            .map(StringEntryMapper.INSTANCE::stringEntryToDto)
-            .collect(Collectors.toList());
+        return new PageImpl<>(dtos, pageable, total);
+    }
+
+    /**
+     * Returns a slice of the items matching a predicate, found by a parallel scan of the store. The scan stops once
+     * the slice and the first item of the next one are found, so the matching items are never counted.
+     *
+     * @param filter The filter for the strings, or null to match all the items.
+     * @param predicate The predicate the items must also match.
+     * @param pageable Object containing pagination information. It must be sorted by ID, or unsorted.
+     * @return A slice of items.
+     * @throws IllegalArgumentException If the sort is not by ID.
+     * @throws ScanTimeoutException If the scan ran out of its time budget.
+     */
+    public Slice<StringEntryDto> getSliceMatching(String filter, ScanPredicate predicate, Pageable pageable)
+        throws IllegalArgumentException, ScanTimeoutException {
+        ScanPredicate condition = filter == null ? predicate : ScanPredicates.contains(filter).and(predicate);
+
+        return this.metrics.timeOperation("getSliceMatching", filter, () -> this.scanSlice(condition, pageable));
+    }
+
+    /**
+     * Returns a slice of the items containing any or all of many terms, with the occurrences of the terms in their
+     * values. The terms are matched in a single pass over each value by an Aho-Corasick automaton, during a parallel
+     * scan of the store.
+     *
+     * @param automaton The automaton of the terms.
+     * @param mode How the terms are combined.
+     * @param pageable Object containing pagination information. It must be sorted by ID, or unsorted.
+     * @return A slice of items, with the occurrences of the terms ordered by offset.
+     * @throws IllegalArgumentException If the sort is not by ID.
+     * @throws ScanTimeoutException If the scan ran out of its time budget.
+     */
+    public Slice<StringEntryMatchDto> getSliceMatchingTerms(
+        AhoCorasick automaton,
+        TermMatchMode mode,
+        Pageable pageable
+    ) throws IllegalArgumentException, ScanTimeoutException {
+        return this.metrics.timeOperation(
+            "getSliceMatchingTerms",
+            null,
+            () -> this.scanSlice(ScanPredicates.terms(automaton, mode), pageable).map(entry -> {
+                StringEntryMatchDto result = new StringEntryMatchDto();
+                result.setId(entry.getId());
+                result.setValue(entry.getValue());
+                result.setCreatedAt(entry.getCreatedAt());
+                result.setMatches(automaton.findAll(entry.getValue()).stream()
+                    .map(occurrence -> new TermOccurrenceDto(
+                        automaton.getTerms().get(occurrence.getTerm()), occurrence.getStart(), occurrence.getEnd()
+                    ))
+                    .collect(Collectors.toList()));
+                return result;
+            })
+        );
+    }
+
+    /**
+     * Returns the page of items after the position of a keyset cursor. Pages are sought with an indexed predicate on
+     * the sort key and ID of the last item returned, so the cost of a page does not depend on its depth.
+     *
+     * @param filter The filter for the strings.
+     * @param cursor The position of the walk.
+     * @param size The maximum amount of items to return.
+     * @return The page of items, with the cursor for the next page if there are more items.
+     */
+    public StringEntryCursorPageDto getManyAfter(String filter, KeysetCursor cursor, int size) {
+        return this.metrics.timeOperation("getManyAfter", filter, () -> this.findPageAfter(filter, cursor, size));
+    }
+
+    /**
+     * Returns the page of items after the position of a keyset cursor.
+     *
+     * @param filter The filter for the strings.
+     * @param cursor The position of the walk.
+     * @param size The maximum amount of items to return.
+     * @return The page of items, with the cursor for the next page if there are more items.
+     */
+    private StringEntryCursorPageDto findPageAfter(String filter, KeysetCursor cursor, int size) {
+        // Fetching an extra entry tells if there is a next page without counting the remaining entries
+        List<StringEntryDto> entries = this.store.findAfter(filter, cursor, size + 1);
+
+        boolean hasNext = entries.size() > size;
 
-        return new PageImpl<>(dtos, pageable, dbResult.getTotalElements());
+        StringEntryCursorPageDto result = new StringEntryCursorPageDto();
+        result.setContent(limit(entries, size));
+        result.setSize(size);
+        result.setNextCursor(hasNext ? cursor.next(entries.get(size - 1)).encode() : null);
+
+        return result;
     }
 
     /**
-     * Returns a single item.
+     * Returns a single item. Items are served from the cache of entries by ID when possible.
      *
      * @param id The ID of the item to return.
      * @return A single item or an empty optional object if the item was not found.
      */
     public Optional<StringEntryDto> getOne(Long id) {
-        Optional<StringEntry> dbResult = this.repository.findById(id);
+        return this.metrics.timeOperation("getOne", null, () -> this.cache.get(id, this.store::findById));
+    }
 
-        return dbResult.isEmpty()
-            ? Optional.empty()
-            : Optional.of(
-                StringEntryMapper.INSTANCE.stringEntryToDto(dbResult.get())
-            );
+    /**
+     * Returns the oldest item with exactly the informed value.
+     *
+     * @param value The value of the item to return.
+     * @return A single item or an empty optional object if no item has the value.
+     */
+    public Optional<StringEntryDto> getByValue(String value) {
+        return this.metrics.timeOperation("getByValue", null, () -> this.store.findFirstByValue(value));
+    }
+
+    /**
+     * Returns the best values starting with a prefix, ignoring case and accents, from the in-memory suggest index.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum amount of values to return.
+     * @return The suggested values, from the best to the worst.
+     */
+    public List<StringEntrySuggestionDto> suggest(String prefix, int limit) {
+        return this.suggestIndex.suggest(prefix, limit);
     }
 
     /**
-     * Saves an item.
+     * Returns the values within an edit distance of a query, ignoring case and accents, from the in-memory suggest
+     * index.
+     *
+     * @param query The query.
+     * @param maxEdits The maximum edit distance.
+     * @param limit The maximum amount of values to return.
+     * @return The matching values, from the closest to the farthest.
+     */
+    public List<StringEntryFuzzyMatchDto> fuzzy(String query, int maxEdits, int limit) {
+        return this.suggestIndex.fuzzy(query, maxEdits, limit);
+    }
+
+    /**
+     * Returns the items matching a full-text query, from the most to the least relevant. The matches are found in the
+     * in-memory full-text index, and the items are served from the cache of entries by ID when possible.
+     *
+     * @param query The query. Its terms match ignoring case and accents.
+     * @param operator How the terms of the query are combined.
+     * @param limit The maximum amount of items to return.
+     * @return The matching items, with their relevance scores.
+     */
+    public List<StringEntrySearchHitDto> search(String query, MatchOperator operator, int limit) {
+        List<ScoredEntry> matches = this.fullTextIndex.search(query, operator, limit);
+        Map<Long, StringEntryDto> entries = this.cache.getAll(
+            matches.stream().map(ScoredEntry::getId).collect(Collectors.toList()),
+            this.store::findAllById
+        );
+
+        List<StringEntrySearchHitDto> result = new ArrayList<>(matches.size());
+        for (ScoredEntry match : matches) {
+            StringEntryDto entry = entries.get(match.getId());
+            if (entry != null) {
+                StringEntrySearchHitDto hit = new StringEntrySearchHitDto();
+                hit.setId(entry.getId());
+                hit.setValue(entry.getValue());
+                hit.setCreatedAt(entry.getCreatedAt());
+                hit.setScore(match.getScore());
+                result.add(hit);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Saves an item, adds it to the suggest and full-text indexes, and caches it. When deduplication is enabled and the
+     * value is already stored, the oldest stored item is returned instead.
      *
      * @param item The item to save.
      * @return The saved item.
      */
+    @Transactional
     public StringEntryDto save(StringEntrySaveDto item) {
-        StringEntry savedItem = this.repository.save(
-            StringEntryMapper.INSTANCE.savingStringEntryDtoToEntity(item)
+        if (this.deduplication.isEnabled()) {
+            Optional<StringEntryDto> storedItem = this.store.findFirstByValue(item.getValue());
+            if (storedItem.isPresent()) {
+                return storedItem.get();
+            }
+        }
+
+        StringEntryDto result = this.store.save(item);
+        this.suggestIndex.add(result.getId(), result.getValue());
+        this.fullTextIndex.add(result.getId(), result.getValue());
+        this.countEstimator.recordSaved();
+        this.searchCache.recordWrite();
+        this.cache.put(result);
+
+        return result;
+    }
+
+    /**
+     * Saves many items in a single transaction and adds them to the suggest and full-text indexes. The saved items are
+     * not cached, so large batches do not evict the hot entries. When deduplication is enabled, values already stored or
+     * repeated in the batch are stored only once.
+     *
+     * @param items The items to save.
+     * @return The saved items, in the same order as the items to save.
+     */
+    @Transactional
+    public List<StringEntryDto> saveAll(List<StringEntrySaveDto> items) {
+        return this.saveAll(items, entry -> { });
+    }
+
+    /**
+     * Saves many items in a single transaction and adds them to the suggest and full-text indexes, telling which items
+     * were stored. When deduplication is enabled, values already stored or repeated in the batch are stored only once,
+     * and the action is only applied to the entries stored by this call.
+     *
+     * @param items The items to save.
+     * @param storedAction The action applied to every newly stored entry.
+     * @return The saved items, in the same order as the items to save.
+     */
+    @Transactional
+    public List<StringEntryDto> saveAll(List<StringEntrySaveDto> items, Consumer<StringEntryDto> storedAction) {
+        List<StringEntryDto> result = new ArrayList<>(items.size());
+        long savedCount = 0;
+
+        for (int start = 0; start < items.size(); start += BATCH_FLUSH_SIZE) {
+            List<StringEntrySaveDto> chunkItems = items.subList(
+                start, Math.min(start + BATCH_FLUSH_SIZE, items.size())
+            );
+
+            List<StringEntrySaveDto> newItems = chunkItems;
+            Map<String, StringEntryDto> storedItems = null;
+            if (this.deduplication.isEnabled()) {
+                storedItems = new HashMap<>(this.store.findFirstByValues(
+                    chunkItems.stream().map(StringEntrySaveDto::getValue).collect(Collectors.toSet())
+                ));
+                // Values repeated in the chunk are stored once, by their first item
+                Map<String, StringEntrySaveDto> newItemsByValue = new LinkedHashMap<>();
+                for (StringEntrySaveDto item : chunkItems) {
+                    if (!storedItems.containsKey(item.getValue())) {
+                        newItemsByValue.putIfAbsent(item.getValue(), item);
+                    }
+                }
+                newItems = new ArrayList<>(newItemsByValue.values());
+            }
+
+            List<StringEntryDto> savedItems = newItems.isEmpty() ? List.of() : this.store.saveAll(newItems);
+            for (StringEntryDto entry : savedItems) {
+                this.suggestIndex.add(entry.getId(), entry.getValue());
+                this.fullTextIndex.add(entry.getId(), entry.getValue());
+                storedAction.accept(entry);
+            }
+            savedCount += savedItems.size();
+
+            if (storedItems == null) {
+                result.addAll(savedItems);
+            } else {
+                for (StringEntryDto entry : savedItems) {
+                    storedItems.put(entry.getValue(), entry);
+                }
+                for (StringEntrySaveDto item : chunkItems) {
+                    result.add(storedItems.get(item.getValue()));
+                }
+            }
+        }
+        this.countEstimator.recordSaved(savedCount);
+        this.searchCache.recordWrite();
+        this.cache.invalidateAll(result.stream().map(StringEntryDto::getId).collect(Collectors.toList()));
+
+        return result;
+    }
+
+    /**
+     * Returns the items with the given IDs, through the cache of entries by ID.
+     *
+     * @param ids The IDs of the items.
+     * @return The found items, in the same order as the IDs.
+     */
+    private List<StringEntryDto> getAllById(List<Long> ids) {
+        Map<Long, StringEntryDto> entries = this.cache.getAll(ids, this.store::findAllById);
+
+        return ids.stream()
+            .map(entries::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Scans a slice of the entries matching a predicate. One extra entry is scanned to tell if there is a next slice.
+     *
+     * @param predicate The predicate.
+     * @param pageable Object containing pagination information.
+     * @return A slice of entries.
+     */
+    private Slice<StringEntryDto> scanSlice(ScanPredicate predicate, Pageable pageable) {
+        List<StringEntryDto> result = this.scanner.scan(
+            predicate, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1
         );
+        boolean hasNext = result.size() > pageable.getPageSize();
 
-        return StringEntryMapper.INSTANCE.stringEntryToDto(savedItem);
+        return new SliceImpl<>(limit(result, pageable.getPageSize()), pageable, hasNext);
+    }
+
+    /**
+     * Returns the entries of a page plus the first entry of the next page, if any.
+     *
+     * @param filter The filter for the strings.
+     * @param pageable Object containing pagination information.
+     * @return A list of entries.
+     */
+    private List<StringEntryDto> findPageWithNext(String filter, Pageable pageable) {
+        return this.store.findRange(filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+    }
+
+    /**
+     * Returns the entries of a page, without the first entry of the next page.
+     *
+     * @param entries The entries, possibly followed by the first entry of the next page.
+     * @param size The size of the page.
+     * @return The entries in the page.
+     */
+    private static List<StringEntryDto> limit(List<StringEntryDto> entries, int size) {
+        return entries.size() > size ? entries.subList(0, size) : entries;
     }
 }
@@ -0,0 +1,474 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.SuggestProperties;
+import com.stringsdb.api.dtos.StringEntryFuzzyMatchDto;
+import com.stringsdb.api.dtos.StringEntrySuggestionDto;
+import com.stringsdb.api.storage.StringEntryStore;
+import com.stringsdb.api.utils.TextFolding;
+import com.stringsdb.api.utils.Transactions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * An in-memory index of the stored values, serving prefix suggestions and fuzzy searches.
+ * <p>
+ * Values are kept in a sorted map by their folded form (see {@link TextFolding}), so the values matching a prefix are
+ * a contiguous range of the map. Short prefixes match too many values to rank them on every request, so their best
+ * suggestions are kept ranked in advance: entries are never updated nor deleted, so the rank of a value only rises
+ * and the ranked lists stay exact as values are added.
+ * <p>
+ * Fuzzy searches walk the sorted values like the paths of a trie, computing the Levenshtein distance to the query one
+ * character at a time. Values sharing a prefix with the previous value reuse its rows of the distance matrix, and once
+ * every cell of a row exceeds the maximum distance, all the values starting with that prefix are skipped at once.
+ * <p>
+ * The index is loaded from the store in the background once the application is ready, and it is updated with the
+ * entries saved by this instance. Entries saved by other instances after the load are only indexed on the next start.
+ */
+@Slf4j
+@Service
+public class SuggestIndex {
+
+    /**
+     * The approximate size of an indexed value, without its characters, in bytes.
+     */
+    private static final long BASE_VALUE_SIZE = 160;
+
+    /**
+     * The suggestions configuration.
+     */
+    private final SuggestProperties properties;
+
+    /**
+     * The string entries store.
+     */
+    private final StringEntryStore store;
+
+    /**
+     * Orders the suggestions from the best to the worst.
+     */
+    private final Comparator<Suggestion> ranking;
+
+    /**
+     * The indexed values, by folded value.
+     */
+    private final ConcurrentNavigableMap<String, Suggestion> suggestions = new ConcurrentSkipListMap<>();
+
+    /**
+     * The best suggestions of the short prefixes, from the best to the worst. The lists are replaced, never modified.
+     */
+    private final Map<String, List<Suggestion>> rankedSuggestions = new ConcurrentHashMap<>();
+
+    /**
+     * The approximate memory used by the indexed values, in bytes. Guarded by this index.
+     */
+    private long usedMemory;
+
+    /**
+     * Informs if the memory budget was reached. Guarded by this index.
+     */
+    private boolean full;
+
+    /**
+     * The IDs of the entries saved by this instance since it started, indexed as they are committed and so skipped by
+     * the load. Null once the index is loaded. Guarded by this index.
+     */
+    private Set<Long> savedIds = new HashSet<>();
+
+    /**
+     * Creates the index.
+     *
+     * @param properties The suggestions configuration.
+     * @param store The string entries store.
+     */
+    public SuggestIndex(SuggestProperties properties, StringEntryStore store) {
+        this.properties = properties;
+        this.store = store;
+
+        Comparator<Suggestion> byRecency = Comparator.comparingLong(suggestion -> suggestion.id);
+        Comparator<Suggestion> byFrequency = Comparator.comparingLong(suggestion -> suggestion.occurrences);
+        this.ranking = properties.getRanking() == SuggestProperties.Ranking.FREQUENCY
+            ? byFrequency.thenComparing(byRecency).reversed()
+            : byRecency.reversed();
+    }
+
+    /**
+     * Returns the best values starting with a prefix, ignoring case and accents.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum amount of values to return. It is capped by the configured maximum.
+     * @return The suggested values, from the best to the worst.
+     */
+    public List<StringEntrySuggestionDto> suggest(String prefix, int limit) {
+        String key = TextFolding.fold(prefix);
+        int size = Math.min(limit, this.properties.getMaxLimit());
+        if (!this.properties.isEnabled() || key.isEmpty() || size < 1) {
+            return Collections.emptyList();
+        }
+
+        List<Suggestion> result;
+        if (key.codePointCount(0, key.length()) <= this.properties.getRankedPrefixLength()) {
+            result = this.rankedSuggestions.getOrDefault(key, Collections.emptyList());
+        } else {
+            result = this.rank(key, size);
+        }
+
+        return result.stream()
+            .limit(size)
+            .map(Suggestion::toDto)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the values within an edit distance of a query, ignoring case and accents. Edits are insertions, deletions
+     * or substitutions of a single character.
+     *
+     * @param query The query.
+     * @param maxEdits The maximum edit distance. It is capped by the configured maximum.
+     * @param limit The maximum amount of values to return. It is capped by the configured maximum.
+     * @return The matching values, from the closest to the farthest. Values at the same distance are ranked like
+     *     suggestions.
+     */
+    public List<StringEntryFuzzyMatchDto> fuzzy(String query, int maxEdits, int limit) {
+        String key = TextFolding.fold(query);
+        int size = Math.min(limit, this.properties.getMaxLimit());
+        if (!this.properties.isEnabled() || key.isEmpty() || size < 1 || maxEdits < 0) {
+            return Collections.emptyList();
+        }
+
+        Comparator<FuzzyMatch> relevance = Comparator.<FuzzyMatch>comparingInt(match -> match.distance)
+            .thenComparing(match -> match.suggestion, this.ranking);
+        // Keeps the worst of the best values on top, to drop it when a better value is found
+        PriorityQueue<FuzzyMatch> best = new PriorityQueue<>(size + 1, relevance.reversed());
+        int bound = Math.min(maxEdits, this.properties.getMaxEdits());
+
+        int[][] rows = new int[key.length() + bound + 1][];
+        rows[0] = new int[key.length() + 1];
+        for (int i = 0; i <= key.length(); i++) {
+            rows[0][i] = i;
+        }
+        String previous = "";
+        int computedDepth = 0;
+
+        Map.Entry<String, Suggestion> candidate = this.suggestions.firstEntry();
+        while (candidate != null) {
+            String value = candidate.getKey();
+            int depth = Math.min(commonPrefixLength(previous, value), computedDepth);
+            boolean pruned = false;
+            while (depth < value.length() && !pruned) {
+                depth++;
+                if (depth == rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                pruned = computeRow(rows, depth, value.charAt(depth - 1), key) > bound;
+            }
+            previous = value;
+            computedDepth = depth;
+
+            if (pruned) {
+                // No value starting with this prefix is within the bound
+                candidate = this.suggestions.higherEntry(value.substring(0, depth) + Character.MAX_VALUE);
+                continue;
+            }
+
+            int distance = rows[depth][key.length()];
+            if (distance <= bound) {
+                best.add(new FuzzyMatch(candidate.getValue(), distance));
+                if (best.size() > size) {
+                    best.poll();
+                }
+                if (best.size() == size) {
+                    // Farther values can no longer make it into the result
+                    bound = best.peek().distance;
+                }
+            }
+            candidate = this.suggestions.higherEntry(value);
+        }
+
+        List<FuzzyMatch> result = new ArrayList<>(best);
+        result.sort(relevance);
+        return result.stream()
+            .map(FuzzyMatch::toDto)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Indexes a saved entry once the current transaction commits, or right away if there is no transaction.
+     *
+     * @param id The ID of the entry.
+     * @param value The value of the entry.
+     */
+    public void add(Long id, String value) {
+        if (this.properties.isEnabled()) {
+            // Claimed before the commit, so the load cannot read the entry without knowing it is indexed here
+            synchronized (this) {
+                if (this.savedIds != null) {
+                    this.savedIds.add(id);
+                }
+            }
+            Transactions.afterCommit(() -> this.index(id, value));
+        }
+    }
+
+    /**
+     * Loads the entries stored before the application started, in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (this.properties.isEnabled()) {
+            Thread loader = new Thread(this::load, "strings-suggest-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    /**
+     * Loads the stored entries, but the ones saved by this instance, which are indexed as they are committed.
+     *
+     * @return The amount of loaded entries.
+     */
+    long load() {
+        long[] loaded = {0L};
+        this.store.forEach(entry -> {
+            synchronized (this) {
+                if (!this.savedIds.contains(entry.getId())) {
+                    this.index(entry.getId(), entry.getValue());
+                    loaded[0]++;
+                }
+            }
+        });
+        synchronized (this) {
+            this.savedIds = null;
+        }
+
+        log.info("Suggest index loaded: {} entries, about {} KB", loaded[0], this.getUsedMemory() / 1024);
+        return loaded[0];
+    }
+
+    /**
+     * Returns the approximate memory used by the indexed values.
+     *
+     * @return The used memory, in bytes.
+     */
+    public synchronized long getUsedMemory() {
+        return this.usedMemory;
+    }
+
+    /**
+     * Indexes an entry.
+     *
+     * @param id The ID of the entry.
+     * @param value The value of the entry.
+     */
+    private synchronized void index(Long id, String value) {
+        String key = TextFolding.fold(value);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        Suggestion current = this.suggestions.get(key);
+        Suggestion updated;
+        if (current == null) {
+            long size = BASE_VALUE_SIZE + (long) (key.length() + value.length()) * Character.BYTES;
+            if (this.usedMemory + size > this.properties.getMemoryBudget().toBytes()) {
+                if (!this.full) {
+                    this.full = true;
+                    log.warn("The suggest index reached its memory budget, new values are no longer indexed");
+                }
+                return;
+            }
+            this.usedMemory += size;
+            updated = new Suggestion(key, id, value, 1);
+        } else if (id > current.id) {
+            updated = new Suggestion(key, id, value, current.occurrences + 1);
+        } else {
+            updated = new Suggestion(key, current.id, current.value, current.occurrences + 1);
+        }
+        this.suggestions.put(key, updated);
+
+        int rankedLength = Math.min(this.properties.getRankedPrefixLength(), key.codePointCount(0, key.length()));
+        for (int length = 1; length <= rankedLength; length++) {
+            this.rankedSuggestions.compute(
+                key.substring(0, key.offsetByCodePoints(0, length)),
+                (prefix, ranked) -> this.promote(ranked, updated)
+            );
+        }
+    }
+
+    /**
+     * Places an updated suggestion in a ranked list.
+     *
+     * @param ranked The ranked list, or null if the prefix had no suggestions.
+     * @param updated The updated suggestion.
+     * @return The new ranked list.
+     */
+    private List<Suggestion> promote(List<Suggestion> ranked, Suggestion updated) {
+        List<Suggestion> result = new ArrayList<>(this.properties.getMaxLimit() + 1);
+        if (ranked != null) {
+            for (Suggestion suggestion : ranked) {
+                if (!suggestion.key.equals(updated.key)) {
+                    result.add(suggestion);
+                }
+            }
+        }
+
+        int position = Collections.binarySearch(result, updated, this.ranking);
+        result.add(position < 0 ? -position - 1 : position, updated);
+        if (result.size() > this.properties.getMaxLimit()) {
+            result.remove(result.size() - 1);
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Ranks the values starting with a prefix.
+     *
+     * @param key The folded prefix.
+     * @param size The amount of values to return.
+     * @return The best values, from the best to the worst.
+     */
+    private List<Suggestion> rank(String key, int size) {
+        // Keeps the worst of the best values on top, to drop it when a better value is found
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(size + 1, this.ranking.reversed());
+        int scanned = 0;
+
+        for (Suggestion suggestion : this.suggestions.tailMap(key).values()) {
+            if (!suggestion.key.startsWith(key) || scanned++ >= this.properties.getMaxScan()) {
+                break;
+            }
+
+            best.add(suggestion);
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+
+        List<Suggestion> result = new ArrayList<>(best);
+        result.sort(this.ranking);
+        return result;
+    }
+
+    /**
+     * Computes a row of the Levenshtein distance matrix between a value and a query.
+     *
+     * @param rows The rows of the matrix, by prefix length of the value. The previous row must be computed.
+     * @param depth The length of the prefix of the value the row is computed for.
+     * @param character The last character of the prefix.
+     * @param key The folded query.
+     * @return The minimum of the row, which is a lower bound of the distance of every value with the prefix.
+     */
+    private static int computeRow(int[][] rows, int depth, char character, String key) {
+        int[] previousRow = rows[depth - 1];
+        int[] row = rows[depth];
+        if (row == null) {
+            row = new int[key.length() + 1];
+            rows[depth] = row;
+        }
+
+        row[0] = depth;
+        int min = depth;
+        for (int i = 1; i <= key.length(); i++) {
+            int substitution = previousRow[i - 1] + (key.charAt(i - 1) == character ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(previousRow[i], row[i - 1]) + 1);
+            min = Math.min(min, row[i]);
+        }
+
+        return min;
+    }
+
+    /**
+     * Returns the length of the common prefix of two strings.
+     *
+     * @param first The first string.
+     * @param second The second string.
+     * @return The amount of leading characters the strings share.
+     */
+    private static int commonPrefixLength(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        for (int i = 0; i < length; i++) {
+            if (first.charAt(i) != second.charAt(i)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * A value matching a fuzzy search.
+     */
+    private static class FuzzyMatch {
+
+        /**
+         * The matching value.
+         */
+        private final Suggestion suggestion;
+
+        /**
+         * The edit distance of the value to the query.
+         */
+        private final int distance;
+
+        FuzzyMatch(Suggestion suggestion, int distance) {
+            this.suggestion = suggestion;
+            this.distance = distance;
+        }
+
+        StringEntryFuzzyMatchDto toDto() {
+            StringEntryFuzzyMatchDto result = new StringEntryFuzzyMatchDto();
+            result.setId(this.suggestion.id);
+            result.setValue(this.suggestion.value);
+            result.setOccurrences(this.suggestion.occurrences);
+            result.setDistance(this.distance);
+            return result;
+        }
+    }
+
+    /**
+     * An indexed value.
+     */
+    private static class Suggestion {
+
+        /**
+         * The folded value.
+         */
+        private final String key;
+
+        /**
+         * The ID of the most recent entry with the value.
+         */
+        private final long id;
+
+        /**
+         * The value, as saved in the most recent entry.
+         */
+        private final String value;
+
+        /**
+         * The amount of entries with the value.
+         */
+        private final long occurrences;
+
+        Suggestion(String key, long id, String value, long occurrences) {
+            this.key = key;
+            this.id = id;
+            this.value = value;
+            this.occurrences = occurrences;
+        }
+
+        StringEntrySuggestionDto toDto() {
+            StringEntrySuggestionDto result = new StringEntrySuggestionDto();
+            result.setId(this.id);
+            result.setValue(this.value);
+            result.setOccurrences(this.occurrences);
+            return result;
+        }
+    }
+}
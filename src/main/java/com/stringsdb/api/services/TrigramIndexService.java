@@ -0,0 +1,102 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.TrigramIndexProperties;
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.entities.StringTrigram;
+import com.stringsdb.api.repositories.StringEntryRepository;
+import com.stringsdb.api.repositories.StringTrigramRepository;
+import com.stringsdb.api.storage.ConditionalOnJpaStorage;
+import com.stringsdb.api.utils.Trigrams;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the trigram index used to speed up substring searches.
+ */
+@Service
+@ConditionalOnJpaStorage
+@RequiredArgsConstructor
+public class TrigramIndexService {
+
+    /**
+     * The trigram index configuration.
+     */
+    private final TrigramIndexProperties properties;
+
+    /**
+     * The string entries repository.
+     */
+    private final StringEntryRepository stringEntryRepository;
+
+    /**
+     * The trigram postings repository.
+     */
+    private final StringTrigramRepository trigramRepository;
+
+    /**
+     * The string entry backfill service, used to rebuild the index in chunks.
+     */
+    private final StringEntryBackfillService stringEntryBackfillService;
+
+    /**
+     * Returns the trigrams to look up the candidates for a filter.
+     *
+     * @param filter The filter for the strings.
+     * @return The trigrams to search, or an empty set if the index cannot serve the filter (the index is disabled for
+     *     searches or the filter is shorter than a trigram).
+     */
+    public Set<Long> searchTrigrams(String filter) {
+        if (!this.properties.isSearchEnabled() || filter == null) {
+            return Collections.emptySet();
+        }
+
+        return Trigrams.of(filter).stream()
+            .limit(this.properties.getMaxSearchTrigrams())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Adds a stored entry to the index. It should run in the same transaction that stores the entry.
+     *
+     * @param entry The stored entry.
+     */
+    public void index(StringEntry entry) {
+        if (this.properties.isEnabled()) {
+            this.trigramRepository.saveAll(this.postingsOf(entry));
+        }
+    }
+
+    /**
+     * Rebuilds the index for all the stored entries, one chunk of entries per transaction.
+     *
+     * @return The amount of indexed entries.
+     */
+    public long rebuild() {
+        return this.stringEntryBackfillService.backfill(
+            "Trigram index rebuild",
+            this.properties.getRebuildChunkSize(),
+            this.stringEntryRepository::findByIdGreaterThan,
+            entries -> {
+                this.trigramRepository.deleteByStringIdIn(
+                    entries.stream().map(StringEntry::getId).collect(Collectors.toList())
+                );
+                entries.forEach(entry -> this.trigramRepository.saveAll(this.postingsOf(entry)));
+            }
+        );
+    }
+
+    /**
+     * Builds the postings of an entry.
+     *
+     * @param entry The entry.
+     * @return The postings of all the distinct trigrams of the entry value.
+     */
+    private List<StringTrigram> postingsOf(StringEntry entry) {
+        return Trigrams.of(entry.getValue()).stream()
+            .map(trigram -> new StringTrigram(trigram, entry.getId()))
+            .collect(Collectors.toList());
+    }
+}
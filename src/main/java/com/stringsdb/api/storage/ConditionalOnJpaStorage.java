@@ -0,0 +1,16 @@
+package com.stringsdb.api.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.*;
+
+/**
+ * Registers a component only when the entries are stored in the relational database through JPA, the default
+ * storage.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnProperty(prefix = "stringsdb.storage", name = "type", havingValue = "jpa", matchIfMissing = true)
+public @interface ConditionalOnJpaStorage {
+}
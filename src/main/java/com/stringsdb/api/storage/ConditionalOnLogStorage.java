@@ -0,0 +1,15 @@
+package com.stringsdb.api.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.*;
+
+/**
+ * Registers a component only when the entries are stored in the embedded segment log.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnProperty(prefix = "stringsdb.storage", name = "type", havingValue = "log")
+public @interface ConditionalOnLogStorage {
+}
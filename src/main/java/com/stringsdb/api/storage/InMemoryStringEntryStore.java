@@ -0,0 +1,742 @@
+package com.stringsdb.api.storage;
+
+import com.stringsdb.api.configuration.StorageProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.utils.TextFolding;
+import com.stringsdb.api.utils.Transactions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Serves the reads from a copy of all the entries kept in memory, in front of the storage backend.
+ * <p>
+ * The entries are kept in columns instead of objects: the IDs and creation dates in primitive arrays sorted by ID, and
+ * the values as UTF-8 in a {@link StringArena} off the heap, referenced by offset, next to their folded form (see
+ * {@link TextFolding}) when it differs. An entry costs about 40 bytes plus its value, none of them scanned by the
+ * garbage collector, and DTOs are only built for the entries returned.
+ * <p>
+ * The copy is loaded from the backend in the background once the application is ready; reads are delegated to the
+ * backend until then. Saves go to the backend, and their entries are copied once the current transaction commits.
+ * Entries saved by other instances are only copied on the next start. Lookups by value are always delegated to the
+ * backend, which indexes them. Searches scan the columns: filters match the values containing them the way the backend
+ * matches them, either as they are or ignoring case and accents against the folded values. Searches sorted by value are
+ * delegated to the backend, whose order may follow a collation, so that pages and cursors keep the same order before
+ * and after the load.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "stringsdb.storage.in-memory", name = "enabled", havingValue = "true")
+public class InMemoryStringEntryStore implements StringEntryStore {
+
+    /**
+     * The amount of entries copied at once while loading.
+     */
+    static final int LOAD_CHUNK_SIZE = 1000;
+
+    /**
+     * The initial capacity of the columns.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The storage backend.
+     */
+    private final StringEntryStore backend;
+
+    /**
+     * The values of the entries.
+     */
+    private final StringArena arena;
+
+    /**
+     * The columns of the entries. They are replaced on every write, and the arrays are only written past the size of
+     * the published columns, so readers never see a partial write.
+     */
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY, 0);
+
+    /**
+     * Informs if the copy of the entries is loaded.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * How the filters of the backend match the values. It is set by the load, before the reads are served from memory.
+     */
+    private FilterMatching filterMatching = FilterMatching.EXACT;
+
+    /**
+     * Serializes the writes.
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * Creates the store.
+     *
+     * @param properties The storage configuration.
+     * @param backend The storage backend.
+     */
+    public InMemoryStringEntryStore(StorageProperties properties, StringEntryStore backend) {
+        long chunkSize = properties.getInMemory().getChunkSize().toBytes();
+        if (chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The chunk size must be less than 2 GB");
+        }
+
+        this.backend = backend;
+        this.arena = new StringArena((int) chunkSize);
+    }
+
+    /**
+     * Loads the entries stored before the application started, in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(() -> {
+            try {
+                this.load();
+            } catch (RuntimeException e) {
+                log.error("Could not load the in-memory store, reads stay on the storage backend", e);
+            }
+        }, "strings-in-memory-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Loads the entries stored before the load started, then serves the reads from memory.
+     *
+     * @return The amount of loaded entries.
+     */
+    long load() {
+        this.filterMatching = this.backend.getFilterMatching();
+        if (this.filterMatching == FilterMatching.OTHER) {
+            log.warn("The storage backend matches filters neither exactly nor folded, filtered reads stay on it");
+        }
+
+        // Entries saved by this instance get IDs above the current maximum and are copied as they are saved
+        long lastStoredId = this.backend.findLastId().orElse(0L);
+
+        List<StringEntryDto> chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+        long[] loadedCount = {0L};
+        this.backend.forEach(entry -> {
+            if (entry.getId() <= lastStoredId) {
+                chunk.add(entry);
+                loadedCount[0]++;
+            }
+            if (chunk.size() == LOAD_CHUNK_SIZE) {
+                this.append(chunk);
+                chunk.clear();
+            }
+        });
+        this.append(chunk);
+        this.loaded = true;
+
+        log.info(
+            "In-memory store loaded: {} entries, {} MB off-heap",
+            loadedCount[0],
+            this.arena.getAllocatedMemory() / (1024 * 1024)
+        );
+        return loadedCount[0];
+    }
+
+    /**
+     * Informs if the reads are served from memory.
+     *
+     * @return True once the copy of the entries is loaded, false before.
+     */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    @Override
+    public Page<StringEntryDto> findMany(@Nullable String filter, Pageable pageable) {
+        if (!this.serves(filter, pageable.getSort())) {
+            return this.backend.findMany(filter, pageable);
+        }
+
+        Columns current = this.columns;
+        return this.findPage(current, this.containing(current, filter), pageable);
+    }
+
+    @Override
+    public Page<StringEntryDto> findManyFolded(String filter, Pageable pageable) {
+        if (!this.loaded) {
+            return this.backend.findManyFolded(filter, pageable);
+        }
+
+        Columns current = this.columns;
+        return this.findPage(current, this.containing(current, filter, true), pageable);
+    }
+
+    @Override
+    public FilterMatching getFilterMatching() {
+        return this.backend.getFilterMatching();
+    }
+
+    @Override
+    public List<StringEntryDto> findRange(@Nullable String filter, Sort sort, long offset, int limit) {
+        if (!this.serves(filter, sort)) {
+            return this.backend.findRange(filter, sort, offset, limit);
+        }
+
+        Columns current = this.columns;
+        IntPredicate matches = this.containing(current, filter);
+        return this.toDtos(current, this.search(current, matches, null, sort, offset, limit, null));
+    }
+
+    @Override
+    public List<StringEntryDto> findAfter(@Nullable String filter, KeysetCursor cursor, int limit) {
+        if (!this.serves(filter, cursor.toSort())) {
+            return this.backend.findAfter(filter, cursor, limit);
+        }
+
+        Columns current = this.columns;
+        IntPredicate matches = this.containing(current, filter);
+        IntPredicate position = cursor.isFirst() ? null : this.after(current, cursor);
+        return this.toDtos(current, this.search(current, matches, position, cursor.toSort(), 0, limit, null));
+    }
+
+    @Override
+    public long count(@Nullable String filter) {
+        if (!this.serves(filter, Sort.unsorted())) {
+            return this.backend.count(filter);
+        }
+
+        Columns current = this.columns;
+        if (filter == null) {
+            return current.size;
+        }
+
+        IntPredicate matches = this.containing(current, filter);
+        long total = 0;
+        for (int row = 0; row < current.size; row++) {
+            if (matches.test(row)) {
+                total++;
+            }
+        }
+
+        return total;
+    }
+
+    @Override
+    public List<StringEntryDto> findIdRange(long fromId, long toId) {
+        if (!this.loaded) {
+            return this.backend.findIdRange(fromId, toId);
+        }
+
+        Columns current = this.columns;
+        int row = Arrays.binarySearch(current.ids, 0, current.size, fromId);
+        List<StringEntryDto> result = new ArrayList<>();
+        for (row = row < 0 ? -row - 1 : row; row < current.size && current.ids[row] < toId; row++) {
+            result.add(this.toDto(current, row));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<StringEntryDto> findById(Long id) {
+        if (!this.loaded) {
+            return this.backend.findById(id);
+        }
+
+        Columns current = this.columns;
+        int row = Arrays.binarySearch(current.ids, 0, current.size, id);
+        return row < 0 ? Optional.empty() : Optional.of(this.toDto(current, row));
+    }
+
+    @Override
+    public Map<Long, StringEntryDto> findAllById(Collection<Long> ids) {
+        if (!this.loaded) {
+            return this.backend.findAllById(ids);
+        }
+
+        Columns current = this.columns;
+        Map<Long, StringEntryDto> result = new HashMap<>();
+        for (Long id : ids) {
+            int row = Arrays.binarySearch(current.ids, 0, current.size, id);
+            if (row >= 0) {
+                result.put(id, this.toDto(current, row));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<StringEntryDto> findFirstByValue(String value) {
+        return this.backend.findFirstByValue(value);
+    }
+
+    @Override
+    public Map<String, StringEntryDto> findFirstByValues(Collection<String> values) {
+        return this.backend.findFirstByValues(values);
+    }
+
+    @Override
+    public Optional<Long> findLastId() {
+        return this.backend.findLastId();
+    }
+
+    @Override
+    public void forEach(Consumer<StringEntryDto> action) {
+        if (!this.loaded) {
+            this.backend.forEach(action);
+            return;
+        }
+
+        Columns current = this.columns;
+        for (int row = 0; row < current.size; row++) {
+            action.accept(this.toDto(current, row));
+        }
+    }
+
+    @Override
+    public StringEntryDto save(StringEntrySaveDto item) {
+        StringEntryDto result = this.backend.save(item);
+        Transactions.afterCommit(() -> this.append(List.of(result)));
+
+        return result;
+    }
+
+    @Override
+    public List<StringEntryDto> saveAll(List<StringEntrySaveDto> items) {
+        List<StringEntryDto> result = this.backend.saveAll(items);
+        Transactions.afterCommit(() -> this.append(result));
+
+        return result;
+    }
+
+    /**
+     * Copies entries, ignoring the ones already copied.
+     *
+     * @param entries The entries.
+     */
+    void append(List<StringEntryDto> entries) {
+        synchronized (this.writeLock) {
+            Columns current = this.columns;
+            List<StringEntryDto> newEntries = new ArrayList<>(entries.size());
+            for (StringEntryDto entry : entries) {
+                if (Arrays.binarySearch(current.ids, 0, current.size, entry.getId()) < 0) {
+                    newEntries.add(entry);
+                }
+            }
+            if (newEntries.isEmpty()) {
+                return;
+            }
+            newEntries.sort(Comparator.comparing(StringEntryDto::getId));
+
+            boolean ordered = current.size == 0 || newEntries.get(0).getId() > current.ids[current.size - 1];
+            int size = current.size + newEntries.size();
+            Columns result;
+            if (ordered && size <= current.ids.length) {
+                result = new Columns(current, size);
+            } else {
+                result = new Columns(Math.max(size, 2 * current.ids.length), size);
+                if (ordered) {
+                    result.copyRows(current, 0, 0, current.size);
+                }
+            }
+
+            // Entries are appended in ID order, except the ones saved by a node with an older ID block: they are
+            // rare, so they are merged into copied columns
+            int row = ordered ? current.size : 0;
+            int oldRow = 0;
+            for (StringEntryDto entry : newEntries) {
+                if (!ordered) {
+                    int end = -Arrays.binarySearch(current.ids, oldRow, current.size, entry.getId()) - 1;
+                    result.copyRows(current, oldRow, row, end - oldRow);
+                    row += end - oldRow;
+                    oldRow = end;
+                }
+
+                byte[] value = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                byte[] folded = TextFolding.fold(entry.getValue()).getBytes(StandardCharsets.UTF_8);
+                result.ids[row] = entry.getId();
+                result.createdAt[row] = toEpochNanos(entry.getCreatedAt());
+                result.references[row] = this.arena.append(value);
+                result.lengths[row] = value.length;
+                // Most values are already folded, so they share their bytes with their folded form
+                result.foldedReferences[row] = Arrays.equals(folded, value)
+                    ? result.references[row]
+                    : this.arena.append(folded);
+                result.foldedLengths[row] = folded.length;
+                row++;
+            }
+            if (!ordered) {
+                result.copyRows(current, oldRow, row, current.size - oldRow);
+            }
+
+            this.columns = result;
+        }
+    }
+
+    /**
+     * Finds a page of the rows matching a condition on their values.
+     *
+     * @param current The columns.
+     * @param filter The condition on the values of the rows, or null to match all the rows.
+     * @param pageable Object containing pagination information.
+     * @return The page of entries.
+     */
+    private Page<StringEntryDto> findPage(Columns current, @Nullable IntPredicate filter, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            int[] rows = this.search(current, filter, null, pageable.getSort(), 0, Integer.MAX_VALUE, null);
+            return new PageImpl<>(this.toDtos(current, rows));
+        }
+
+        long[] total = {0L};
+        int[] rows = this.search(
+            current, filter, null, pageable.getSort(), pageable.getOffset(), pageable.getPageSize(), total
+        );
+        return new PageImpl<>(this.toDtos(current, rows), pageable, total[0]);
+    }
+
+    /**
+     * Informs if a read is served from memory: once the copy is loaded, unless the filter must match the values the way
+     * of the backend and that way is neither exact nor folded, or the read is sorted by value, in the order of the
+     * backend.
+     *
+     * @param filter The filter for the strings, or null.
+     * @param sort The sort of the read.
+     * @return True if the read is served from memory, false if it goes to the backend.
+     */
+    private boolean serves(@Nullable String filter, Sort sort) {
+        return this.loaded
+            && (filter == null || this.filterMatching != FilterMatching.OTHER)
+            && sort.getOrderFor("value") == null;
+    }
+
+    /**
+     * Builds the condition matching the rows whose value contains a filter, the way the filters of the backend match.
+     *
+     * @param current The columns.
+     * @param filter The filter for the strings, or null to match all the rows.
+     * @return The condition, or null to match all the rows.
+     */
+    @Nullable
+    private IntPredicate containing(Columns current, @Nullable String filter) {
+        return this.containing(current, filter, this.filterMatching == FilterMatching.FOLDED);
+    }
+
+    /**
+     * Builds the condition matching the rows whose value contains a filter.
+     *
+     * @param current The columns.
+     * @param filter The filter for the strings, or null to match all the rows.
+     * @param folded True to ignore case and accents, comparing the folded filter with the folded values.
+     * @return The condition, or null to match all the rows.
+     */
+    @Nullable
+    private IntPredicate containing(Columns current, @Nullable String filter, boolean folded) {
+        if (filter == null) {
+            return null;
+        }
+
+        if (folded) {
+            byte[] needle = TextFolding.fold(filter).getBytes(StandardCharsets.UTF_8);
+            return row -> this.arena.contains(current.foldedReferences[row], current.foldedLengths[row], needle);
+        }
+
+        byte[] needle = filter.getBytes(StandardCharsets.UTF_8);
+        return row -> this.arena.contains(current.references[row], current.lengths[row], needle);
+    }
+
+    /**
+     * Finds the rows matching a filter and a position, in the order of a sort. When the sort is by ID only, the rows
+     * are visited in that order and the scan stops as soon as the range is complete, unless the matching rows must be
+     * counted; otherwise the best rows are kept in a bounded heap.
+     *
+     * @param current The columns.
+     * @param filter The condition on the values of the rows, or null to match all the rows.
+     * @param position The condition on the position of the rows, or null to match all the rows.
+     * @param sort The sort of the entries.
+     * @param offset The amount of matching rows to skip.
+     * @param limit The maximum amount of rows to return.
+     * @param total Receives the amount of matching rows, or null if they must not be counted.
+     * @return The rows in the range.
+     */
+    private int[] search(
+        Columns current,
+        @Nullable IntPredicate filter,
+        @Nullable IntPredicate position,
+        Sort sort,
+        long offset,
+        int limit,
+        @Nullable long[] total
+    ) {
+        Comparator<Integer> order = this.comparator(current, sort);
+        IntPredicate matches = row -> (filter == null || filter.test(row))
+            && (position == null || position.test(row));
+        long end = offset + limit;
+
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty() || orders.size() == 1 && orders.get(0).getProperty().equals("id")) {
+            boolean ascending = orders.isEmpty() || orders.get(0).isAscending();
+            List<Integer> rows = new ArrayList<>();
+            long matched = 0;
+            for (int i = 0; i < current.size && (total != null || matched < end); i++) {
+                int row = ascending ? i : current.size - 1 - i;
+                if (matches.test(row)) {
+                    if (matched >= offset && matched < end) {
+                        rows.add(row);
+                    }
+                    matched++;
+                }
+            }
+            if (total != null) {
+                total[0] = matched;
+            }
+
+            return rows.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        PriorityQueue<Integer> best = new PriorityQueue<>(order.reversed());
+        long matched = 0;
+        for (int row = 0; row < current.size; row++) {
+            if (matches.test(row)) {
+                best.add(row);
+                if (best.size() > end) {
+                    best.poll();
+                }
+                matched++;
+            }
+        }
+        if (total != null) {
+            total[0] = matched;
+        }
+
+        List<Integer> rows = new ArrayList<>(best);
+        rows.sort(order);
+        return rows.stream().skip(offset).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Builds the condition matching the rows after the position of a keyset cursor.
+     *
+     * @param current The columns.
+     * @param cursor The cursor, not at the start of the walk, and not sorted by value.
+     * @return The condition.
+     */
+    private IntPredicate after(Columns current, KeysetCursor cursor) {
+        long lastId = cursor.getLastId();
+        boolean ascending = cursor.getDirection().isAscending();
+        Comparable<?> lastKey = cursor.getLastKey();
+        long lastCreatedAt = lastKey instanceof LocalDateTime ? toEpochNanos((LocalDateTime) lastKey) : 0L;
+
+        boolean byCreatedAt = cursor.getProperty().equals("createdAt");
+
+        return row -> {
+            int comparison = byCreatedAt ? Long.compare(current.createdAt[row], lastCreatedAt) : 0;
+            if (comparison == 0) {
+                comparison = Long.compare(current.ids[row], lastId);
+            }
+
+            return ascending ? comparison > 0 : comparison < 0;
+        };
+    }
+
+    /**
+     * Builds the comparator of the rows for a sort, using the ID as a tie-breaker.
+     *
+     * @param current The columns.
+     * @param sort The sort, not by value.
+     * @return The comparator.
+     * @throws IllegalArgumentException If the sort uses an unknown property.
+     */
+    private Comparator<Integer> comparator(Columns current, Sort sort) throws IllegalArgumentException {
+        Comparator<Integer> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> byProperty;
+            switch (order.getProperty()) {
+                case "id":
+                    byProperty = Comparator.comparingLong(row -> current.ids[row]);
+                    break;
+                case "createdAt":
+                    byProperty = Comparator.comparingLong(row -> current.createdAt[row]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown sort property: " + order.getProperty());
+            }
+            byProperty = order.isAscending() ? byProperty : byProperty.reversed();
+            result = result == null ? byProperty : result.thenComparing(byProperty);
+        }
+
+        Comparator<Integer> byId = Comparator.comparingLong(row -> current.ids[row]);
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    /**
+     * Builds the DTOs of rows.
+     *
+     * @param current The columns.
+     * @param rows The rows.
+     * @return The DTOs, in the same order as the rows.
+     */
+    private List<StringEntryDto> toDtos(Columns current, int[] rows) {
+        List<StringEntryDto> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(this.toDto(current, row));
+        }
+
+        return result;
+    }
+
+    /**
+     * Builds the DTO of a row.
+     *
+     * @param current The columns.
+     * @param row The row.
+     * @return The DTO.
+     */
+    private StringEntryDto toDto(Columns current, int row) {
+        StringEntryDto result = new StringEntryDto();
+        result.setId(current.ids[row]);
+        result.setValue(this.arena.get(current.references[row], current.lengths[row]));
+        result.setCreatedAt(fromEpochNanos(current.createdAt[row]));
+
+        return result;
+    }
+
+    /**
+     * Encodes a creation date as nanoseconds since the epoch, which fits a long until 2262.
+     *
+     * @param createdAt The creation date, or null.
+     * @return The nanoseconds, or {@link Long#MIN_VALUE} for a null date.
+     */
+    private static long toEpochNanos(@Nullable LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return Long.MIN_VALUE;
+        }
+
+        return createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + createdAt.getNano();
+    }
+
+    /**
+     * Decodes a creation date encoded by {@link #toEpochNanos(LocalDateTime)}.
+     *
+     * @param epochNanos The nanoseconds since the epoch.
+     * @return The creation date, or null.
+     */
+    @Nullable
+    private static LocalDateTime fromEpochNanos(long epochNanos) {
+        if (epochNanos == Long.MIN_VALUE) {
+            return null;
+        }
+
+        return LocalDateTime.ofEpochSecond(
+            Math.floorDiv(epochNanos, 1_000_000_000L),
+            (int) Math.floorMod(epochNanos, 1_000_000_000L),
+            ZoneOffset.UTC
+        );
+    }
+
+    /**
+     * The columns of the entries, sorted by ID.
+     */
+    private static final class Columns {
+
+        /**
+         * The IDs of the entries.
+         */
+        final long[] ids;
+
+        /**
+         * The creation dates of the entries, in nanoseconds since the epoch.
+         */
+        final long[] createdAt;
+
+        /**
+         * The references of the values of the entries in the arena.
+         */
+        final long[] references;
+
+        /**
+         * The lengths of the values of the entries, in bytes.
+         */
+        final int[] lengths;
+
+        /**
+         * The references of the folded values of the entries in the arena, equal to the references of the values when
+         * they are already folded.
+         */
+        final long[] foldedReferences;
+
+        /**
+         * The lengths of the folded values of the entries, in bytes.
+         */
+        final int[] foldedLengths;
+
+        /**
+         * The amount of entries.
+         */
+        final int size;
+
+        /**
+         * Creates columns with new arrays.
+         *
+         * @param capacity The capacity of the columns.
+         * @param size The amount of entries, written by the caller before the columns are published.
+         */
+        Columns(int capacity, int size) {
+            this.ids = new long[capacity];
+            this.createdAt = new long[capacity];
+            this.references = new long[capacity];
+            this.lengths = new int[capacity];
+            this.foldedReferences = new long[capacity];
+            this.foldedLengths = new int[capacity];
+            this.size = size;
+        }
+
+        /**
+         * Creates columns sharing the arrays of other columns, with a larger size.
+         *
+         * @param columns The other columns.
+         * @param size The amount of entries.
+         */
+        Columns(Columns columns, int size) {
+            this.ids = columns.ids;
+            this.createdAt = columns.createdAt;
+            this.references = columns.references;
+            this.lengths = columns.lengths;
+            this.foldedReferences = columns.foldedReferences;
+            this.foldedLengths = columns.foldedLengths;
+            this.size = size;
+        }
+
+        /**
+         * Copies rows of other columns.
+         *
+         * @param columns The other columns.
+         * @param from The first copied row of the other columns.
+         * @param to The first row to copy to.
+         * @param length The amount of rows to copy.
+         */
+        void copyRows(Columns columns, int from, int to, int length) {
+            System.arraycopy(columns.ids, from, this.ids, to, length);
+            System.arraycopy(columns.createdAt, from, this.createdAt, to, length);
+            System.arraycopy(columns.references, from, this.references, to, length);
+            System.arraycopy(columns.lengths, from, this.lengths, to, length);
+            System.arraycopy(columns.foldedReferences, from, this.foldedReferences, to, length);
+            System.arraycopy(columns.foldedLengths, from, this.foldedLengths, to, length);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.stringsdb.api.storage;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.mappers.StringEntryMapper;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.repositories.StringEntryRepository;
+import com.stringsdb.api.repositories.StringEntrySpecifications;
+import com.stringsdb.api.services.TrigramIndexService;
+import com.stringsdb.api.utils.ContentHash;
+import com.stringsdb.api.utils.TextFolding;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the string entries in the relational database, through JPA.
+ * <p>
+ * Filters with at least one trigram look up their candidates in the trigram index, which are then verified against
+ * the whole filter. Shorter filters fall back to a plain substring search. Insensitive filters are verified against
+ * the folded values stored with the entries, so they match the same way whatever the collation of the database.
+ * Plain filters follow the collation of the column of the values, read from the database.
+ * Reads project the rows straight into DTOs, without loading managed entities.
+ */
+@Component
+@ConditionalOnJpaStorage
+@RequiredArgsConstructor
+public class JpaStringEntryStore implements StringEntryStore {
+
+    /**
+     * The amount of rows fetched from the database per round trip while visiting all the entries.
+     */
+    static final int FETCH_SIZE = 1000;
+
+    /**
+     * The name of the store in the metrics.
+     */
+    private static final String STORE_NAME = "jpa";
+
+    /**
+     * The string entries repository.
+     */
+    private final StringEntryRepository repository;
+
+    /**
+     * The trigram index service.
+     */
+    private final TrigramIndexService trigramIndex;
+
+    /**
+     * The metrics of the queries.
+     */
+    private final StringEntryMetrics metrics;
+
+    @Override
+    public Page<StringEntryDto> findMany(String filter, Pageable pageable) {
+        return this.findPage(this.filterSpecification(filter), pageable);
+    }
+
+    @Override
+    public Page<StringEntryDto> findManyFolded(String filter, Pageable pageable) {
+        // The trigrams are extracted from the folded filter, so they also look up the insensitive candidates
+        String folded = TextFolding.fold(filter);
+        Set<Long> trigrams = this.trigramIndex.searchTrigrams(folded);
+        Specification<StringEntry> spec = StringEntrySpecifications.foldedValueContaining(folded);
+
+        return this.findPage(
+            trigrams.isEmpty() ? spec : StringEntrySpecifications.hasAllTrigrams(trigrams).and(spec),
+            pageable
+        );
+    }
+
+    @Override
+    public FilterMatching getFilterMatching() {
+        String collation = this.repository.findValueCollation();
+        // Only MySQL reports its collations: the other databases used (H2, for the tests and the benchmarks) compare
+        // the values as they are
+        return collation == null ? FilterMatching.EXACT : filterMatching(collation);
+    }
+
+    @Override
+    public List<StringEntryDto> findRange(String filter, Sort sort, long offset, int limit) {
+        Specification<StringEntry> spec = this.filterSpecification(filter);
+        List<StringEntryDto> entries = this.metrics.timeQuery(
+            StringEntryMetrics.DATA_QUERY,
+            () -> this.repository.findDtoRange(spec, sort, offset, limit)
+        );
+        this.metrics.recordRows(STORE_NAME, -1, -1, entries.size());
+
+        return entries;
+    }
+
+    @Override
+    public List<StringEntryDto> findAfter(String filter, KeysetCursor cursor, int limit) {
+        Specification<StringEntry> spec = Specification.where(this.filterSpecification(filter))
+            .and(StringEntrySpecifications.after(cursor));
+        List<StringEntryDto> entries = this.metrics.timeQuery(
+            StringEntryMetrics.DATA_QUERY,
+            () -> this.repository.findDtoRange(spec, cursor.toSort(), 0, limit)
+        );
+        this.metrics.recordRows(STORE_NAME, -1, -1, entries.size());
+
+        return entries;
+    }
+
+    @Override
+    public long count(String filter) {
+        Specification<StringEntry> spec = this.filterSpecification(filter);
+        return this.metrics.timeQuery(StringEntryMetrics.COUNT_QUERY, () -> this.repository.count(spec));
+    }
+
+    @Override
+    public List<StringEntryDto> findIdRange(long fromId, long toId) {
+        return this.repository.findDtosByIdRange(fromId, toId);
+    }
+
+    @Override
+    public Optional<StringEntryDto> findById(Long id) {
+        return this.repository.findDtoById(id);
+    }
+
+    @Override
+    public Map<Long, StringEntryDto> findAllById(Collection<Long> ids) {
+        return this.repository.findDtosByIdIn(ids).stream()
+            .collect(Collectors.toMap(StringEntryDto::getId, Function.identity()));
+    }
+
+    @Override
+    public Optional<StringEntryDto> findFirstByValue(String value) {
+        // Different values may share a hash, and the database collation may compare values loosely
+        return this.repository.findByValueHashOrderById(ContentHash.of(value)).stream()
+            .filter(entry -> entry.getValue().equals(value))
+            .findFirst()
+            .map(StringEntryMapper.INSTANCE::stringEntryToDto);
+    }
+
+    @Override
+    public Map<String, StringEntryDto> findFirstByValues(Collection<String> values) {
+        Set<Long> hashes = values.stream().map(ContentHash::of).collect(Collectors.toSet());
+        Set<String> searchedValues = new HashSet<>(values);
+
+        Map<String, StringEntryDto> result = new HashMap<>();
+        for (StringEntry entry : this.repository.findByValueHashInOrderById(hashes)) {
+            if (searchedValues.contains(entry.getValue()) && !result.containsKey(entry.getValue())) {
+                result.put(entry.getValue(), StringEntryMapper.INSTANCE.stringEntryToDto(entry));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<Long> findLastId() {
+        return this.repository.findTopByOrderByIdDesc().map(StringEntry::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<StringEntryDto> action) {
+        this.repository.scrollAll(
+            FETCH_SIZE,
+            entry -> action.accept(StringEntryMapper.INSTANCE.stringEntryToDto(entry))
+        );
+    }
+
+    /**
+     * Stores an entry and adds it to the trigram index, in the same transaction.
+     *
+     * @param item The entry to store.
+     * @return The stored entry.
+     */
+    @Override
+    @Transactional
+    public StringEntryDto save(StringEntrySaveDto item) {
+        StringEntry savedItem = this.repository.save(StringEntryMapper.INSTANCE.savingStringEntryDtoToEntity(item));
+        this.trigramIndex.index(savedItem);
+
+        return StringEntryMapper.INSTANCE.stringEntryToDto(savedItem);
+    }
+
+    /**
+     * Stores many entries and adds them to the trigram index, in the same transaction. The inserts are sent to the
+     * database in JDBC batches, and the stored entities are detached afterwards, so callers should store large
+     * amounts of entries in chunks.
+     *
+     * @param items The entries to store.
+     * @return The stored entries, in the same order as the entries to store.
+     */
+    @Override
+    @Transactional
+    public List<StringEntryDto> saveAll(List<StringEntrySaveDto> items) {
+        List<StringEntry> savedItems = this.repository.saveAll(
+            items.stream()
+                .map(StringEntryMapper.INSTANCE::savingStringEntryDtoToEntity)
+                .collect(Collectors.toList())
+        );
+        savedItems.forEach(this.trigramIndex::index);
+
+        List<StringEntryDto> result = toDtos(savedItems);
+        this.repository.flushAndClear();
+
+        return result;
+    }
+
+    /**
+     * Tells how the filters match the values under a MySQL collation. The binary and case-sensitive collations match
+     * the values as they are, and the case-insensitive collations ignore accents too, unless they are accent-sensitive.
+     *
+     * @param collation The name of the collation.
+     * @return How the filters match the values.
+     */
+    static FilterMatching filterMatching(String collation) {
+        String name = collation.toLowerCase(Locale.ROOT);
+        if (name.endsWith("_bin") || name.endsWith("_cs")) {
+            return FilterMatching.EXACT;
+        }
+        if (name.endsWith("_ci") && !name.contains("_as_")) {
+            return FilterMatching.FOLDED;
+        }
+
+        return FilterMatching.OTHER;
+    }
+
+    /**
+     * Finds a page of the entries matching a specification. The data and count queries are sent and timed one after
+     * the other, and the count query is skipped when the page tells the total by itself.
+     *
+     * @param spec The specification to match, or null to match all the entries.
+     * @param pageable Object containing pagination information.
+     * @return The page of entries.
+     */
+    private Page<StringEntryDto> findPage(@Nullable Specification<StringEntry> spec, Pageable pageable) {
+        List<StringEntryDto> content = this.metrics.timeQuery(
+            StringEntryMetrics.DATA_QUERY,
+            () -> pageable.isUnpaged()
+                ? this.repository.findDtoRange(spec, pageable.getSort(), 0, Integer.MAX_VALUE)
+                : this.repository.findDtoRange(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+        );
+        Page<StringEntryDto> page = PageableExecutionUtils.getPage(
+            content,
+            pageable,
+            () -> this.metrics.timeQuery(StringEntryMetrics.COUNT_QUERY, () -> this.repository.count(spec))
+        );
+        this.metrics.recordRows(STORE_NAME, -1, page.getTotalElements(), content.size());
+
+        return page;
+    }
+
+    /**
+     * Builds the specification matching a filter, using the trigram index when it can serve the filter.
+     *
+     * @param filter The filter for the strings, or null to match all the strings.
+     * @return The specification, or null if there is no filter.
+     */
+    @Nullable
+    private Specification<StringEntry> filterSpecification(String filter) {
+        if (filter == null) {
+            return null;
+        }
+
+        Set<Long> trigrams = this.trigramIndex.searchTrigrams(filter);
+        return trigrams.isEmpty()
+            ? StringEntrySpecifications.valueContaining(filter)
+            : this.indexedFilterSpecification(filter, trigrams);
+    }
+
+    /**
+     * Builds the specification matching a filter through the candidates of the trigram index.
+     *
+     * @param filter The filter for the strings.
+     * @param trigrams The trigrams of the filter to look up.
+     * @return The specification.
+     */
+    private Specification<StringEntry> indexedFilterSpecification(String filter, Set<Long> trigrams) {
+        return StringEntrySpecifications.hasAllTrigrams(trigrams)
+            .and(StringEntrySpecifications.valueContaining(filter));
+    }
+
+    /**
+     * Transforms entities into DTOs.
+     *
+     * @param entries The entities.
+     * @return The DTOs.
+     */
+    private static List<StringEntryDto> toDtos(List<StringEntry> entries) {
+        return entries.stream()
+            .map(StringEntryMapper.INSTANCE::stringEntryToDto)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,253 @@
+package com.stringsdb.api.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A segment file of the embedded log, mapped in memory.
+ * <p>
+ * A segment is a sequence of records, each made of the length of its payload, the CRC-32 of its payload and the
+ * payload itself. The file is allocated at its full size when it is created, and its unused end is zeroed, so a zero
+ * length marks the end of the records. Appends are not thread-safe; reads may run concurrently with an append as long
+ * as they only read the records written before it.
+ */
+final class LogSegment implements Closeable {
+
+    /**
+     * The size of the header of a record: the length and the CRC-32 of its payload.
+     */
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * The number of the segment, which orders the segments of the log.
+     */
+    private final int number;
+
+    /**
+     * The path of the segment file.
+     */
+    private final Path path;
+
+    /**
+     * The channel of the segment file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped content of the segment file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * The offset of the end of the records.
+     */
+    private int size;
+
+    /**
+     * Opens a segment file, creating it if it does not exist.
+     *
+     * @param path The path of the segment file.
+     * @param number The number of the segment.
+     * @param capacity The size of a new segment file. Existing files keep their own size.
+     * @throws IOException If the file could not be opened or mapped.
+     */
+    LogSegment(Path path, int number, int capacity) throws IOException {
+        this.path = path;
+        this.number = number;
+        this.channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+        try {
+            long length = Math.max(this.channel.size(), capacity);
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Segment file too large: " + path);
+            }
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of the segment.
+     *
+     * @return The number.
+     */
+    int getNumber() {
+        return this.number;
+    }
+
+    /**
+     * Returns the path of the segment file.
+     *
+     * @return The path.
+     */
+    Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Returns the offset of the end of the records.
+     *
+     * @return The offset.
+     */
+    int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Visits the records of the segment, from the first one, and moves the end of the records after the last valid
+     * one. The scan stops at the end of the records, at a torn or corrupted record, or at a record the visitor rejects.
+     * The file is left as it is: the caller discards what follows the last valid record with {@link #truncate(int)}.
+     *
+     * @param visitor The visitor of the records.
+     * @return True if the scan reached the end of the records, false if it stopped at an invalid record.
+     */
+    boolean recover(RecordVisitor visitor) {
+        ByteBuffer records = this.buffer.duplicate();
+        CRC32 crc = new CRC32();
+
+        int offset = 0;
+        boolean intact = true;
+        while (offset + HEADER_SIZE <= records.capacity()) {
+            int length = records.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || length > records.capacity() - offset - HEADER_SIZE) {
+                intact = false;
+                break;
+            }
+
+            ByteBuffer payload = this.payload(offset, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != records.getInt(offset + Integer.BYTES) || !visitor.visit(offset, payload)) {
+                intact = false;
+                break;
+            }
+            offset += HEADER_SIZE + length;
+        }
+
+        this.size = offset;
+        return intact;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param payload The payload of the record.
+     * @return The offset of the record, or -1 if the segment has no room for it.
+     */
+    int append(byte[] payload) {
+        int offset = this.size;
+        if (payload.length > this.buffer.capacity() - offset - HEADER_SIZE) {
+            return -1;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        // The length is written last, so a record is never seen before its content
+        this.buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        ByteBuffer content = this.buffer.duplicate();
+        content.position(offset + HEADER_SIZE);
+        content.put(payload);
+        this.buffer.putInt(offset, payload.length);
+
+        this.size = offset + HEADER_SIZE + payload.length;
+        return offset;
+    }
+
+    /**
+     * Returns the payload of a record.
+     *
+     * @param offset The offset of the record.
+     * @return The payload, as a read-only buffer of its own.
+     */
+    ByteBuffer read(int offset) {
+        return this.payload(offset, this.buffer.getInt(offset));
+    }
+
+    /**
+     * Removes the records after an offset, zeroing them.
+     *
+     * @param offset The new end of the records.
+     */
+    void truncate(int offset) {
+        int end = this.buffer.capacity();
+        for (int position = offset; position < end; position++) {
+            if (this.buffer.get(position) != 0) {
+                // Only the bytes from the first non-zero one can be dirty, as the end of a new file is zeroed
+                for (int zeroed = position; zeroed < end; zeroed++) {
+                    this.buffer.put(zeroed, (byte) 0);
+                }
+                break;
+            }
+        }
+        this.size = offset;
+    }
+
+    /**
+     * Writes the changes of the segment to the disk.
+     */
+    void force() {
+        this.buffer.force();
+    }
+
+    /**
+     * Closes the segment file and deletes it.
+     *
+     * @throws IOException If the file could not be deleted.
+     */
+    void delete() throws IOException {
+        this.close();
+        Files.deleteIfExists(this.path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Returns a view of the payload of a record.
+     *
+     * @param offset The offset of the record.
+     * @param length The length of the payload.
+     * @return The payload.
+     */
+    private ByteBuffer payload(int offset, int length) {
+        ByteBuffer payload = this.buffer.asReadOnlyBuffer();
+        payload.position(offset + HEADER_SIZE);
+        payload.limit(offset + HEADER_SIZE + length);
+        return payload.slice();
+    }
+
+    /**
+     * Visits the records of a segment during its recovery.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+
+        /**
+         * Visits a valid record.
+         *
+         * @param offset The offset of the record.
+         * @param payload The payload of the record.
+         * @return True to go on with the next record, false to reject the record and end the segment before it.
+         */
+        boolean visit(int offset, ByteBuffer payload);
+    }
+}
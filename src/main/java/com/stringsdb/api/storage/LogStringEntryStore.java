@@ -0,0 +1,713 @@
+package com.stringsdb.api.storage;
+
+import com.stringsdb.api.configuration.StorageProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.utils.ContentHash;
+import com.stringsdb.api.utils.TextFolding;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores the string entries in an append-only log of segment files on the local disk, read through memory-mapped
+ * files. It needs no external database.
+ * <p>
+ * Every entry is a CRC-checked record of the log (see {@link LogSegment}). The position of every entry is kept in
+ * memory in an array indexed by ID, and the IDs are looked up by the content hash of their value in a
+ * {@link ValueHashIndex}, so reading an entry by ID or by value costs a single record read. Both are rebuilt from the
+ * log when the store is opened: the last segment is read up to its first torn or corrupted record, which is where a
+ * crash stopped the writes, and anything after it is discarded. An invalid record in an earlier segment fails the
+ * opening instead.
+ * <p>
+ * Writes are serialized, and a write is published to the readers only once all its records are written, so readers
+ * never block. Searches scan the entries: filters match the values containing them, case-sensitively, and values are
+ * sorted by their characters.
+ */
+@Slf4j
+@Component
+@ConditionalOnLogStorage
+public class LogStringEntryStore implements StringEntryStore, Closeable {
+
+    /**
+     * The name format of the segment files, from the number of the segment.
+     */
+    static final String SEGMENT_FILE_FORMAT = "segment-%08d.log";
+
+    /**
+     * The name pattern of the segment files.
+     */
+    private static final Pattern SEGMENT_FILE_PATTERN = Pattern.compile("segment-(\\d{8})\\.log");
+
+    /**
+     * The size of the fixed fields of an entry record: the ID and the creation date, as epoch seconds and nanoseconds.
+     */
+    private static final int FIXED_FIELDS_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * The initial capacity of the positions array.
+     */
+    private static final int INITIAL_POSITIONS = 1024;
+
+    /**
+     * The name of the store in the metrics.
+     */
+    private static final String STORE_NAME = "log";
+
+    /**
+     * The embedded log configuration.
+     */
+    private final StorageProperties.Log properties;
+
+    /**
+     * The size of a new segment file.
+     */
+    private final int segmentSize;
+
+    /**
+     * The segments of the log, in order. Segments are only added or removed by the writer.
+     */
+    private final List<LogSegment> segments = new CopyOnWriteArrayList<>();
+
+    /**
+     * The positions of the entries, by ID minus one: the index of the segment in the high half, the offset of the
+     * record in the low half. The array is replaced when it grows, and published by {@link #lastId}.
+     */
+    private volatile long[] positions = new long[INITIAL_POSITIONS];
+
+    /**
+     * The ID of the last entry published to the readers. IDs are assigned sequentially from 1.
+     */
+    private volatile int lastId;
+
+    /**
+     * The IDs by content hash of their value. Guarded by itself.
+     */
+    private final ValueHashIndex valueIndex = new ValueHashIndex();
+
+    /**
+     * Serializes the writes.
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * The metrics of the scans.
+     */
+    private final StringEntryMetrics metrics;
+
+    /**
+     * Opens the log, creating its directory if needed, and recovers its content.
+     *
+     * @param properties The storage configuration.
+     * @param metrics The metrics of the scans.
+     * @throws IOException If the log could not be opened.
+     */
+    public LogStringEntryStore(StorageProperties properties, StringEntryMetrics metrics) throws IOException {
+        this.properties = properties.getLog();
+        this.metrics = metrics;
+        if (this.properties.getSegmentSize().toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The segment size must be less than 2 GB");
+        }
+        this.segmentSize = (int) this.properties.getSegmentSize().toBytes();
+
+        Files.createDirectories(this.properties.getDirectory());
+        this.recover();
+    }
+
+    @Override
+    public Page<StringEntryDto> findMany(@Nullable String filter, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(
+                this.search(filter, null, pageable.getSort(), 0, Integer.MAX_VALUE, false).getEntries()
+            );
+        }
+
+        SearchResult result = this.search(
+            filter, null, pageable.getSort(), pageable.getOffset(), pageable.getPageSize(), true
+        );
+        return new PageImpl<>(result.getEntries(), pageable, result.getTotal());
+    }
+
+    @Override
+    public Page<StringEntryDto> findManyFolded(String filter, Pageable pageable) {
+        // Values are folded as they are scanned: every search reads all the values anyway
+        String folded = TextFolding.fold(filter);
+        Predicate<StringEntryDto> matches = entry -> TextFolding.fold(entry.getValue()).contains(folded);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(
+                this.search(null, matches, pageable.getSort(), 0, Integer.MAX_VALUE, false).getEntries()
+            );
+        }
+
+        SearchResult result = this.search(
+            null, matches, pageable.getSort(), pageable.getOffset(), pageable.getPageSize(), true
+        );
+        return new PageImpl<>(result.getEntries(), pageable, result.getTotal());
+    }
+
+    @Override
+    public FilterMatching getFilterMatching() {
+        return FilterMatching.EXACT;
+    }
+
+    @Override
+    public List<StringEntryDto> findRange(@Nullable String filter, Sort sort, long offset, int limit) {
+        return this.search(filter, null, sort, offset, limit, false).getEntries();
+    }
+
+    @Override
+    public List<StringEntryDto> findAfter(@Nullable String filter, KeysetCursor cursor, int limit) {
+        return this.search(filter, after(cursor), cursor.toSort(), 0, limit, false).getEntries();
+    }
+
+    @Override
+    public long count(@Nullable String filter) {
+        if (filter == null) {
+            return this.lastId;
+        }
+
+        int last = this.lastId;
+        long total = 0;
+        for (int id = 1; id <= last; id++) {
+            if (this.read(id).getValue().contains(filter)) {
+                total++;
+            }
+        }
+
+        return total;
+    }
+
+    @Override
+    public List<StringEntryDto> findIdRange(long fromId, long toId) {
+        int last = this.lastId;
+        if (fromId > last || toId <= fromId) {
+            return List.of();
+        }
+
+        int from = (int) Math.max(fromId, 1);
+        int to = (int) Math.min(toId - 1, last);
+        List<StringEntryDto> result = new ArrayList<>(Math.max(to - from + 1, 0));
+        for (int id = from; id <= to; id++) {
+            result.add(this.read(id));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<StringEntryDto> findById(Long id) {
+        if (id == null || id < 1 || id > this.lastId) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.read(id.intValue()));
+    }
+
+    @Override
+    public Map<Long, StringEntryDto> findAllById(Collection<Long> ids) {
+        Map<Long, StringEntryDto> result = new HashMap<>();
+        for (Long id : ids) {
+            this.findById(id).ifPresent(entry -> result.put(entry.getId(), entry));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<StringEntryDto> findFirstByValue(String value) {
+        int[] ids;
+        synchronized (this.valueIndex) {
+            ids = this.valueIndex.find(ContentHash.of(value));
+        }
+
+        // Different values may share a hash
+        return Arrays.stream(ids)
+            .mapToObj(this::read)
+            .filter(entry -> entry.getValue().equals(value))
+            .findFirst();
+    }
+
+    @Override
+    public Map<String, StringEntryDto> findFirstByValues(Collection<String> values) {
+        Map<String, StringEntryDto> result = new HashMap<>();
+        for (String value : values) {
+            this.findFirstByValue(value).ifPresent(entry -> result.put(value, entry));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<Long> findLastId() {
+        int last = this.lastId;
+        return last == 0 ? Optional.empty() : Optional.of((long) last);
+    }
+
+    @Override
+    public void forEach(Consumer<StringEntryDto> action) {
+        int last = this.lastId;
+        for (int id = 1; id <= last; id++) {
+            action.accept(this.read(id));
+        }
+    }
+
+    @Override
+    public StringEntryDto save(StringEntrySaveDto item) {
+        return this.saveAll(List.of(item)).get(0);
+    }
+
+    /**
+     * Stores many entries at once. The records are appended to the log and, when configured, forced to the disk with
+     * a single sync, before any of them is published. If a record could not be written, the records written before it
+     * are removed from the log.
+     *
+     * @param items The entries to store.
+     * @return The stored entries, in the same order as the entries to store.
+     */
+    @Override
+    public List<StringEntryDto> saveAll(List<StringEntrySaveDto> items) {
+        synchronized (this.writeLock) {
+            int firstSegment = this.segments.size() - 1;
+            int firstOffset = this.segments.get(firstSegment).getSize();
+
+            List<StringEntryDto> result = new ArrayList<>(items.size());
+            long[] itemPositions = new long[items.size()];
+            try {
+                for (int i = 0; i < items.size(); i++) {
+                    StringEntryDto entry = new StringEntryDto();
+                    entry.setId(this.lastId + i + 1L);
+                    entry.setValue(items.get(i).getValue());
+                    entry.setCreatedAt(LocalDateTime.now());
+
+                    itemPositions[i] = this.append(encode(entry));
+                    result.add(entry);
+                }
+                if (this.properties.isFsync()) {
+                    for (LogSegment segment : this.segments.subList(firstSegment, this.segments.size())) {
+                        segment.force();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                this.rollback(firstSegment, firstOffset);
+                throw e instanceof IOException
+                    ? new UncheckedIOException("Could not write the entries to the log", (IOException) e)
+                    : (RuntimeException) e;
+            }
+
+            this.publish(result, itemPositions);
+            return result;
+        }
+    }
+
+    /**
+     * Writes the segments to the disk and closes them.
+     *
+     * @throws IOException If a segment could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this.writeLock) {
+            for (LogSegment segment : this.segments) {
+                segment.force();
+                segment.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the segments of the log, rebuilding the positions and value indexes. A crash can only tear the end of the
+     * last segment, so an invalid record there ends the log and the records after it are discarded. An invalid record
+     * in an earlier segment is a corruption of committed entries: the log is not opened, and no file is changed.
+     *
+     * @throws IOException If a segment could not be opened, or holds an invalid record and is not the last one.
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(this.properties.getDirectory())) {
+            files = paths
+                .filter(path -> SEGMENT_FILE_PATTERN.matcher(path.getFileName().toString()).matches())
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        long[] recoveredPositions = new long[INITIAL_POSITIONS];
+        int recoveredLastId = 0;
+        for (Path file : files) {
+            Matcher matcher = SEGMENT_FILE_PATTERN.matcher(file.getFileName().toString());
+            matcher.matches();
+            LogSegment segment = new LogSegment(file, Integer.parseInt(matcher.group(1)), this.segmentSize);
+            boolean last = file.equals(files.get(files.size() - 1));
+
+            int segmentIndex = this.segments.size();
+            long[][] positionsHolder = {recoveredPositions};
+            int[] lastIdHolder = {recoveredLastId};
+            boolean intact = segment.recover((offset, payload) -> {
+                // A record out of sequence was not written by this log
+                long id = payload.getLong(0);
+                if (id != lastIdHolder[0] + 1L) {
+                    return false;
+                }
+
+                positionsHolder[0] = withPosition(positionsHolder[0], (int) id, segmentIndex, offset);
+                this.valueIndex.add(ContentHash.of(decode(payload.duplicate()).getValue()), (int) id);
+                lastIdHolder[0] = (int) id;
+                return true;
+            });
+            recoveredPositions = positionsHolder[0];
+            recoveredLastId = lastIdHolder[0];
+            this.segments.add(segment);
+
+            if (!intact && !last) {
+                for (LogSegment opened : this.segments) {
+                    opened.close();
+                }
+                throw new IOException(String.format(
+                    "Invalid record in segment %s after entry %d, which is not the last segment of the log: restore "
+                        + "it from a backup, or move it and the later segments out of %s to keep the entries before it",
+                    file, recoveredLastId, this.properties.getDirectory()
+                ));
+            }
+            if (!intact) {
+                log.warn("Invalid record in segment {} after entry {}, the log ends there", file, recoveredLastId);
+            }
+            if (last) {
+                segment.truncate(segment.getSize());
+            }
+        }
+
+        if (this.segments.isEmpty()) {
+            this.segments.add(this.createSegment(0));
+        }
+        this.positions = recoveredPositions;
+        this.lastId = recoveredLastId;
+
+        log.info("Entry log opened: {} entries in {} segments", recoveredLastId, this.segments.size());
+    }
+
+    /**
+     * Appends a record to the last segment, starting a new segment when it is full.
+     *
+     * @param payload The payload of the record.
+     * @return The position of the record.
+     * @throws IOException If a new segment could not be created.
+     */
+    private long append(byte[] payload) throws IOException {
+        LogSegment segment = this.segments.get(this.segments.size() - 1);
+        int offset = segment.append(payload);
+        if (offset < 0) {
+            if (this.properties.isFsync()) {
+                segment.force();
+            }
+            segment = this.createSegment(segment.getNumber() + 1);
+            this.segments.add(segment);
+
+            offset = segment.append(payload);
+            if (offset < 0) {
+                throw new IllegalArgumentException("The entry is larger than a segment");
+            }
+        }
+
+        return position(this.segments.size() - 1, offset);
+    }
+
+    /**
+     * Removes the records written after a position of the log, after a failed write.
+     *
+     * @param segmentIndex The index of the segment of the position.
+     * @param offset The offset of the position in the segment.
+     */
+    private void rollback(int segmentIndex, int offset) {
+        while (this.segments.size() > segmentIndex + 1) {
+            LogSegment segment = this.segments.remove(this.segments.size() - 1);
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                log.error("Could not delete segment {}", segment.getPath(), e);
+            }
+        }
+        this.segments.get(segmentIndex).truncate(offset);
+    }
+
+    /**
+     * Publishes written entries to the readers.
+     *
+     * @param entries The written entries, in ID order.
+     * @param entryPositions The positions of the entries.
+     */
+    private void publish(List<StringEntryDto> entries, long[] entryPositions) {
+        long[] newPositions = this.positions;
+        for (int i = 0; i < entries.size(); i++) {
+            int id = entries.get(i).getId().intValue();
+            newPositions = withPosition(newPositions, id, (int) (entryPositions[i] >>> 32), (int) entryPositions[i]);
+        }
+
+        // The positions are published before the last ID, which readers read first
+        this.positions = newPositions;
+        if (!entries.isEmpty()) {
+            this.lastId = entries.get(entries.size() - 1).getId().intValue();
+        }
+
+        synchronized (this.valueIndex) {
+            for (StringEntryDto entry : entries) {
+                this.valueIndex.add(ContentHash.of(entry.getValue()), entry.getId().intValue());
+            }
+        }
+    }
+
+    /**
+     * Creates a new segment file.
+     *
+     * @param number The number of the segment.
+     * @return The segment.
+     * @throws IOException If the segment could not be created.
+     */
+    private LogSegment createSegment(int number) throws IOException {
+        Path path = this.properties.getDirectory().resolve(String.format(SEGMENT_FILE_FORMAT, number));
+        return new LogSegment(path, number, this.segmentSize);
+    }
+
+    /**
+     * Reads a published entry.
+     *
+     * @param id The ID of the entry.
+     * @return The entry.
+     */
+    private StringEntryDto read(int id) {
+        long position = this.positions[id - 1];
+        return decode(this.segments.get((int) (position >>> 32)).read((int) position));
+    }
+
+    /**
+     * Finds the entries matching a filter and a condition, in the order of a sort. When the sort is by ID only, the
+     * entries are visited in that order and the scan stops as soon as the range is complete, unless the matching
+     * entries must be counted; otherwise the best entries are kept in a bounded heap.
+     *
+     * @param filter The filter for the strings, or null to match all the entries.
+     * @param condition Another condition on the entries, such as their position, or null to match all the entries.
+     * @param sort The sort of the entries.
+     * @param offset The amount of matching entries to skip.
+     * @param limit The maximum amount of entries to return.
+     * @param counting Informs if all the matching entries must be counted.
+     * @return The entries in the range, and the amount of matching entries if they were counted.
+     */
+    private SearchResult search(
+        @Nullable String filter,
+        @Nullable Predicate<StringEntryDto> condition,
+        Sort sort,
+        long offset,
+        int limit,
+        boolean counting
+    ) {
+        Comparator<StringEntryDto> order = comparator(sort);
+        Predicate<StringEntryDto> matches = filter == null ? entry -> true : entry -> entry.getValue().contains(filter);
+        if (condition != null) {
+            matches = matches.and(condition);
+        }
+        long end = offset + limit;
+        int last = this.lastId;
+
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty() || orders.size() == 1 && orders.get(0).getProperty().equals("id")) {
+            boolean ascending = orders.isEmpty() || orders.get(0).isAscending();
+            List<StringEntryDto> entries = new ArrayList<>();
+            long total = 0;
+            int i = 0;
+            for (; i < last && (counting || total < end); i++) {
+                StringEntryDto entry = this.read(ascending ? i + 1 : last - i);
+                if (matches.test(entry)) {
+                    if (total >= offset && total < end) {
+                        entries.add(entry);
+                    }
+                    total++;
+                }
+            }
+            this.metrics.recordRows(STORE_NAME, i, counting ? total : -1, entries.size());
+
+            return new SearchResult(entries, total);
+        }
+
+        PriorityQueue<StringEntryDto> best = new PriorityQueue<>(order.reversed());
+        long total = 0;
+        for (int id = 1; id <= last; id++) {
+            StringEntryDto entry = this.read(id);
+            if (matches.test(entry)) {
+                best.add(entry);
+                if (best.size() > end) {
+                    best.poll();
+                }
+                total++;
+            }
+        }
+
+        List<StringEntryDto> entries = new ArrayList<>(best);
+        entries.sort(order);
+        List<StringEntryDto> range = offset >= entries.size()
+            ? Collections.emptyList()
+            : entries.subList((int) offset, entries.size());
+        this.metrics.recordRows(STORE_NAME, last, total, range.size());
+
+        return new SearchResult(range, total);
+    }
+
+    /**
+     * Builds the condition matching the entries after the position of a keyset cursor.
+     *
+     * @param cursor The cursor.
+     * @return The condition, or null for a cursor at the start of the walk.
+     */
+    @Nullable
+    private static Predicate<StringEntryDto> after(KeysetCursor cursor) {
+        if (cursor.isFirst()) {
+            return null;
+        }
+
+        StringEntryDto last = new StringEntryDto();
+        last.setId(cursor.getLastId());
+        if (cursor.getLastKey() instanceof LocalDateTime) {
+            last.setCreatedAt((LocalDateTime) cursor.getLastKey());
+        } else if (cursor.getLastKey() instanceof String) {
+            last.setValue((String) cursor.getLastKey());
+        }
+
+        Comparator<StringEntryDto> order = comparator(cursor.toSort());
+        return entry -> order.compare(entry, last) > 0;
+    }
+
+    /**
+     * Builds the comparator of a sort, using the ID as a tie-breaker.
+     *
+     * @param sort The sort.
+     * @return The comparator.
+     * @throws IllegalArgumentException If the sort uses an unknown property.
+     */
+    private static Comparator<StringEntryDto> comparator(Sort sort) throws IllegalArgumentException {
+        Comparator<StringEntryDto> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<StringEntryDto> byProperty;
+            switch (order.getProperty()) {
+                case "id":
+                    byProperty = Comparator.comparing(StringEntryDto::getId);
+                    break;
+                case "createdAt":
+                    byProperty = Comparator.comparing(StringEntryDto::getCreatedAt);
+                    break;
+                case "value":
+                    byProperty = Comparator.comparing(StringEntryDto::getValue);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown sort property: " + order.getProperty());
+            }
+            byProperty = order.isAscending() ? byProperty : byProperty.reversed();
+            result = result == null ? byProperty : result.thenComparing(byProperty);
+        }
+
+        Comparator<StringEntryDto> byId = Comparator.comparing(StringEntryDto::getId);
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    /**
+     * Stores the position of an entry, growing the positions array if needed.
+     *
+     * @param positions The positions array.
+     * @param id The ID of the entry.
+     * @param segmentIndex The index of the segment of the entry.
+     * @param offset The offset of the record of the entry.
+     * @return The positions array, or a larger copy of it.
+     */
+    private static long[] withPosition(long[] positions, int id, int segmentIndex, int offset) {
+        long[] result = positions;
+        if (id > result.length) {
+            result = Arrays.copyOf(result, Math.max(id, 2 * result.length));
+        }
+        result[id - 1] = position(segmentIndex, offset);
+
+        return result;
+    }
+
+    /**
+     * Builds the position of a record.
+     *
+     * @param segmentIndex The index of the segment of the record.
+     * @param offset The offset of the record in the segment.
+     * @return The position.
+     */
+    private static long position(int segmentIndex, int offset) {
+        return (long) segmentIndex << 32 | offset & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Encodes an entry as the payload of a record.
+     *
+     * @param entry The entry.
+     * @return The payload.
+     */
+    private static byte[] encode(StringEntryDto entry) {
+        byte[] value = entry.getValue().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(FIXED_FIELDS_SIZE + value.length)
+            .putLong(entry.getId())
+            .putLong(entry.getCreatedAt().toEpochSecond(ZoneOffset.UTC))
+            .putInt(entry.getCreatedAt().getNano())
+            .put(value)
+            .array();
+    }
+
+    /**
+     * Decodes an entry from the payload of a record.
+     *
+     * @param payload The payload, consumed by the decoding.
+     * @return The entry.
+     */
+    private static StringEntryDto decode(ByteBuffer payload) {
+        StringEntryDto entry = new StringEntryDto();
+        entry.setId(payload.getLong());
+        entry.setCreatedAt(LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC));
+
+        byte[] value = new byte[payload.remaining()];
+        payload.get(value);
+        entry.setValue(new String(value, StandardCharsets.UTF_8));
+
+        return entry;
+    }
+
+    /**
+     * The result of a search.
+     */
+    @Value
+    private static class SearchResult {
+
+        /**
+         * The entries in the searched range.
+         */
+        List<StringEntryDto> entries;
+
+        /**
+         * The amount of matching entries, if they were counted.
+         */
+        long total;
+    }
+}
@@ -0,0 +1,132 @@
+package com.stringsdb.api.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An append-only arena of UTF-8 strings, kept off the heap in direct buffers.
+ * <p>
+ * A string is referenced by the index of its chunk in the high half of a long and its offset in the chunk in the low
+ * half; its length is kept by the caller. Strings are searched on their bytes, without decoding them: a substring of
+ * a value is a byte substring of its encoding.
+ * <p>
+ * Appends are not thread-safe. Reads may run concurrently with an append as long as they only read the strings
+ * appended before it, published to them through a volatile write.
+ */
+final class StringArena {
+
+    /**
+     * The size of a chunk, in bytes.
+     */
+    private final int chunkSize;
+
+    /**
+     * The chunks. The array is replaced when a chunk is added.
+     */
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+
+    /**
+     * The offset of the free space of the last chunk.
+     */
+    private int position;
+
+    /**
+     * Creates an empty arena.
+     *
+     * @param chunkSize The size of a chunk, in bytes. It bounds the size of a string.
+     */
+    StringArena(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Appends a string.
+     *
+     * @param value The UTF-8 bytes of the string.
+     * @return The reference of the string.
+     * @throws IllegalArgumentException If the string is larger than a chunk.
+     */
+    long append(byte[] value) throws IllegalArgumentException {
+        if (value.length > this.chunkSize) {
+            throw new IllegalArgumentException("The value is larger than an arena chunk");
+        }
+
+        ByteBuffer[] current = this.chunks;
+        if (current.length == 0 || this.position + value.length > this.chunkSize) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = ByteBuffer.allocateDirect(this.chunkSize);
+            this.chunks = current;
+            this.position = 0;
+        }
+
+        ByteBuffer chunk = current[current.length - 1].duplicate();
+        chunk.position(this.position);
+        chunk.put(value);
+
+        long reference = (long) (current.length - 1) << 32 | this.position;
+        this.position += value.length;
+        return reference;
+    }
+
+    /**
+     * Decodes a string.
+     *
+     * @param reference The reference of the string.
+     * @param length The length of the string, in bytes.
+     * @return The string.
+     */
+    String get(long reference, int length) {
+        ByteBuffer chunk = this.chunk(reference).duplicate();
+        chunk.position((int) reference);
+
+        byte[] value = new byte[length];
+        chunk.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Informs if a string contains a sequence of bytes.
+     *
+     * @param reference The reference of the string.
+     * @param length The length of the string, in bytes.
+     * @param needle The searched bytes.
+     * @return True if the string contains the bytes, false otherwise.
+     */
+    boolean contains(long reference, int length, byte[] needle) {
+        ByteBuffer chunk = this.chunk(reference);
+        int start = (int) reference;
+        int last = start + length - needle.length;
+
+        for (int offset = start; offset <= last; offset++) {
+            int matched = 0;
+            while (matched < needle.length && chunk.get(offset + matched) == needle[matched]) {
+                matched++;
+            }
+            if (matched == needle.length) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the off-heap memory allocated by the arena.
+     *
+     * @return The allocated memory, in bytes.
+     */
+    long getAllocatedMemory() {
+        return (long) this.chunks.length * this.chunkSize;
+    }
+
+    /**
+     * Returns the chunk of a string.
+     *
+     * @param reference The reference of the string.
+     * @return The chunk.
+     */
+    private ByteBuffer chunk(long reference) {
+        return this.chunks[(int) (reference >>> 32)];
+    }
+}
@@ -0,0 +1,176 @@
+package com.stringsdb.api.storage;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.pagination.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage of string entries.
+ * <p>
+ * Entries are never updated nor deleted once stored. The backend is selected by the {@code stringsdb.storage.type}
+ * configuration property (see {@link com.stringsdb.api.configuration.StorageProperties}).
+ */
+public interface StringEntryStore {
+
+    /**
+     * The ways a filter matches the values containing it.
+     */
+    enum FilterMatching {
+
+        /**
+         * The filter matches the values as they are.
+         */
+        EXACT,
+
+        /**
+         * The filter matches ignoring case and accents, like the filters of
+         * {@link #findManyFolded(String, Pageable)}.
+         */
+        FOLDED,
+
+        /**
+         * The filter matches following rules of the store that are neither exact nor folded, such as a collation
+         * ignoring case but not accents.
+         */
+        OTHER
+    }
+
+    /**
+     * Returns a page of the entries whose value contains a filter, with the total of matching entries.
+     *
+     * @param filter The filter for the strings, or null to match all the entries.
+     * @param pageable Object containing pagination information.
+     * @return A page of entries.
+     */
+    Page<StringEntryDto> findMany(@Nullable String filter, Pageable pageable);
+
+    /**
+     * Returns a page of the entries whose value contains a filter ignoring case and accents, with the total of
+     * matching entries. The filter and the values are compared folded, see
+     * {@link com.stringsdb.api.utils.TextFolding}.
+     *
+     * @param filter The filter for the strings.
+     * @param pageable Object containing pagination information.
+     * @return A page of entries.
+     */
+    Page<StringEntryDto> findManyFolded(String filter, Pageable pageable);
+
+    /**
+     * Tells how the filters of the other searches match the values.
+     *
+     * @return How the filters match the values.
+     */
+    FilterMatching getFilterMatching();
+
+    /**
+     * Returns a range of the entries whose value contains a filter, without counting the matching entries.
+     *
+     * @param filter The filter for the strings, or null to match all the entries.
+     * @param sort The sort of the entries.
+     * @param offset The amount of matching entries to skip.
+     * @param limit The maximum amount of entries to return.
+     * @return A list of entries.
+     */
+    List<StringEntryDto> findRange(@Nullable String filter, Sort sort, long offset, int limit);
+
+    /**
+     * Returns the entries whose value contains a filter after the position of a keyset cursor, in the order of the
+     * cursor.
+     *
+     * @param filter The filter for the strings, or null to match all the entries.
+     * @param cursor The position of the walk.
+     * @param limit The maximum amount of entries to return.
+     * @return A list of entries.
+     */
+    List<StringEntryDto> findAfter(@Nullable String filter, KeysetCursor cursor, int limit);
+
+    /**
+     * Counts the entries whose value contains a filter.
+     *
+     * @param filter The filter for the strings, or null to count all the entries.
+     * @return The amount of matching entries.
+     */
+    long count(@Nullable String filter);
+
+    /**
+     * Returns the entries in a range of IDs, ordered by ID. IDs may have gaps, so the range may hold fewer entries
+     * than IDs.
+     *
+     * @param fromId The lowest ID of the range, inclusive.
+     * @param toId The highest ID of the range, exclusive.
+     * @return A list of entries.
+     */
+    List<StringEntryDto> findIdRange(long fromId, long toId);
+
+    /**
+     * Returns an entry.
+     *
+     * @param id The ID of the entry.
+     * @return The entry, or an empty optional object if it was not found.
+     */
+    Optional<StringEntryDto> findById(Long id);
+
+    /**
+     * Returns many entries.
+     *
+     * @param ids The IDs of the entries.
+     * @return The found entries, by ID.
+     */
+    Map<Long, StringEntryDto> findAllById(Collection<Long> ids);
+
+    /**
+     * Returns the oldest entry with exactly a value.
+     *
+     * @param value The value.
+     * @return The entry, or an empty optional object if no entry has the value.
+     */
+    Optional<StringEntryDto> findFirstByValue(String value);
+
+    /**
+     * Returns the oldest entries with exactly many values.
+     *
+     * @param values The values.
+     * @return The found entries, by value.
+     */
+    Map<String, StringEntryDto> findFirstByValues(Collection<String> values);
+
+    /**
+     * Returns the greatest ID of the stored entries.
+     *
+     * @return The ID, or an empty optional object if there are no entries.
+     */
+    Optional<Long> findLastId();
+
+    /**
+     * Visits all the entries in ID order, using the same memory whatever the amount of entries.
+     *
+     * @param action The action applied to every entry.
+     */
+    void forEach(Consumer<StringEntryDto> action);
+
+    /**
+     * Stores an entry.
+     *
+     * @param item The entry to store.
+     * @return The stored entry.
+     */
+    StringEntryDto save(StringEntrySaveDto item);
+
+    /**
+     * Stores many entries at once. Either all the entries are stored or none is.
+     *
+     * @param items The entries to store.
+     * @return The stored entries, in the same order as the entries to store.
+     */
+    List<StringEntryDto> saveAll(List<StringEntrySaveDto> items);
+}
@@ -0,0 +1,122 @@
+package com.stringsdb.api.storage;
+
+import java.util.Arrays;
+
+/**
+ * An index of entry IDs by the content hash of their value, for the embedded log.
+ * <p>
+ * The index is an open-addressing hash table with linear probing, kept in two primitive arrays, so it costs about 24
+ * bytes per entry instead of the hundred bytes of a boxed map. Entries are never removed, and values sharing a hash
+ * keep one slot each. The index is not thread-safe.
+ */
+final class ValueHashIndex {
+
+    /**
+     * The initial amount of slots. It is a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The hashes of the slots.
+     */
+    private long[] hashes = new long[INITIAL_CAPACITY];
+
+    /**
+     * The entry IDs of the slots, or 0 for a free slot.
+     */
+    private int[] ids = new int[INITIAL_CAPACITY];
+
+    /**
+     * The amount of used slots.
+     */
+    private int size;
+
+    /**
+     * Adds an entry.
+     *
+     * @param hash The content hash of the value of the entry.
+     * @param id The ID of the entry. It is positive.
+     */
+    void add(long hash, int id) {
+        // The table is kept at most half full, so probe sequences stay short
+        if (2 * (this.size + 1) > this.ids.length) {
+            this.resize();
+        }
+        this.insert(hash, id);
+        this.size++;
+    }
+
+    /**
+     * Returns the IDs of the entries whose value has a hash.
+     *
+     * @param hash The content hash of the value.
+     * @return The IDs, in ascending order.
+     */
+    int[] find(long hash) {
+        int[] result = new int[0];
+        int mask = this.ids.length - 1;
+        for (int slot = slotOf(hash, mask); this.ids[slot] != 0; slot = (slot + 1) & mask) {
+            if (this.hashes[slot] == hash) {
+                result = Arrays.copyOf(result, result.length + 1);
+                result[result.length - 1] = this.ids[slot];
+            }
+        }
+
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the amount of entries in the index.
+     *
+     * @return The amount of entries.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Doubles the amount of slots.
+     */
+    private void resize() {
+        long[] oldHashes = this.hashes;
+        int[] oldIds = this.ids;
+
+        this.hashes = new long[oldIds.length * 2];
+        this.ids = new int[oldIds.length * 2];
+        for (int slot = 0; slot < oldIds.length; slot++) {
+            if (oldIds[slot] != 0) {
+                this.insert(oldHashes[slot], oldIds[slot]);
+            }
+        }
+    }
+
+    /**
+     * Stores an entry in the first free slot of its probe sequence.
+     *
+     * @param hash The content hash of the value of the entry.
+     * @param id The ID of the entry.
+     */
+    private void insert(long hash, int id) {
+        int mask = this.ids.length - 1;
+        int slot = slotOf(hash, mask);
+        while (this.ids[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        this.hashes[slot] = hash;
+        this.ids[slot] = id;
+    }
+
+    /**
+     * Returns the first slot of the probe sequence of a hash.
+     *
+     * @param hash The hash.
+     * @param mask The mask of the slot numbers.
+     * @return The slot.
+     */
+    private static int slotOf(long hash, int mask) {
+        // Content hashes are already uniformly distributed, the high bits are only folded in for safety
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,37 @@
+package com.stringsdb.api.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes content hashes of string values.
+ */
+public final class ContentHash {
+
+    /**
+     * The digest algorithm. Every JVM is required to support it.
+     */
+    private static final String ALGORITHM = "SHA-256";
+
+    private ContentHash() {
+    }
+
+    /**
+     * Computes the content hash of a value: the first 64 bits of the SHA-256 digest of its UTF-8 bytes.
+     * <p>
+     * Different values may share a hash, so values found by hash must still be compared with the searched value.
+     *
+     * @param value The value.
+     * @return The content hash.
+     */
+    public static long of(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance(ALGORITHM).digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.stringsdb.api.utils;
+
+import java.text.Normalizer;
+
+/**
+ * Folds text into a case- and accent-insensitive form.
+ */
+public final class TextFolding {
+
+    private TextFolding() {
+    }
+
+    /**
+     * Folds a string: applies a compatibility decomposition (NFKD), drops combining marks and case-folds every
+     * remaining code point.
+     * <p>
+     * The folding is applied code point by code point (no context-sensitive rules), so folding a substring of a value
+     * always produces a substring of the folded value.
+     *
+     * @param str The string to fold.
+     * @return The folded string.
+     */
+    public static String fold(String str) {
+        String decomposed = Normalizer.normalize(str, Normalizer.Form.NFKD);
+        StringBuilder result = new StringBuilder(decomposed.length());
+
+        decomposed.codePoints().forEach(codePoint -> {
+            if (!isMark(codePoint)) {
+                result.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint)));
+            }
+        });
+
+        return result.toString();
+    }
+
+    /**
+     * Informs if a code point is a combining mark (accents, diacritics, etc).
+     *
+     * @param codePoint The code point to check.
+     * @return True if the code point is a mark, false otherwise.
+     */
+    private static boolean isMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+            || type == Character.COMBINING_SPACING_MARK
+            || type == Character.ENCLOSING_MARK;
+    }
+}
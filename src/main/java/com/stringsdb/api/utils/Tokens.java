@@ -0,0 +1,46 @@
+package com.stringsdb.api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits strings into the terms of the full-text index.
+ * <p>
+ * A term is a maximal run of letters and digits of the folded string (see {@link TextFolding}), so terms match
+ * ignoring case and accents, and any other character separates them.
+ */
+public final class Tokens {
+
+    private Tokens() {
+    }
+
+    /**
+     * Returns the terms of a string, in the order they appear, including repeated terms.
+     *
+     * @param str The string to split.
+     * @return The terms of the string.
+     */
+    public static List<String> of(String str) {
+        String folded = TextFolding.fold(str);
+        List<String> result = new ArrayList<>();
+
+        int start = -1;
+        for (int i = 0; i < folded.length(); ) {
+            int codePoint = folded.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                result.add(folded.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            result.add(folded.substring(start));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package com.stringsdb.api.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Extracts trigrams from strings.
+ * <p>
+ * A trigram is a sequence of three consecutive code points of the folded string (see {@link TextFolding}). Each
+ * trigram is packed into a single {@code long} (21 bits per code point), which keeps the index compact and free of
+ * database collation issues.
+ */
+public final class Trigrams {
+
+    /**
+     * The amount of code points in a trigram.
+     */
+    public static final int LENGTH = 3;
+
+    /**
+     * The amount of bits used to store a single code point.
+     */
+    private static final int BITS_PER_CODE_POINT = 21;
+
+    private Trigrams() {
+    }
+
+    /**
+     * Returns the distinct trigrams of a string, in the order they first appear.
+     *
+     * @param str The string to extract the trigrams from.
+     * @return The distinct trigrams of the string, or an empty set if the folded string is shorter than three code
+     *     points.
+     */
+    public static Set<Long> of(String str) {
+        int[] codePoints = TextFolding.fold(str).codePoints().toArray();
+        Set<Long> result = new LinkedHashSet<>();
+
+        for (int i = 0; i + LENGTH <= codePoints.length; i++) {
+            result.add(pack(codePoints[i], codePoints[i + 1], codePoints[i + 2]));
+        }
+
+        return result;
+    }
+
+    /**
+     * Packs three code points into a trigram.
+     *
+     * @param first The first code point.
+     * @param second The second code point.
+     * @param third The third code point.
+     * @return The packed trigram.
+     */
+    public static long pack(int first, int second, int third) {
+        return ((long) first << (2 * BITS_PER_CODE_POINT))
+            | ((long) second << BITS_PER_CODE_POINT)
+            | third;
+    }
+}
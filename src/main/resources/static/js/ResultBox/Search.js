@@ -1,5 +1,43 @@
+import axios from 'axios';
+
+const SUGGESTIONS_DELAY_MS = 150; // <- Waits for a pause in the typing before asking for suggestions
+const SUGGESTIONS_LIMIT = 8;
+
 const Search = (props) => {
     const [ searchValue, setSearchValue ] = React.useState('');
+    const [ suggestions, setSuggestions ] = React.useState([]);
+
+    React.useEffect(() => {
+        if (searchValue.trim() === '') {
+            setSuggestions([]);
+            return;
+        }
+
+        let isCurrent = true;
+        const timeout = setTimeout(() => {
+            axios.get('/strings/suggest', {
+                params: {
+                    prefix: searchValue,
+                    limit: SUGGESTIONS_LIMIT,
+                }
+            }).then((result) => {
+                // Responses to older prefixes may arrive after the current one
+                if (isCurrent && result.status === 200) {
+                    setSuggestions(result.data);
+                }
+            }, () => {
+                // Suggestions are optional: the search itself still works without them
+                if (isCurrent) {
+                    setSuggestions([]);
+                }
+            });
+        }, SUGGESTIONS_DELAY_MS);
+
+        return () => {
+            isCurrent = false;
+            clearTimeout(timeout);
+        };
+    }, [searchValue]);
 
     const onSubmit = (event) => {
         event.preventDefault();
@@ -13,10 +51,17 @@ const Search = (props) => {
                        placeholder="What are you searching for?"
                        aria-describedby="button-search"
                        className="form-control shadow-none"
+                       list="search-suggestions"
+                       autoComplete="off"
                        disabled={props.isLoading}
                        value={searchValue}
                        onChange={(event) => setSearchValue(event.target.value)}
                 />
+                <datalist id="search-suggestions">
+                    { suggestions.map((suggestion) => (
+                        <option key={suggestion.id} value={suggestion.value} />
+                    )) }
+                </datalist>
                 <button id="button-search"
                         type="submit"
                         className="btn btn-primary shadow-none"
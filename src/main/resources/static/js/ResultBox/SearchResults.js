@@ -1,17 +1,46 @@
 import Alert from "./js/Alert";
 
+// Merges the overlapping occurrences of the terms, which the API returns ordered by offset, into highlighted ranges
+const highlightedRanges = (matches) => {
+    const ranges = [];
+    (matches || []).forEach(({ start, end }) => {
+        const last = ranges[ranges.length - 1];
+        if (last && start <= last.end) {
+            last.end = Math.max(last.end, end);
+        } else {
+            ranges.push({ start, end });
+        }
+    });
+    return ranges;
+};
+
+const HighlightedValue = ({ value, matches }) => {
+    const parts = [];
+    let position = 0;
+    highlightedRanges(matches).forEach(({ start, end }) => {
+        if (start > position) {
+            parts.push(value.substring(position, start));
+        }
+        parts.push(<mark key={start}>{value.substring(start, end)}</mark>);
+        position = end;
+    });
+    parts.push(value.substring(position));
+
+    return <React.Fragment>{parts}</React.Fragment>;
+};
+
 const SearchResults = (props) => {
     if (!props.values) {
         return <React.Fragment></React.Fragment>;
     }
 
-    let results;;
+    let results;
     const noResults = props.values.length == 0;
 
     if (!noResults) {
         results = props.values.map((stringEntry) => (
             <li key={stringEntry.id} className="list-group-item">
-                {stringEntry.value}
+                <HighlightedValue value={stringEntry.value} matches={stringEntry.matches} />
             </li>
         ));
     }
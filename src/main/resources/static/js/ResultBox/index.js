@@ -17,20 +17,33 @@ const ResultBox = () => {
         setIsLoading(true);
         setLastSearchValue(searchValue);
 
-        axios.get('/strings', {
-            params: {
-                filter: searchValue,
-                sort: 'value',
-                page: (page) ? page - 1 : 0, // <- First page in the API is 0
-                size: 10, // <- Currently hardcoded, but it should be stored in a configuration
-            }
-        }).then((result) => {
+        // A single word keeps the sorted listing. Several words are terms, repeated as filter parameters, that the
+        // strings must all contain: the API returns where they occur, so the results are highlighted without
+        // searching them again.
+        const params = new URLSearchParams();
+        const terms = searchValue.split(/\s+/).filter((term) => term !== '');
+        if (terms.length > 1) {
+            terms.forEach((term) => params.append('filter', term));
+            params.append('match', 'all');
+            params.append('sort', 'id,desc');
+        } else {
+            params.append('filter', searchValue);
+            params.append('sort', 'value');
+        }
+        params.append('page', (page) ? page - 1 : 0); // <- First page in the API is 0
+        params.append('size', 10); // <- Currently hardcoded, but it should be stored in a configuration
+
+        axios.get('/strings', { params }).then((result) => {
             setIsLoading(false);
             if (result.status === 200) {
-                setSearchResult(result.data.content);
+                const { content, totalElements, number, size, numberOfElements, last } = result.data;
+                setSearchResult(content);
+                // Matches are not counted: the pagination grows by one page while there is a next one
                 setPaginationInfo({
-                    totalItems: result.data.totalElements,
-                    perPage: result.data.size,
+                    totalItems: (totalElements !== undefined)
+                        ? totalElements
+                        : number * size + numberOfElements + (last ? 0 : 1),
+                    perPage: size,
                 });
             } else {
                 setError(`Unexpected HTTP response code: ${result.status}`);
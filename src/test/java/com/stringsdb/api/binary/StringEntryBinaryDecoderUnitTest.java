@@ -0,0 +1,87 @@
+package com.stringsdb.api.binary;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for the string entry binary decoder")
+public class StringEntryBinaryDecoderUnitTest {
+
+    @Test
+    @DisplayName("Should read the IDs as differences with the previous ones")
+    public void testReadPage() throws IOException {
+        byte[] page = {
+            1, 2, 1, 2, 9, 2,
+            0b001, 20,
+            0b011, 2, 1, 'a'
+        };
+
+        StringEntryBinaryDecoder.EntryPage decoded = new StringEntryBinaryDecoder(new ByteArrayInputStream(page))
+            .readPage();
+
+        assertThat(decoded.getNumber(), is(1));
+        assertThat(decoded.getSize(), is(2));
+        assertThat(decoded.getTotalElements(), is(9L));
+        assertThat(decoded.isLast(), is(false));
+        assertThat(decoded.getContent().get(0), is(new StringEntryDto(10L, null, null)));
+        assertThat(decoded.getContent().get(1), is(new StringEntryDto(11L, "a", null)));
+    }
+
+    @Test
+    @DisplayName("Should read the timestamps before the epoch")
+    public void testReadTimestamps() {
+        byte[] entry = {1, 1, 0b100, 1, 1};
+
+        assertThat(
+            new StringEntryBinaryDecoder(entry).readEntry().getCreatedAt(),
+            is(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_001))
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject the malformed documents")
+    public void testMalformedDocuments() {
+        assertRejected(new byte[] {}, "Truncated document");
+        assertRejected(new byte[] {2, 1, 0}, "Unsupported version of the binary format: 2");
+        assertRejected(new byte[] {1, 4, 0}, "Unexpected kind of document: 4");
+        assertRejected(new byte[] {1, 1, 0b010, 5, 'a'}, "Truncated document");
+        assertRejected(new byte[] {1, 1, 0b100, 0, (byte) 0xC0, (byte) 0x84, 0x3D}, "Malformed creation date");
+        assertRejected(new byte[] {1, 1, 0, 0}, "Malformed document: 1 bytes after its end");
+        assertRejected(
+            new byte[] {1, 1, 0b001, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1},
+            "Malformed varint"
+        );
+        assertRejected(
+            new byte[] {1, 3, 0, 1, 0, -1, -1, -1, -1, 0x0F},
+            "Malformed document: 4294967295 out of range"
+        );
+        assertRejected(new byte[] {1, 3, 0, 1, 0, 127, 0}, "Truncated document");
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new StringEntryBinaryDecoder(new byte[] {1, 1, 0}).readPage()
+        );
+    }
+
+    private static void assertRejected(byte[] document, String message) {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> {
+                StringEntryBinaryDecoder decoder = new StringEntryBinaryDecoder(document);
+                if (document.length > 1 && document[1] != 1) {
+                    decoder.readPage();
+                } else {
+                    decoder.readEntry();
+                }
+            }
+        );
+        assertThat(exception.getMessage(), is(message));
+    }
+}
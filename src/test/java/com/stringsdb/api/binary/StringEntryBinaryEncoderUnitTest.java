@@ -0,0 +1,132 @@
+package com.stringsdb.api.binary;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for the string entry binary encoder")
+public class StringEntryBinaryEncoderUnitTest {
+
+    @Test
+    @DisplayName("Should write an entry as documented")
+    public void testWriteEntryBytes() throws IOException {
+        StringEntryDto entry = new StringEntryDto(300L, "é", LocalDateTime.of(1970, 1, 1, 0, 0, 0, 1_000_001));
+
+        assertThat(encodeEntry(entry), is(new byte[] {
+            1, 1, 0b111,
+            (byte) 0xD8, 0x04,
+            2, (byte) 0xC3, (byte) 0xA9,
+            2, 1
+        }));
+        assertThat(encodeEntry(new StringEntryDto()), is(new byte[] {1, 1, 0}));
+    }
+
+    @Test
+    @DisplayName("Should read back the pages and slices it writes")
+    public void testRoundTripPages() throws IOException {
+        List<StringEntryDto> content = StringEntryGenerator.generateManyStringEntryDtos(20);
+
+        Page<StringEntryDto> page = new PageImpl<>(content, PageRequest.of(2, 20, Sort.by("id").descending()), 1000);
+        StringEntryBinaryDecoder.EntryPage decoded = new StringEntryBinaryDecoder(encodeSlice(page)).readPage();
+        assertThat(decoded.getContent(), is(content));
+        assertThat(decoded.getNumber(), is(2));
+        assertThat(decoded.getSize(), is(20));
+        assertThat(decoded.getTotalElements(), is(1000L));
+        assertThat(decoded.isLast(), is(false));
+
+        decoded = new StringEntryBinaryDecoder(encodeSlice(new PageImpl<>(content, PageRequest.of(49, 20), 1000)))
+            .readPage();
+        assertThat(decoded.isLast(), is(true));
+
+        decoded = new StringEntryBinaryDecoder(encodeSlice(new PageImpl<>(List.of(), Pageable.unpaged(), 0)))
+            .readPage();
+        assertThat(decoded.getContent(), is(empty()));
+        assertThat(decoded.getTotalElements(), is(0L));
+        assertThat(decoded.isLast(), is(true));
+
+        Slice<StringEntryDto> slice = new SliceImpl<>(content, PageRequest.of(7, 20), true);
+        decoded = new StringEntryBinaryDecoder(encodeSlice(slice)).readPage();
+        assertThat(decoded.getContent(), is(content));
+        assertThat(decoded.getNumber(), is(7));
+        assertThat(decoded.getTotalElements(), is(-1L));
+        assertThat(decoded.isLast(), is(false));
+    }
+
+    @Test
+    @DisplayName("Should read back the values and timestamps it writes")
+    public void testRoundTripValues() throws IOException {
+        LocalDateTime base = LocalDateTime.of(2020, 1, 2, 3, 4, 5);
+        List<StringEntryDto> content = new ArrayList<>(Arrays.asList(
+            new StringEntryDto(Long.MAX_VALUE, "\u0000 \u007f é € 中文 😀 ￿", base),
+            new StringEntryDto(Long.MIN_VALUE, "", base.withNano(1)),
+            new StringEntryDto(null, null, null),
+            new StringEntryDto(0L, "x".repeat(20_000), base.withNano(999_999_999)),
+            new StringEntryDto(-1L, "😀".repeat(5000), LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_001)),
+            new StringEntryDto(5L, "early", LocalDateTime.of(-100_000, 1, 1, 0, 0, 0, 123_456_789)),
+            new StringEntryDto(6L, "late", LocalDateTime.of(100_000, 12, 31, 23, 59, 59, 987_654_321))
+        ));
+        content.addAll(StringEntryGenerator.generateManyStringEntryDtos(1000));
+
+        StringEntryBinaryDecoder.EntryPage decoded = new StringEntryBinaryDecoder(
+            encodeSlice(new SliceImpl<>(content))
+        ).readPage();
+
+        assertThat(decoded.getContent(), is(content));
+        for (StringEntryDto entry : content) {
+            assertThat(new StringEntryBinaryDecoder(encodeEntry(entry)).readEntry(), is(entry));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the unpaired surrogates as question marks, as the JDK encodes them")
+    public void testUnpairedSurrogates() throws IOException {
+        String value = "\uD800 \uDFFF \uDC00\uD800 😀\uD83D";
+
+        assertThat(StringEntryBinaryEncoder.utf8Length(value), is(value.getBytes(StandardCharsets.UTF_8).length));
+        assertThat(
+            new StringEntryBinaryDecoder(encodeEntry(new StringEntryDto(1L, value, null))).readEntry().getValue(),
+            is("? ? ?? 😀?")
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject the timestamps whose milliseconds since the epoch overflow")
+    public void testTimestampOverflow() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> encodeEntry(new StringEntryDto(1L, "max", LocalDateTime.MAX))
+        );
+    }
+
+    private static byte[] encodeEntry(StringEntryDto entry) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringEntryBinaryEncoder.writeEntry(entry, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeSlice(Slice<StringEntryDto> slice) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringEntryBinaryEncoder.writeSlice(slice, out);
+        return out.toByteArray();
+    }
+}
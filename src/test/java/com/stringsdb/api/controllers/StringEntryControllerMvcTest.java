@@ -3,9 +3,23 @@ package com.stringsdb.api.controllers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.stringsdb.api.binary.StringEntryBinaryDecoder;
+import com.stringsdb.api.binary.StringEntryBinaryFormat;
+import com.stringsdb.api.dtos.StringEntryCursorPageDto;
 import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntryFuzzyMatchDto;
+import com.stringsdb.api.dtos.StringEntryMatchDto;
 import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.dtos.StringEntrySearchHitDto;
+import com.stringsdb.api.dtos.StringEntrySuggestionDto;
+import com.stringsdb.api.dtos.TermOccurrenceDto;
 import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.fulltext.MatchOperator;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.scan.AhoCorasick;
+import com.stringsdb.api.scan.ScanPredicate;
+import com.stringsdb.api.scan.ScanTimeoutException;
+import com.stringsdb.api.scan.TermMatchMode;
 import com.stringsdb.api.services.StringEntryService;
 import com.stringsdb.generators.StringEntryGenerator;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +33,7 @@ import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -32,6 +47,8 @@ import java.util.stream.Collectors;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -192,7 +209,7 @@ public class StringEntryControllerMvcTest {
             .andReturn();
 
         ArgumentCaptor<Pageable> pageableRequestArgument = ArgumentCaptor.forClass(Pageable.class);
-        Mockito.verify(this.stringEntryController).getMany(any(), pageableRequestArgument.capture());
+        Mockito.verify(this.stringEntryController).getMany(any(), eq(false), pageableRequestArgument.capture());
 
         Pageable pageableRequestInstance = pageableRequestArgument.getValue();
         assertThat(pageableRequestInstance.getPageNumber(), is(page));
@@ -239,4 +256,298 @@ public class StringEntryControllerMvcTest {
         assertThat(returnedEntries.size(), is(entries.size()));
         assertThat(returnedEntries, containsInAnyOrder(entries.toArray()));
     }
+
+    @Test
+    @DisplayName("Should use the cursor pagination when the after parameter is informed")
+    void testCursorPagination() throws Exception {
+        StringEntryCursorPageDto page = new StringEntryCursorPageDto();
+        page.setContent(StringEntryGenerator.generateManyStringEntryDtos(2));
+        page.setSize(2);
+        page.setNextCursor("next");
+        when(this.stringEntryService.getManyAfter(any(), any(KeysetCursor.class), anyInt())).thenReturn(page);
+
+        mockMvc.perform(
+            get("/strings")
+                .param("after", "")
+                .param("size", "2")
+                .param("sort", "createdAt,desc")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()", is(2)))
+            .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        Mockito.verify(this.stringEntryService).getManyAfter(
+            any(), eq(KeysetCursor.first(Sort.by(Sort.Direction.DESC, "createdAt"))), eq(2)
+        );
+    }
+
+    @Test
+    @DisplayName("Should return HTTP status 400 BAD_REQUEST for an invalid cursor")
+    void testBadRequestResponseOnInvalidCursor() throws Exception {
+        mockMvc.perform(get("/strings").param("after", "not a cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return a slice without total when the count mode is none")
+    void testCountModeNone() throws Exception {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(this.stringEntryService.getSlice(any(), any(Pageable.class))).thenReturn(
+            new SliceImpl<>(StringEntryGenerator.generateManyStringEntryDtos(2), pageable, true)
+        );
+
+        mockMvc.perform(get("/strings").param("count", "none").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()", is(2)))
+            .andExpect(jsonPath("$.last", is(false)))
+            .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return the pages, slices and entries in the binary format when it is accepted")
+    void testBinaryFormat() throws Exception {
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(3);
+        when(this.stringEntryService.getMany(any(), any(Pageable.class))).thenReturn(
+            new PageImpl<>(entries, PageRequest.of(1, 3), 10)
+        );
+        when(this.stringEntryService.getSlice(any(), any(Pageable.class))).thenReturn(
+            new SliceImpl<>(entries, PageRequest.of(0, 3), true)
+        );
+        when(this.stringEntryService.getOne(entries.get(0).getId())).thenReturn(Optional.of(entries.get(0)));
+
+        MvcResult result = mockMvc.perform(get("/strings").accept(StringEntryBinaryFormat.MEDIA_TYPE_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(header().string(CONTENT_TYPE, StringEntryBinaryFormat.MEDIA_TYPE_VALUE))
+            .andReturn();
+        StringEntryBinaryDecoder.EntryPage page = new StringEntryBinaryDecoder(
+            result.getResponse().getContentAsByteArray()
+        ).readPage();
+        assertThat(page.getContent(), is(entries));
+        assertThat(page.getTotalElements(), is(10L));
+
+        result = mockMvc.perform(
+            get("/strings").param("count", "none").accept(StringEntryBinaryFormat.MEDIA_TYPE_VALUE)
+        )
+            .andExpect(status().isOk())
+            .andReturn();
+        page = new StringEntryBinaryDecoder(result.getResponse().getContentAsByteArray()).readPage();
+        assertThat(page.getContent(), is(entries));
+        assertThat(page.isLast(), is(false));
+
+        result = mockMvc.perform(
+            get("/strings/{id}", entries.get(0).getId()).accept(StringEntryBinaryFormat.MEDIA_TYPE_VALUE)
+        )
+            .andExpect(status().isOk())
+            .andReturn();
+        assertThat(
+            new StringEntryBinaryDecoder(result.getResponse().getContentAsByteArray()).readEntry(),
+            is(entries.get(0))
+        );
+
+        // JSON stays the default, and the other listings, which only produce JSON, are not served as the default one
+        mockMvc.perform(get("/strings").accept(MediaType.ALL))
+            .andExpect(header().string(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+        mockMvc.perform(get("/strings").param("after", "").accept(StringEntryBinaryFormat.MEDIA_TYPE_VALUE))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should filter ignoring case and accents when the filter is insensitive")
+    void testInsensitiveFilter() throws Exception {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(this.stringEntryService.getManyFolded(eq("Crème"), any(Pageable.class))).thenReturn(
+            new PageImpl<>(StringEntryGenerator.generateManyStringEntryDtos(2), pageable, 2)
+        );
+
+        mockMvc.perform(get("/strings").param("filter", "Crème").param("insensitive", "true").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()", is(2)))
+            .andExpect(jsonPath("$.totalElements", is(2)));
+
+        Mockito.verify(this.stringEntryService, Mockito.never()).getMany(any(), any());
+        mockMvc.perform(get("/strings").param("filter", "Crème").param("insensitive", "true").param("count", "none"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should save a batch of entries and return their IDs with HTTP status 201 CREATED")
+    void testBatchCreate() throws Exception {
+        List<StringEntrySaveDto> entries = List.of(
+            StringEntryGenerator.generateStringEntrySaveDto(),
+            StringEntryGenerator.generateStringEntrySaveDto()
+        );
+        List<StringEntryDto> savedEntries = StringEntryGenerator.generateManyStringEntryDtos(2);
+        savedEntries.get(0).setId(7L);
+        savedEntries.get(1).setId(8L);
+        when(this.stringEntryService.saveAll(entries)).thenReturn(savedEntries);
+
+        mockMvc.perform(
+            post("/strings/batch")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(entries))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$", contains(7, 8)));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP status 400 BAD_REQUEST and save nothing if any entry of a batch is invalid")
+    void testBadRequestResponseOnInvalidBatchEntry() throws Exception {
+        List<StringEntrySaveDto> entries = List.of(
+            StringEntryGenerator.generateStringEntrySaveDto(),
+            new StringEntrySaveDto()
+        );
+
+        MvcResult result = mockMvc.perform(
+            post("/strings/batch")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(entries))
+            )
+            .andExpect(status().isBadRequest())
+            .andReturn();
+
+        assertThat(
+            Objects.requireNonNull(result.getResolvedException()).getMessage(),
+            containsString("field 'entries[1].value': rejected value [null]")
+        );
+        Mockito.verify(this.stringEntryService, Mockito.never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should return HTTP status 400 BAD_REQUEST for an empty batch")
+    void testBadRequestResponseOnEmptyBatch() throws Exception {
+        mockMvc.perform(
+            post("/strings/batch")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content("[]")
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return the entry with exactly the informed value, or HTTP status 404 NOT_FOUND")
+    void testGetByValue() throws Exception {
+        StringEntryDto entry = StringEntryGenerator.generateManyStringEntryDtos(1).get(0);
+        when(this.stringEntryService.getByValue(entry.getValue())).thenReturn(Optional.of(entry));
+        when(this.stringEntryService.getByValue("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/strings/by-value").param("value", entry.getValue()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id", is(entry.getId().intValue())))
+            .andExpect(jsonPath("$.value", is(entry.getValue())));
+        mockMvc.perform(get("/strings/by-value").param("value", "missing"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return the suggestions for a prefix with the informed limit")
+    void testSuggest() throws Exception {
+        StringEntrySuggestionDto suggestion = new StringEntrySuggestionDto();
+        suggestion.setId(3L);
+        suggestion.setValue("Suggested");
+        suggestion.setOccurrences(2);
+        when(this.stringEntryService.suggest("sug", 5)).thenReturn(List.of(suggestion));
+
+        mockMvc.perform(get("/strings/suggest").param("prefix", "sug").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(1)))
+            .andExpect(jsonPath("$[0].value", is("Suggested")))
+            .andExpect(jsonPath("$[0].occurrences", is(2)));
+    }
+
+    @Test
+    @DisplayName("Should return the full-text matches of a query with the informed operator and limit")
+    void testSearch() throws Exception {
+        StringEntrySearchHitDto hit = new StringEntrySearchHitDto();
+        hit.setId(3L);
+        hit.setValue("Matching value");
+        hit.setScore(1.5);
+        when(this.stringEntryService.search("matching", MatchOperator.OR, 5)).thenReturn(List.of(hit));
+
+        mockMvc.perform(get("/strings/search").param("q", "matching").param("operator", "or").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(1)))
+            .andExpect(jsonPath("$[0].value", is("Matching value")))
+            .andExpect(jsonPath("$[0].score", is(1.5)));
+        mockMvc.perform(get("/strings/search").param("q", "matching").param("operator", "xor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return the fuzzy matches of a query with the informed distance and limit")
+    void testFuzzy() throws Exception {
+        StringEntryFuzzyMatchDto match = new StringEntryFuzzyMatchDto();
+        match.setId(3L);
+        match.setValue("Kitten");
+        match.setOccurrences(1);
+        match.setDistance(1);
+        when(this.stringEntryService.fuzzy("kiten", 1, 5)).thenReturn(List.of(match));
+
+        mockMvc.perform(get("/strings/fuzzy").param("q", "kiten").param("maxEdits", "1").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(1)))
+            .andExpect(jsonPath("$[0].value", is("Kitten")))
+            .andExpect(jsonPath("$[0].distance", is(1)));
+        mockMvc.perform(get("/strings/fuzzy").param("q", "kiten").param("maxEdits", "-1"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should scan the entries matching a regex or a predicate, and reject invalid scans")
+    void testScan() throws Exception {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(this.stringEntryService.getSliceMatching(eq("some"), any(ScanPredicate.class), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(StringEntryGenerator.generateManyStringEntryDtos(2), pageable, true));
+
+        mockMvc.perform(get("/strings").param("filter", "some").param("regex", "^a.*b$").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()", is(2)))
+            .andExpect(jsonPath("$.last", is(false)))
+            .andExpect(jsonPath("$.totalElements").doesNotExist());
+        mockMvc.perform(get("/strings").param("filter", "some").param("predicate", "a|b -c").param("count", "exact"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()", is(2)));
+
+        mockMvc.perform(get("/strings").param("regex", "(unclosed"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/strings").param("predicate", "\"unclosed"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/strings").param("regex", "a").param("predicate", "b"))
+            .andExpect(status().isBadRequest());
+
+        when(this.stringEntryService.getSliceMatching(eq("slow"), any(ScanPredicate.class), any(Pageable.class)))
+            .thenThrow(new ScanTimeoutException("The scan ran out of time"));
+        mockMvc.perform(get("/strings").param("filter", "slow").param("regex", "a"))
+            .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("Should return the entries matching many terms with their occurrences, and reject invalid terms")
+    void testMatchTerms() throws Exception {
+        StringEntryMatchDto entry = new StringEntryMatchDto();
+        entry.setId(3L);
+        entry.setValue("a,b and c");
+        entry.setMatches(List.of(new TermOccurrenceDto("a,b", 0, 3), new TermOccurrenceDto("c", 8, 9)));
+        ArgumentCaptor<AhoCorasick> automaton = ArgumentCaptor.forClass(AhoCorasick.class);
+        when(this.stringEntryService.getSliceMatchingTerms(
+            automaton.capture(), eq(TermMatchMode.ALL), any(Pageable.class)
+        )).thenReturn(new SliceImpl<>(List.of(entry), PageRequest.of(0, 10), false));
+
+        mockMvc.perform(get("/strings").param("filter", "a,b", "c").param("match", "all").param("count", "exact"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].value", is("a,b and c")))
+            .andExpect(jsonPath("$.content[0].matches[0].term", is("a,b")))
+            .andExpect(jsonPath("$.content[0].matches[1].start", is(8)))
+            .andExpect(jsonPath("$.content[0].matches[1].end", is(9)))
+            .andExpect(jsonPath("$.last", is(true)));
+        // A single term is not split on its commas
+        assertThat(automaton.getValue().getTerms(), contains("a,b", "c"));
+
+        mockMvc.perform(get("/strings").param("match", "all"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/strings").param("filter", "a").param("match", "some"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/strings").param("filter", "a", "").param("match", "any"))
+            .andExpect(status().isBadRequest());
+    }
 }
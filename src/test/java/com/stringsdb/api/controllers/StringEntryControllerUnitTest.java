@@ -40,7 +40,7 @@ public class StringEntryControllerUnitTest {
         when(stringEntryService.getMany(any(), any())).thenReturn(
             new PageImpl<>(entries, pageable, entries.size())
         );
-        Page<StringEntryDto> result = this.stringEntryController.getMany(null, pageable);
+        Page<StringEntryDto> result = this.stringEntryController.getMany(null, false, pageable);
         assertThat(result.getContent(), is(entries));
     }
 
@@ -0,0 +1,65 @@
+package com.stringsdb.api.controllers;
+
+import com.stringsdb.api.configuration.ExportProperties;
+import com.stringsdb.api.services.StringEntryExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = StringEntryExportController.class, properties = "stringsdb.export.timeout=2h")
+@EnableConfigurationProperties(ExportProperties.class)
+@DisplayName("Integration tests for the string entry export controller with the MVC layer")
+public class StringEntryExportControllerMvcTest {
+
+    @MockBean
+    private StringEntryExportService exportService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should stream the export as an attachment in the requested format, under the export timeout")
+    public void testExport() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("id,value,createdAt\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(this.exportService).export(eq(StringEntryExportService.Format.CSV), any());
+
+        MvcResult result = this.mockMvc.perform(get("/strings/export").param("format", "CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout(), is(7_200_000L));
+
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "text/csv"))
+            .andExpect(header().string("Content-Disposition", containsString("strings.csv")))
+            .andExpect(content().string("id,value,createdAt\r\n"));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP status 400 BAD_REQUEST for an invalid format")
+    public void testInvalidFormat() throws Exception {
+        this.mockMvc.perform(get("/strings/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+}
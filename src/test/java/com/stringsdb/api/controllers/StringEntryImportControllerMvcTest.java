@@ -0,0 +1,59 @@
+package com.stringsdb.api.controllers;
+
+import com.stringsdb.api.dtos.ImportSummaryDto;
+import com.stringsdb.api.services.StringEntryImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = StringEntryImportController.class)
+@DisplayName("Integration tests for the string entry import controller with the MVC layer")
+public class StringEntryImportControllerMvcTest {
+
+    @MockBean
+    private StringEntryImportService importService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should import the upload in the format of its content type and return the summary")
+    public void testImport() throws Exception {
+        ImportSummaryDto summary = new ImportSummaryDto();
+        summary.setLines(3);
+        summary.setImported(2);
+        summary.setDuplicates(1);
+        when(this.importService.importEntries(eq(StringEntryImportService.Format.TEXT), any(InputStream.class)))
+            .thenAnswer(invocation -> {
+                InputStream body = invocation.getArgument(1);
+                return new String(body.readAllBytes(), StandardCharsets.UTF_8).equals("a\nb\nc") ? summary : null;
+            });
+
+        this.mockMvc.perform(post("/strings/import").contentType(MediaType.TEXT_PLAIN).content("a\nb\nc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported", is(2)))
+            .andExpect(jsonPath("$.duplicates", is(1)))
+            .andExpect(jsonPath("$.rejects.length()", is(0)));
+    }
+
+    @Test
+    @DisplayName("Should return HTTP status 415 UNSUPPORTED_MEDIA_TYPE for other content types")
+    public void testUnsupportedContentType() throws Exception {
+        this.mockMvc.perform(post("/strings/import").contentType(MediaType.APPLICATION_XML).content("<a/>"))
+            .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,106 @@
+package com.stringsdb.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.api.dtos.IngestTicketDto;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.services.StringEntryIngestBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = StringEntryIngestController.class, properties = "stringsdb.ingest.enabled=true")
+@DisplayName("Integration tests for the string entry ingestion controller with the MVC layer")
+public class StringEntryIngestControllerMvcTest {
+
+    @MockBean
+    private StringEntryIngestBuffer ingestBuffer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String createItemJson(String value) throws Exception {
+        StringEntrySaveDto item = new StringEntrySaveDto();
+        item.setValue(value);
+        return this.objectMapper.writeValueAsString(item);
+    }
+
+    @Test
+    @DisplayName("Should accept an item and return its ticket")
+    public void testSubmit() throws Exception {
+        when(this.ingestBuffer.submit(any())).thenReturn("some-ticket");
+
+        this.mockMvc.perform(post("/strings/ingest")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.createItemJson("queued")))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", endsWith("/strings/ingest/some-ticket")))
+            .andExpect(jsonPath("$.ticket", is("some-ticket")))
+            .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    @Test
+    @DisplayName("Should respond with the saved item once its batch is committed when asked to wait")
+    public void testSubmitAndWait() throws Exception {
+        StringEntryDto savedEntry = new StringEntryDto();
+        savedEntry.setId(42L);
+        savedEntry.setValue("committed");
+        when(this.ingestBuffer.submitAndWait(any())).thenReturn(CompletableFuture.completedFuture(savedEntry));
+
+        MvcResult result = this.mockMvc.perform(post("/strings/ingest?wait=true")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.createItemJson("committed")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id", is(42)))
+            .andExpect(jsonPath("$.value", is("committed")));
+    }
+
+    @Test
+    @DisplayName("Should respond with service unavailable while the ingestion queue is full")
+    public void testSubmitToFullQueue() throws Exception {
+        when(this.ingestBuffer.submit(any())).thenThrow(new RejectedExecutionException("The ingestion queue is full"));
+
+        this.mockMvc.perform(post("/strings/ingest")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(this.createItemJson("too many")))
+            .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("Should return the status of a ticket or not found for unknown tickets")
+    public void testGetTicket() throws Exception {
+        IngestTicketDto ticket = new IngestTicketDto();
+        ticket.setTicket("known");
+        ticket.setStatus(IngestTicketDto.Status.COMMITTED);
+        when(this.ingestBuffer.getTicket("known")).thenReturn(Optional.of(ticket));
+        when(this.ingestBuffer.getTicket("unknown")).thenReturn(Optional.empty());
+
+        this.mockMvc.perform(get("/strings/ingest/known"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status", is("COMMITTED")));
+        this.mockMvc.perform(get("/strings/ingest/unknown"))
+            .andExpect(status().isNotFound());
+    }
+}
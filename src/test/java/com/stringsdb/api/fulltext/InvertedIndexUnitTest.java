@@ -0,0 +1,162 @@
+package com.stringsdb.api.fulltext;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for the inverted index")
+public class InvertedIndexUnitTest {
+
+    @TempDir
+    Path directory;
+
+    private static InvertedIndex createIndex(String... values) {
+        InvertedIndex index = new InvertedIndex(1.2, 0.75);
+        for (int i = 0; i < values.length; i++) {
+            index.add(i + 1, values[i]);
+        }
+        return index;
+    }
+
+    private static List<Long> ids(List<ScoredEntry> entries) {
+        return entries.stream().map(ScoredEntry::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should return the entries containing every term, or any term, ignoring case and accents")
+    public void testOperators() {
+        InvertedIndex index = createIndex("Apple banana", "apple pie", "BANANA cherry", "cherry", "Ápple cherry");
+
+        assertThat(ids(index.search("apple cherry", MatchOperator.AND, 10)), contains(5L));
+        assertThat(ids(index.search("apple cherry", MatchOperator.OR, 10)), containsInAnyOrder(1L, 2L, 3L, 4L, 5L));
+        assertThat(index.search("apple missing", MatchOperator.AND, 10), is(empty()));
+        assertThat(ids(index.search("apple missing", MatchOperator.OR, 10)), containsInAnyOrder(1L, 2L, 5L));
+        assertThat(index.search("  ", MatchOperator.OR, 10), is(empty()));
+        assertThat(index.search("apple", MatchOperator.OR, 0), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should rank first the entries with more occurrences, rarer terms and fewer other terms")
+    public void testRanking() {
+        InvertedIndex index = createIndex(
+            "common word",
+            "common common word",
+            "common rare",
+            "common word with many other words around it",
+            "word"
+        );
+
+        // Repeating a term raises the score, with diminishing returns
+        assertThat(ids(index.search("common", MatchOperator.OR, 2)).get(0), is(2L));
+        // A rare term weighs more than a common one
+        assertThat(ids(index.search("rare word", MatchOperator.OR, 10)).get(0), is(3L));
+        // Long entries are penalized
+        assertThat(ids(index.search("word", MatchOperator.OR, 10)), contains(5L, 1L, 2L, 4L));
+
+        List<ScoredEntry> result = index.search("common word", MatchOperator.AND, 10);
+        assertThat(ids(result), contains(2L, 1L, 4L));
+        assertThat(result.get(0).getScore(), is(greaterThan(result.get(1).getScore())));
+    }
+
+    @Test
+    @DisplayName("Should keep only the best entries, the most recent ones first on equal scores")
+    public void testTopEntries() {
+        InvertedIndex index = new InvertedIndex(1.2, 0.75);
+        for (long id = 1; id <= 50; id++) {
+            index.add(id, "same value");
+        }
+
+        assertThat(ids(index.search("value", MatchOperator.AND, 3)), contains(50L, 49L, 48L));
+        assertThat(index.size(), is(50));
+        assertThat(index.getLastId(), is(50L));
+    }
+
+    @Test
+    @DisplayName("Should index entries arriving out of order once, and skip entries without terms")
+    public void testOutOfOrderEntries() {
+        InvertedIndex index = new InvertedIndex(1.2, 0.75);
+
+        assertThat(index.add(10, "value"), is(true));
+        assertThat(index.add(3, "value"), is(true));
+        assertThat(index.add(7, "other value"), is(true));
+        assertThat(index.add(3, "value"), is(false));
+        assertThat(index.add(11, "?!"), is(false));
+
+        assertThat(ids(index.search("value", MatchOperator.OR, 10)), containsInAnyOrder(3L, 7L, 10L));
+        assertThat(ids(index.search("value other", MatchOperator.AND, 10)), contains(7L));
+        assertThat(index.size(), is(3));
+        assertThat(index.getTermCount(), is(2));
+    }
+
+    @Test
+    @DisplayName("Should walk the postings in ID order and skip to a target ID")
+    public void testPostingCursor() {
+        PostingList postings = new PostingList();
+        postings.add(1000, 2);
+        postings.add(5, 1);
+        postings.add(300, 1);
+        postings.add(300, 4);
+
+        PostingList.Cursor cursor = postings.cursor();
+        assertThat(cursor.advance(6), is(true));
+        assertThat(cursor.id(), is(300L));
+        assertThat(cursor.next(), is(true));
+        assertThat(cursor.id(), is(1000L));
+        assertThat(cursor.frequency(), is(2));
+        assertThat(cursor.next(), is(false));
+        assertThat(cursor.advance(2000), is(false));
+        assertThat(postings.size(), is(3));
+    }
+
+    @Test
+    @DisplayName("Should read back the snapshot it wrote")
+    public void testSnapshot() throws IOException {
+        InvertedIndex index = createIndex("Apple banana", "apple pie", "BANANA cherry", "cherry", "Ápple cherry");
+        Path file = this.directory.resolve("index").resolve("full-text.index");
+        LocalDateTime syncedAt = LocalDateTime.of(2020, 1, 2, 3, 4, 5, 6);
+
+        index.writeTo(file);
+        assertThat(InvertedIndex.readFrom(file, 1.2, 0.75).getSyncedAt(), is(nullValue()));
+        index.setSyncedAt(syncedAt);
+        index.writeTo(file);
+        InvertedIndex result = InvertedIndex.readFrom(file, 1.2, 0.75);
+
+        assertThat(result.getSyncedAt(), is(syncedAt));
+        assertThat(result.size(), is(5));
+        assertThat(result.getLastId(), is(5L));
+        assertThat(result.getTermCount(), is(index.getTermCount()));
+        assertThat(
+            result.search("apple cherry", MatchOperator.OR, 10),
+            is(index.search("apple cherry", MatchOperator.OR, 10))
+        );
+        assertThat(result.add(6, "new apple"), is(true));
+        assertThat(ids(result.search("new", MatchOperator.AND, 10)), contains(6L));
+    }
+
+    @Test
+    @DisplayName("Should refuse a corrupted snapshot")
+    public void testCorruptedSnapshot() throws IOException {
+        Path file = this.directory.resolve("full-text.index");
+        createIndex("Apple banana", "apple pie").writeTo(file);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() / 2);
+            int value = raf.read();
+            raf.seek(raf.length() / 2);
+            raf.write(value ^ 0xFF);
+        }
+
+        assertThrows(IOException.class, () -> InvertedIndex.readFrom(file, 1.2, 0.75));
+    }
+}
@@ -0,0 +1,124 @@
+package com.stringsdb.api.ids;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Unit tests for the block ID allocator")
+public class BlockIdAllocatorUnitTest {
+
+    private static final int WRITERS = 16;
+
+    private static final int IDS_PER_WRITER = 100;
+
+    /**
+     * Simulates the shared ID table: every reservation locks the single row for one millisecond.
+     */
+    private static class SharedIdTable {
+
+        private long nextValue = 1;
+
+        private final AtomicInteger reservations = new AtomicInteger();
+
+        LongSupplier reserve(int blockSize) {
+            return () -> {
+                synchronized (this) {
+                    this.reservations.incrementAndGet();
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    long start = this.nextValue;
+                    this.nextValue += blockSize;
+                    return start;
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs concurrent writers taking IDs from an allocator.
+     *
+     * @return The IDs taken by each writer, in the order they were taken.
+     */
+    private List<List<Long>> runWriters(BlockIdAllocator allocator, LongSupplier reserveBlock) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < WRITERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> ids = new ArrayList<>();
+                for (int j = 0; j < IDS_PER_WRITER; j++) {
+                    ids.add(allocator.next(reserveBlock));
+                }
+                return ids;
+            }));
+        }
+
+        start.countDown();
+        List<List<Long>> result = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            result.add(future.get(1, TimeUnit.MINUTES));
+        }
+        executor.shutdown();
+
+        return result;
+    }
+
+    @Test
+    @DisplayName("Should hand out IDs without gaps and reserve a single block when it is large enough")
+    public void testSequentialIds() {
+        SharedIdTable table = new SharedIdTable();
+        BlockIdAllocator allocator = new BlockIdAllocator(10);
+
+        for (long expected = 1; expected <= 10; expected++) {
+            assertThat(allocator.next(table.reserve(10)), is(expected));
+        }
+        assertThat(table.reservations.get(), is(1));
+
+        assertThat(allocator.next(table.reserve(10)), is(11L));
+        assertThat(table.reservations.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Should hand out unique and increasing IDs to concurrent writers")
+    public void testConcurrentWritersGetUniqueIncreasingIds() throws Exception {
+        SharedIdTable table = new SharedIdTable();
+        BlockIdAllocator allocator = new BlockIdAllocator(50);
+
+        List<List<Long>> idsPerWriter = this.runWriters(allocator, table.reserve(50));
+
+        Set<Long> allIds = new HashSet<>();
+        for (List<Long> ids : idsPerWriter) {
+            allIds.addAll(ids);
+            for (int i = 1; i < ids.size(); i++) {
+                assertThat(ids.get(i), is(greaterThan(ids.get(i - 1))));
+            }
+        }
+        assertThat(allIds.size(), is(WRITERS * IDS_PER_WRITER));
+        assertThat(table.reservations.get(), is(WRITERS * IDS_PER_WRITER / 50));
+    }
+
+    @Test
+    @DisplayName("Should reserve one block per hundred IDs under many concurrent writers, not one per ID")
+    public void testContentionImprovement() throws Exception {
+        SharedIdTable perIdTable = new SharedIdTable();
+        this.runWriters(new BlockIdAllocator(1), perIdTable.reserve(1));
+
+        SharedIdTable pooledTable = new SharedIdTable();
+        this.runWriters(new BlockIdAllocator(100), pooledTable.reserve(100));
+
+        assertThat(perIdTable.reservations.get(), is(WRITERS * IDS_PER_WRITER));
+        assertThat(pooledTable.reservations.get(), is(WRITERS * IDS_PER_WRITER / 100));
+    }
+}
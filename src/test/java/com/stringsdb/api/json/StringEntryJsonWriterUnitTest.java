@@ -0,0 +1,144 @@
+package com.stringsdb.api.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Unit tests for the string entry JSON writer")
+public class StringEntryJsonWriterUnitTest {
+
+    /**
+     * A mapper configured as the one of Spring Boot.
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private final StringEntryJsonWriter writer = new StringEntryJsonWriter(this.objectMapper);
+
+    @Test
+    @DisplayName("Should write the pages as Jackson")
+    public void testWritePages() throws IOException {
+        List<StringEntryDto> content = StringEntryGenerator.generateManyStringEntryDtos(20);
+
+        assertSameAsJackson(new PageImpl<>(content, PageRequest.of(2, 20), 1000));
+        assertSameAsJackson(new PageImpl<>(content, PageRequest.of(0, 20, Sort.by("createdAt").descending()), 20));
+        assertSameAsJackson(new PageImpl<>(content.subList(0, 5), PageRequest.of(49, 20), 985));
+        assertSameAsJackson(new PageImpl<>(content));
+        assertSameAsJackson(new PageImpl<>(List.of(), PageRequest.of(7, 20), 40));
+        assertSameAsJackson(new PageImpl<>(List.of(), Pageable.unpaged(), 0));
+    }
+
+    @Test
+    @DisplayName("Should write the slices as Jackson")
+    public void testWriteSlices() throws IOException {
+        List<StringEntryDto> content = StringEntryGenerator.generateManyStringEntryDtos(20);
+
+        assertSameAsJackson(new SliceImpl<>(content, PageRequest.of(0, 20), true));
+        assertSameAsJackson(
+            new SliceImpl<>(content, PageRequest.of(Integer.MAX_VALUE / 20, 20, Sort.by("id")), false)
+        );
+        assertSameAsJackson(new SliceImpl<>(content));
+        assertSameAsJackson(new SliceImpl<>(List.of(), PageRequest.of(3, 10), false));
+    }
+
+    @Test
+    @DisplayName("Should escape and encode the values as Jackson")
+    public void testWriteValues() throws IOException {
+        StringBuilder ascii = new StringBuilder();
+        for (char c = 0; c < 0x80; c++) {
+            ascii.append(c);
+        }
+        List<StringEntryDto> content = Arrays.asList(
+            new StringEntryDto(1L, ascii.toString(), null),
+            new StringEntryDto(2L, "\u0080 é ß ߿ ࠀ € 中文 � ￿", null),
+            new StringEntryDto(3L, "😀 😀 \uD800 \uDFFF \uDC00\uD800", null),
+            new StringEntryDto(4L, "", null),
+            new StringEntryDto(null, null, null),
+            new StringEntryDto(Long.MAX_VALUE, "max", null),
+            new StringEntryDto(Long.MIN_VALUE, "min", null),
+            new StringEntryDto(0L, "zero", null),
+            new StringEntryDto(-1L, "minus one", null)
+        );
+
+        assertSameAsJackson(new PageImpl<>(content, PageRequest.of(0, 10), 9));
+    }
+
+    @Test
+    @DisplayName("Should write the timestamps as Jackson")
+    public void testWriteTimestamps() throws IOException {
+        LocalDateTime base = LocalDateTime.of(2020, 1, 2, 3, 4, 5);
+        List<StringEntryDto> content = new ArrayList<>();
+        for (int nano : new int[] {0, 1, 10, 100_000, 120_000_000, 123_456_789, 999_999_999, 500_000_000}) {
+            content.add(new StringEntryDto(1L, "nano", base.withNano(nano)));
+        }
+        for (int year : new int[] {-999_999_999, -5, -1, 0, 1, 99, 999, 1970, 9999, 10_000, 999_999_999}) {
+            content.add(new StringEntryDto(2L, "year", base.withYear(year)));
+        }
+        content.add(new StringEntryDto(3L, "midnight", LocalDateTime.of(2021, 12, 31, 0, 0)));
+        content.add(new StringEntryDto(4L, "last", LocalDateTime.MAX));
+        content.add(new StringEntryDto(5L, "first", LocalDateTime.MIN));
+
+        assertSameAsJackson(new SliceImpl<>(content, PageRequest.of(0, content.size()), false));
+    }
+
+    @Test
+    @DisplayName("Should write the pages larger than its buffer as Jackson")
+    public void testWriteLargePages() throws IOException {
+        List<StringEntryDto> content = StringEntryGenerator.generateManyStringEntryDtos(2000);
+        content.add(new StringEntryDto(1L, "\u0001".repeat(10_000), LocalDateTime.now()));
+        content.add(new StringEntryDto(2L, "😀".repeat(10_000), LocalDateTime.now()));
+
+        assertSameAsJackson(new PageImpl<>(content, PageRequest.of(0, 5000), content.size()));
+    }
+
+    @Test
+    @DisplayName("Should only support the pages and slices of string entries paged and sorted as the application does")
+    public void testSupports() {
+        List<StringEntryDto> content = StringEntryGenerator.generateManyStringEntryDtos(2);
+
+        assertThat(StringEntryJsonWriter.supports(new PageImpl<>(content, PageRequest.of(0, 2), 2)), is(true));
+        assertThat(StringEntryJsonWriter.supports(new SliceImpl<>(content)), is(true));
+        assertThat(StringEntryJsonWriter.supports(new PageImpl<>(List.of("value"))), is(false));
+        assertThat(StringEntryJsonWriter.supports(new PageImpl<>(Arrays.asList(content.get(0), null))), is(false));
+        assertThat(StringEntryJsonWriter.supports(new PageImpl<>(List.of(new StringEntryDto() { }))), is(false));
+        assertThat(
+            StringEntryJsonWriter.supports(new PageImpl<>(content, PageRequest.of(0, 2, JpaSort.unsafe("id")), 2)),
+            is(false)
+        );
+        assertThat(StringEntryJsonWriter.supports(new PageImpl<>(content) { }), is(false));
+    }
+
+    private void assertSameAsJackson(Slice<StringEntryDto> slice) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.writer.write(slice, out);
+
+        assertThat(
+            new String(out.toByteArray(), StandardCharsets.UTF_8),
+            is(new String(this.objectMapper.writeValueAsBytes(slice), StandardCharsets.UTF_8))
+        );
+        assertThat(Arrays.equals(out.toByteArray(), this.objectMapper.writeValueAsBytes(slice)), is(true));
+    }
+}
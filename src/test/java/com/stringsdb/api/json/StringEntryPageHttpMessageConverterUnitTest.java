@@ -0,0 +1,116 @@
+package com.stringsdb.api.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.generators.StringEntryGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.JpaSort;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@DisplayName("Unit tests for the string entry page HTTP message converter")
+public class StringEntryPageHttpMessageConverterUnitTest {
+
+    private static final Type PAGE_TYPE = new TypeReference<Page<StringEntryDto>>() { }.getType();
+
+    private static final Type SLICE_TYPE = new TypeReference<Slice<StringEntryDto>>() { }.getType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final StringEntryPageHttpMessageConverter converter = new StringEntryPageHttpMessageConverter(
+        this.objectMapper,
+        new StringEntryMetrics(this.registry)
+    );
+
+    @Test
+    @DisplayName("Should only write the pages and slices declared as string entries, as JSON")
+    public void testCanWrite() {
+        assertThat(this.converter.isEnabled(), is(true));
+        assertThat(this.converter.canWrite(PAGE_TYPE, PageImpl.class, MediaType.APPLICATION_JSON), is(true));
+        assertThat(this.converter.canWrite(SLICE_TYPE, SliceImpl.class, null), is(true));
+        assertThat(this.converter.canWrite(SLICE_TYPE, SliceImpl.class, MediaType.ALL), is(true));
+        assertThat(this.converter.canWrite(PAGE_TYPE, PageImpl.class, MediaType.APPLICATION_XML), is(false));
+        assertThat(
+            this.converter.canWrite(new TypeReference<Page<String>>() { }.getType(), PageImpl.class, null),
+            is(false)
+        );
+        assertThat(this.converter.canWrite(PageImpl.class, PageImpl.class, null), is(false));
+        assertThat(this.converter.canWrite(null, PageImpl.class, null), is(false));
+        assertThat(this.converter.canWrite(PageImpl.class, null), is(false));
+        assertThat(this.converter.canWrite(List.class, List.class, null), is(false));
+        assertThat(this.converter.canRead(PAGE_TYPE, null, MediaType.APPLICATION_JSON), is(false));
+    }
+
+    @Test
+    @DisplayName("Should write the pages as Jackson, and time their serialization")
+    public void testWrite() throws IOException {
+        Page<StringEntryDto> page = new PageImpl<>(
+            StringEntryGenerator.generateManyStringEntryDtos(5),
+            PageRequest.of(1, 5),
+            12
+        );
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        this.converter.write(page, PAGE_TYPE, MediaType.APPLICATION_JSON, message);
+
+        assertThat(message.getHeaders().getContentType(), is(MediaType.APPLICATION_JSON));
+        assertThat(message.getBodyAsString(), is(this.objectMapper.writeValueAsString(page)));
+        assertThat(this.registry.get("stringsdb.http.serialization").timer().count(), is(1L));
+    }
+
+    @Test
+    @DisplayName("Should write the pages the writer does not support through Jackson")
+    public void testWriteUnsupported() throws IOException {
+        Page<StringEntryDto> page = new PageImpl<>(
+            StringEntryGenerator.generateManyStringEntryDtos(5),
+            PageRequest.of(0, 5, JpaSort.unsafe("length(value)")),
+            5
+        );
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        this.converter.write(page, PAGE_TYPE, MediaType.APPLICATION_JSON, message);
+
+        assertThat(message.getBodyAsString(), is(this.objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    @DisplayName("Should step aside when the mapper writes the pages differently")
+    public void testDisabled() {
+        ObjectMapper indenting = this.objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+        StringEntryPageHttpMessageConverter converter = new StringEntryPageHttpMessageConverter(
+            indenting,
+            new StringEntryMetrics(this.registry)
+        );
+
+        assertThat(converter.isEnabled(), is(false));
+        assertThat(converter.canWrite(PAGE_TYPE, PageImpl.class, MediaType.APPLICATION_JSON), is(false));
+        assertThat(
+            StringEntryPageHttpMessageConverter.createWriter(this.objectMapper.copy()
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)),
+            is(nullValue())
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package com.stringsdb.api.metrics;
+
+import com.stringsdb.api.configuration.MetricsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("Unit tests for the slow request filter")
+public class SlowRequestFilterUnitTest {
+
+    private final MetricsProperties properties = new MetricsProperties();
+
+    private final StringEntryMetrics metrics = new StringEntryMetrics(new SimpleMeterRegistry());
+
+    private final SlowRequestFilter filter = new SlowRequestFilter(this.properties);
+
+    private void handle(String filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/strings");
+        request.setParameter("filter", filter);
+        request.setParameter("page", "3");
+        request.setParameter("other", "ignored");
+
+        this.filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                metrics.timeQuery(StringEntryMetrics.DATA_QUERY, () -> null);
+                metrics.timeQuery(StringEntryMetrics.COUNT_QUERY, () -> null);
+            }
+        }));
+    }
+
+    @Test
+    @DisplayName("Should log the parameters and timings of the requests over the threshold")
+    public void testSlowRequest(CapturedOutput output) throws Exception {
+        this.properties.setSlowRequestThreshold(Duration.ZERO);
+
+        this.handle("lor\nem");
+
+        assertThat(output.getOut(), allOf(
+            containsString("Slow request GET /strings {filter=lor?em, page=3} took "),
+            containsString(" ms with status 200: data query "),
+            containsString(", count query "),
+            not(containsString("other"))
+        ));
+    }
+
+    @Test
+    @DisplayName("Should not log the requests under the threshold, or when the log is disabled")
+    public void testFastRequest(CapturedOutput output) throws Exception {
+        this.handle("lorem");
+        this.properties.setSlowRequestThreshold(Duration.ZERO);
+        this.properties.setSlowRequestLogEnabled(false);
+        this.handle("lorem");
+
+        assertThat(output.getOut(), not(containsString("Slow request")));
+    }
+}
@@ -0,0 +1,92 @@
+package com.stringsdb.api.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for the string entry metrics")
+public class StringEntryMetricsUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final StringEntryMetrics metrics = new StringEntryMetrics(this.registry);
+
+    @AfterEach
+    public void tearDown() {
+        RequestTimings.stop();
+    }
+
+    @Test
+    @DisplayName("Should bucket the filters by length")
+    public void testFilterLengthBuckets() {
+        assertThat(StringEntryMetrics.filterLengthBucketName(null), is("none"));
+        assertThat(StringEntryMetrics.filterLengthBucketName(""), is("none"));
+        assertThat(StringEntryMetrics.filterLengthBucketName("ab"), is("1-2"));
+        assertThat(StringEntryMetrics.filterLengthBucketName("abc"), is("3-5"));
+        assertThat(StringEntryMetrics.filterLengthBucketName("abcdef"), is("6-10"));
+        assertThat(StringEntryMetrics.filterLengthBucketName("abcdefghijk"), is("11+"));
+    }
+
+    @Test
+    @DisplayName("Should time the service calls by operation and filter length, even when they fail")
+    public void testTimeOperation() {
+        assertThat(this.metrics.timeOperation("getMany", "lor", () -> 42), is(42));
+        assertThrows(IllegalStateException.class, () -> this.metrics.timeOperation("getMany", "lor", () -> {
+            throw new IllegalStateException();
+        }));
+        this.metrics.timeOperation("getOne", null, () -> null);
+
+        assertThat(
+            this.registry.get("stringsdb.service.calls").tags("operation", "getMany", "filter.length", "3-5").timer()
+                .count(),
+            is(2L)
+        );
+        assertThat(
+            this.registry.get("stringsdb.service.calls").tags("operation", "getOne", "filter.length", "none").timer()
+                .count(),
+            is(1L)
+        );
+    }
+
+    @Test
+    @DisplayName("Should add the timings to the current request only while they are collected")
+    public void testRequestTimings() {
+        this.metrics.timeQuery(StringEntryMetrics.DATA_QUERY, () -> null);
+
+        RequestTimings timings = RequestTimings.start();
+        this.metrics.timeQuery(StringEntryMetrics.DATA_QUERY, () -> null);
+        this.metrics.timeQuery(StringEntryMetrics.COUNT_QUERY, () -> null);
+        this.metrics.timeQuery(StringEntryMetrics.COUNT_QUERY, () -> null);
+        this.metrics.recordSerialization(2_000_000);
+        RequestTimings.stop();
+        this.metrics.recordSerialization(5_000_000);
+
+        assertThat(this.registry.get("stringsdb.store.queries").tag("query", "data").timer().count(), is(2L));
+        assertThat(this.registry.get("stringsdb.store.queries").tag("query", "count").timer().count(), is(2L));
+        assertThat(timings.getNanos(StringEntryMetrics.SERIALIZATION_STAGE), is(2_000_000L));
+        assertThat(timings.toString(), allOf(
+            startsWith("data query "),
+            containsString(", count query "),
+            containsString(" ms (x2), serialization 2.0 ms")
+        ));
+    }
+
+    @Test
+    @DisplayName("Should record the known row counts of a read")
+    public void testRecordRows() {
+        this.metrics.recordRows("log", 10, -1, 2);
+        this.metrics.recordRows("log", -1, 7, 3);
+
+        assertThat(this.registry.get("stringsdb.store.rows").tags("store", "log", "stage", "scanned").summary().count(),
+            is(1L));
+        assertThat(this.registry.get("stringsdb.store.rows").tags("store", "log", "stage", "matched").summary()
+            .totalAmount(), is(7.0));
+        assertThat(this.registry.get("stringsdb.store.rows").tags("store", "log", "stage", "returned").summary()
+            .totalAmount(), is(5.0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.stringsdb.api.pagination;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for the keyset pagination cursor")
+public class KeysetCursorUnitTest {
+
+    @Test
+    @DisplayName("Should start an unsorted walk sorted by ascending ID")
+    public void testFirstUnsorted() {
+        KeysetCursor cursor = KeysetCursor.first(Sort.unsorted());
+
+        assertThat(cursor.isFirst(), is(true));
+        assertThat(cursor.toSort(), is(Sort.by(Sort.Direction.ASC, "id")));
+    }
+
+    @Test
+    @DisplayName("Should reject walks sorted by unsupported properties or by many properties")
+    public void testFirstInvalidSort() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.first(Sort.by("name")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.first(Sort.by("value", "createdAt")));
+    }
+
+    @Test
+    @DisplayName("Should decode the same cursor it encodes for every sortable property")
+    public void testEncodeDecodeRoundTrip() {
+        StringEntryDto entry = StringEntryGenerator.generateStringEntryDto();
+
+        for (String property : KeysetCursor.SORTABLE_PROPERTIES) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                KeysetCursor first = KeysetCursor.first(Sort.by(direction, property));
+                KeysetCursor next = first.next(entry);
+
+                assertThat(KeysetCursor.decode(first.encode()), is(first));
+                assertThat(KeysetCursor.decode(next.encode()), is(next));
+                assertThat(next.isFirst(), is(false));
+                assertThat(next.getLastId(), is(entry.getId()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject tokens that are not valid cursors")
+    public void testDecodeInvalidToken() {
+        String token = KeysetCursor.first(Sort.by("value")).next(StringEntryGenerator.generateStringEntryDto())
+            .encode();
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(token.substring(0, token.length() - 4)));
+    }
+}
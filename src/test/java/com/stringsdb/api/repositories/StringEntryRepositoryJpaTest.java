@@ -1,6 +1,9 @@
 package com.stringsdb.api.repositories;
 
+import com.stringsdb.api.dtos.StringEntryDto;
 import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.mappers.StringEntryMapper;
+import com.stringsdb.api.utils.ContentHash;
 import com.stringsdb.generators.StringEntryGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,10 +13,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import javax.persistence.EntityManager;
 import java.util.*;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -26,6 +32,9 @@ public class StringEntryRepositoryJpaTest {
     @Autowired
     private StringEntryRepository stringEntryRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private final List<StringEntry> defaultEntries = StringEntryGenerator.generateManyStringEntries(5, false, false);
 
     private void sortStringEntriesListInPlaceBasedOn(@SuppressWarnings("rawtypes") Function method, String order, List<StringEntry> listToSort) {
@@ -193,4 +202,87 @@ public class StringEntryRepositoryJpaTest {
         }
 
     }
+
+    @Test
+    @DisplayName("Should assign increasing IDs to a batch of entries in the order they are saved")
+    public void testSaveAllAssignsIncreasingIds() {
+        List<StringEntry> newEntries = StringEntryGenerator.generateManyStringEntries(120, false, false);
+
+        List<StringEntry> result = this.stringEntryRepository.saveAll(newEntries);
+        this.stringEntryRepository.flush();
+
+        for (int i = 1; i < result.size(); i++) {
+            assertThat(result.get(i).getId(), is(greaterThan(result.get(i - 1).getId())));
+        }
+        assertThat(this.stringEntryRepository.count(), is((long) this.defaultEntries.size() + newEntries.size()));
+    }
+
+    @Test
+    @DisplayName("Should compute the content hash of the value while saving an entry and find entries by it")
+    public void testFindByValueHash() {
+        StringEntry entry = this.defaultEntries.get(2);
+
+        assertThat(entry.getValueHash(), is(ContentHash.of(entry.getValue())));
+        assertThat(this.stringEntryRepository.findByValueHashOrderById(entry.getValueHash()), contains(entry));
+        assertThat(
+            this.stringEntryRepository.findByValueHashInOrderById(
+                List.of(entry.getValueHash(), this.defaultEntries.get(0).getValueHash())
+            ),
+            contains(this.defaultEntries.get(0), entry)
+        );
+    }
+
+    @Test
+    @DisplayName("Should visit all the entries in ID order, detaching them once visited")
+    public void testScrollAll() {
+        this.stringEntryRepository.flush();
+        List<Long> visitedIds = new ArrayList<>();
+
+        this.stringEntryRepository.scrollAll(2, entry -> visitedIds.add(entry.getId()));
+
+        assertThat(visitedIds, contains(this.defaultEntries.stream().map(StringEntry::getId).sorted().toArray()));
+        this.defaultEntries.forEach(entry -> assertThat(this.entityManager.contains(entry), is(false)));
+    }
+
+    @Test
+    @DisplayName("Should project entries found by ID")
+    public void testFindDtosById() {
+        StringEntry entry = this.defaultEntries.get(0);
+        StringEntryDto expected = StringEntryMapper.INSTANCE.stringEntryToDto(entry);
+
+        assertThat(this.stringEntryRepository.findDtoById(entry.getId()), is(Optional.of(expected)));
+        assertThat(this.stringEntryRepository.findDtoById(-1L), is(Optional.empty()));
+        assertThat(
+            this.stringEntryRepository.findDtosByIdIn(List.of(entry.getId(), -1L)),
+            contains(expected)
+        );
+    }
+
+    @Test
+    @DisplayName("Should project the entries in a range of IDs, ordered by ID")
+    public void testFindDtosByIdRange() {
+        List<StringEntryDto> expected = this.defaultEntries.stream()
+            .sorted(Comparator.comparing(StringEntry::getId))
+            .map(StringEntryMapper.INSTANCE::stringEntryToDto)
+            .collect(Collectors.toList());
+        long fromId = expected.get(1).getId();
+        long toId = expected.get(3).getId();
+
+        assertThat(this.stringEntryRepository.findDtosByIdRange(fromId, toId), is(expected.subList(1, 3)));
+        assertThat(this.stringEntryRepository.findDtosByIdRange(toId, toId), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should project the ranges of entries matching a specification")
+    public void testFindDtoRange() {
+        StringEntry entry = this.defaultEntries.get(3);
+        Specification<StringEntry> spec = StringEntrySpecifications.valueContaining(entry.getValue());
+
+        List<StringEntryDto> matching = this.stringEntryRepository.findDtoRange(spec, Sort.by("id"), 0, 10);
+        List<StringEntryDto> range = this.stringEntryRepository.findDtoRange(null, Sort.by("id").descending(), 1, 2);
+
+        assertThat(matching, contains(StringEntryMapper.INSTANCE.stringEntryToDto(entry)));
+        assertThat(range.size(), is(2));
+        assertThat(range.get(0).getId(), is(greaterThan(range.get(1).getId())));
+    }
 }
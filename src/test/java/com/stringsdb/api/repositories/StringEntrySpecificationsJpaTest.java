@@ -0,0 +1,148 @@
+package com.stringsdb.api.repositories;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.entities.StringTrigram;
+import com.stringsdb.api.mappers.StringEntryMapper;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.utils.TextFolding;
+import com.stringsdb.api.utils.Trigrams;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@EnableJpaAuditing
+@DisplayName("Integration tests for the string entry specifications with the database layer")
+public class StringEntrySpecificationsJpaTest {
+
+    @Autowired
+    private StringEntryRepository stringEntryRepository;
+
+    @Autowired
+    private StringTrigramRepository stringTrigramRepository;
+
+    private StringEntry saveIndexed(String value) {
+        StringEntry entry = StringEntryGenerator.generateStringEntry(false, false);
+        entry.setValue(value);
+        StringEntry savedEntry = this.stringEntryRepository.save(entry);
+
+        this.stringTrigramRepository.saveAll(Trigrams.of(value).stream()
+            .map(trigram -> new StringTrigram(trigram, savedEntry.getId()))
+            .collect(Collectors.toList()));
+
+        return savedEntry;
+    }
+
+    @Test
+    @DisplayName("Should escape wildcards in the filter like the derived query does")
+    public void testValueContainingEscapesWildcards() {
+        StringEntry literal = this.saveIndexed("Discount of 100% guaranteed");
+        this.saveIndexed("Discount of 1000 guaranteed");
+
+        List<StringEntry> result = this.stringEntryRepository.findAll(
+            StringEntrySpecifications.valueContaining("0%")
+        );
+
+        assertThat(result, contains(literal));
+    }
+
+    @Test
+    @DisplayName("Should return only the verified candidates of the trigram index, paginated and counted")
+    public void testTrigramCandidatesVerifiedByFilter() {
+        StringEntry first = this.saveIndexed("Contains a very specific first value");
+        StringEntry second = this.saveIndexed("Contains a very specific second value");
+        // Contains all the trigrams of the filter, but not the filter itself
+        this.saveIndexed("Is a very spy specific");
+        this.saveIndexed("Something completely different");
+
+        String filter = "a very specific";
+        Set<Long> trigrams = Trigrams.of(filter);
+
+        Page<StringEntry> candidates = this.stringEntryRepository.findAll(
+            StringEntrySpecifications.hasAllTrigrams(trigrams),
+            PageRequest.of(0, 5, Sort.by("id"))
+        );
+        assertThat(candidates.getTotalElements(), is(3L));
+
+        Page<StringEntry> result = this.stringEntryRepository.findAll(
+            StringEntrySpecifications.hasAllTrigrams(trigrams).and(StringEntrySpecifications.valueContaining(filter)),
+            PageRequest.of(0, 1, Sort.by("id"))
+        );
+
+        assertThat(result.getTotalElements(), is(2L));
+        assertThat(result.getContent(), contains(first));
+        assertThat(result.hasNext(), is(true));
+        assertThat(second.getId(), is(greaterThan(first.getId())));
+    }
+
+    @Test
+    @DisplayName("Should store the folded value and match insensitive filters against it")
+    public void testFoldedValueContaining() {
+        StringEntry accented = this.saveIndexed("Crème BRÛLÉE recipe");
+        StringEntry plain = this.saveIndexed("creme brulee for two");
+        this.saveIndexed("Crema catalana");
+
+        String folded = TextFolding.fold("CRÈME Brulee");
+        Page<StringEntry> result = this.stringEntryRepository.findAll(
+            StringEntrySpecifications.hasAllTrigrams(Trigrams.of(folded))
+                .and(StringEntrySpecifications.foldedValueContaining(folded)),
+            PageRequest.of(0, 5, Sort.by("id"))
+        );
+
+        assertThat(accented.getFoldedValue(), is("creme brulee recipe"));
+        assertThat(result.getContent(), contains(accented, plain));
+        assertThat(this.stringEntryRepository.findByFoldedValueIsNullAndIdGreaterThan(0L, PageRequest.of(0, 5)),
+            is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should walk all the matching entries exactly once in sort order with keyset cursors")
+    public void testKeysetWalk() {
+        for (int i = 0; i < 7; i++) {
+            this.saveIndexed("Walked value " + (i % 3));
+            this.saveIndexed("Skipped value " + i);
+        }
+
+        Specification<StringEntry> filter = StringEntrySpecifications.valueContaining("Walked");
+
+        for (String property : KeysetCursor.SORTABLE_PROPERTIES) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                KeysetCursor cursor = KeysetCursor.first(Sort.by(direction, property));
+                List<StringEntryDto> expected = this.stringEntryRepository.findAll(filter, cursor.toSort()).stream()
+                    .map(StringEntryMapper.INSTANCE::stringEntryToDto)
+                    .collect(Collectors.toList());
+                List<StringEntryDto> walked = new ArrayList<>();
+
+                List<StringEntryDto> page;
+                do {
+                    page = this.stringEntryRepository.findDtoRange(
+                        filter.and(StringEntrySpecifications.after(cursor)), cursor.toSort(), 0, 2
+                    );
+                    walked.addAll(page);
+                    if (!page.isEmpty()) {
+                        cursor = cursor.next(page.get(page.size() - 1));
+                    }
+                } while (!page.isEmpty());
+
+                assertThat(expected.size(), is(7));
+                assertThat(walked, is(expected));
+            }
+        }
+    }
+}
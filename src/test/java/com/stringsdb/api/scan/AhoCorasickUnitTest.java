@@ -0,0 +1,114 @@
+package com.stringsdb.api.scan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for the Aho-Corasick automaton")
+public class AhoCorasickUnitTest {
+
+    /**
+     * Finds the occurrences of the terms with {@link String#indexOf(String, int)}, one term at a time.
+     */
+    private static List<AhoCorasick.Occurrence> findAllNaively(List<String> terms, String value) {
+        List<AhoCorasick.Occurrence> result = new ArrayList<>();
+        for (int term = 0; term < terms.size(); term++) {
+            String str = terms.get(term);
+            for (int start = value.indexOf(str); start >= 0; start = value.indexOf(str, start + 1)) {
+                result.add(new AhoCorasick.Occurrence(term, start, start + str.length()));
+            }
+        }
+        result.sort(Comparator.comparingInt(AhoCorasick.Occurrence::getStart)
+            .thenComparingInt(AhoCorasick.Occurrence::getEnd));
+        return result;
+    }
+
+    @Test
+    @DisplayName("Should find every occurrence of the terms, including overlapping ones and suffixes of other terms")
+    public void testFindAll() {
+        AhoCorasick automaton = AhoCorasick.compile(List.of("he", "she", "his", "hers"));
+
+        assertThat(automaton.findAll("ushers"), contains(
+            new AhoCorasick.Occurrence(1, 1, 4),
+            new AhoCorasick.Occurrence(0, 2, 4),
+            new AhoCorasick.Occurrence(3, 2, 6)
+        ));
+        assertThat(automaton.findAll("HE said"), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should tell if a value contains any or all the terms, ignoring repeated terms")
+    public void testMatches() {
+        AhoCorasick automaton = AhoCorasick.compile(List.of("foo", "bar", "foo", "élan"));
+
+        assertThat(automaton.getTerms(), contains("foo", "bar", "élan"));
+        assertThat(automaton.matchesAny("a bar"), is(true));
+        assertThat(automaton.matchesAny("a baz"), is(false));
+        assertThat(automaton.matchesAll("élan: bar then foo"), is(true));
+        assertThat(automaton.matchesAll("bar then foo"), is(false));
+        assertThat(automaton.matchesAll(""), is(false));
+    }
+
+    @Test
+    @DisplayName("Should match up to 64 terms at once")
+    public void testMaxTerms() {
+        List<String> terms = IntStream.range(0, AhoCorasick.MAX_TERMS).mapToObj(i -> "<" + i + ">")
+            .collect(Collectors.toList());
+        AhoCorasick automaton = AhoCorasick.compile(terms);
+
+        assertThat(automaton.matchesAll(String.join("", terms)), is(true));
+        assertThat(automaton.matchesAll(String.join("", terms.subList(1, terms.size()))), is(false));
+    }
+
+    @Test
+    @DisplayName("Should reject missing, empty and too many terms")
+    public void testInvalidTerms() {
+        List<String> tooMany = IntStream.rangeClosed(0, AhoCorasick.MAX_TERMS).mapToObj(Integer::toString)
+            .collect(Collectors.toList());
+
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.compile(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.compile(List.of("a", "")));
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.compile(tooMany));
+    }
+
+    @Test
+    @DisplayName("Should find the same occurrences as searching each term separately")
+    public void testFindAllMatchesNaiveSearch() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<String> terms = IntStream.range(0, 1 + random.nextInt(8))
+                .mapToObj(i -> randomString(random, 1 + random.nextInt(4)))
+                .distinct()
+                .collect(Collectors.toList());
+            String value = randomString(random, random.nextInt(60));
+            AhoCorasick automaton = AhoCorasick.compile(terms);
+            List<AhoCorasick.Occurrence> expected = findAllNaively(terms, value);
+
+            assertThat(automaton.findAll(value), is(expected));
+            assertThat(automaton.matchesAny(value), is(!expected.isEmpty()));
+            assertThat(
+                automaton.matchesAll(value),
+                is(expected.stream().map(AhoCorasick.Occurrence::getTerm).distinct().count() == terms.size())
+            );
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // A small alphabet makes overlapping occurrences frequent
+            result.append("abcé".charAt(random.nextInt(4)));
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.stringsdb.api.scan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.regex.PatternSyntaxException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for the scan predicates")
+public class ScanPredicatesUnitTest {
+
+    @Test
+    @DisplayName("Should match the values containing a match of a regex")
+    public void testRegex() {
+        ScanPredicate predicate = ScanPredicates.regex("^err(or)? [0-9]+");
+
+        assertThat(predicate.test("error 42"), is(true));
+        assertThat(predicate.test("err 7 again"), is(true));
+        assertThat(predicate.test("an error 42"), is(false));
+        assertThrows(PatternSyntaxException.class, () -> ScanPredicates.regex("(unclosed"));
+    }
+
+    @Test
+    @DisplayName("Should match every clause of a predicate, any alternative of a clause and none of a negated one")
+    public void testParse() {
+        ScanPredicate predicate = ScanPredicates.parse("  error|warn  -\"disk full\" ");
+
+        assertThat(predicate.test("warn: cpu hot"), is(true));
+        assertThat(predicate.test("error: disk almost full"), is(true));
+        assertThat(predicate.test("error: disk full"), is(false));
+        assertThat(predicate.test("info: all good"), is(false));
+        assertThat(predicate.test("ERROR: case matters"), is(false));
+    }
+
+    @Test
+    @DisplayName("Should unescape quotes and backslashes in phrases")
+    public void testParsePhrases() {
+        ScanPredicate predicate = ScanPredicates.parse("\"say \\\"hi\\\"\"|\"a\\\\b c\"");
+
+        assertThat(predicate.test("they say \"hi\" twice"), is(true));
+        assertThat(predicate.test("path a\\b c"), is(true));
+        assertThat(predicate.test("say hi"), is(false));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and malformed predicates")
+    public void testParseInvalid() {
+        for (String expression : new String[]{"", "   ", "-", "a|", "|a", "a||b", "\"unclosed", "\"\"", "a\"b\""}) {
+            assertThrows(IllegalArgumentException.class, () -> ScanPredicates.parse(expression), expression);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop a backtracking regex once its budget runs out or the scan is cancelled")
+    public void testGuardedValue() {
+        ScanPredicate predicate = ScanPredicates.regex("(.*a){8}b");
+        String value = "a".repeat(64);
+
+        ScanBudget expired = new ScanBudget(Duration.ofMillis(50));
+        assertThrows(ScanTimeoutException.class, () -> predicate.test(expired.guard(value)));
+
+        ScanBudget cancelled = new ScanBudget(Duration.ofMinutes(1));
+        cancelled.cancel();
+        assertThrows(CancellationException.class, () -> predicate.test(cancelled.guard(value)));
+        assertThat(cancelled.guard(value).toString(), is(sameInstance(value)));
+    }
+}
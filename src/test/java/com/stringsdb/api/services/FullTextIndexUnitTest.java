@@ -0,0 +1,128 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.FullTextProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.fulltext.MatchOperator;
+import com.stringsdb.api.fulltext.ScoredEntry;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.storage.StringEntryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the full-text index")
+public class FullTextIndexUnitTest {
+
+    @Mock
+    private StringEntryStore store;
+
+    @TempDir
+    Path directory;
+
+    private FullTextIndex createIndex() {
+        FullTextProperties properties = new FullTextProperties();
+        properties.setSnapshotFile(this.directory.resolve("full-text.index"));
+        properties.setMaxLimit(2);
+        return new FullTextIndex(properties, this.store);
+    }
+
+    private static StringEntryDto entry(long id, String value) {
+        return new StringEntryDto(id, value, null);
+    }
+
+    private static List<Long> ids(List<ScoredEntry> entries) {
+        return entries.stream().map(ScoredEntry::getId).collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void storeEntries(StringEntryDto... entries) {
+        doAnswer(invocation -> {
+            Consumer<StringEntryDto> consumer = invocation.getArgument(0);
+            for (StringEntryDto entry : entries) {
+                consumer.accept(entry);
+            }
+            return null;
+        }).when(this.store).forEach(any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index from the store without a snapshot, and save a snapshot")
+    public void testRebuild() {
+        this.storeEntries(entry(1, "red apple"), entry(2, "green apple"), entry(3, "red car"));
+        FullTextIndex index = this.createIndex();
+
+        // Searches return nothing until the index is loaded, and entries saved meanwhile are indexed after the load
+        index.add(4L, "red red apple");
+        assertThat(index.search("apple", MatchOperator.OR, 10), is(empty()));
+
+        assertThat(index.load(), is(3L));
+        index.close();
+
+        assertThat(ids(index.search("red apple", MatchOperator.AND, 10)), contains(4L, 1L));
+        assertThat(ids(index.search("red apple", MatchOperator.OR, 10)).size(), is(2));
+        assertThat(Files.exists(this.directory.resolve("full-text.index")), is(true));
+    }
+
+    @Test
+    @DisplayName("Should load the snapshot and index the entries created since the previous load, whatever their IDs")
+    public void testLoadSnapshot() {
+        this.storeEntries(entry(1, "red apple"), entry(3, "green apple"));
+        FullTextIndex first = this.createIndex();
+        LocalDateTime beforeLoad = LocalDateTime.now();
+        first.load();
+        LocalDateTime afterLoad = LocalDateTime.now();
+        first.add(4L, "red car");
+        first.close();
+
+        // Another instance saved the entry 2 from an older block of IDs
+        ArgumentCaptor<KeysetCursor> cursor = ArgumentCaptor.forClass(KeysetCursor.class);
+        when(this.store.findAfter(isNull(), cursor.capture(), anyInt()))
+            .thenReturn(List.of(entry(2, "blue car"), entry(4, "red car")));
+        FullTextIndex second = this.createIndex();
+
+        assertThat(second.load(), is(1L));
+        assertThat(cursor.getValue().getProperty(), is("createdAt"));
+        Duration margin = new FullTextProperties().getCatchUpMargin();
+        LocalDateTime from = (LocalDateTime) cursor.getValue().getLastKey();
+        assertThat(from.isBefore(beforeLoad.minus(margin)), is(false));
+        assertThat(from.isAfter(afterLoad.minus(margin)), is(false));
+        assertThat(ids(second.search("car", MatchOperator.OR, 10)), containsInAnyOrder(2L, 4L));
+        assertThat(ids(second.search("apple", MatchOperator.OR, 10)), containsInAnyOrder(1L, 3L));
+        verify(this.store).forEach(any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index when the snapshot is invalid")
+    public void testInvalidSnapshot() throws Exception {
+        Files.writeString(this.directory.resolve("full-text.index"), "not a snapshot");
+        this.storeEntries(entry(1, "red apple"));
+        FullTextIndex index = this.createIndex();
+
+        assertThat(index.load(), is(1L));
+        assertThat(ids(index.search("apple", MatchOperator.OR, 10)), contains(1L));
+        verify(this.store, never()).findAfter(any(), any(), anyInt());
+    }
+}
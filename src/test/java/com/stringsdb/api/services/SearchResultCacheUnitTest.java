@@ -0,0 +1,129 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.SearchCacheProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Unit tests for the search result cache")
+public class SearchResultCacheUnitTest {
+
+    private static final Function<List<Long>, List<StringEntryDto>> RESOLVE = ids -> ids.stream()
+        .map(SearchResultCacheUnitTest::createEntry)
+        .collect(Collectors.toList());
+
+    private static StringEntryDto createEntry(long id) {
+        StringEntryDto entry = new StringEntryDto();
+        entry.setId(id);
+        entry.setValue("value " + id);
+        return entry;
+    }
+
+    private static Supplier<Page<StringEntryDto>> countingSearch(Pageable pageable, AtomicInteger searches) {
+        return () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(List.of(createEntry(1), createEntry(2)), pageable, 10);
+        };
+    }
+
+    @Test
+    @DisplayName("Should cache results per filter, page, size and sort")
+    public void testResultsCachedPerKey() {
+        SearchResultCache cache = new SearchResultCache(new SearchCacheProperties());
+        AtomicInteger searches = new AtomicInteger();
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+        Pageable otherSort = PageRequest.of(0, 2, Sort.by("value"));
+
+        cache.get("filter", pageable, countingSearch(pageable, searches), RESOLVE);
+        Page<StringEntryDto> cached = cache.get("filter", pageable, countingSearch(pageable, searches), RESOLVE);
+        cache.get("other", pageable, countingSearch(pageable, searches), RESOLVE);
+        cache.get("filter", otherSort, countingSearch(otherSort, searches), RESOLVE);
+
+        assertThat(searches.get(), is(3));
+        assertThat(cached.getContent(), contains(createEntry(1), createEntry(2)));
+        assertThat(cached.getTotalElements(), is(10L));
+        assertThat(cache.getStats().hitCount(), is(1L));
+    }
+
+    @Test
+    @DisplayName("Should search again after a write")
+    public void testWriteInvalidatesResults() {
+        SearchResultCache cache = new SearchResultCache(new SearchCacheProperties());
+        AtomicInteger searches = new AtomicInteger();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        cache.get(null, pageable, countingSearch(pageable, searches), RESOLVE);
+        cache.recordWrite();
+        cache.get(null, pageable, countingSearch(pageable, searches), RESOLVE);
+
+        assertThat(searches.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Should run a single search for concurrent identical misses")
+    public void testConcurrentMissesCollapsed() throws Exception {
+        SearchResultCache cache = new SearchResultCache(new SearchCacheProperties());
+        AtomicInteger searches = new AtomicInteger();
+        Pageable pageable = PageRequest.of(0, 2);
+        CountDownLatch searching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Page<StringEntryDto>> slowSearch = () -> {
+            searching.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return countingSearch(pageable, searches).get();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Page<StringEntryDto>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("filter", pageable, slowSearch, RESOLVE)));
+            searching.await();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get("filter", pageable, slowSearch, RESOLVE)));
+            }
+            release.countDown();
+
+            for (Future<Page<StringEntryDto>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getTotalElements(), is(10L));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(searches.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("Should always search when disabled")
+    public void testDisabledCache() {
+        SearchCacheProperties properties = new SearchCacheProperties();
+        properties.setEnabled(false);
+        SearchResultCache cache = new SearchResultCache(properties);
+        AtomicInteger searches = new AtomicInteger();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        cache.get(null, pageable, countingSearch(pageable, searches), RESOLVE);
+        cache.get(null, pageable, countingSearch(pageable, searches), RESOLVE);
+
+        assertThat(searches.get(), is(2));
+    }
+}
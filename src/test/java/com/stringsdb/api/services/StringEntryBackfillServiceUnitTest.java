@@ -0,0 +1,101 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.BackfillProperties;
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.repositories.StringEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the string entry backfill service")
+public class StringEntryBackfillServiceUnitTest {
+
+    @Mock
+    private StringEntryRepository stringEntryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final BackfillProperties properties = new BackfillProperties();
+
+    private StringEntryBackfillService backfillService;
+
+    @BeforeEach
+    public void setUp() {
+        this.backfillService = new StringEntryBackfillService(
+            this.properties, this.stringEntryRepository, this.transactionManager
+        );
+        when(this.transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private static List<StringEntry> entries(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(id -> {
+            StringEntry entry = new StringEntry();
+            entry.setId(id);
+            return entry;
+        }).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should update the entries chunk after chunk, each one starting after the last updated ID")
+    public void testBackfill() {
+        List<Long> startIds = new ArrayList<>();
+        List<Integer> updatedChunks = new ArrayList<>();
+
+        long updated = this.backfillService.backfill(
+            "Test backfill",
+            2,
+            (Long startAfter, Pageable chunk) -> {
+                startIds.add(startAfter);
+                assertThat(chunk.getPageSize(), is(2));
+                return entries(startAfter + 1, Math.min(startAfter + 2, 5));
+            },
+            chunkEntries -> updatedChunks.add(chunkEntries.size())
+        );
+
+        assertThat(updated, is(5L));
+        assertThat(startIds, contains(0L, 2L, 4L, 5L));
+        assertThat(updatedChunks, contains(2, 2, 1));
+        verify(this.transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should backfill the value hashes in chunks of the configured size")
+    public void testBackfillValueHashes() {
+        this.properties.setChunkSize(3);
+        StringEntry entry = new StringEntry();
+        entry.setId(7L);
+        entry.setValue("value");
+        when(this.stringEntryRepository.findByValueHashIsNullAndIdGreaterThan(any(), any()))
+            .thenReturn(List.of(entry), List.of());
+
+        assertThat(this.backfillService.backfillValueHashes(), is(1L));
+
+        assertThat(entry.getValueHash(), is(notNullValue()));
+        verify(this.stringEntryRepository)
+            .findByValueHashIsNullAndIdGreaterThan(7L, PageRequest.of(0, 3, Sort.by("id")));
+    }
+}
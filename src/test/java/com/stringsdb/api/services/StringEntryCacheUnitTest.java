@@ -0,0 +1,83 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.EntryCacheProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Unit tests for the string entry cache")
+public class StringEntryCacheUnitTest {
+
+    private StringEntryCache createCache(boolean enabled, Duration negativeTtl) {
+        EntryCacheProperties properties = new EntryCacheProperties();
+        properties.setEnabled(enabled);
+        properties.setNegativeTtl(negativeTtl);
+        return new StringEntryCache(properties);
+    }
+
+    private static StringEntryDto createEntry(long id) {
+        StringEntryDto entry = new StringEntryDto();
+        entry.setId(id);
+        entry.setValue("value " + id);
+        return entry;
+    }
+
+    @Test
+    @DisplayName("Should forget missing entries once their time to live is over")
+    public void testMissingEntryExpires() {
+        StringEntryCache cache = this.createCache(true, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<StringEntryDto> result = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(createEntry(id));
+        });
+
+        assertThat(result.isPresent(), is(true));
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Should replace a missing entry by the saved entry and forget invalidated entries")
+    public void testPutAndInvalidate() {
+        StringEntryCache cache = this.createCache(true, Duration.ofHours(1));
+        cache.get(1L, id -> Optional.empty());
+        cache.get(2L, id -> Optional.empty());
+
+        cache.put(createEntry(1L));
+        cache.invalidateAll(List.of(2L));
+
+        assertThat(cache.get(1L, id -> Optional.empty()), is(Optional.of(createEntry(1L))));
+        assertThat(cache.get(2L, id -> Optional.of(createEntry(id))), is(Optional.of(createEntry(2L))));
+    }
+
+    @Test
+    @DisplayName("Should always load the entries when disabled")
+    public void testDisabledCache() {
+        StringEntryCache cache = this.createCache(false, Duration.ofHours(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.put(createEntry(1L));
+        for (int i = 0; i < 3; i++) {
+            cache.get(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.of(createEntry(id));
+            });
+        }
+
+        assertThat(loads.get(), is(3));
+        assertThat(cache.getStats().requestCount(), is(0L));
+    }
+}
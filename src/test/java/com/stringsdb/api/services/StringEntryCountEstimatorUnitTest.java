@@ -0,0 +1,60 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.CountEstimatesProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Unit tests for the string entry count estimator")
+public class StringEntryCountEstimatorUnitTest {
+
+    private StringEntryCountEstimator createEstimator(Duration staleness) {
+        CountEstimatesProperties properties = new CountEstimatesProperties();
+        properties.setStaleness(staleness);
+        return new StringEntryCountEstimator(properties);
+    }
+
+    @Test
+    @DisplayName("Should count the entries once and increment the count for every saved entry")
+    public void testTotalIncrementedOnSave() {
+        StringEntryCountEstimator estimator = this.createEstimator(Duration.ofHours(1));
+        AtomicInteger counts = new AtomicInteger();
+
+        assertThat(estimator.estimate(null, () -> counts.incrementAndGet() * 100L), is(100L));
+        estimator.recordSaved();
+        estimator.recordSaved();
+
+        assertThat(estimator.estimate(null, () -> counts.incrementAndGet() * 100L), is(102L));
+        assertThat(counts.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("Should count the entries again once the count is stale")
+    public void testStaleTotalCountedAgain() {
+        StringEntryCountEstimator estimator = this.createEstimator(Duration.ZERO);
+        AtomicInteger counts = new AtomicInteger();
+
+        estimator.estimate(null, () -> counts.incrementAndGet() * 100L);
+        estimator.recordSaved();
+
+        assertThat(estimator.estimate(null, () -> counts.incrementAndGet() * 100L), is(200L));
+        assertThat(counts.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Should cache the count of each filter separately")
+    public void testFilterCountsCached() {
+        StringEntryCountEstimator estimator = this.createEstimator(Duration.ofHours(1));
+        AtomicInteger counts = new AtomicInteger();
+
+        assertThat(estimator.estimate("first", () -> counts.incrementAndGet() * 10L), is(10L));
+        assertThat(estimator.estimate("second", () -> counts.incrementAndGet() * 10L), is(20L));
+        assertThat(estimator.estimate("first", () -> counts.incrementAndGet() * 10L), is(10L));
+        assertThat(counts.get(), is(2));
+    }
+}
@@ -0,0 +1,81 @@
+package com.stringsdb.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.storage.StringEntryStore;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the string entry export service")
+public class StringEntryExportServiceUnitTest {
+
+    @Mock
+    private StringEntryStore store;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private StringEntryExportService exportService;
+
+    private List<StringEntryDto> entries;
+
+    @BeforeEach
+    public void setUp() {
+        this.exportService = new StringEntryExportService(this.store, this.objectMapper);
+        this.entries = StringEntryGenerator.generateManyStringEntryDtos(3);
+        this.entries.get(1).setValue("Quoted \"value\", with a comma");
+
+        doAnswer(invocation -> {
+            Consumer<StringEntryDto> action = invocation.getArgument(0);
+            this.entries.forEach(action);
+            return null;
+        }).when(this.store).forEach(any());
+    }
+
+    private String export(StringEntryExportService.Format format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.exportService.export(format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should export one JSON object per line")
+    public void testExportNdjson() throws Exception {
+        String[] lines = this.export(StringEntryExportService.Format.NDJSON).split("\n");
+
+        assertThat(lines.length, is(3));
+        for (int i = 0; i < lines.length; i++) {
+            StringEntryDto exported = this.objectMapper.readValue(lines[i], StringEntryDto.class);
+            assertThat(exported.getId(), is(this.entries.get(i).getId()));
+            assertThat(exported.getValue(), is(this.entries.get(i).getValue()));
+            assertThat(exported.getCreatedAt(), is(this.entries.get(i).getCreatedAt()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should export comma-separated values with a header and quoted values")
+    public void testExportCsv() throws Exception {
+        String[] lines = this.export(StringEntryExportService.Format.CSV).split("\r\n");
+
+        assertThat(lines.length, is(4));
+        assertThat(lines[0], is("id,value,createdAt"));
+        assertThat(lines[2], startsWith("2,\"Quoted \"\"value\"\", with a comma\","));
+        assertThat(lines[2], endsWith(this.entries.get(1).getCreatedAt().toString()));
+    }
+}
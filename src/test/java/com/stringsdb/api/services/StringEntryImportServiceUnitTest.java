@@ -0,0 +1,142 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.dtos.ImportSummaryDto;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the string entry import service")
+public class StringEntryImportServiceUnitTest {
+
+    @Mock
+    private StringEntryService stringEntryService;
+
+    private StringEntryImportService importService;
+
+    private final List<List<String>> savedChunks = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        this.importService = new StringEntryImportService(
+            this.stringEntryService,
+            Jackson2ObjectMapperBuilder.json().build(),
+            Validation.buildDefaultValidatorFactory().getValidator()
+        );
+    }
+
+    private void recordSavedChunks(String... storedValues) {
+        when(this.stringEntryService.saveAll(anyList(), any())).thenAnswer(invocation -> {
+            List<StringEntrySaveDto> items = invocation.getArgument(0);
+            Consumer<StringEntryDto> storedAction = invocation.getArgument(1);
+            this.savedChunks.add(items.stream().map(StringEntrySaveDto::getValue).collect(Collectors.toList()));
+            // The values already stored are returned without being stored again
+            List<String> known = List.of(storedValues);
+            return items.stream()
+                .map(item -> {
+                    StringEntryDto entry = new StringEntryDto((long) item.getValue().hashCode(), item.getValue(), null);
+                    if (!known.contains(item.getValue())) {
+                        storedAction.accept(entry);
+                    }
+                    return entry;
+                })
+                .collect(Collectors.toList());
+        });
+    }
+
+    private ImportSummaryDto importEntries(StringEntryImportService.Format format, String body) throws Exception {
+        return this.importService.importEntries(
+            format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    @Test
+    @DisplayName("Should import the valid NDJSON lines and report the rejected ones")
+    public void testImportNdjson() throws Exception {
+        this.recordSavedChunks();
+
+        ImportSummaryDto summary = this.importEntries(
+            StringEntryImportService.Format.NDJSON,
+            "{\"value\": \"first\"}\r\n\n{\"value\": \"\"}\n{not json}\n{\"value\": \"second\"}"
+        );
+
+        assertThat(this.savedChunks, contains(List.of("first", "second")));
+        assertThat(summary.getLines(), is(5L));
+        assertThat(summary.getImported(), is(2L));
+        assertThat(summary.getRejected(), is(2L));
+        assertThat(summary.getRejects().get(0).getLine(), is(3L));
+        assertThat(summary.getRejects().get(1).getLine(), is(4L));
+        assertThat(summary.getRejects().get(1).getMessage(), startsWith("Invalid JSON"));
+    }
+
+    @Test
+    @DisplayName("Should save the values in chunks as they are read")
+    public void testImportTextInChunks() throws Exception {
+        this.recordSavedChunks();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < StringEntryImportService.CHUNK_SIZE * 2 + 1; i++) {
+            body.append("value ").append(i).append('\n');
+        }
+
+        ImportSummaryDto summary = this.importEntries(StringEntryImportService.Format.TEXT, body.toString());
+
+        assertThat(
+            this.savedChunks.stream().map(List::size).collect(Collectors.toList()),
+            contains(StringEntryImportService.CHUNK_SIZE, StringEntryImportService.CHUNK_SIZE, 1)
+        );
+        assertThat(summary.getImported(), is(StringEntryImportService.CHUNK_SIZE * 2 + 1L));
+        assertThat(summary.getDuplicates(), is(0L));
+        assertThat(summary.getRejected(), is(0L));
+    }
+
+    @Test
+    @DisplayName("Should only count the newly stored entries as imported")
+    public void testImportDuplicates() throws Exception {
+        this.recordSavedChunks("stored");
+
+        ImportSummaryDto summary = this.importEntries(StringEntryImportService.Format.TEXT, "stored\nnew\nstored\n");
+
+        assertThat(this.savedChunks, contains(List.of("stored", "new", "stored")));
+        assertThat(summary.getLines(), is(3L));
+        assertThat(summary.getImported(), is(1L));
+        assertThat(summary.getDuplicates(), is(2L));
+        assertThat(summary.getRejected(), is(0L));
+    }
+
+    @Test
+    @DisplayName("Should reject too long lines and only report the first rejects")
+    public void testRejects() throws Exception {
+        StringBuilder body = new StringBuilder("x".repeat(StringEntryImportService.MAX_LINE_LENGTH + 10)).append('\n');
+        for (int i = 0; i < StringEntryImportService.MAX_REPORTED_REJECTS + 5; i++) {
+            body.append("x".repeat(300)).append('\n');
+        }
+
+        ImportSummaryDto summary = this.importEntries(StringEntryImportService.Format.TEXT, body.toString());
+
+        assertThat(summary.getRejected(), is(StringEntryImportService.MAX_REPORTED_REJECTS + 6L));
+        assertThat(summary.getRejects().size(), is(StringEntryImportService.MAX_REPORTED_REJECTS));
+        assertThat(summary.getRejects().get(0).getMessage(), containsString("longer than"));
+        assertThat(summary.getRejects().get(1).getMessage(), containsString("between 1 and 255 characters"));
+        assertThat(summary.getImported(), is(0L));
+    }
+}
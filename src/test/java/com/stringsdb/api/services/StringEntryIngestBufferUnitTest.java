@@ -0,0 +1,206 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.IngestProperties;
+import com.stringsdb.api.dtos.IngestTicketDto;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the string entry ingestion buffer")
+public class StringEntryIngestBufferUnitTest {
+
+    @Mock
+    private StringEntryService stringEntryService;
+
+    private StringEntryIngestBuffer buffer;
+
+    private StringEntryIngestBuffer createBuffer(int queueCapacity, int batchSize, Duration linger) {
+        IngestProperties properties = new IngestProperties();
+        properties.setQueueCapacity(queueCapacity);
+        properties.setBatchSize(batchSize);
+        properties.setLinger(linger);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        this.buffer = new StringEntryIngestBuffer(properties, this.stringEntryService);
+        return this.buffer;
+    }
+
+    @AfterEach
+    public void stopBuffer() {
+        if (this.buffer != null) {
+            this.buffer.stop();
+        }
+    }
+
+    private static StringEntrySaveDto createItem(String value) {
+        StringEntrySaveDto item = new StringEntrySaveDto();
+        item.setValue(value);
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void saveWithIncreasingIds(List<Integer> batchSizes) {
+        AtomicLong ids = new AtomicLong();
+        when(this.stringEntryService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StringEntrySaveDto> items = invocation.getArgument(0);
+            batchSizes.add(items.size());
+            return items.stream().map(item -> {
+                StringEntryDto dto = new StringEntryDto();
+                dto.setId(ids.incrementAndGet());
+                dto.setValue(item.getValue());
+                return dto;
+            }).collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    @DisplayName("Should save the queued entries in batches and complete each entry with its saved item")
+    public void testEntriesSavedInBatches() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        this.saveWithIncreasingIds(batchSizes);
+        StringEntryIngestBuffer buffer = this.createBuffer(100, 4, Duration.ofSeconds(1));
+        buffer.start();
+
+        List<CompletableFuture<StringEntryDto>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(buffer.submitAndWait(createItem("value " + i)));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS).getValue(), is("value " + i));
+        }
+        assertThat(batchSizes, contains(4, 4));
+    }
+
+    @Test
+    @DisplayName("Should save a partial batch once the linger time is over")
+    public void testPartialBatchSavedAfterLinger() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        this.saveWithIncreasingIds(batchSizes);
+        StringEntryIngestBuffer buffer = this.createBuffer(100, 100, Duration.ofMillis(20));
+        buffer.start();
+
+        String ticket = buffer.submit(createItem("alone"));
+        CompletableFuture<StringEntryDto> future = buffer.submitAndWait(createItem("together"));
+
+        assertThat(future.get(5, TimeUnit.SECONDS).getId(), is(2L));
+        IngestTicketDto status = buffer.getTicket(ticket).orElseThrow();
+        assertThat(status.getStatus(), is(IngestTicketDto.Status.COMMITTED));
+        assertThat(status.getEntry().getValue(), is("alone"));
+        assertThat(batchSizes, contains(2));
+    }
+
+    @Test
+    @DisplayName("Should reject entries while the buffer is not running")
+    public void testStoppedBufferRejects() {
+        StringEntryIngestBuffer buffer = this.createBuffer(2, 10, Duration.ofMillis(10));
+        assertThrows(RejectedExecutionException.class, () -> buffer.submit(createItem("not started")));
+
+        buffer.start();
+        buffer.stop();
+        assertThrows(RejectedExecutionException.class, () -> buffer.submit(createItem("stopped")));
+    }
+
+    @Test
+    @DisplayName("Should reject entries while the queue is full and save every queued entry when stopped")
+    public void testQueueFlushedOnStop() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        AtomicLong ids = new AtomicLong();
+        when(this.stringEntryService.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await();
+            List<StringEntrySaveDto> items = invocation.getArgument(0);
+            batchSizes.add(items.size());
+            return items.stream().map(item -> {
+                StringEntryDto dto = new StringEntryDto();
+                dto.setId(ids.incrementAndGet());
+                return dto;
+            }).collect(Collectors.toList());
+        });
+        StringEntryIngestBuffer buffer = this.createBuffer(2, 1, Duration.ZERO);
+        buffer.start();
+
+        // The writer holds the first entry while the other two fill the queue
+        CompletableFuture<StringEntryDto> first = buffer.submitAndWait(createItem("first"));
+        verify(this.stringEntryService, timeout(5000)).saveAll(anyList());
+        buffer.submit(createItem("second"));
+        CompletableFuture<StringEntryDto> third = buffer.submitAndWait(createItem("third"));
+        assertThrows(RejectedExecutionException.class, () -> buffer.submit(createItem("fourth")));
+
+        release.countDown();
+        buffer.stop();
+
+        assertThat(first.isDone(), is(true));
+        assertThat(third.get(0, TimeUnit.SECONDS).getId(), is(3L));
+        assertThat(batchSizes, contains(1, 1, 1));
+        assertThrows(RejectedExecutionException.class, () -> buffer.submit(createItem("late")));
+    }
+
+    @Test
+    @DisplayName("Should fail every entry of a batch that could not be saved")
+    public void testFailedBatch() throws Exception {
+        when(this.stringEntryService.saveAll(anyList())).thenThrow(new IllegalStateException("Database down"));
+        StringEntryIngestBuffer buffer = this.createBuffer(100, 10, Duration.ofMillis(10));
+        buffer.start();
+
+        String ticket = buffer.submit(createItem("lost"));
+        CompletableFuture<StringEntryDto> future = buffer.submitAndWait(createItem("lost too"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(error.getCause().getMessage(), is("Database down"));
+        IngestTicketDto status = buffer.getTicket(ticket).orElseThrow();
+        assertThat(status.getStatus(), is(IngestTicketDto.Status.FAILED));
+        assertThat(status.getError(), containsString("Database down"));
+        assertThat(buffer.getTicket("unknown").isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("Should save the entries of a failed batch one by one, and only fail the entries that still fail")
+    public void testFailedBatchRetriedPerEntry() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        AtomicLong ids = new AtomicLong();
+        when(this.stringEntryService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StringEntrySaveDto> items = invocation.getArgument(0);
+            batchSizes.add(items.size());
+            if (items.stream().anyMatch(item -> item.getValue().equals("bad"))) {
+                throw new IllegalStateException("Bad value");
+            }
+            return items.stream().map(item -> {
+                StringEntryDto dto = new StringEntryDto();
+                dto.setId(ids.incrementAndGet());
+                dto.setValue(item.getValue());
+                return dto;
+            }).collect(Collectors.toList());
+        });
+        // The writer lingers long enough for the three entries to form a single batch
+        StringEntryIngestBuffer buffer = this.createBuffer(100, 3, Duration.ofSeconds(1));
+        buffer.start();
+        CompletableFuture<StringEntryDto> good = buffer.submitAndWait(createItem("good"));
+        CompletableFuture<StringEntryDto> bad = buffer.submitAndWait(createItem("bad"));
+        CompletableFuture<StringEntryDto> goodToo = buffer.submitAndWait(createItem("good too"));
+
+        assertThat(good.get(5, TimeUnit.SECONDS).getValue(), is("good"));
+        assertThat(goodToo.get(5, TimeUnit.SECONDS).getValue(), is("good too"));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertThat(error.getCause().getMessage(), is("Bad value"));
+        assertThat(batchSizes, contains(3, 1, 1, 1));
+    }
+}
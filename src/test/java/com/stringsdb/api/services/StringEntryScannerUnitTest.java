@@ -0,0 +1,148 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.ScanProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.scan.ScanPredicate;
+import com.stringsdb.api.scan.ScanPredicates;
+import com.stringsdb.api.scan.ScanTimeoutException;
+import com.stringsdb.api.storage.StringEntryStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the string entry scanner")
+public class StringEntryScannerUnitTest {
+
+    /**
+     * The greatest ID of the scanned entries. The entries with an ID multiple of 7 are missing.
+     */
+    private static final long LAST_ID = 95;
+
+    @Mock
+    private StringEntryStore store;
+
+    private final ScanProperties properties = new ScanProperties();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final StringEntryMetrics metrics = new StringEntryMetrics(this.registry);
+
+    private StringEntryScanner scanner;
+
+    @BeforeEach
+    public void setUp() {
+        this.properties.setParallelism(2);
+        this.properties.setSegmentSize(10);
+        this.properties.setReadAhead(1);
+        this.scanner = new StringEntryScanner(this.properties, this.store, this.metrics);
+
+        lenient().when(this.store.findLastId()).thenReturn(Optional.of(LAST_ID));
+        lenient().when(this.store.findIdRange(anyLong(), anyLong())).thenAnswer(invocation -> LongStream
+            .range(invocation.<Long>getArgument(0), Math.min(invocation.<Long>getArgument(1), LAST_ID + 1))
+            .filter(id -> id % 7 != 0)
+            .mapToObj(id -> new StringEntryDto(id, "value-" + id, null))
+            .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.scanner.close();
+    }
+
+    private static List<Long> ids(List<StringEntryDto> entries) {
+        return entries.stream().map(StringEntryDto::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> expectedIds(LongStream ids, ScanPredicate predicate) {
+        return ids.filter(id -> id % 7 != 0 && predicate.test("value-" + id)).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should return the matching entries of a range across segments, in ascending or descending ID order")
+    public void testScan() {
+        ScanPredicate predicate = ScanPredicates.regex("[13]$");
+        List<Long> ascending = expectedIds(LongStream.rangeClosed(1, LAST_ID), predicate);
+        List<Long> descending = expectedIds(LongStream.rangeClosed(1, LAST_ID).map(id -> LAST_ID + 1 - id), predicate);
+
+        assertThat(ids(this.scanner.scan(predicate, Sort.unsorted(), 0, 5)), is(ascending.subList(0, 5)));
+        assertThat(ids(this.scanner.scan(predicate, Sort.by("id"), 4, 6)), is(ascending.subList(4, 10)));
+        assertThat(ids(this.scanner.scan(predicate, Sort.by(Sort.Direction.DESC, "id"), 3, 4)),
+            is(descending.subList(3, 7)));
+        assertThat(ids(this.scanner.scan(predicate, Sort.unsorted(), 0, 100)), is(ascending));
+        assertThat(this.scanner.scan(predicate, Sort.unsorted(), 100, 10), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should stop reading segments once the page is full")
+    public void testEarlyTermination() {
+        List<StringEntryDto> result = this.scanner.scan(ScanPredicates.contains("value"), Sort.unsorted(), 0, 5);
+
+        assertThat(ids(result), contains(1L, 2L, 3L, 4L, 5L));
+        // Only the segments in flight when the first one completes the page may have been read
+        verify(this.store, never()).findIdRange(eq(31L), anyLong());
+        verify(this.store, never()).findIdRange(eq(91L), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should record the entries scanned and returned by a scan")
+    public void testScanRows() {
+        this.scanner.scan(ScanPredicates.contains("value-1"), Sort.unsorted(), 0, 3);
+
+        DistributionSummary scanned = this.registry.get("stringsdb.store.rows")
+            .tags("store", "scan", "stage", "scanned").summary();
+        DistributionSummary returned = this.registry.get("stringsdb.store.rows")
+            .tags("store", "scan", "stage", "returned").summary();
+        // IDs 1 and 10 match in the first segment, which is scanned whole, and ID 11 first in the second one
+        assertThat(scanned.totalAmount(), greaterThanOrEqualTo(10.0));
+        assertThat(returned.totalAmount(), is(3.0));
+    }
+
+    @Test
+    @DisplayName("Should fail a scan running out of its time budget")
+    public void testTimeout() {
+        this.properties.setTimeBudget(Duration.ofMillis(100));
+        ScanPredicate slow = value -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        };
+
+        assertThrows(ScanTimeoutException.class, () -> this.scanner.scan(slow, Sort.unsorted(), 0, 10));
+    }
+
+    @Test
+    @DisplayName("Should reject sorts other than by ID")
+    public void testInvalidSort() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.scanner.scan(ScanPredicates.contains("value"), Sort.by("value"), 0, 10)
+        );
+    }
+}
@@ -1,26 +1,52 @@
 package com.stringsdb.api.services;
 
+import com.stringsdb.api.configuration.DeduplicationProperties;
+import com.stringsdb.api.configuration.EntryCacheProperties;
+import com.stringsdb.api.configuration.SearchCacheProperties;
+import com.stringsdb.api.dtos.StringEntryCursorPageDto;
 import com.stringsdb.api.dtos.StringEntryDto;
 import com.stringsdb.api.dtos.StringEntrySaveDto;
-import com.stringsdb.api.entities.StringEntry;
-import com.stringsdb.api.mappers.StringEntryMapper;
-import com.stringsdb.api.repositories.StringEntryRepository;
+import com.stringsdb.api.dtos.StringEntryMatchDto;
+import com.stringsdb.api.dtos.StringEntrySearchHitDto;
+import com.stringsdb.api.dtos.TermOccurrenceDto;
+import com.stringsdb.api.fulltext.MatchOperator;
+import com.stringsdb.api.fulltext.ScoredEntry;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.api.scan.AhoCorasick;
+import com.stringsdb.api.scan.ScanPredicate;
+import com.stringsdb.api.scan.ScanPredicates;
+import com.stringsdb.api.scan.TermMatchMode;
+import com.stringsdb.api.storage.StringEntryStore;
 import com.stringsdb.generators.StringEntryGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("ALL")
@@ -29,68 +55,353 @@ import static org.mockito.Mockito.when;
 public class StringEntryServiceUnitTest {
 
     @Mock
-    private StringEntryRepository stringEntryRepository;
+    private StringEntryStore store;
+
+    @Mock
+    private StringEntryCountEstimator countEstimator;
+
+    @Mock
+    private SuggestIndex suggestIndex;
+
+    @Mock
+    private FullTextIndex fullTextIndex;
+
+    @Mock
+    private StringEntryScanner scanner;
+
+    @Spy
+    private StringEntryCache cache = new StringEntryCache(new EntryCacheProperties());
+
+    @Spy
+    private SearchResultCache searchCache = new SearchResultCache(new SearchCacheProperties());
+
+    @Spy
+    private DeduplicationProperties deduplication = new DeduplicationProperties();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private StringEntryMetrics metrics = new StringEntryMetrics(this.registry);
 
     @InjectMocks
     private StringEntryService stringEntryService;
 
     @Test
-    @DisplayName("Should return all elements in a page when no filter is informed")
-    public void testGetManyWithoutFilter() {
+    @DisplayName("Should return the page found by the store")
+    public void testGetMany() {
         Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
-        List<StringEntry> allEntries = StringEntryGenerator.generateManyStringEntries(5, true, true);
-        when(stringEntryRepository.findAll(any(Pageable.class))).thenReturn(
-            new PageImpl<>(allEntries, pageable, allEntries.size())
+        List<StringEntryDto> filteredEntries = StringEntryGenerator.generateManyStringEntryDtos(2);
+        when(store.findMany("some_filter", pageable)).thenReturn(
+            new PageImpl<>(filteredEntries, pageable, filteredEntries.size())
         );
 
-        Page<StringEntryDto> result = this.stringEntryService.getMany(null, pageable);
+        Page<StringEntryDto> result = this.stringEntryService.getMany("some_filter", pageable);
 
-        assertThat(result.getContent(), containsInAnyOrder(allEntries.stream()
-            .map(StringEntryMapper.INSTANCE::stringEntryToDto).toArray()));
+        assertThat(result.getContent(), containsInAnyOrder(filteredEntries.toArray()));
+        assertThat(
+            this.registry.get("stringsdb.service.calls")
+                .tags("operation", "getMany", "filter.length", "11+")
+                .timer()
+                .count(),
+            is(1L)
+        );
     }
 
     @Test
-    @DisplayName("Should return elements through repository filter method when a filter is informed")
-    public void testGetManyWithFilter() {
+    @DisplayName("Should serve repeated searches from the cache until an entry is saved")
+    public void testGetManyCached() {
         Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
-        List<StringEntry> filteredEntries = StringEntryGenerator.generateManyStringEntries(2, true, true);
-        when(stringEntryRepository.findByValueContaining(anyString(), any())).thenReturn(
-            new PageImpl<>(filteredEntries, pageable, filteredEntries.size())
+        List<StringEntryDto> allEntries = StringEntryGenerator.generateManyStringEntryDtos(5);
+        when(store.findMany(null, pageable)).thenReturn(new PageImpl<>(allEntries, pageable, 42));
+        when(store.findAllById(anyList())).thenReturn(
+            allEntries.stream().collect(Collectors.toMap(StringEntryDto::getId, entry -> entry))
         );
+        when(store.save(any())).thenReturn(StringEntryGenerator.generateStringEntryDto());
 
-        Page<StringEntryDto> result = this.stringEntryService.getMany("some_filter", pageable);
+        Page<StringEntryDto> first = this.stringEntryService.getMany(null, pageable);
+        Page<StringEntryDto> second = this.stringEntryService.getMany(null, pageable);
+        Page<StringEntryDto> third = this.stringEntryService.getMany(null, pageable);
 
-        assertThat(result.getContent(), containsInAnyOrder(filteredEntries.stream()
-            .map(StringEntryMapper.INSTANCE::stringEntryToDto).toArray()));
+        assertThat(second.getContent(), is(first.getContent()));
+        assertThat(third.getTotalElements(), is(42L));
+        verify(store, times(1)).findMany(null, pageable);
+        // The entries of cached pages are resolved once, then served by the cache of entries by ID
+        verify(store, times(1)).findAllById(anyList());
+
+        this.stringEntryService.save(StringEntryGenerator.generateStringEntrySaveDto());
+        this.stringEntryService.getMany(null, pageable);
+        verify(store, times(2)).findMany(null, pageable);
     }
 
     @Test
-    @DisplayName("Should return an entity instance if it exists")
+    @DisplayName("Should return a slice without counting the entries")
+    public void testGetSlice() {
+        Pageable pageable = PageRequest.of(1, 2, Sort.by("id"));
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(3);
+        when(store.findRange(any(), eq(pageable.getSort()), eq(2L), eq(3))).thenReturn(entries);
+
+        Slice<StringEntryDto> result = this.stringEntryService.getSlice(null, pageable);
+
+        assertThat(result.getContent(), contains(entries.subList(0, 2).toArray()));
+        assertThat(result.hasNext(), is(true));
+        verify(store, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("Should return a page with the estimated total when there is a next page")
+    public void testGetManyWithApproximateCount() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(3);
+        when(store.findRange(any(), any(), anyLong(), anyInt())).thenReturn(entries);
+        when(countEstimator.estimate(eq("some_filter"), any())).thenReturn(40L);
+
+        Page<StringEntryDto> result = this.stringEntryService.getManyWithApproximateCount("some_filter", pageable);
+
+        assertThat(result.getContent().size(), is(2));
+        assertThat(result.getTotalElements(), is(40L));
+    }
+
+    @Test
+    @DisplayName("Should return the exact total on the last page without estimating it")
+    public void testGetManyWithApproximateCountOnLastPage() {
+        Pageable pageable = PageRequest.of(3, 2, Sort.by("id"));
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(1);
+        when(store.findRange(any(), any(), anyLong(), anyInt())).thenReturn(entries);
+
+        Page<StringEntryDto> result = this.stringEntryService.getManyWithApproximateCount(null, pageable);
+
+        assertThat(result.getTotalElements(), is(7L));
+        verify(countEstimator, never()).estimate(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra entry to return the cursor of the next page")
+    public void testGetManyAfterWithNextPage() {
+        KeysetCursor cursor = KeysetCursor.first(Sort.by("value"));
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(3);
+        when(store.findAfter(null, cursor, 3)).thenReturn(entries);
+
+        StringEntryCursorPageDto result = this.stringEntryService.getManyAfter(null, cursor, 2);
+
+        assertThat(result.getContent(), contains(entries.subList(0, 2).toArray()));
+        assertThat(KeysetCursor.decode(result.getNextCursor()), is(cursor.next(entries.get(1))));
+    }
+
+    @Test
+    @DisplayName("Should not return a next cursor on the last page")
+    public void testGetManyAfterOnLastPage() {
+        KeysetCursor cursor = KeysetCursor.first(Sort.unsorted());
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(2);
+        when(store.findAfter(any(), any(), anyInt())).thenReturn(entries);
+
+        StringEntryCursorPageDto result = this.stringEntryService.getManyAfter("some_filter", cursor, 2);
+
+        assertThat(result.getContent().size(), is(2));
+        assertThat(result.getNextCursor(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Should return an entry if it exists")
     public void testGetOneExistingEntry() {
-        StringEntry entry = StringEntryGenerator.generateStringEntry(true, true);
-        when(stringEntryRepository.findById(any())).thenReturn(Optional.of(entry));
+        StringEntryDto entry = StringEntryGenerator.generateStringEntryDto();
+        when(store.findById(any())).thenReturn(Optional.of(entry));
         @SuppressWarnings("OptionalGetWithoutIsPresent") StringEntryDto result = this.stringEntryService.getOne(1L).get();
-        assertThat(result, is(StringEntryMapper.INSTANCE.stringEntryToDto(entry)));
+        assertThat(result, is(entry));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups of an entry, found or not, from the cache")
+    public void testGetOneCached() {
+        StringEntryDto entry = StringEntryGenerator.generateStringEntryDto();
+        when(store.findById(1L)).thenReturn(Optional.of(entry));
+        when(store.findById(2L)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(this.stringEntryService.getOne(1L).isPresent(), is(true));
+            assertThat(this.stringEntryService.getOne(2L).isPresent(), is(false));
+        }
+
+        verify(store, times(1)).findById(1L);
+        verify(store, times(1)).findById(2L);
+        assertThat(this.cache.getStats().hitCount(), is(4L));
+        assertThat(this.cache.getStats().missCount(), is(2L));
     }
 
     @Test
-    @DisplayName("Should return an empty optional if the instance does not exist")
+    @DisplayName("Should return an empty optional if the entry does not exist")
     public void testGetOneNonexistentEntry() {
-        when(stringEntryRepository.findById(any())).thenReturn(Optional.empty());
+        when(store.findById(any())).thenReturn(Optional.empty());
         Optional<StringEntryDto> result = this.stringEntryService.getOne(1L);
         assertThat(result.isEmpty(), is(true));
     }
 
     @Test
-    @DisplayName("Should trigger the repository to save an entity successfully")
+    @DisplayName("Should trigger the store to save an entry successfully")
     public void testSaveValidEntry() {
         StringEntrySaveDto dataToSave = StringEntryGenerator.generateStringEntrySaveDto();
-        StringEntry savedEntry = StringEntryGenerator.generateStringEntry(true, true);
+        StringEntryDto savedEntry = StringEntryGenerator.generateStringEntryDto();
         savedEntry.setValue(dataToSave.getValue());
 
-        when(stringEntryRepository.save(any())).thenReturn(savedEntry);
+        when(store.save(dataToSave)).thenReturn(savedEntry);
 
         StringEntryDto result = this.stringEntryService.save(dataToSave);
-        assertThat(result, is(StringEntryMapper.INSTANCE.stringEntryToDto(savedEntry)));
+        assertThat(result, is(savedEntry));
+        verify(suggestIndex).add(savedEntry.getId(), savedEntry.getValue());
+        verify(fullTextIndex).add(savedEntry.getId(), savedEntry.getValue());
+        verify(countEstimator).recordSaved();
+
+        assertThat(this.stringEntryService.getOne(savedEntry.getId()), is(Optional.of(result)));
+        verify(store, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should save a batch in chunks and return the saved entries in order")
+    public void testSaveAll() {
+        List<StringEntrySaveDto> items = new ArrayList<>();
+        for (int i = 0; i < StringEntryService.BATCH_FLUSH_SIZE + 2; i++) {
+            items.add(StringEntryGenerator.generateStringEntrySaveDto());
+        }
+        when(store.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StringEntrySaveDto> chunk = invocation.getArgument(0);
+            return chunk.stream().map(item -> {
+                StringEntryDto entry = new StringEntryDto();
+                entry.setId((long) item.getValue().hashCode());
+                entry.setValue(item.getValue());
+                return entry;
+            }).collect(Collectors.toList());
+        });
+
+        List<StringEntryDto> result = this.stringEntryService.saveAll(items);
+
+        assertThat(result.size(), is(items.size()));
+        for (int i = 0; i < items.size(); i++) {
+            assertThat(result.get(i).getId(), is((long) items.get(i).getValue().hashCode()));
+            assertThat(result.get(i).getValue(), is(items.get(i).getValue()));
+        }
+        verify(store, times(2)).saveAll(anyList());
+        verify(suggestIndex, times(items.size())).add(anyLong(), anyString());
+        verify(countEstimator).recordSaved(items.size());
+    }
+
+    @Test
+    @DisplayName("Should find an entry by value through the store")
+    public void testGetByValue() {
+        StringEntryDto entry = StringEntryGenerator.generateStringEntryDto();
+        when(store.findFirstByValue(entry.getValue())).thenReturn(Optional.of(entry));
+
+        Optional<StringEntryDto> result = this.stringEntryService.getByValue(entry.getValue());
+
+        assertThat(result, is(Optional.of(entry)));
+    }
+
+    @Test
+    @DisplayName("Should return the stored entry instead of saving a duplicate when deduplication is enabled")
+    public void testSaveDuplicate() {
+        this.deduplication.setEnabled(true);
+        StringEntryDto storedEntry = StringEntryGenerator.generateStringEntryDto();
+        StringEntrySaveDto dataToSave = new StringEntrySaveDto();
+        dataToSave.setValue(storedEntry.getValue());
+        when(store.findFirstByValue(storedEntry.getValue())).thenReturn(Optional.of(storedEntry));
+
+        StringEntryDto result = this.stringEntryService.save(dataToSave);
+
+        assertThat(result, is(storedEntry));
+        verify(store, never()).save(any());
+        verify(countEstimator, never()).recordSaved();
+    }
+
+    @Test
+    @DisplayName("Should save values stored or repeated in a batch only once when deduplication is enabled")
+    public void testSaveAllDuplicates() {
+        this.deduplication.setEnabled(true);
+        StringEntryDto storedEntry = StringEntryGenerator.generateStringEntryDto();
+        storedEntry.setId(100L);
+        List<StringEntrySaveDto> items = new ArrayList<>();
+        for (String value : List.of("new", storedEntry.getValue(), "new", "other")) {
+            StringEntrySaveDto item = new StringEntrySaveDto();
+            item.setValue(value);
+            items.add(item);
+        }
+        when(store.findFirstByValues(any())).thenReturn(Map.of(storedEntry.getValue(), storedEntry));
+        when(store.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StringEntrySaveDto> chunk = invocation.getArgument(0);
+            List<StringEntryDto> entries = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                StringEntryDto entry = new StringEntryDto();
+                entry.setId(i + 1L);
+                entry.setValue(chunk.get(i).getValue());
+                entries.add(entry);
+            }
+            return entries;
+        });
+
+        List<StringEntryDto> stored = new ArrayList<>();
+
+        List<StringEntryDto> result = this.stringEntryService.saveAll(items, stored::add);
+
+        assertThat(
+            result.stream().map(StringEntryDto::getId).collect(Collectors.toList()),
+            contains(1L, 100L, 1L, 2L)
+        );
+        assertThat(stored.stream().map(StringEntryDto::getId).collect(Collectors.toList()), contains(1L, 2L));
+        verify(suggestIndex, times(2)).add(anyLong(), anyString());
+        verify(countEstimator).recordSaved(2L);
+    }
+
+    @Test
+    @DisplayName("Should return the entries matched by the full-text index in their relevance order")
+    public void testSearch() {
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(3);
+        when(fullTextIndex.search("some query", MatchOperator.OR, 10)).thenReturn(List.of(
+            new ScoredEntry(3L, 2.5), new ScoredEntry(4L, 1.5), new ScoredEntry(1L, 0.5)
+        ));
+        when(store.findAllById(any())).thenReturn(Map.of(1L, entries.get(0), 3L, entries.get(2)));
+
+        List<StringEntrySearchHitDto> result = this.stringEntryService.search("some query", MatchOperator.OR, 10);
+
+        // Entries missing from the store are skipped
+        assertThat(result.stream().map(StringEntrySearchHitDto::getId).collect(Collectors.toList()), contains(3L, 1L));
+        assertThat(result.get(0).getValue(), is(entries.get(2).getValue()));
+        assertThat(result.get(0).getScore(), is(2.5));
+    }
+
+    @Test
+    @DisplayName("Should scan one extra entry to tell if there is a next slice, combining the filter and the predicate")
+    public void testGetSliceMatching() {
+        Pageable pageable = PageRequest.of(1, 2, Sort.by("id"));
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(3);
+        ArgumentCaptor<ScanPredicate> predicate = ArgumentCaptor.forClass(ScanPredicate.class);
+        when(scanner.scan(predicate.capture(), eq(pageable.getSort()), eq(2L), eq(3))).thenReturn(entries);
+
+        Slice<StringEntryDto> result = stringEntryService.getSliceMatching("b", ScanPredicates.regex("^a"), pageable);
+
+        assertThat(result.getContent(), is(entries.subList(0, 2)));
+        assertThat(result.hasNext(), is(true));
+        assertThat(predicate.getValue().test("ab"), is(true));
+        assertThat(predicate.getValue().test("ac"), is(false));
+        assertThat(predicate.getValue().test("bb"), is(false));
+    }
+
+    @Test
+    @DisplayName("Should scan the entries matching the terms and return the occurrences of the terms")
+    public void testGetSliceMatchingTerms() {
+        Pageable pageable = PageRequest.of(0, 2);
+        AhoCorasick automaton = AhoCorasick.compile(List.of("ab", "b"));
+        ArgumentCaptor<ScanPredicate> predicate = ArgumentCaptor.forClass(ScanPredicate.class);
+        when(scanner.scan(predicate.capture(), eq(pageable.getSort()), eq(0L), eq(3))).thenReturn(
+            List.of(new StringEntryDto(4L, "cab", null))
+        );
+
+        Slice<StringEntryMatchDto> result = stringEntryService.getSliceMatchingTerms(
+            automaton, TermMatchMode.ALL, pageable
+        );
+
+        assertThat(result.hasNext(), is(false));
+        assertThat(result.getContent().get(0).getId(), is(4L));
+        assertThat(result.getContent().get(0).getMatches(), contains(
+            new TermOccurrenceDto("ab", 1, 3), new TermOccurrenceDto("b", 2, 3)
+        ));
+        assertThat(predicate.getValue().test("xab"), is(true));
+        assertThat(predicate.getValue().test("xb"), is(false));
     }
 }
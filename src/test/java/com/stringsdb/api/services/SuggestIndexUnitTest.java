@@ -0,0 +1,193 @@
+package com.stringsdb.api.services;
+
+import com.stringsdb.api.configuration.SuggestProperties;
+import com.stringsdb.api.dtos.StringEntryFuzzyMatchDto;
+import com.stringsdb.api.dtos.StringEntrySuggestionDto;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.storage.StringEntryStore;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the suggest index")
+public class SuggestIndexUnitTest {
+
+    @Mock
+    private StringEntryStore store;
+
+    private SuggestIndex createIndex(SuggestProperties.Ranking ranking) {
+        SuggestProperties properties = new SuggestProperties();
+        properties.setRanking(ranking);
+        properties.setMaxLimit(3);
+        return new SuggestIndex(properties, this.store);
+    }
+
+    private static List<String> values(List<StringEntrySuggestionDto> suggestions) {
+        return suggestions.stream().map(StringEntrySuggestionDto::getValue).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should suggest the most recent values starting with a prefix, ignoring case and accents")
+    public void testSuggestByRecency() {
+        SuggestIndex index = this.createIndex(SuggestProperties.Ranking.RECENCY);
+        index.add(1L, "Café");
+        index.add(2L, "cargo");
+        index.add(3L, "banana");
+        index.add(4L, "CAFE");
+        index.add(5L, "cabin");
+
+        // Short prefixes are served from the ranked lists, longer ones are ranked on request
+        assertThat(values(index.suggest("CA", 10)), contains("cabin", "CAFE", "cargo"));
+        assertThat(values(index.suggest("caf", 10)), contains("CAFE"));
+        assertThat(index.suggest("café", 10).get(0).getOccurrences(), is(2L));
+        assertThat(values(index.suggest("c", 2)), contains("cabin", "CAFE"));
+        assertThat(index.suggest("x", 10), is(empty()));
+        assertThat(index.suggest("", 10), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should suggest the most frequent values first when ranking by frequency")
+    public void testSuggestByFrequency() {
+        SuggestIndex index = this.createIndex(SuggestProperties.Ranking.FREQUENCY);
+        index.add(1L, "apple");
+        index.add(2L, "apricot");
+        index.add(3L, "Apple");
+        index.add(4L, "avocado");
+        index.add(5L, "apricot");
+        index.add(6L, "apple");
+
+        assertThat(values(index.suggest("a", 10)), contains("apple", "apricot", "avocado"));
+        assertThat(values(index.suggest("ap", 10)), contains("apple", "apricot"));
+        assertThat(values(index.suggest("apr", 10)), contains("apricot"));
+    }
+
+    @Test
+    @DisplayName("Should stop indexing new values once the memory budget is reached")
+    public void testMemoryBudget() {
+        SuggestProperties properties = new SuggestProperties();
+        properties.setMemoryBudget(DataSize.ofBytes(400));
+        SuggestIndex index = new SuggestIndex(properties, this.store);
+
+        index.add(1L, "first");
+        index.add(2L, "second");
+        index.add(3L, "third");
+        index.add(4L, "first");
+
+        assertThat(values(index.suggest("f", 10)), contains("first"));
+        assertThat(index.suggest("f", 10).get(0).getOccurrences(), is(2L));
+        assertThat(index.suggest("t", 10), is(empty()));
+        assertThat(index.getUsedMemory(), is(lessThanOrEqualTo(400L)));
+    }
+
+    @Test
+    @DisplayName("Should load the stored entries, but the ones it indexed as they were saved")
+    public void testLoad() {
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(3);
+        doAnswer(invocation -> {
+            Consumer<StringEntryDto> action = invocation.getArgument(0);
+            entries.forEach(action);
+            return null;
+        }).when(this.store).forEach(any());
+        SuggestIndex index = this.createIndex(SuggestProperties.Ranking.FREQUENCY);
+        StringEntryDto saved = entries.get(2);
+        index.add(saved.getId(), saved.getValue());
+
+        assertThat(index.load(), is(2L));
+        assertThat(
+            index.suggest(entries.get(0).getValue().substring(0, 5), 10).stream()
+                .map(StringEntrySuggestionDto::getId)
+                .collect(Collectors.toList()),
+            hasItem(1L)
+        );
+        assertThat(index.suggest(saved.getValue(), 10).get(0).getOccurrences(), is(1L));
+    }
+
+    private static int levenshtein(String first, String second) {
+        int[][] distances = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            for (int j = 0; j <= second.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distances[i][j] = i + j;
+                } else {
+                    int substitution = distances[i - 1][j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                    distances[i][j] = Math.min(substitution, Math.min(distances[i - 1][j], distances[i][j - 1]) + 1);
+                }
+            }
+        }
+        return distances[first.length()][second.length()];
+    }
+
+    @Test
+    @DisplayName("Should return the values within the edit distance, closest first, ignoring case and accents")
+    public void testFuzzy() {
+        SuggestIndex index = this.createIndex(SuggestProperties.Ranking.RECENCY);
+        index.add(1L, "Kitten");
+        index.add(2L, "sitting");
+        index.add(3L, "mitten");
+        index.add(4L, "kitchen");
+        index.add(5L, "bitten");
+
+        List<StringEntryFuzzyMatchDto> result = index.fuzzy("kitén", 2, 10);
+
+        // The closest value first, then the values at the same distance by recency, up to the maximum limit
+        assertThat(result.stream().map(StringEntryFuzzyMatchDto::getValue).collect(Collectors.toList()),
+            contains("Kitten", "bitten", "kitchen"));
+        assertThat(result.stream().map(StringEntryFuzzyMatchDto::getDistance).collect(Collectors.toList()),
+            contains(1, 2, 2));
+        assertThat(index.fuzzy("kiten", 1, 10).size(), is(1));
+        assertThat(index.fuzzy("kitten", 0, 10).get(0).getId(), is(1L));
+        assertThat(index.fuzzy("zzzzzz", 2, 10), is(empty()));
+        assertThat(index.fuzzy("kitten", -1, 10), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should find the same values as comparing the query with every value")
+    public void testFuzzyMatchesExhaustiveSearch() {
+        SuggestProperties properties = new SuggestProperties();
+        properties.setMaxLimit(10_000);
+        properties.setMaxEdits(2);
+        SuggestIndex index = new SuggestIndex(properties, this.store);
+
+        Random random = new Random(42);
+        Set<String> values = new HashSet<>();
+        for (long id = 1; id <= 2000; id++) {
+            StringBuilder value = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                value.append((char) ('a' + random.nextInt(4)));
+            }
+            values.add(value.toString());
+            index.add(id, value.toString());
+        }
+
+        for (String query : List.of("abc", "dcba", "aaaaaaa", "b", "abcdabcd")) {
+            Set<String> expected = values.stream()
+                .filter(value -> levenshtein(query, value) <= 2)
+                .collect(Collectors.toSet());
+
+            List<StringEntryFuzzyMatchDto> result = index.fuzzy(query, 5, 10_000);
+
+            assertThat(result.stream().map(StringEntryFuzzyMatchDto::getValue).collect(Collectors.toSet()), is(expected));
+            for (StringEntryFuzzyMatchDto match : result) {
+                assertThat(match.getDistance(), is(levenshtein(query, match.getValue())));
+            }
+        }
+    }
+}
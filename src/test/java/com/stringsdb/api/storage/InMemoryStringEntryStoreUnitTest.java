@@ -0,0 +1,230 @@
+package com.stringsdb.api.storage;
+
+import com.stringsdb.api.configuration.StorageProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.pagination.KeysetCursor;
+import com.stringsdb.generators.StringEntryGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the in-memory string entry store")
+public class InMemoryStringEntryStoreUnitTest {
+
+    @Mock
+    private StringEntryStore backend;
+
+    private InMemoryStringEntryStore store;
+
+    @BeforeEach
+    public void setUp() {
+        this.store = new InMemoryStringEntryStore(new StorageProperties(), this.backend);
+    }
+
+    private static StringEntryDto entry(long id, String value) {
+        StringEntryDto entry = new StringEntryDto();
+        entry.setId(id);
+        entry.setValue(value);
+        entry.setCreatedAt(LocalDateTime.of(2021, 1, 1, 0, 0).plusSeconds(id).withNano(123456789));
+        return entry;
+    }
+
+    private void load(List<StringEntryDto> entries) {
+        when(this.backend.findLastId()).thenReturn(Optional.of(entries.get(entries.size() - 1).getId()));
+        doAnswer(invocation -> {
+            Consumer<StringEntryDto> action = invocation.getArgument(0);
+            entries.forEach(action);
+            return null;
+        }).when(this.backend).forEach(any());
+
+        assertThat(this.store.load(), is((long) entries.size()));
+    }
+
+    private static List<String> values(List<StringEntryDto> entries) {
+        return entries.stream().map(StringEntryDto::getValue).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should delegate the reads to the backend until it is loaded")
+    public void testReadBeforeLoad() {
+        Pageable pageable = PageRequest.of(0, 5);
+        StringEntryDto stored = entry(1, "stored");
+        when(this.backend.findById(1L)).thenReturn(Optional.of(stored));
+        when(this.backend.findMany(null, pageable)).thenReturn(new PageImpl<>(List.of(stored)));
+
+        assertThat(this.store.isLoaded(), is(false));
+        assertThat(this.store.findById(1L), is(Optional.of(stored)));
+        assertThat(this.store.findMany(null, pageable).getContent(), contains(stored));
+    }
+
+    @Test
+    @DisplayName("Should serve the loaded entries from memory, as the backend returned them")
+    public void testReadAfterLoad() {
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(50);
+        entries.get(7).setValue("Ünïcödé value ✓");
+        this.load(entries);
+
+        assertThat(this.store.findById(8L), is(Optional.of(entries.get(7))));
+        assertThat(this.store.findById(51L), is(Optional.empty()));
+        assertThat(this.store.findAllById(List.of(1L, 2L, 99L)).keySet(), containsInAnyOrder(1L, 2L));
+
+        List<StringEntryDto> visited = new ArrayList<>();
+        this.store.forEach(visited::add);
+        assertThat(visited, is(entries));
+        verify(this.backend, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should copy the saved entries, merging the ones with older IDs")
+    public void testSave() {
+        this.load(List.of(entry(1, "one"), entry(2, "two"), entry(5, "five")));
+        StringEntrySaveDto item = new StringEntrySaveDto();
+        item.setValue("three");
+        when(this.backend.saveAll(any())).thenReturn(List.of(entry(3, "three"), entry(6, "six")));
+        when(this.backend.save(item)).thenReturn(entry(4, "four"));
+
+        this.store.saveAll(List.of(item, item));
+        this.store.save(item);
+
+        assertThat(
+            this.store.findRange(null, Sort.unsorted(), 0, 10).stream()
+                .map(StringEntryDto::getId)
+                .collect(Collectors.toList()),
+            contains(1L, 2L, 3L, 4L, 5L, 6L)
+        );
+        assertThat(this.store.findById(3L).map(StringEntryDto::getValue), is(Optional.of("three")));
+        assertThat(this.store.count(null), is(6L));
+    }
+
+    @Test
+    @DisplayName("Should filter, sort, page and count the entries")
+    public void testFindMany() {
+        this.load(List.of(
+            entry(1, "banana"), entry(2, "apple"), entry(3, "cherry"), entry(4, "pineapple"), entry(5, "grape")
+        ));
+
+        Page<StringEntryDto> byDate = this.store.findMany("ap", PageRequest.of(0, 2, Sort.by("createdAt")));
+        Page<StringEntryDto> byIdDesc = this.store.findMany(null, PageRequest.of(1, 2, Sort.by("id").descending()));
+
+        assertThat(values(byDate.getContent()), contains("apple", "pineapple"));
+        assertThat(byDate.getTotalElements(), is(3L));
+        assertThat(values(byIdDesc.getContent()), contains("cherry", "apple"));
+        assertThat(byIdDesc.getTotalElements(), is(5L));
+        assertThat(this.store.count("an"), is(1L));
+        assertThat(
+            values(this.store.findRange("e", Sort.by("createdAt").descending(), 1, 2)),
+            contains("pineapple", "cherry")
+        );
+    }
+
+    @Test
+    @DisplayName("Should delegate the reads sorted by value, in the order of the backend")
+    public void testValueSort() {
+        this.load(List.of(entry(1, "b"), entry(2, "a")));
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("value"));
+        KeysetCursor cursor = KeysetCursor.first(Sort.by(Sort.Direction.DESC, "value"));
+        when(this.backend.findMany("a", pageable)).thenReturn(new PageImpl<>(List.of(entry(2, "a"))));
+        when(this.backend.findAfter(null, cursor, 2)).thenReturn(List.of(entry(1, "b"), entry(2, "a")));
+
+        assertThat(values(this.store.findMany("a", pageable).getContent()), contains("a"));
+        assertThat(values(this.store.findAfter(null, cursor, 2)), contains("b", "a"));
+        this.store.findRange(null, Sort.by("value"), 0, 5);
+        verify(this.backend).findRange(null, Sort.by("value"), 0, 5);
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents in the filters when the backend does")
+    public void testFindManyFolded() {
+        when(this.backend.getFilterMatching()).thenReturn(StringEntryStore.FilterMatching.FOLDED);
+        this.load(List.of(entry(1, "Crème Brûlée"), entry(2, "creme"), entry(3, "CRÈME"), entry(4, "cream")));
+
+        Page<StringEntryDto> page = this.store.findMany("brulee", PageRequest.of(0, 5));
+        Page<StringEntryDto> folded = this.store.findManyFolded("CRE", PageRequest.of(0, 2, Sort.by("id")));
+
+        assertThat(values(page.getContent()), contains("Crème Brûlée"));
+        assertThat(values(folded.getContent()), contains("Crème Brûlée", "creme"));
+        assertThat(folded.getTotalElements(), is(4L));
+        assertThat(this.store.count("Creme"), is(3L));
+        assertThat(
+            values(this.store.findRange("crè", Sort.by("id").descending(), 1, 5)),
+            contains("CRÈME", "creme", "Crème Brûlée")
+        );
+        verify(this.backend, never()).findManyFolded(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should delegate the filtered reads when the backend matches neither exactly nor folded")
+    public void testFilterMatchingOther() {
+        when(this.backend.getFilterMatching()).thenReturn(StringEntryStore.FilterMatching.OTHER);
+        this.load(List.of(entry(1, "Crème"), entry(2, "creme")));
+        Pageable pageable = PageRequest.of(0, 5);
+        when(this.backend.findMany("CRÈME", pageable)).thenReturn(new PageImpl<>(List.of(entry(1, "Crème"))));
+        when(this.backend.count("CRÈME")).thenReturn(1L);
+
+        assertThat(values(this.store.findMany("CRÈME", pageable).getContent()), contains("Crème"));
+        assertThat(this.store.count("CRÈME"), is(1L));
+        assertThat(values(this.store.findMany(null, pageable).getContent()), contains("Crème", "creme"));
+        assertThat(this.store.count(null), is(2L));
+        verify(this.backend, never()).findMany(null, pageable);
+    }
+
+    @Test
+    @DisplayName("Should walk all the matching entries with a keyset cursor")
+    public void testFindAfter() {
+        this.load(List.of(entry(1, "b"), entry(2, "a"), entry(3, "c"), entry(4, "a"), entry(5, "d"), entry(6, "b")));
+
+        for (String property : List.of("id", "createdAt")) {
+            KeysetCursor cursor = KeysetCursor.first(Sort.by(Sort.Direction.DESC, property));
+            List<StringEntryDto> expected = this.store.findRange(null, cursor.toSort(), 0, 10);
+            List<StringEntryDto> walked = new ArrayList<>();
+            List<StringEntryDto> page;
+            do {
+                page = this.store.findAfter(null, cursor, 2);
+                walked.addAll(page);
+                if (!page.isEmpty()) {
+                    cursor = cursor.next(page.get(page.size() - 1));
+                }
+            } while (!page.isEmpty());
+
+            assertThat(walked, is(expected));
+            assertThat(walked.size(), is(6));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the loaded entries in a range of IDs, skipping the missing IDs")
+    public void testFindIdRange() {
+        this.load(List.of(entry(1, "a"), entry(2, "b"), entry(5, "c"), entry(6, "d"), entry(9, "e")));
+
+        assertThat(values(this.store.findIdRange(2, 6)), contains("b", "c"));
+        assertThat(values(this.store.findIdRange(3, 5)), is(empty()));
+        assertThat(values(this.store.findIdRange(0, 100)), contains("a", "b", "c", "d", "e"));
+        verify(this.backend, never()).findIdRange(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,217 @@
+package com.stringsdb.api.storage;
+
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.entities.StringEntry;
+import com.stringsdb.api.mappers.StringEntryMapper;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.repositories.StringEntryRepository;
+import com.stringsdb.api.services.TrigramIndexService;
+import com.stringsdb.api.utils.ContentHash;
+import com.stringsdb.generators.StringEntryGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("ALL")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unit tests for the JPA string entry store")
+public class JpaStringEntryStoreUnitTest {
+
+    @Mock
+    private StringEntryRepository stringEntryRepository;
+
+    @Mock
+    private TrigramIndexService trigramIndexService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private StringEntryMetrics metrics = new StringEntryMetrics(this.registry);
+
+    @InjectMocks
+    private JpaStringEntryStore store;
+
+    @Test
+    @DisplayName("Should return all entries in a page when no filter is informed")
+    public void testFindManyWithoutFilter() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
+        List<StringEntryDto> allEntries = StringEntryGenerator.generateManyStringEntryDtos(5);
+        when(stringEntryRepository.findDtoRange(isNull(), eq(pageable.getSort()), eq(0L), eq(5)))
+            .thenReturn(allEntries);
+        when(stringEntryRepository.count(isNull(Specification.class))).thenReturn(5L);
+
+        Page<StringEntryDto> result = this.store.findMany(null, pageable);
+
+        assertThat(result.getContent(), containsInAnyOrder(allEntries.toArray()));
+        assertThat(result.getTotalElements(), is(5L));
+    }
+
+    @Test
+    @DisplayName("Should return entries through a substring search when the filter has no trigram")
+    public void testFindManyWithFilter() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
+        List<StringEntryDto> filteredEntries = StringEntryGenerator.generateManyStringEntryDtos(2);
+        when(stringEntryRepository.findDtoRange(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .thenReturn(filteredEntries);
+
+        Page<StringEntryDto> result = this.store.findMany("some_filter", pageable);
+
+        assertThat(result.getContent(), containsInAnyOrder(filteredEntries.toArray()));
+        assertThat(result.getTotalElements(), is(2L));
+        // The first page is not full, so it tells the total by itself
+        verify(stringEntryRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("Should look up the candidates in the trigram index when the filter has trigrams")
+    public void testFindManyWithIndexedFilter() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
+        List<StringEntryDto> filteredEntries = StringEntryGenerator.generateManyStringEntryDtos(2);
+        when(trigramIndexService.searchTrigrams("some_filter")).thenReturn(Set.of(1L, 2L));
+        when(stringEntryRepository.findDtoRange(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .thenReturn(filteredEntries);
+
+        Page<StringEntryDto> result = this.store.findMany("some_filter", pageable);
+
+        assertThat(result.getContent(), containsInAnyOrder(filteredEntries.toArray()));
+        verify(trigramIndexService).searchTrigrams("some_filter");
+    }
+
+    @Test
+    @DisplayName("Should look up the candidates of an insensitive filter with the trigrams of the folded filter")
+    public void testFindManyFolded() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
+        List<StringEntryDto> filteredEntries = StringEntryGenerator.generateManyStringEntryDtos(2);
+        when(trigramIndexService.searchTrigrams("creme brulee")).thenReturn(Set.of(1L, 2L));
+        when(stringEntryRepository.findDtoRange(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .thenReturn(filteredEntries);
+
+        Page<StringEntryDto> result = this.store.findManyFolded("Crème BRÛLÉE", pageable);
+
+        assertThat(result.getContent(), containsInAnyOrder(filteredEntries.toArray()));
+        verify(trigramIndexService).searchTrigrams("creme brulee");
+    }
+
+    @Test
+    @DisplayName("Should tell how the filters match from the collation of the value column")
+    public void testGetFilterMatching() {
+        when(stringEntryRepository.findValueCollation())
+            .thenReturn(null, "utf8mb4_0900_ai_ci", "utf8mb4_general_ci", "utf8mb4_bin", "utf8mb4_0900_as_cs",
+                "utf8mb4_0900_as_ci");
+
+        assertThat(this.store.getFilterMatching(), is(StringEntryStore.FilterMatching.EXACT));
+        assertThat(this.store.getFilterMatching(), is(StringEntryStore.FilterMatching.FOLDED));
+        assertThat(this.store.getFilterMatching(), is(StringEntryStore.FilterMatching.FOLDED));
+        assertThat(this.store.getFilterMatching(), is(StringEntryStore.FilterMatching.EXACT));
+        assertThat(this.store.getFilterMatching(), is(StringEntryStore.FilterMatching.EXACT));
+        assertThat(this.store.getFilterMatching(), is(StringEntryStore.FilterMatching.OTHER));
+    }
+
+    @Test
+    @DisplayName("Should time the data and count queries of a page separately, and record the rows")
+    public void testFindManyMetrics() {
+        Pageable pageable = PageRequest.of(1, 5, Sort.by("id"));
+        List<StringEntryDto> entries = StringEntryGenerator.generateManyStringEntryDtos(5);
+        when(stringEntryRepository.findDtoRange(any(Specification.class), any(Sort.class), eq(5L), eq(5)))
+            .thenReturn(entries);
+        when(stringEntryRepository.count(any(Specification.class))).thenReturn(42L);
+
+        this.store.findMany("some_filter", pageable);
+
+        assertThat(this.registry.get("stringsdb.store.queries").tag("query", "data").timer().count(), is(1L));
+        assertThat(this.registry.get("stringsdb.store.queries").tag("query", "count").timer().count(), is(1L));
+        assertThat(this.registry.get("stringsdb.store.rows").tags("store", "jpa", "stage", "matched").summary()
+            .totalAmount(), is(42.0));
+        assertThat(this.registry.get("stringsdb.store.rows").tags("store", "jpa", "stage", "returned").summary()
+            .totalAmount(), is(5.0));
+        assertThat(this.registry.get("stringsdb.store.rows").tags("store", "jpa", "stage", "scanned").summary()
+            .count(), is(0L));
+    }
+
+    @Test
+    @DisplayName("Should save an entry and add it to the trigram index")
+    public void testSave() {
+        StringEntrySaveDto dataToSave = StringEntryGenerator.generateStringEntrySaveDto();
+        StringEntry savedEntry = StringEntryGenerator.generateStringEntry(true, true);
+        savedEntry.setValue(dataToSave.getValue());
+        when(stringEntryRepository.save(any())).thenReturn(savedEntry);
+
+        StringEntryDto result = this.store.save(dataToSave);
+
+        assertThat(result, is(StringEntryMapper.INSTANCE.stringEntryToDto(savedEntry)));
+        verify(trigramIndexService).index(savedEntry);
+    }
+
+    @Test
+    @DisplayName("Should save a batch, index it and clear the persistence context")
+    public void testSaveAll() {
+        List<StringEntrySaveDto> items = List.of(
+            StringEntryGenerator.generateStringEntrySaveDto(),
+            StringEntryGenerator.generateStringEntrySaveDto()
+        );
+        when(stringEntryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StringEntry> entities = invocation.getArgument(0);
+            entities.forEach(entity -> entity.setId((long) entity.getValue().hashCode()));
+            return entities;
+        });
+
+        List<StringEntryDto> result = this.store.saveAll(items);
+
+        assertThat(result.get(0).getId(), is((long) items.get(0).getValue().hashCode()));
+        assertThat(result.get(1).getValue(), is(items.get(1).getValue()));
+        verify(trigramIndexService, times(2)).index(any());
+        verify(stringEntryRepository).flushAndClear();
+    }
+
+    @Test
+    @DisplayName("Should find an entry by value, ignoring other values with the same hash")
+    public void testFindFirstByValue() {
+        List<StringEntry> entries = StringEntryGenerator.generateManyStringEntries(3, true, true);
+        entries.get(2).setValue(entries.get(1).getValue());
+        when(stringEntryRepository.findByValueHashOrderById(ContentHash.of(entries.get(1).getValue())))
+            .thenReturn(entries);
+
+        Optional<StringEntryDto> result = this.store.findFirstByValue(entries.get(1).getValue());
+
+        assertThat(result.map(StringEntryDto::getId), is(Optional.of(2L)));
+    }
+
+    @Test
+    @DisplayName("Should find the oldest entries of many values, ignoring the values not searched")
+    public void testFindFirstByValues() {
+        List<StringEntry> entries = StringEntryGenerator.generateManyStringEntries(3, true, true);
+        entries.get(2).setValue(entries.get(0).getValue());
+        when(stringEntryRepository.findByValueHashInOrderById(any())).thenReturn(entries);
+
+        Map<String, StringEntryDto> result = this.store.findFirstByValues(List.of(entries.get(0).getValue()));
+
+        assertThat(result.size(), is(1));
+        assertThat(result.get(entries.get(0).getValue()).getId(), is(1L));
+    }
+}
@@ -0,0 +1,281 @@
+package com.stringsdb.api.storage;
+
+import com.stringsdb.api.configuration.StorageProperties;
+import com.stringsdb.api.dtos.StringEntryDto;
+import com.stringsdb.api.dtos.StringEntrySaveDto;
+import com.stringsdb.api.metrics.StringEntryMetrics;
+import com.stringsdb.api.pagination.KeysetCursor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Unit tests for the embedded log string entry store")
+public class LogStringEntryStoreUnitTest {
+
+    @TempDir
+    Path directory;
+
+    private final StorageProperties properties = new StorageProperties();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final StringEntryMetrics metrics = new StringEntryMetrics(this.registry);
+
+    private LogStringEntryStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.properties.setType(StorageProperties.Type.LOG);
+        this.properties.getLog().setDirectory(this.directory);
+        this.properties.getLog().setSegmentSize(DataSize.ofKilobytes(4));
+        this.properties.getLog().setFsync(false);
+        this.store = new LogStringEntryStore(this.properties, this.metrics);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        this.store.close();
+    }
+
+    private LogStringEntryStore reopen() throws IOException {
+        this.store.close();
+        this.store = new LogStringEntryStore(this.properties, this.metrics);
+        return this.store;
+    }
+
+    private static List<StringEntrySaveDto> items(String... values) {
+        return Stream.of(values).map(value -> {
+            StringEntrySaveDto item = new StringEntrySaveDto();
+            item.setValue(value);
+            return item;
+        }).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<StringEntryDto> entries) {
+        return entries.stream().map(StringEntryDto::getId).collect(Collectors.toList());
+    }
+
+    private Path segment(int number) {
+        return this.directory.resolve(String.format(LogStringEntryStore.SEGMENT_FILE_FORMAT, number));
+    }
+
+    @Test
+    @DisplayName("Should assign sequential IDs and read the saved entries back by ID and by value")
+    public void testSaveAndFind() {
+        StringEntryDto first = this.store.save(items("first").get(0));
+        List<StringEntryDto> saved = this.store.saveAll(items("second", "first", "héllo wörld"));
+
+        assertThat(first.getId(), is(1L));
+        assertThat(ids(saved), contains(2L, 3L, 4L));
+        assertThat(this.store.findById(4L), is(Optional.of(saved.get(2))));
+        assertThat(this.store.findById(5L), is(Optional.empty()));
+        assertThat(this.store.findFirstByValue("first"), is(Optional.of(first)));
+        assertThat(this.store.findFirstByValue("third"), is(Optional.empty()));
+        assertThat(this.store.findFirstByValues(List.of("second", "third")).keySet(), contains("second"));
+        assertThat(this.store.findAllById(List.of(2L, 9L)).keySet(), contains(2L));
+        assertThat(this.store.findLastId(), is(Optional.of(4L)));
+    }
+
+    @Test
+    @DisplayName("Should recover the saved entries when the log is reopened")
+    public void testReopen() throws IOException {
+        List<StringEntryDto> saved = this.store.saveAll(items("one", "two", "three"));
+
+        LogStringEntryStore reopened = this.reopen();
+
+        List<StringEntryDto> visited = new ArrayList<>();
+        reopened.forEach(visited::add);
+        assertThat(visited, is(saved));
+        assertThat(reopened.findFirstByValue("two").map(StringEntryDto::getId), is(Optional.of(2L)));
+        assertThat(reopened.save(items("four").get(0)).getId(), is(4L));
+    }
+
+    @Test
+    @DisplayName("Should start new segments when the current one is full and read across them")
+    public void testSegmentRoll() throws IOException {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add("a value long enough to fill a small segment quickly, number " + i);
+        }
+        this.store.saveAll(items(values.toArray(new String[0])));
+
+        assertThat(Files.exists(this.segment(1)), is(true));
+        LogStringEntryStore reopened = this.reopen();
+        assertThat(reopened.count(null), is(100L));
+        assertThat(reopened.findById(100L).map(StringEntryDto::getValue), is(Optional.of(values.get(99))));
+    }
+
+    @Test
+    @DisplayName("Should end the log at a corrupted record and discard what follows it")
+    public void testRecoverCorruptedRecord() throws IOException {
+        this.store.saveAll(items("one", "two", "three"));
+        this.store.close();
+
+        // Flips the last byte of the value of the second record
+        long secondRecordEnd = 2L * (LogSegment.HEADER_SIZE + 20 + 3) - 1;
+        try (RandomAccessFile file = new RandomAccessFile(this.segment(0).toFile(), "rw")) {
+            file.seek(secondRecordEnd);
+            int flipped = file.read() ^ 0xFF;
+            file.seek(secondRecordEnd);
+            file.write(flipped);
+        }
+
+        LogStringEntryStore reopened = new LogStringEntryStore(this.properties, this.metrics);
+        this.store = reopened;
+
+        assertThat(reopened.findLastId(), is(Optional.of(1L)));
+        assertThat(reopened.findFirstByValue("three"), is(Optional.empty()));
+        assertThat(reopened.save(items("two again").get(0)).getId(), is(2L));
+        assertThat(this.reopen().findById(2L).map(StringEntryDto::getValue), is(Optional.of("two again")));
+    }
+
+    @Test
+    @DisplayName("Should refuse to open the log when a segment before the last one holds a corrupted record")
+    public void testRecoverCorruptedSealedSegment() throws IOException {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add("a value long enough to fill a small segment quickly, number " + i);
+        }
+        this.store.saveAll(items(values.toArray(new String[0])));
+        this.store.close();
+
+        // Flips a byte of the payload of the first record of the first segment
+        try (RandomAccessFile file = new RandomAccessFile(this.segment(0).toFile(), "rw")) {
+            file.seek(LogSegment.HEADER_SIZE + 10);
+            int flipped = file.read() ^ 0xFF;
+            file.seek(LogSegment.HEADER_SIZE + 10);
+            file.write(flipped);
+        }
+        byte[] first = Files.readAllBytes(this.segment(0));
+        byte[] second = Files.readAllBytes(this.segment(1));
+
+        IOException exception = assertThrows(
+            IOException.class,
+            () -> new LogStringEntryStore(this.properties, this.metrics)
+        );
+
+        assertThat(exception.getMessage(), containsString("not the last segment"));
+        assertThat(Files.readAllBytes(this.segment(0)), is(first));
+        assertThat(Files.readAllBytes(this.segment(1)), is(second));
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of the log")
+    public void testRecoverTornRecord() throws IOException {
+        this.store.saveAll(items("one", "two"));
+        this.store.close();
+
+        // A length without its payload, as left by a crash in the middle of an append
+        try (RandomAccessFile file = new RandomAccessFile(this.segment(0).toFile(), "rw")) {
+            file.seek(2L * (LogSegment.HEADER_SIZE + 20 + 3));
+            file.writeInt(1000);
+        }
+
+        this.store = new LogStringEntryStore(this.properties, this.metrics);
+
+        assertThat(this.store.findLastId(), is(Optional.of(2L)));
+        assertThat(this.store.save(items("three").get(0)).getId(), is(3L));
+    }
+
+    @Test
+    @DisplayName("Should filter, sort, page and count the entries")
+    public void testFindMany() {
+        this.store.saveAll(items("banana", "apple", "cherry", "pineapple", "grape"));
+
+        Page<StringEntryDto> byValue = this.store.findMany("ap", PageRequest.of(0, 2, Sort.by("value")));
+        Page<StringEntryDto> byIdDesc = this.store.findMany(null, PageRequest.of(1, 2, Sort.by("id").descending()));
+
+        assertThat(byValue.getContent().stream().map(StringEntryDto::getValue).collect(Collectors.toList()),
+            contains("apple", "grape"));
+        assertThat(byValue.getTotalElements(), is(3L));
+        assertThat(ids(byIdDesc.getContent()), contains(3L, 2L));
+        assertThat(byIdDesc.getTotalElements(), is(5L));
+        assertThat(this.store.count("an"), is(1L));
+        assertThat(ids(this.store.findRange("e", Sort.by("value").descending(), 1, 2)), contains(5L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should record the entries scanned, matched and returned by a search")
+    public void testSearchRows() {
+        this.store.saveAll(items("banana", "apple", "cherry", "pineapple", "grape"));
+
+        this.store.findRange("ap", Sort.by("id"), 0, 1);
+        this.store.findMany("ap", PageRequest.of(0, 2, Sort.by("value")));
+
+        // The search in ID order stops at the first match, the sorted one visits all the entries and counts them
+        assertThat(this.rows("scanned").totalAmount(), is(7.0));
+        assertThat(this.rows("matched").count(), is(1L));
+        assertThat(this.rows("matched").totalAmount(), is(3.0));
+        assertThat(this.rows("returned").totalAmount(), is(3.0));
+    }
+
+    private DistributionSummary rows(String stage) {
+        return this.registry.get("stringsdb.store.rows").tags("store", "log", "stage", stage).summary();
+    }
+
+    @Test
+    @DisplayName("Should filter the entries ignoring case and accents")
+    public void testFindManyFolded() {
+        this.store.saveAll(items("Café au lait", "CAFE", "coffee", "décaféiné"));
+
+        Page<StringEntryDto> result = this.store.findManyFolded("CAFÉ", PageRequest.of(0, 2, Sort.by("id")));
+
+        assertThat(ids(result.getContent()), contains(1L, 2L));
+        assertThat(result.getTotalElements(), is(3L));
+        assertThat(this.store.findMany("CAFÉ", PageRequest.of(0, 2)).getTotalElements(), is(0L));
+    }
+
+    @Test
+    @DisplayName("Should walk all the matching entries with a keyset cursor")
+    public void testFindAfter() {
+        this.store.saveAll(items("b", "a", "c", "a", "d", "b"));
+
+        KeysetCursor cursor = KeysetCursor.first(Sort.by(Sort.Direction.DESC, "value"));
+        List<StringEntryDto> walked = new ArrayList<>();
+        List<StringEntryDto> page;
+        do {
+            page = this.store.findAfter(null, cursor, 2);
+            walked.addAll(page);
+            if (!page.isEmpty()) {
+                cursor = cursor.next(page.get(page.size() - 1));
+            }
+        } while (!page.isEmpty());
+
+        // Ties are walked in the direction of the sort too
+        assertThat(ids(walked), contains(5L, 3L, 6L, 1L, 4L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should return the entries in a range of IDs, clamped to the stored IDs")
+    public void testFindIdRange() {
+        this.store.saveAll(items("a", "b", "c", "d", "e"));
+
+        assertThat(ids(this.store.findIdRange(2, 4)), contains(2L, 3L));
+        assertThat(ids(this.store.findIdRange(-5, 2)), contains(1L));
+        assertThat(ids(this.store.findIdRange(4, Long.MAX_VALUE)), contains(4L, 5L));
+        assertThat(this.store.findIdRange(6, 10), is(empty()));
+        assertThat(this.store.findIdRange(3, 3), is(empty()));
+    }
+}
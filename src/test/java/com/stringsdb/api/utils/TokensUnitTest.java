@@ -0,0 +1,25 @@
+package com.stringsdb.api.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Unit tests for the terms extraction")
+public class TokensUnitTest {
+
+    @Test
+    @DisplayName("Should split strings on any character that is not a letter or a digit")
+    public void testSplit() {
+        assertThat(Tokens.of("Hello, world! 42 times"), contains("hello", "world", "42", "times"));
+        assertThat(Tokens.of("  --  "), is(empty()));
+        assertThat(Tokens.of(""), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should keep repeated terms and fold case and accents")
+    public void testFoldedTerms() {
+        assertThat(Tokens.of("Café CAFE café"), contains("cafe", "cafe", "cafe"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.stringsdb.api.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Unit tests for the trigrams extraction")
+public class TrigramsUnitTest {
+
+    @Test
+    @DisplayName("Should return no trigrams for strings shorter than three characters")
+    public void testShortStrings() {
+        assertThat(Trigrams.of(""), is(empty()));
+        assertThat(Trigrams.of("ab"), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Should return the distinct trigrams of a string")
+    public void testDistinctTrigrams() {
+        Set<Long> result = Trigrams.of("abcabc");
+
+        assertThat(result, contains(
+            Trigrams.pack('a', 'b', 'c'),
+            Trigrams.pack('b', 'c', 'a'),
+            Trigrams.pack('c', 'a', 'b')
+        ));
+    }
+
+    @Test
+    @DisplayName("Should extract the same trigrams regardless of case and accents")
+    public void testFoldedTrigrams() {
+        assertThat(Trigrams.of("CAFÉ"), is(Trigrams.of("cafe")));
+        assertThat(Trigrams.of("Ǆemal"), is(Trigrams.of("dzemal")));
+    }
+
+    @Test
+    @DisplayName("Should extract from a substring only trigrams also extracted from the whole string")
+    public void testSubstringTrigramsAreContained() {
+        String value = "ΟΔΟΣ Αθηνάς, straße & İstanbul";
+
+        for (int start = 0; start < value.length(); start++) {
+            for (int end = start + 1; end <= value.length(); end++) {
+                assertThat(Trigrams.of(value), hasItems(Trigrams.of(value.substring(start, end)).toArray(new Long[0])));
+            }
+        }
+    }
+}